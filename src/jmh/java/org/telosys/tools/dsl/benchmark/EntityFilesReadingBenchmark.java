@@ -0,0 +1,106 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsParser;
+
+/**
+ * Entity files reading : line by line parser vs char buffer lexer (NIO reading) <br>
+ * on many small files and on a few very large files (memory-mapped by the lexer)
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityFilesReadingBenchmark {
+
+	@Param({"MANY_SMALL_FILES", "FEW_LARGE_FILES"})
+	public String files ;
+	
+	private File folder ;
+	
+	private final List<File> entityFiles = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		folder = Files.createTempDirectory("entity-files-reading").toFile();
+		if ( "MANY_SMALL_FILES".equals(files) ) {
+			for ( int i = 0 ; i < 2000 ; i++ ) {
+				entityFiles.add(SyntheticModelGenerator.writeEntityFile(folder, "Small" + i, 20));
+			}
+		}
+		else {
+			for ( int i = 0 ; i < 4 ; i++ ) {
+				entityFiles.add(SyntheticModelGenerator.writeEntityFile(folder, "Large" + i, 40000));
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteFolder(folder);
+	}
+
+	/**
+	 * Lexer reused by each benchmark thread 
+	 */
+	@State(Scope.Thread)
+	public static class LexerState {
+		final EntityElementsLexer lexer = new EntityElementsLexer();
+	}
+	
+	@Benchmark
+	public void lineByLineParser(Blackhole blackhole) throws DslModelError {
+		for ( File file : entityFiles ) {
+			blackhole.consume(new EntityElementsParser().parseEntityFile(file));
+		}
+	}
+
+	@Benchmark
+	public void charBufferLexer(LexerState lexerState, Blackhole blackhole) throws DslModelError {
+		for ( File file : entityFiles ) {
+			blackhole.consume(lexerState.lexer.parseEntityFile(file));
+		}
+	}
+}
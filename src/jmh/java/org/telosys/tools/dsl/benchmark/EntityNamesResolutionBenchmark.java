@@ -0,0 +1,112 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.parser.Element;
+import org.telosys.tools.dsl.parser.EntityElementsParser;
+import org.telosys.tools.dsl.parser.EntityElementsProcessor;
+import org.telosys.tools.dsl.parser.FieldElementsProcessor;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+
+/**
+ * Resolution of the entities referenced by the links (field types) 
+ * on link-heavy models ( up to 5,000 entities with 10 links each ) <br>
+ * Regression benchmark for the entities names lookup ( must stay linear with the number of entities )
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityNamesResolutionBenchmark {
+
+	private static final int NUMBER_OF_LINKS = 10 ;
+	
+	@Param({"500", "5000"})
+	public int entities ;
+
+	private File modelFolder ;
+	private List<String> entitiesNames ;
+	private Set<String> entitiesNamesSet ;
+	private List<List<Element>> entitiesElements ;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException, DslModelError {
+		modelFolder = Files.createTempDirectory("dsl-links").toFile();
+		List<File> entityFiles = SyntheticModelGenerator.writeModelWithLinks(modelFolder, entities, NUMBER_OF_LINKS);
+		entitiesNames = new ArrayList<>(entities);
+		entitiesElements = new ArrayList<>(entities);
+		for ( File file : entityFiles ) {
+			entitiesNames.add(DslModelUtil.getEntityName(file));
+			entitiesElements.add(new EntityElementsParser().parseEntityFile(file));
+		}
+		entitiesNamesSet = FieldElementsProcessor.buildEntitiesNamesSet(entitiesNames);
+		ParsingResult parsingResult = new ParserV2().parseModel(modelFolder);
+		if ( parsingResult.hasErrors() ) {
+			throw new IllegalStateException("Invalid synthetic model : " + parsingResult.getErrors());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteFolder(modelFolder);
+	}
+
+	@Benchmark
+	public void processEntitiesElements(Blackhole blackhole) {
+		// entities names set shared by all the processors (as in the parser)
+		DslModelErrors errors = new DslModelErrors();
+		for ( int i = 0 ; i < entitiesElements.size() ; i++ ) {
+			EntityElementsProcessor processor = new EntityElementsProcessor(entitiesNames.get(i), entitiesNamesSet);
+			blackhole.consume(processor.processEntityElements(entitiesElements.get(i), errors));
+		}
+	}
+
+	@Benchmark
+	public ParsingResult parseModel() {
+		return new ParserV2().parseModel(modelFolder);
+	}
+}
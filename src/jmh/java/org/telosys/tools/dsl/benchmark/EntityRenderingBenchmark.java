@@ -0,0 +1,87 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.benchmark.SyntheticModelGenerator.AnnotationsDensity;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.writer.EntityFileWriter;
+import org.telosys.tools.dsl.parser.ParserV2;
+
+/**
+ * Rendering of a wide entity (500 columns with annotations) in memory : 
+ * average time per attribute (use '-prof gc' for the allocation rate)
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityRenderingBenchmark {
+
+	private static final int NUMBER_OF_FIELDS = 500 ;
+	
+	private DslModelEntity entity ;
+	private EntityFileWriter entityFileWriter ;
+	private StringBuilder output ;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		File modelFolder = Files.createTempDirectory("dsl-rendering").toFile();
+		try {
+			SyntheticModelGenerator.writeModel(modelFolder, 1, NUMBER_OF_FIELDS, AnnotationsDensity.HIGH);
+			DslModel model = (DslModel) new ModelConverter(new DslModelErrors())
+					.convertModel(new ParserV2().parseModel(modelFolder).getModel());
+			entity = (DslModelEntity) model.getEntities().get(0);
+		}
+		finally {
+			SyntheticModelGenerator.deleteFolder(modelFolder);
+		}
+		entityFileWriter = new EntityFileWriter(modelFolder.getAbsolutePath());
+		output = new StringBuilder(64 * 1024);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUMBER_OF_FIELDS)
+	public int renderEntity() throws IOException {
+		output.setLength(0);
+		entityFileWriter.appendEntity(output, entity);
+		return output.length();
+	}
+}
@@ -0,0 +1,165 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.benchmark.SyntheticModelGenerator.AnnotationsDensity;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.writer.ModelWriter;
+import org.telosys.tools.dsl.parser.Element;
+import org.telosys.tools.dsl.parser.EntityElementsLexer;
+import org.telosys.tools.dsl.parser.EntityElementsParser;
+import org.telosys.tools.dsl.parser.EntityElementsProcessor;
+import org.telosys.tools.dsl.parser.FieldElementsProcessor;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+
+/**
+ * Each stage of the DSL model loading pipeline (and the model writer) 
+ * on synthetic models with 10 to 10,000 entities <br>
+ * Use the "gc" profiler (default in the 'benchmarks' Maven profile) to get the allocation rate 
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelLoadingStagesBenchmark {
+
+	private static final int NUMBER_OF_FIELDS = 12 ;
+	
+	@Param({"10", "100", "1000", "10000"})
+	public int entities ;
+
+	@Param({"NONE", "LOW", "HIGH"})
+	public AnnotationsDensity density ;
+
+	private File modelFolder ;
+	private File outputFolder ;
+	private List<File> entityFiles ;
+	private List<String> entitiesNames ;
+	private Set<String> entitiesNamesSet ;
+	private List<List<Element>> entitiesElements ;
+	private DomainModel domainModel ;
+	private DslModel dslModel ;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException, DslModelError {
+		File folder = Files.createTempDirectory("dsl-stages").toFile();
+		modelFolder = new File(folder, "model");
+		outputFolder = new File(folder, "output");
+		modelFolder.mkdirs();
+		entityFiles = SyntheticModelGenerator.writeModel(modelFolder, entities, NUMBER_OF_FIELDS, density);
+		
+		// inputs for each stage (results of the previous stages)
+		entitiesNames = new ArrayList<>();
+		entitiesElements = new ArrayList<>();
+		for ( File file : entityFiles ) {
+			entitiesNames.add(DslModelUtil.getEntityName(file));
+			entitiesElements.add(new EntityElementsParser().parseEntityFile(file));
+		}
+		entitiesNamesSet = FieldElementsProcessor.buildEntitiesNamesSet(entitiesNames);
+		ParsingResult parsingResult = new ParserV2().parseModel(modelFolder);
+		if ( parsingResult.hasErrors() ) {
+			throw new IllegalStateException("Invalid synthetic model : " + parsingResult.getErrors());
+		}
+		domainModel = parsingResult.getModel();
+		DslModelErrors errors = new DslModelErrors();
+		dslModel = (DslModel) new ModelConverter(errors).convertModel(domainModel);
+		if ( ! errors.isEmpty() ) {
+			throw new IllegalStateException("Invalid synthetic model : " + errors);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteFolder(modelFolder.getParentFile());
+	}
+
+	@Benchmark
+	public void stage1ParseEntityFiles(Blackhole blackhole) throws DslModelError {
+		for ( File file : entityFiles ) {
+			blackhole.consume(new EntityElementsParser().parseEntityFile(file));
+		}
+	}
+
+	@Benchmark
+	public void stage2ProcessEntityElements(Blackhole blackhole) {
+		DslModelErrors errors = new DslModelErrors();
+		for ( int i = 0 ; i < entitiesElements.size() ; i++ ) {
+			EntityElementsProcessor processor = new EntityElementsProcessor(entitiesNames.get(i), entitiesNamesSet);
+			blackhole.consume(processor.processEntityElements(entitiesElements.get(i), errors));
+		}
+	}
+
+	@Benchmark
+	public void stage12StreamingParseAndProcess(Blackhole blackhole) throws DslModelError {
+		// stages 1 and 2 in a single pass (no list of elements)
+		DslModelErrors errors = new DslModelErrors();
+		EntityElementsLexer lexer = new EntityElementsLexer();
+		for ( int i = 0 ; i < entityFiles.size() ; i++ ) {
+			EntityElementsProcessor processor = new EntityElementsProcessor(entitiesNames.get(i), entitiesNamesSet);
+			processor.startEntity(errors);
+			lexer.processEntityFile(entityFiles.get(i), processor);
+			blackhole.consume(processor.endEntity());
+		}
+	}
+
+	@Benchmark
+	public ParsingResult stage3ParseModel() {
+		return new ParserV2().parseModel(modelFolder);
+	}
+
+	@Benchmark
+	public Object stage4ConvertModel() {
+		return new ModelConverter(new DslModelErrors()).convertModel(domainModel);
+	}
+
+	@Benchmark
+	public void stage5WriteModel() {
+		new ModelWriter().writeModel(dslModel, outputFolder.getAbsolutePath());
+	}
+}
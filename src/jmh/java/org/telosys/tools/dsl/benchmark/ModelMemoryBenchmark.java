@@ -0,0 +1,114 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.benchmark.SyntheticModelGenerator.AnnotationsDensity;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+
+/**
+ * Memory footprint of a loaded model : retained heap (after GC) of the DomainModel 
+ * and of the DslModel built from it (reported as secondary results in KB) <br>
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1) // the counters are summed over the measurement iterations 
+@Fork(1)
+public class ModelMemoryBenchmark {
+
+	private static final int NUMBER_OF_FIELDS = 12 ;
+	
+	@Param({"5000"})
+	public int entities ;
+
+	@Param({"LOW"})
+	public AnnotationsDensity density ;
+
+	private File modelFolder ;
+	
+	/**
+	 * Retained heap reported for each iteration 
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Footprint {
+		public long domainModelKB ;
+		public long dslModelKB ;
+	}
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		File folder = Files.createTempDirectory("dsl-memory").toFile();
+		modelFolder = new File(folder, "model");
+		modelFolder.mkdirs();
+		SyntheticModelGenerator.writeModel(modelFolder, entities, NUMBER_OF_FIELDS, density);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteFolder(modelFolder.getParentFile());
+	}
+	
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for ( int i = 0 ; i < 3 ; i++ ) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@Benchmark
+	public Object loadModel(Footprint footprint) {
+		long initialHeap = usedHeap();
+		ParsingResult parsingResult = new ParserV2().parseModel(modelFolder);
+		DomainModel domainModel = parsingResult.getModel();
+		long domainModelHeap = usedHeap();
+		Object dslModel = new ModelConverter(new DslModelErrors()).convertModel(domainModel);
+		parsingResult = null ;
+		domainModel = null ; // only the DslModel is retained now
+		long dslModelHeap = usedHeap();
+		footprint.domainModelKB = ( domainModelHeap - initialHeap ) / 1024 ;
+		footprint.dslModelKB = ( dslModelHeap - initialHeap ) / 1024 ;
+		return dslModel ;
+	}
+}
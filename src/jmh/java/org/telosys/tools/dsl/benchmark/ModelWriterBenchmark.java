@@ -0,0 +1,111 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.benchmark.SyntheticModelGenerator.AnnotationsDensity;
+import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.writer.ModelWriter;
+import org.telosys.tools.dsl.parser.ParserV2;
+
+/**
+ * ModelWriter throughput : number of entities written per second 
+ * (secondary result 'entities') with and without the buffered mode, 
+ * sequential or parallel
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelWriterBenchmark {
+
+	private static final int NUMBER_OF_FIELDS = 12 ;
+	
+	@Param({"3000"})
+	public int entities ;
+
+	@Param({"HIGH"})
+	public AnnotationsDensity density ;
+
+	@Param({"false", "true"})
+	public boolean buffered ;
+
+	@Param({"1", "4"})
+	public int parallelism ;
+
+	private File rootFolder ;
+	private File outputFolder ;
+	private DslModel model ;
+	
+	/**
+	 * Number of entities written 
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class WrittenEntities {
+		public long entities ;
+	}
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		rootFolder = Files.createTempDirectory("dsl-writer").toFile();
+		File modelFolder = new File(rootFolder, "model");
+		modelFolder.mkdirs();
+		SyntheticModelGenerator.writeModel(modelFolder, entities, NUMBER_OF_FIELDS, density);
+		model = (DslModel) new ModelConverter(new DslModelErrors())
+				.convertModel(new ParserV2().parseModel(modelFolder).getModel());
+		outputFolder = new File(rootFolder, "output");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteFolder(rootFolder);
+	}
+	
+	@Benchmark
+	public void writeModel(WrittenEntities writtenEntities) {
+		ModelWriter modelWriter = new ModelWriter();
+		modelWriter.setBufferedMode(buffered);
+		modelWriter.setParallelism(parallelism);
+		modelWriter.writeModel(model, outputFolder.getAbsolutePath());
+		writtenEntities.entities += model.getEntities().size();
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telosys.tools.dsl.benchmark.SyntheticModelGenerator.AnnotationsDensity;
+import org.telosys.tools.dsl.parser.LexerMode;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+
+/**
+ * Model parsing with and without the persistent parsing cache (warm cache : all the entities found in the cache)
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsingCacheBenchmark {
+
+	@Param({"LINE_BY_LINE", "CHAR_BUFFER"})
+	public String lexerMode ;
+	
+	private File modelFolder ;
+	
+	private File cacheFolder ;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		modelFolder = Files.createTempDirectory("parsing-cache-model").toFile();
+		cacheFolder = Files.createTempDirectory("parsing-cache").toFile();
+		SyntheticModelGenerator.writeModel(modelFolder, 1000, 30, AnnotationsDensity.HIGH);
+		newParser(cacheFolder).parseModel(modelFolder); // warm cache
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SyntheticModelGenerator.deleteFolder(modelFolder);
+		SyntheticModelGenerator.deleteFolder(cacheFolder);
+	}
+
+	private ParserV2 newParser(File cache) {
+		ParserV2 parser = new ParserV2(); // new parser for each model (as in a new JVM)
+		parser.setLexerMode(LexerMode.valueOf(lexerMode));
+		parser.setCacheFolder(cache);
+		return parser;
+	}
+	
+	@Benchmark
+	public ParsingResult withoutCache() {
+		return newParser(null).parseModel(modelFolder);
+	}
+
+	@Benchmark
+	public ParsingResult withCache() {
+		return newParser(cacheFolder).parseModel(modelFolder);
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generator of synthetic models and entity files for benchmarks
+ * 
+ * @author Laurent GUERIN
+ *
+ */
+public class SyntheticModelGenerator {
+
+	/**
+	 * Number of annotations and tags in the generated entities 
+	 */
+	public enum AnnotationsDensity {
+		NONE, // no annotation except @Id and @FK
+		LOW,  // about 1 annotation for 2 fields
+		HIGH  // 3 or 4 annotations/tags for each field
+	}
+	
+	private SyntheticModelGenerator() {
+	}
+	
+	/**
+	 * Builds the content of an entity with the given number of fields and a low annotations density
+	 * @param entityName
+	 * @param numberOfFields
+	 * @return
+	 */
+	public static String buildEntityContent(String entityName, int numberOfFields) {
+		return buildEntityContent(entityName, numberOfFields, AnnotationsDensity.LOW, null);
+	}
+
+	private static String annotations(AnnotationsDensity density, int i, String low, String high) {
+		if ( density == AnnotationsDensity.HIGH ) {
+			return " { " + high + " }" ;
+		}
+		else if ( density == AnnotationsDensity.LOW && i % 2 == 1 ) {
+			return " { " + low + " }" ;
+		}
+		return "" ;
+	}
+	
+	/**
+	 * Builds the content of an entity 
+	 * @param entityName
+	 * @param numberOfFields number of basic fields (including the id)
+	 * @param density annotations density 
+	 * @param referencedEntity entity referenced by a FK and a link (or null if none)
+	 * @return
+	 */
+	public static String buildEntityContent(String entityName, int numberOfFields, AnnotationsDensity density, String referencedEntity) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("// Synthetic entity \n");
+		if ( density == AnnotationsDensity.HIGH ) {
+			sb.append("@DbTable(" + entityName.toUpperCase() + ")\n");
+			sb.append("@DbComment(\"Entity " + entityName + "\")\n");
+		}
+		sb.append(entityName + " {\n");
+		sb.append("  id : int { @Id" + ( density == AnnotationsDensity.HIGH ? " @NotNull #Key" : "" ) + " } ; // primary key \n");
+		for ( int i = 1 ; i < numberOfFields ; i++ ) {
+			switch ( i % 4 ) {
+			case 0 :
+				sb.append("  amount" + i + " : decimal" 
+						+ annotations(density, i, "@Min(0)", "@DefaultValue(12.5) @Min(0) @Max(9999) @DbName(AMOUNT_" + i + ")") + " ; \n");
+				break;
+			case 1 :
+				sb.append("  name" + i + " : string" 
+						+ annotations(density, i, "@SizeMax(40)", "@NotBlank @SizeMax(40) @Label(\"Name " + i + "\") #Label(name)") + " ; \n");
+				break;
+			case 2 :
+				sb.append("  flag" + i + " : boolean" 
+						+ annotations(density, i, "@NotNull", "@NotNull @DefaultValue(true) @DbDefaultValue(\"1\")") + " ; \n");
+				break;
+			default :
+				sb.append("  date" + i + " : date" 
+						+ annotations(density, i, "@Past", "@Past @DbName(DATE_" + i + ") #Format(\"yyyy-MM-dd\")") + " ; \n");
+				break;
+			}
+		}
+		if ( referencedEntity != null ) {
+			sb.append("  refId : int { @FK(" + referencedEntity + ") } ; \n");
+			sb.append("  ref : " + referencedEntity + annotations(density, 1, "@Optional", "@Optional @FetchTypeLazy") + " ; \n");
+		}
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Writes an entity file with the given number of fields in the given folder 
+	 * @param folder
+	 * @param entityName
+	 * @param numberOfFields
+	 * @return
+	 * @throws IOException
+	 */
+	public static File writeEntityFile(File folder, String entityName, int numberOfFields) throws IOException {
+		return writeFile(folder, entityName + ".entity", buildEntityContent(entityName, numberOfFields));
+	}
+
+	/**
+	 * Writes a model with the given number of entities in the given folder <br>
+	 * Each entity (except the first one) references the previous one 
+	 * @param folder
+	 * @param numberOfEntities
+	 * @param numberOfFields number of basic fields in each entity
+	 * @param density
+	 * @return the entity files 
+	 * @throws IOException
+	 */
+	public static List<File> writeModel(File folder, int numberOfEntities, int numberOfFields, AnnotationsDensity density) throws IOException {
+		writeFile(folder, "model.yaml", "title : synthetic model \n");
+		List<File> files = new ArrayList<>(numberOfEntities);
+		String previousEntity = null ;
+		for ( int i = 0 ; i < numberOfEntities ; i++ ) {
+			String entityName = String.format("Entity%05d", i);
+			String content = buildEntityContent(entityName, numberOfFields, density, previousEntity);
+			files.add(writeFile(folder, entityName + ".entity", content));
+			previousEntity = entityName ;
+		}
+		return files;
+	}
+
+	/**
+	 * Writes a model with the given number of entities in the given folder <br>
+	 * Each entity has an id, a name and the given number of links referencing the next entities 
+	 * @param folder
+	 * @param numberOfEntities
+	 * @param numberOfLinks number of links in each entity
+	 * @return the entity files 
+	 * @throws IOException
+	 */
+	public static List<File> writeModelWithLinks(File folder, int numberOfEntities, int numberOfLinks) throws IOException {
+		writeFile(folder, "model.yaml", "title : synthetic model \n");
+		List<File> files = new ArrayList<>(numberOfEntities);
+		for ( int i = 0 ; i < numberOfEntities ; i++ ) {
+			String entityName = String.format("Entity%05d", i);
+			StringBuilder sb = new StringBuilder();
+			sb.append(entityName + " {\n");
+			sb.append("  id : int { @Id } ; \n");
+			sb.append("  name : string ; \n");
+			for ( int j = 1 ; j <= numberOfLinks ; j++ ) {
+				// referenced entities spread over the whole model 
+				String referencedEntity = String.format("Entity%05d", ( i + j * 397 ) % numberOfEntities );
+				sb.append("  link" + j + " : " + referencedEntity + ( j % 2 == 0 ? "[]" : "" ) + " ; \n");
+			}
+			sb.append("}\n");
+			files.add(writeFile(folder, entityName + ".entity", sb.toString()));
+		}
+		return files;
+	}
+
+	private static File writeFile(File folder, String fileName, String content) throws IOException {
+		File file = new File(folder, fileName);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+	
+	/**
+	 * Deletes the given folder and all its files and sub-folders 
+	 * @param folder
+	 */
+	public static void deleteFolder(File folder) {
+		if ( folder != null && folder.exists() ) {
+			File[] files = folder.listFiles();
+			if ( files != null ) {
+				for ( File file : files ) {
+					if ( file.isDirectory() ) {
+						deleteFolder(file);
+					}
+					else {
+						file.delete();
+					}
+				}
+			}
+			folder.delete();
+		}
+	}
+}
@@ -35,8 +35,14 @@ public class DslModelError extends Exception {
     // Field name (if known)
 	private final String fieldName;
 
-    // Standard exception message
-	private final String errorMessage ;
+	// Error code (v 4.1.0)
+	private final DslModelErrorCode errorCode ;
+
+	// Error message arguments (v 4.1.0)
+	private final Object[] errorArguments ;
+
+    // Standard exception message (built on first use)
+	private volatile String errorMessage ;
 
 	/**
 	 * MODEL level error 
@@ -87,9 +93,56 @@ public class DslModelError extends Exception {
         this.entityName = entityName ;
         this.lineNumber = lineNumber ;
         this.fieldName = fieldName ;
+        this.errorCode = DslModelErrorCode.OTHER ;
+        this.errorArguments = new Object[] { errorMessage } ;
         this.errorMessage = errorMessage ;
     }
 
+	/**
+	 * MODEL level error with an error code (the message is built only if requested)
+	 * @param errorCode
+	 * @param errorArguments
+	 * @since 4.1.0
+	 */
+	public DslModelError(DslModelErrorCode errorCode, Object... errorArguments ) {
+        this(null, 0, null, errorCode, errorArguments);
+    }
+
+	/**
+	 * ENTITY level error with an error code (the message is built only if requested)
+	 * @param entityName
+	 * @param lineNumber (0 if unknown)
+	 * @param errorCode
+	 * @param errorArguments
+	 * @since 4.1.0
+	 */
+	public DslModelError(String entityName, int lineNumber, DslModelErrorCode errorCode, Object... errorArguments ) {
+        this(entityName, lineNumber, null, errorCode, errorArguments);
+    }
+
+	/**
+	 * FIELD level error with an error code (the message is built only if requested) <br>
+	 * No stack trace for the errors with a code : they are collected and reported with their position
+	 * @param entityName
+	 * @param lineNumber (0 if unknown)
+	 * @param fieldName
+	 * @param errorCode
+	 * @param errorArguments
+	 * @since 4.1.0
+	 */
+	public DslModelError(String entityName, int lineNumber, String fieldName, DslModelErrorCode errorCode, Object... errorArguments ) {
+        super(null, null, false, false); // no stack trace (the errors are collected and reported with their position)
+        if ( errorCode == null ) {
+        	throw new IllegalArgumentException("Error code is null");
+        }
+        this.entityName = entityName ;
+        this.lineNumber = lineNumber ;
+        this.fieldName = fieldName ;
+        this.errorCode = errorCode ;
+        this.errorArguments = errorArguments ;
+        this.errorMessage = null ;
+    }
+
 	//-------------------------------------------------------------------------------------------------------
 	
 	public String getEntityName() {
@@ -104,8 +157,31 @@ public class DslModelError extends Exception {
 		return fieldName;
 	}
 
+	/**
+	 * Returns the error code ( OTHER if the error has been created with a message )
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DslModelErrorCode getErrorCode() {
+		return errorCode;
+	}
+
+	/**
+	 * Returns a copy of the error message arguments 
+	 * @return
+	 * @since 4.1.0
+	 */
+	public Object[] getErrorArguments() {
+		return errorArguments != null ? errorArguments.clone() : new Object[0] ;
+	}
+
 	public String getErrorMessage() {
-		return errorMessage;
+		String message = errorMessage ;
+		if ( message == null && errorCode != DslModelErrorCode.OTHER ) {
+			message = errorCode.formatMessage(errorArguments);
+			errorMessage = message ;
+		}
+		return message;
 	}
 	
 	@Override
@@ -132,8 +208,9 @@ public class DslModelError extends Exception {
 		if ( sb.length() > 0 ) {
 			sb.append(" : ");
 		}
-		if ( errorMessage != null ) {
-			sb.append(errorMessage);
+		String message = getErrorMessage();
+		if ( message != null ) {
+			sb.append(message);
 		}
 		else {
 			sb.append("(no error message)");
@@ -0,0 +1,113 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl;
+
+/**
+ * DSL model error codes <br>
+ * Each code has a message pattern with positional arguments ( {0}, {1}, etc ) <br>
+ * The message is built only when it is requested ( see DslModelError ) 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public enum DslModelErrorCode {
+
+	// free message (errors created with a message)
+	OTHER("{0}"),
+	
+	// model and files 
+	MODEL_FOLDER_NOT_FOUND("Model folder '{0}' not found"),
+	MODEL_FOLDER_NOT_DIRECTORY("'{0}' is not a directory"),
+	FILE_NOT_FOUND("File not found"),
+	IO_ERROR("IOException : {0}"),
+	
+	// lexer
+	UNEXPECTED_CHARACTER("Unexpected character [{0}]"),
+	UNEXPECTED_CHARACTER_AFTER_ELEMENT("Unexpected character [{0}] after element [{1}]"),
+	UNEXPECTED_CHARACTER_AFTER_CHARACTER("Unexpected character [{0}] after character [{1}]"),
+	
+	// entity 
+	INVALID_ENTITY_NAME("Entity name '{0}' different from file name '{1}' "),
+	UNEXPECTED_ELEMENT("unexpected element '{0}' "),
+	DUPLICATED_FIELD("Duplicate field '{0}'"),
+	
+	// field
+	INVALID_FIELD_DEFINITION("invalid field definition"),
+	INVALID_FIELD_NAME("invalid field name (char '{0}')"),
+	INVALID_SEPARATOR("invalid separator '{0}' (':' expected)"),
+	INVALID_TYPE("invalid type '{0}'"),
+	INVALID_FIELD_TYPE("invalid field type : {0}"),
+	MULTIPLE_OPENING_BRACES("multiple '{' "),
+	MULTIPLE_CLOSING_BRACES("multiple '}' "),
+	UNEXPECTED_ELEMENT_OUT_OF_BRACES("unexpected element '{0}' out of {...}"),
+	INVALID_FIELD_ELEMENT("invalid element '{0}'(annotation or tag expected)"),
+	
+	// annotations and tags 
+	INVALID_NAME("{0} : invalid name"),
+	UNBALANCED_PARENTHESES("{0} : unbalanced ( and )"),
+	OPENING_PARENTHESIS_MISSING("{0} : '(' missing"),
+	CLOSING_PARENTHESIS_MISSING("{0} : ')' missing"),
+	UNKNOWN_ANNOTATION("'{0}' : unknown annotation"),
+	INVALID_PARAMETER("'{0}' : {1}"),
+	INVALID_SCOPE_ATTRIBUTE("'{0}' : annotation not usable at attribute level (invalid scope)"),
+	INVALID_SCOPE_LINK("'{0}' : annotation not usable at link level (invalid scope)"),
+	INVALID_SCOPE_ENTITY("'{0}' : annotation not usable at entity level (invalid scope)"),
+	ANNOTATION_USED_MORE_THAN_ONCE("'{0}' : annotation used more than once"),
+	
+	// conversion
+	ANNOTATION_ERROR("@{0} : {1}"),
+	TAG_ERROR("#{0} : {1}"),
+	
+	// model checking
+	DUPLICATED_FK_NAME("{0} : Duplicated FK name '{1}' ");
+	
+	private final String messagePattern ;
+	
+	private DslModelErrorCode(String messagePattern) {
+		this.messagePattern = messagePattern;
+	}
+
+	/**
+	 * Returns the message pattern 
+	 * @return
+	 */
+	public String getMessagePattern() {
+		return messagePattern;
+	}
+	
+	/**
+	 * Builds the message by replacing each argument reference ( {0}, {1}, etc ) 
+	 * @param args
+	 * @return
+	 */
+	public String formatMessage(Object[] args) {
+		StringBuilder sb = new StringBuilder(messagePattern.length() + 32);
+		int length = messagePattern.length();
+		for ( int i = 0 ; i < length ; i++ ) {
+			char c = messagePattern.charAt(i);
+			if ( c == '{' && i + 2 < length && messagePattern.charAt(i+2) == '}' 
+					&& Character.isDigit(messagePattern.charAt(i+1)) ) {
+				int argIndex = messagePattern.charAt(i+1) - '0' ;
+				sb.append( args != null && argIndex < args.length ? args[argIndex] : "" );
+				i = i + 2 ;
+			}
+			else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -15,34 +15,87 @@
  */
 package org.telosys.tools.dsl;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Model Parsing : errors collector
+ * Model Parsing : errors collector <br>
+ * The collector can be used by concurrent producers (lock-free) and keeps the errors in insertion order. <br>
+ * A maximum number of errors can be defined : when the limit is reached the new errors are ignored 
+ * (only counted) and the parsing and conversion stop as soon as possible
  * 
  * @author Laurent GUERIN
  *
  */
 public class DslModelErrors {
 
-	private final List<DslModelError> errors ;
+	private final Queue<DslModelError> errors ;
+	
+	private final AtomicInteger numberOfErrors = new AtomicInteger();
+	
+	private final AtomicInteger numberOfIgnoredErrors = new AtomicInteger();
+	
+	private final int maxErrors ; // 0 = no limit
 
     /**
-     * Constructor with a single error message
-     * @param errorMessage
+     * Constructor (no limit)
      */
     public DslModelErrors() {
+        this(0);
+    }
+
+    /**
+     * Constructor with a maximum number of errors 
+     * @param maxErrors the maximum number of errors to be collected (0 for no limit, 1 for fail-fast)
+     * @since 4.1.0
+     */
+    public DslModelErrors(int maxErrors) {
         super();
-        this.errors = new LinkedList<>();
+		if ( maxErrors < 0 ) {
+			throw new IllegalArgumentException("Invalid max errors " + maxErrors);
+		}
+        this.maxErrors = maxErrors;
+        this.errors = new ConcurrentLinkedQueue<>();
     }
 
     /**
-     * Returns a list containing all errors
+     * Returns the maximum number of errors (0 if no limit)
+     * @return
+     * @since 4.1.0
+     */
+    public int getMaxErrors() {
+    	return maxErrors ;
+    }
+    
+    /**
+     * Returns true if the maximum number of errors has been reached 
+     * (the parsing and conversion can be stopped)
+     * @return
+     * @since 4.1.0
+     */
+    public boolean isLimitReached() {
+    	return maxErrors > 0 && numberOfErrors.get() >= maxErrors ;
+    }
+    
+    /**
+     * Returns the number of errors ignored after reaching the limit
+     * @return
+     * @since 4.1.0
+     */
+    public int getNumberOfIgnoredErrors() {
+    	return numberOfIgnoredErrors.get();
+    }
+    
+    /**
+     * Returns a list containing all the current errors <br>
+     * (since 4.1.0 the list is a new copy : modifying it has no effect on the errors, use addError() to add an error)
      * @return
      */
     public List<DslModelError> getErrors() {
-    	return errors ;
+    	return new ArrayList<>(errors);
     }
     
     /**
@@ -50,7 +103,7 @@ public class DslModelErrors {
      * @return
      */
     public int getNumberOfErrors() {
-        return errors.size();
+        return numberOfErrors.get();
     }
 
     /**
@@ -58,27 +111,59 @@ public class DslModelErrors {
      * @return
      */
     public boolean isEmpty() {
-        return errors.isEmpty();
+        return numberOfErrors.get() == 0 ;
     }
 
     /**
-     * Add a new error in the collector
+     * Add a new error in the collector (ignored if the limit is reached)
      * @param error
      */
     public void addError(DslModelError error) {
-    	errors.add(error);
+    	if ( reserveError() ) {
+    		errors.add(error);
+    	}
+    	else {
+    		numberOfIgnoredErrors.incrementAndGet();
+    	}
+    }
+    
+    private boolean reserveError() {
+    	while ( true ) {
+    		int n = numberOfErrors.get();
+    		if ( maxErrors > 0 && n >= maxErrors ) {
+    			return false;
+    		}
+    		if ( numberOfErrors.compareAndSet(n, n + 1) ) {
+    			return true;
+    		}
+    	}
+    }
+    
+    /**
+     * Add all the errors of the given collector (keeping their original order)
+     * @param otherErrors
+     */
+    public void addErrors(DslModelErrors otherErrors) {
+    	for ( DslModelError e : otherErrors.errors ) {
+    		addError(e);
+    	}
+    	numberOfIgnoredErrors.addAndGet(otherErrors.getNumberOfIgnoredErrors());
     }
     
     @Override
     public String toString() {
     	StringBuilder sb = new StringBuilder();
-    	sb.append(errors.size());
+    	List<DslModelError> list = getErrors();
+    	sb.append(list.size());
     	sb.append(" error(s) : \n");
-		for ( DslModelError e : errors ) {
+		for ( DslModelError e : list ) {
 	    	sb.append(" . " );
 	    	sb.append(e.getReportMessage() );
 	    	sb.append("\n");
 		}
+		if ( numberOfIgnoredErrors.get() > 0 ) {
+	    	sb.append(" ( " + numberOfIgnoredErrors.get() + " other error(s) ignored ) \n" );
+		}
 		return sb.toString();
     }
 }
@@ -0,0 +1,50 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl;
+
+/**
+ * Model loading listener with void methods (to be extended) 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class DslModelLoadingAdapter implements DslModelLoadingListener {
+
+	@Override
+	public void stageCompleted(DslModelLoadingStage stage, String entityName, long durationNanos) {
+		// nothing to do
+	}
+
+	@Override
+	public void entityFileRead(String entityName, long numberOfBytes) {
+		// nothing to do
+	}
+
+	@Override
+	public void entityParsed(String entityName, int numberOfElements, int numberOfFields) {
+		// nothing to do
+	}
+
+	@Override
+	public void annotationApplied(String annotationName) {
+		// nothing to do
+	}
+
+	@Override
+	public void errorsProduced(DslModelLoadingStage stage, String entityName, int numberOfErrors) {
+		// nothing to do
+	}
+}
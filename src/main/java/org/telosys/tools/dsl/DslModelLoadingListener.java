@@ -0,0 +1,70 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl;
+
+/**
+ * Listener notified during the model loading (timing and counters for each stage) <br>
+ * The events related to entity files can be notified concurrently by several threads 
+ * when the parallel parsing is used, so an implementation must be thread-safe <br>
+ * Use DslModelLoadingAdapter to implement only some of the methods
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public interface DslModelLoadingListener {
+
+	/**
+	 * Listener doing nothing (default listener)
+	 */
+	public static final DslModelLoadingListener NO_OP = new DslModelLoadingAdapter();
+
+	/**
+	 * Called at the end of each stage 
+	 * @param stage the stage 
+	 * @param entityName the entity name for the entity level stages (or null for the model level stages)
+	 * @param durationNanos the wall time of the stage in nanoseconds 
+	 */
+	public void stageCompleted(DslModelLoadingStage stage, String entityName, long durationNanos);
+
+	/**
+	 * Called when an entity file has been read 
+	 * @param entityName
+	 * @param numberOfBytes
+	 */
+	public void entityFileRead(String entityName, long numberOfBytes);
+
+	/**
+	 * Called when an entity has been parsed 
+	 * @param entityName
+	 * @param numberOfElements number of elements found in the entity file
+	 * @param numberOfFields number of fields in the entity 
+	 */
+	public void entityParsed(String entityName, int numberOfElements, int numberOfFields);
+
+	/**
+	 * Called when an annotation has been applied to an entity, an attribute or a link 
+	 * @param annotationName the annotation name (name of the AnnotationDefinition)
+	 */
+	public void annotationApplied(String annotationName);
+
+	/**
+	 * Called when errors have been produced by a stage (not called if no error)
+	 * @param stage
+	 * @param entityName the entity name for the entity level stages (or null for the model level stages)
+	 * @param numberOfErrors
+	 */
+	public void errorsProduced(DslModelLoadingStage stage, String entityName, int numberOfErrors);
+}
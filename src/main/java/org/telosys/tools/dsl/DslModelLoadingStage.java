@@ -0,0 +1,82 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl;
+
+/**
+ * Stages of the model loading (reported to the DslModelLoadingListener)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public enum DslModelLoadingStage {
+	
+	/**
+	 * Whole parsing of the model (all the parsing stages)
+	 */
+	PARSING ,
+	
+	/**
+	 * Search of the entity files in the model folder
+	 */
+	FILES_DISCOVERY ,
+	
+	/**
+	 * Entity file reading and split in elements (reported for each entity file)
+	 */
+	LEXING ,
+	
+	/**
+	 * Elements processing to build the entity (reported for each entity file) <br>
+	 * In streaming mode the file reading and the elements processing are done in a single pass 
+	 * reported only at this stage
+	 */
+	ELEMENTS_PROCESSING ,
+	
+	/**
+	 * Duplicated Foreign Keys checking (ModelFKChecker)
+	 */
+	FK_CHECKING ,
+	
+	/**
+	 * Whole conversion of the model (all the conversion steps)
+	 */
+	CONVERSION ,
+	
+	/**
+	 * Conversion step 1 : void entities creation
+	 */
+	CONVERSION_STEP1_ENTITIES ,
+	
+	/**
+	 * Conversion step 2 : attributes creation
+	 */
+	CONVERSION_STEP2_ATTRIBUTES ,
+	
+	/**
+	 * Conversion step 3 : explicit Foreign Keys creation
+	 */
+	CONVERSION_STEP3_EXPLICIT_FK ,
+	
+	/**
+	 * Conversion step 4 : links creation
+	 */
+	CONVERSION_STEP4_LINKS ,
+	
+	/**
+	 * Conversion step 5 : implicit Foreign Keys creation
+	 */
+	CONVERSION_STEP5_IMPLICIT_FK 
+}
@@ -21,6 +21,7 @@ import org.telosys.tools.commons.plugins.PluginHandler;
 import org.telosys.tools.dsl.commons.ModelInfo;
 import org.telosys.tools.dsl.commons.ModelInfoLoader;
 import org.telosys.tools.dsl.converter.ModelConverter;
+import org.telosys.tools.dsl.parser.IncrementalParser;
 import org.telosys.tools.dsl.parser.ParserV2;
 import org.telosys.tools.dsl.parser.ParsingResult;
 import org.telosys.tools.dsl.parser.model.DomainModel;
@@ -40,14 +41,54 @@ public class DslModelManager {
 	 * All errors detected during model loading
 	 */
 	private DslModelErrors errors ;
+	
+	/**
+	 * Parser used for incremental loading (keeps the previous parsing state)
+	 */
+	private IncrementalParser incrementalParser = null ;
+
+	/**
+	 * Listener notified during model loading 
+	 */
+	private final DslModelLoadingListener listener ;
+
+	/**
+	 * Maximum number of errors before stopping the model loading (0 = no limit)
+	 */
+	private int maxErrors = 0 ;
 
 	/**
 	 * Constructor
 	 */
 	public DslModelManager() {
+		this(DslModelLoadingListener.NO_OP);
+	}
+
+	/**
+	 * Constructor
+	 * @param listener the listener to be notified during model loading (timing and counters for each stage)
+	 * @since 4.1.0
+	 */
+	public DslModelManager(DslModelLoadingListener listener) {
 		super();
 		parsingErrorMessage = "";
 		errors = new DslModelErrors();
+		this.listener = ( listener != null ? listener : DslModelLoadingListener.NO_OP ) ;
+	}
+
+	/**
+	 * Set the maximum number of errors : the parsing and the conversion stop as soon as this number 
+	 * of errors is reached
+	 * @param maxErrors the maximum number of errors (0 for no limit, 1 for fail-fast)
+	 * @since 4.1.0
+	 */
+	public void setMaxErrors(int maxErrors) {
+		if ( maxErrors < 0 ) {
+			throw new IllegalArgumentException("Invalid max errors " + maxErrors);
+		}
+		this.maxErrors = maxErrors;
+		this.errors = new DslModelErrors(maxErrors);
+		this.incrementalParser = null ;
 	}
 
 	/**
@@ -86,7 +127,39 @@ public class DslModelManager {
      * @return the generic model or null if errors detected during parsing 
      */
     public Model loadModel(File modelFolder) {
-		ParsingResult parsingResult = step1ParseModel(modelFolder);
+		return processParsingResult(step1ParseModel(modelFolder));
+    }
+    
+    /**
+     * Loads (parse and convert) the model located in the given folder, parsing only the entity files 
+     * added or changed since the previous incremental loading with this instance <br>
+     * The first call parses all the entity files. <br>
+     * If errors occured this method returns null <br>
+     * and the errors can be retrieved from this instance ( parsingErrorMessage and parsingErrors ) 
+     *
+     * @param modelFolder  the model folder containig entity files to be loaded
+     * @return the generic model or null if errors detected during parsing 
+     * @since 4.1.0
+     */
+    public Model loadModelIncrementally(File modelFolder) {
+		parsingErrorMessage = "";
+		errors = new DslModelErrors(maxErrors);
+    	ParsingResult parsingResult = (ParsingResult) PluginHandler.parseModel(modelFolder);
+    	if (parsingResult == null) {
+    		if ( incrementalParser == null ) {
+    			incrementalParser = new IncrementalParser(createParser());
+    		}
+    		parsingResult = incrementalParser.parseModel(modelFolder);
+    	}
+		return processParsingResult(parsingResult);
+    }
+    
+    /**
+     * Returns the model converted from the given parsing result or null if errors
+     * @param parsingResult
+     * @return
+     */
+    private Model processParsingResult(ParsingResult parsingResult) {
 		if ( parsingResult.hasErrors() ) {
 			this.errors = parsingResult.getErrors();
 			this.parsingErrorMessage = parsingResult.getErrors().getNumberOfErrors() + " parsing error(s)";
@@ -108,18 +181,25 @@ public class DslModelManager {
     	if (result != null) {
     		return result;
     	} else {
-	    	ParserV2 dslParser = new ParserV2();
+	    	ParserV2 dslParser = createParser();
 			return dslParser.parseModel(modelFolder);
     	}
     }
     
+    private ParserV2 createParser() {
+    	ParserV2 dslParser = new ParserV2();
+    	dslParser.setListener(listener);
+    	dslParser.setMaxErrors(maxErrors);
+    	return dslParser;
+    }
+    
     /**
      * Convert the 'raw model' to 'DSL/generic model'
      * @param domainModel
      * @return
      */
     private Model step2ConvertModel(DomainModel domainModel) {
-        ModelConverter converter = new ModelConverter(errors);
+        ModelConverter converter = new ModelConverter(errors, listener);
 		try {
 			Model model = converter.convertModel(domainModel);
 			if ( errors.isEmpty() ) {
@@ -16,7 +16,7 @@
 package org.telosys.tools.dsl;
 
 import java.io.File;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.telosys.tools.commons.DirUtil;
@@ -118,8 +118,8 @@ public class DslModelUtil {
             throw new RuntimeException(textError);
     	}
     	
-        List<String> entities = new LinkedList<>();
         String[] allFiles = modelFolder.list();
+        List<String> entities = new ArrayList<>(allFiles.length);
         for (String fileName : allFiles) {
         	if ( fileName.endsWith(DslModelUtil.DOT_ENTITY)) {
         		switch(expectedName) {
@@ -208,7 +208,7 @@ public class DslModelUtil {
      * @return
      */
     public static List<File> getModelsInFolder(File folder) {
-		List<File> list = new LinkedList<>();
+		List<File> list = new ArrayList<>();
 		if ( folder.exists() && folder.isDirectory() ) {
 			for ( File file : folder.listFiles() ) {
 				if ( file.isDirectory() ) {
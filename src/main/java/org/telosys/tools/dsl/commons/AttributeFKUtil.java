@@ -44,17 +44,31 @@ public class AttributeFKUtil {
 		DslModelEntity referencedEntity = (DslModelEntity) model.getEntityByClassName(referencedEntityName);
 		checkNotFound(referencedEntity, "referenced entity", referencedEntityName);
 		
+		//--- check all referenced attributes
 		for ( ForeignKeyAttribute fkAttrib : fk.getAttributes() ) {
-			// get referenced attribute
 			String referencedAttributeName = fkAttrib.getReferencedAttributeName();
-			DslModelAttribute referencedAttribute = (DslModelAttribute) referencedEntity.getAttributeByName(referencedAttributeName);
-			checkNotFound(referencedAttribute, "referenced attribute", referencedAttributeName);
-
+			checkNotFound(referencedEntity.getAttributeByName(referencedAttributeName), "referenced attribute", referencedAttributeName);
+		}
+		
+		applyFKToAttributes(fk, originEntity);
+	}
+	
+	/**
+	 * Apply the given Foreign Key to the attributes of the given origin entity <br>
+	 * The referenced entity and attributes are supposed to be already checked 
+	 * (used when the referenced entity is not in memory)
+	 * @param fk
+	 * @param originEntity
+	 * @since 4.1.0
+	 */
+	public static void applyFKToAttributes(ForeignKey fk, DslModelEntity originEntity) {
+		String referencedEntityName = fk.getReferencedEntityName();
+		for ( ForeignKeyAttribute fkAttrib : fk.getAttributes() ) {
 			// Build FK part
 			ForeignKeyPart fkPart = new DslModelForeignKeyPart(
 					fk.getName(),
-					referencedEntity.getClassName(), 
-					referencedAttribute.getName());
+					referencedEntityName, 
+					fkAttrib.getReferencedAttributeName());
 
 			// get attribute
 			String originAttributeName = fkAttrib.getOriginAttributeName();
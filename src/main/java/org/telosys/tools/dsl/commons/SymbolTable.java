@@ -0,0 +1,75 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.commons;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Model-scoped symbol table : canonical instances of the identifiers found in the model 
+ * ( entities names, fields names, types, annotations and tags names, parameters, etc ) <br>
+ * A loaded model holds only one String instance for each distinct identifier 
+ * ( and 'equals' is immediate for identical instances ) <br>
+ * Thread-safe ( can be shared by the threads parsing the entities in parallel )
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class SymbolTable {
+
+	/**
+	 * Symbol table without interning (each string is returned as is)
+	 */
+	public static final SymbolTable NONE = new SymbolTable(false);
+	
+	private final ConcurrentHashMap<String, String> symbols ;
+	
+	/**
+	 * Constructor
+	 */
+	public SymbolTable() {
+		this(true);
+	}
+
+	private SymbolTable(boolean interning) {
+		super();
+		this.symbols = ( interning ? new ConcurrentHashMap<String, String>() : null ) ;
+	}
+
+	/**
+	 * Returns the canonical instance of the given string 
+	 * @param s the string (can be null)
+	 * @return the canonical instance (the given string if it's the first one)
+	 */
+	public String intern(String s) {
+		if ( s == null || symbols == null ) {
+			return s ;
+		}
+		String symbol = symbols.get(s);
+		if ( symbol != null ) {
+			return symbol ;
+		}
+		symbol = symbols.putIfAbsent(s, s);
+		return symbol != null ? symbol : s ;
+	}
+
+	/**
+	 * Returns the number of distinct symbols 
+	 * @return
+	 */
+	public int size() {
+		return symbols != null ? symbols.size() : 0 ;
+	}
+}
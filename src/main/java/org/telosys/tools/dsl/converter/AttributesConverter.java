@@ -18,7 +18,9 @@ package org.telosys.tools.dsl.converter;
 import java.util.Collection;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelLoadingListener;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelAttribute;
 import org.telosys.tools.dsl.model.DslModelEntity;
@@ -38,6 +40,8 @@ public class AttributesConverter extends AbstractConverter {
 	private final DslModel dslModel ;
 	private final DslModelErrors errors;
 	
+	private final DslModelLoadingListener listener;
+	
 	private final TagsConverter tagsConverter;
 	
 	/**
@@ -46,10 +50,22 @@ public class AttributesConverter extends AbstractConverter {
 	 * @param errors
 	 */
 	public AttributesConverter(DslModel dslModel, DslModelErrors errors) {
+		this(dslModel, errors, DslModelLoadingListener.NO_OP);
+	}
+
+	/**
+	 * Constructor
+	 * @param dslModel
+	 * @param errors
+	 * @param listener the listener to be notified for each annotation applied
+	 * @since 4.1.0
+	 */
+	public AttributesConverter(DslModel dslModel, DslModelErrors errors, DslModelLoadingListener listener) {
 		super();
 		this.dslModel = dslModel;
 		this.errors = errors;
 		this.tagsConverter = new TagsConverter(errors);
+		this.listener = listener;
 	}
 
 	/**
@@ -60,18 +76,13 @@ public class AttributesConverter extends AbstractConverter {
 	 */
 	public void convertAttributes(DomainEntity domainEntity, DslModelEntity dslEntity) {
 		log("convertAttributes()...");
-		if (domainEntity.getFields() == null) {
-			return;
-		}
-		for (DomainField domainField : domainEntity.getFields()) {
-			// If the field is a "neutral type" = "basic attribute"
-			if (domainField.getType().isNeutralType()) { 
-				log("convert field : " + domainField.getName() + " (neutral type => basic attribute)");
-				// New "basic attribute"
-				DslModelAttribute dslAttribute = convertAttribute(domainField, dslEntity);
-				// Add the new "basic attribute" to the entity
-				dslEntity.addAttribute(dslAttribute);  // v 3.4.0
-			}
+		// Only the fields with a "neutral type" = "basic attribute"
+		for (DomainField domainField : domainEntity.getAttributeFields()) {
+			log("convert field : " + domainField.getName() + " (neutral type => basic attribute)");
+			// New "basic attribute"
+			DslModelAttribute dslAttribute = convertAttribute(domainField, dslEntity);
+			// Add the new "basic attribute" to the entity
+			dslEntity.addAttribute(dslAttribute);  // v 3.4.0
 		}
 	}
 	
@@ -126,10 +137,11 @@ public class AttributesConverter extends AbstractConverter {
 			for (DomainAnnotation annotation : annotations) {
 				try {
 					annotation.applyToAttribute(dslModel, dslEntity, dslAttribute);
+					listener.annotationApplied(annotation.getName());
 				} catch (Exception e) {
 					errors.addError(
-							new DslModelError( dslEntity.getClassName(), dslAttribute.getName(), 
-									"@" + annotation.getName() + " : "+ e.getMessage() ) );
+							new DslModelError( dslEntity.getClassName(), 0, dslAttribute.getName(), 
+									DslModelErrorCode.ANNOTATION_ERROR, annotation.getName(), e.getMessage() ) );
 				}
 			}		
 			
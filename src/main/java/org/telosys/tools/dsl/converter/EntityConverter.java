@@ -18,7 +18,9 @@ package org.telosys.tools.dsl.converter;
 import java.util.Collection;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelLoadingListener;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
 import org.telosys.tools.dsl.parser.model.DomainAnnotation;
@@ -35,6 +37,8 @@ public class EntityConverter extends AbstractConverter {
 	private final DslModel dslModel ;
 	private final DslModelErrors errors;
 	
+	private final DslModelLoadingListener listener;
+	
 	private final TagsConverter tagsConverter;
 	
 	/**
@@ -43,10 +47,22 @@ public class EntityConverter extends AbstractConverter {
 	 * @param errors
 	 */
 	public EntityConverter(DslModel dslModel, DslModelErrors errors) {
+		this(dslModel, errors, DslModelLoadingListener.NO_OP);
+	}
+
+	/**
+	 * Constructor
+	 * @param dslModel
+	 * @param errors
+	 * @param listener the listener to be notified for each annotation applied
+	 * @since 4.1.0
+	 */
+	public EntityConverter(DslModel dslModel, DslModelErrors errors, DslModelLoadingListener listener) {
 		super();
 		this.dslModel = dslModel;
 		this.errors = errors;
 		this.tagsConverter = new TagsConverter(errors);
+		this.listener = listener;
 	}
 	
 	protected DslModelEntity convertEntity(DomainEntity domainEntity) {
@@ -91,9 +107,11 @@ public class EntityConverter extends AbstractConverter {
 			for (DomainAnnotation annotation : annotations) {
 				try {
 					annotation.applyToEntity(dslModel, dslEntity);
+					listener.annotationApplied(annotation.getName());
 				} catch (Exception e) {
 					errors.addError(
-							new DslModelError( dslEntity.getClassName(), e.getMessage() ) );
+							new DslModelError( dslEntity.getClassName(), 0, 
+									DslModelErrorCode.ANNOTATION_ERROR, annotation.getName(), e.getMessage() ) );
 				}
 			}		
 			
@@ -63,17 +63,13 @@ public class ForeignKeysBuilderV2 {
 		}
 		// Build all entity Foreign Keys (stored in a Map)
 		foreignKeys = new HashMap<>();
-		if (entity.getFields() != null) {
-			// for each entity field : store all defined FK (FK part or entire FK ) 
-			for (DomainField field : entity.getFields()) {
-				if ( field.isAttribute() ) { // Explicit FK are defined in attributes not in links
-					DslModelAttribute dslModelAttribute = (DslModelAttribute) dslModelEntity.getAttributeByName(field.getName());
-					if (dslModelAttribute == null ) {
-						throw new IllegalStateException( "Cannot found attribute '" + field.getName() + "' in entity '" + entity.getName() + "'" );
-					}
-					buildForeignKeysFromAttribute(dslModelEntity, dslModelAttribute, field.getFkElements());
-				}
+		// for each attribute field : store all defined FK (FK part or entire FK ) 
+		for (DomainField field : entity.getAttributeFields()) { // Explicit FK are defined in attributes not in links
+			DslModelAttribute dslModelAttribute = (DslModelAttribute) dslModelEntity.getAttributeByName(field.getName());
+			if (dslModelAttribute == null ) {
+				throw new IllegalStateException( "Cannot found attribute '" + field.getName() + "' in entity '" + entity.getName() + "'" );
 			}
+			buildForeignKeysFromAttribute(dslModelEntity, dslModelAttribute, field.getFkElements());
 		}
 		// Convert Foreign Keys to List and set in entity
 		for ( ForeignKey fk : foreignKeys.values() ) {
@@ -19,7 +19,9 @@ import java.util.Collection;
 import java.util.List;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelLoadingListener;
 import org.telosys.tools.dsl.converter.link.JoinAttributesUtil;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
@@ -41,6 +43,8 @@ public class LinksConverter extends AbstractConverter {
 	private final DslModel       dslModel;
 	private final DslModelErrors  errors;
 	
+	private final DslModelLoadingListener listener;
+	
 	private final TagsConverter tagsConverter;
 	
 	/**
@@ -49,10 +53,22 @@ public class LinksConverter extends AbstractConverter {
 	 * @param errors
 	 */
 	public LinksConverter(DslModel dslModel, DslModelErrors errors) {
+		this(dslModel, errors, DslModelLoadingListener.NO_OP);
+	}
+
+	/**
+	 * Constructor
+	 * @param dslModel
+	 * @param errors
+	 * @param listener the listener to be notified for each annotation applied
+	 * @since 4.1.0
+	 */
+	public LinksConverter(DslModel dslModel, DslModelErrors errors, DslModelLoadingListener listener) {
 		super();
 		this.dslModel = dslModel;
 		this.errors = errors ;
 		this.tagsConverter = new TagsConverter(errors);
+		this.listener = listener;
 	}
 
 	/**
@@ -62,30 +78,25 @@ public class LinksConverter extends AbstractConverter {
 	 */
 	public void convertLinks(DomainEntity domainEntity, DslModelEntity dslEntity) {
 		log("convertLinks()...");
-		if (domainEntity.getFields() == null) {
-			return;
-		}
-		for (DomainField domainField : domainEntity.getFields()) {
-			// If the field references an entity then it's a LINK
-			if (domainField.getType().isEntity()) { 
-				log("convert field : " + domainField.getName() + " (entity type => link)");
-				// create a new link
-				DslModelLink dslLink = createLink(domainField);
-				
-				// 1) init link default values
-				step1InitLink(dslLink, domainField);
-				// 2) apply annotations on the link
-				step2ApplyAnnotationsToLink(dslEntity, dslLink, domainField);
-				// 3) apply tags on the link
-				step3ApplyTags(dslEntity, dslLink, domainField);				
-				// 4) try to infer undefined join attributes
-				step4InferJoinAttributes(dslEntity, dslLink);
-				// 5) finalize the link
-				step5FinalizeLink(dslLink);
-				
-				// Add the new link to the entity
-				dslEntity.addLink(dslLink); // v 3.4.0
-			}
+		// Only the fields referencing an entity = "link"
+		for (DomainField domainField : domainEntity.getLinkFields()) {
+			log("convert field : " + domainField.getName() + " (entity type => link)");
+			// create a new link
+			DslModelLink dslLink = createLink(domainField);
+			
+			// 1) init link default values
+			step1InitLink(dslLink, domainField);
+			// 2) apply annotations on the link
+			step2ApplyAnnotationsToLink(dslEntity, dslLink, domainField);
+			// 3) apply tags on the link
+			step3ApplyTags(dslEntity, dslLink, domainField);				
+			// 4) try to infer undefined join attributes
+			step4InferJoinAttributes(dslEntity, dslLink);
+			// 5) finalize the link
+			step5FinalizeLink(dslLink);
+			
+			// Add the new link to the entity
+			dslEntity.addLink(dslLink); // v 3.4.0
 		}
 	}
 	
@@ -148,10 +159,11 @@ public class LinksConverter extends AbstractConverter {
 			for (DomainAnnotation annotation : annotations) {
 				try {
 					annotation.applyToLink(dslModel, dslEntity, dslLink);
+					listener.annotationApplied(annotation.getName());
 				} catch (Exception e) {
-					String errorMessage = "@" + annotation.getName() + " : " + e.getMessage();
 					errors.addError(
-						new DslModelError( dslEntity.getClassName(), dslLink.getFieldName(), errorMessage ) );
+						new DslModelError( dslEntity.getClassName(), 0, dslLink.getFieldName(), 
+								DslModelErrorCode.ANNOTATION_ERROR, annotation.getName(), e.getMessage() ) );
 				}
 			}
 		} else {
@@ -15,7 +15,16 @@
  */
 package org.telosys.tools.dsl.converter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelLoadingListener;
+import org.telosys.tools.dsl.DslModelLoadingStage;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
@@ -32,19 +41,65 @@ import org.telosys.tools.generic.model.Model;
 public class ModelConverter extends AbstractConverter {
 
 	private final DslModelErrors  errors;
+	
+	private final DslModelLoadingListener listener;
+
+	private int parallelism = 1 ; // sequential conversion by default
+	
+	private ForkJoinPool forkJoinPool = null ; // no pool by default
+	
+	private ForkJoinPool pool = null ; // pool used for the current conversion (if parallel)
 
 	/**
 	 * Constructor
 	 */
 	public ModelConverter(DslModelErrors errors) {
+		this(errors, DslModelLoadingListener.NO_OP);
+	}
+
+	/**
+	 * Constructor
+	 * @param errors
+	 * @param listener the listener to be notified during the conversion
+	 * @since 4.1.0
+	 */
+	public ModelConverter(DslModelErrors errors, DslModelLoadingListener listener) {
 		super();
 		this.errors = errors;
+		this.listener = ( listener != null ? listener : DslModelLoadingListener.NO_OP ) ;
 	}
 
 	public DslModelErrors getErrors() {
 		return errors;
 	}
 	
+	/**
+	 * Set the number of threads to be used to convert the entities <br>
+	 * If the level is greater than 1, a temporary pool is created for each model and each conversion step 
+	 * is run in parallel for all the entities (with a barrier between the steps) <br>
+	 * The resulting model and errors are the same as with the sequential conversion 
+	 * (the listener is supposed to be thread-safe) <br>
+	 * ( ignored if a pool has been set )
+	 * @param parallelism the parallelism level (1 for sequential conversion)
+	 * @since 4.1.0
+	 */
+	public void setParallelism(int parallelism) {
+		if ( parallelism < 1 ) {
+			throw new IllegalArgumentException("Invalid parallelism level " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Set the pool to be used to convert the entities in parallel <br>
+	 * The pool is not shut down by the converter (its lifecycle is managed by the caller)
+	 * @param forkJoinPool the pool to be used (or null to use the parallelism level)
+	 * @since 4.1.0
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+	
 	/**
 	 * Re-throw the given exception by adding a prefix to the message 
 	 * @param e
@@ -69,26 +124,71 @@ public class ModelConverter extends AbstractConverter {
 	 *             if an error occurs
 	 */
 	public Model convertModel(DomainModel domainModel) {
+		if ( forkJoinPool != null ) {
+			pool = forkJoinPool ;
+		}
+		else if ( parallelism > 1 ) {
+			pool = new ForkJoinPool(parallelism);
+		}
+		try {
+			return convertModelWithSteps(domainModel);
+		} finally {
+			if ( pool != null && pool != forkJoinPool ) {
+				pool.shutdownNow();
+			}
+			pool = null ;
+		}
+	}
+	
+	private Model convertModelWithSteps(DomainModel domainModel) {
+		long conversionStart = System.nanoTime();
 
 		// Create a new void DSL model 
 		DslModel dslModel = new DslModel(domainModel.getModelName(), domainModel.getModelInfo()); // v 3.4.0
 
 		// Create void entities (without attribute)
+		long stageStart = System.nanoTime();
+		int numberOfErrors = errors.getNumberOfErrors();
 		step1CreateAllVoidEntities(domainModel, dslModel);
+		notifyStageCompleted(DslModelLoadingStage.CONVERSION_STEP1_ENTITIES, stageStart, numberOfErrors);
+		if ( errors.isLimitReached() ) {
+			return dslModel ; // too many errors => stop conversion (incomplete model)
+		}
 
 		// Create attributes : fields with basic neutral type (apply annotations and tags) 
+		stageStart = System.nanoTime();
+		numberOfErrors = errors.getNumberOfErrors();
 		step2CreateAllAttributes(domainModel, dslModel);
+		notifyStageCompleted(DslModelLoadingStage.CONVERSION_STEP2_ATTRIBUTES, stageStart, numberOfErrors);
+		if ( errors.isLimitReached() ) {
+			return dslModel ; // too many errors => stop conversion (incomplete model)
+		}
 		
 		// Create explicit Foreign Keys defined in attributes ( with @FK(xx) annotation )
+		stageStart = System.nanoTime();
+		numberOfErrors = errors.getNumberOfErrors();
 		step3CreateAllExplicitForeignKeys(domainModel, dslModel);
+		notifyStageCompleted(DslModelLoadingStage.CONVERSION_STEP3_EXPLICIT_FK, stageStart, numberOfErrors);
+		if ( errors.isLimitReached() ) {
+			return dslModel ; // too many errors => stop conversion (incomplete model)
+		}
 		
 		// Create links : fields referencing entities (apply annotations and tags) 
 		// Keep it AFTER FK creation (to be able to found Foreign Keys)
+		stageStart = System.nanoTime();
+		numberOfErrors = errors.getNumberOfErrors();
 		step4CreateAllLinks(domainModel, dslModel); 
+		notifyStageCompleted(DslModelLoadingStage.CONVERSION_STEP4_LINKS, stageStart, numberOfErrors);
+		if ( errors.isLimitReached() ) {
+			return dslModel ; // too many errors => stop conversion (incomplete model)
+		}
 		
 		// Create implicit Foreign Keys defined in links ( with @LinkByAttr(xx) annotation )
 		// Keep it AFTER LINKS creation (to be able to found Link attributes)
+		stageStart = System.nanoTime();
+		numberOfErrors = errors.getNumberOfErrors();
 		step5CreateAllImplicitForeignKeys(dslModel); 
+		notifyStageCompleted(DslModelLoadingStage.CONVERSION_STEP5_IMPLICIT_FK, stageStart, numberOfErrors);
 
 		// Sort all entities by class name
 		dslModel.sortEntitiesByClassName();
@@ -96,20 +196,55 @@ public class ModelConverter extends AbstractConverter {
 		// Finally check model
 		step6CheckModel(dslModel);
 		
+		listener.stageCompleted(DslModelLoadingStage.CONVERSION, null, System.nanoTime() - conversionStart);
 		return dslModel;
 	}
 
+	/**
+	 * Notifies the end of the given conversion step to the listener 
+	 * @param stage
+	 * @param startTime step start time (nano time)
+	 * @param initialNumberOfErrors number of errors at the beginning of the step
+	 */
+	private void notifyStageCompleted(DslModelLoadingStage stage, long startTime, int initialNumberOfErrors) {
+		listener.stageCompleted(stage, null, System.nanoTime() - startTime);
+		int numberOfErrors = errors.getNumberOfErrors() - initialNumberOfErrors ;
+		if ( numberOfErrors > 0 ) {
+			listener.errorsProduced(stage, null, numberOfErrors);
+		}
+	}
+
 	/**
 	 * Creates and returns a DSL model containing only void entities (without attributes or links)
 	 * @param domainModel
 	 * @param dslModel
 	 */
-	protected void step1CreateAllVoidEntities(DomainModel domainModel, DslModel dslModel) {
+	protected void step1CreateAllVoidEntities(DomainModel domainModel, final DslModel dslModel) {
 		// v 3.4.0
-		EntityConverter entityConverter = new EntityConverter(dslModel, errors);
-		for (DomainEntity domainEntity : domainModel.getEntities()) {
-			DslModelEntity dslEntity = entityConverter.convertEntity(domainEntity);
-			dslModel.addEntity(dslEntity); 
+		if ( pool == null ) {
+			EntityConverter entityConverter = new EntityConverter(dslModel, errors, listener);
+			for (DomainEntity domainEntity : domainModel.getEntities()) {
+				if ( errors.isLimitReached() ) {
+					break;
+				}
+				DslModelEntity dslEntity = entityConverter.convertEntity(domainEntity);
+				dslModel.addEntity(dslEntity); 
+			}
+		}
+		else {
+			// entities converted in parallel, then added in the original order
+			List<EntityConversionTask<DslModelEntity>> tasks = new ArrayList<>();
+			for (final DomainEntity domainEntity : domainModel.getEntities()) {
+				tasks.add(new EntityConversionTask<DslModelEntity>() {
+					@Override
+					protected DslModelEntity convert() {
+						return new EntityConverter(dslModel, entityErrors, listener).convertEntity(domainEntity);
+					}
+				});
+			}
+			for ( DslModelEntity dslEntity : runInParallel(tasks) ) {
+				dslModel.addEntity(dslEntity); 
+			}
 		}
 	}
 	
@@ -117,44 +252,87 @@ public class ModelConverter extends AbstractConverter {
 	 * @param domainModel
 	 * @param dslModel
 	 */
-	protected void step2CreateAllAttributes(DomainModel domainModel, DslModel dslModel) {
-		AttributesConverter attribConverter = new AttributesConverter(dslModel, errors);
-		// for each "DomainEntity" convert attributes 
-		for (DomainEntity domainEntity : domainModel.getEntities()) {
-			String entityName = domainEntity.getName();
-			try {
-				// Get the GenericEntity built previously
-				DslModelEntity genericEntity = (DslModelEntity) dslModel.getEntityByClassName(domainEntity.getName());
-				// Convert all attributes to "basic type" 
-				// or "void pseudo FK attribute" (to keep the initial attributes order)
-				attribConverter.convertAttributes(domainEntity, genericEntity);
+	protected void step2CreateAllAttributes(DomainModel domainModel, final DslModel dslModel) {
+		if ( pool == null ) {
+			AttributesConverter attribConverter = new AttributesConverter(dslModel, errors, listener);
+			// for each "DomainEntity" convert attributes 
+			for (DomainEntity domainEntity : domainModel.getEntities()) {
+				if ( errors.isLimitReached() ) {
+					break;
+				}
+				convertAttributes(domainEntity, dslModel, attribConverter);
 			}
-			catch(Exception e) {
-				rethrowException(e, "Entity " + entityName + " : ");
-			}			
 		}
+		else {
+			List<EntityConversionTask<DslModelEntity>> tasks = new ArrayList<>();
+			for (final DomainEntity domainEntity : domainModel.getEntities()) {
+				tasks.add(new EntityConversionTask<DslModelEntity>() {
+					@Override
+					protected DslModelEntity convert() {
+						convertAttributes(domainEntity, dslModel, new AttributesConverter(dslModel, entityErrors, listener));
+						return null;
+					}
+				});
+			}
+			runInParallel(tasks);
+		}
+	}
+	
+	private void convertAttributes(DomainEntity domainEntity, DslModel dslModel, AttributesConverter attribConverter) {
+		String entityName = domainEntity.getName();
+		try {
+			// Get the GenericEntity built previously
+			DslModelEntity genericEntity = (DslModelEntity) dslModel.getEntityByClassName(domainEntity.getName());
+			// Convert all attributes to "basic type" 
+			// or "void pseudo FK attribute" (to keep the initial attributes order)
+			attribConverter.convertAttributes(domainEntity, genericEntity);
+		}
+		catch(Exception e) {
+			rethrowException(e, "Entity " + entityName + " : ");
+		}			
 	}
 
 	/**
 	 * @param domainModel
 	 * @param dslModel
 	 */
-	protected void step4CreateAllLinks(DomainModel domainModel, DslModel dslModel) {
-
-		LinksConverter linksConverter = new LinksConverter(dslModel, errors);
-		
-		// Create the links 
-		for (DomainEntity domainEntity : domainModel.getEntities()) {
-			String entityName = domainEntity.getName();
-			try {
-				// Get the GenericEntity built previously
-				DslModelEntity genericEntity = (DslModelEntity) dslModel.getEntityByClassName(entityName);
-				// Creates a link for each field referencing an entity
-				linksConverter.convertLinks(domainEntity, genericEntity);
+	protected void step4CreateAllLinks(DomainModel domainModel, final DslModel dslModel) {
+		if ( pool == null ) {
+			LinksConverter linksConverter = new LinksConverter(dslModel, errors, listener);
+			// Create the links 
+			for (DomainEntity domainEntity : domainModel.getEntities()) {
+				if ( errors.isLimitReached() ) {
+					break;
+				}
+				convertLinks(domainEntity, dslModel, linksConverter);
 			}
-			catch(Exception e) {
-				rethrowException(e,"Entity " + entityName + " : ");
+		}
+		else {
+			// each task creates the links of its entity (only the FK created at step 3 are used)
+			List<EntityConversionTask<DslModelEntity>> tasks = new ArrayList<>();
+			for (final DomainEntity domainEntity : domainModel.getEntities()) {
+				tasks.add(new EntityConversionTask<DslModelEntity>() {
+					@Override
+					protected DslModelEntity convert() {
+						convertLinks(domainEntity, dslModel, new LinksConverter(dslModel, entityErrors, listener));
+						return null;
+					}
+				});
 			}
+			runInParallel(tasks);
+		}
+	}
+	
+	private void convertLinks(DomainEntity domainEntity, DslModel dslModel, LinksConverter linksConverter) {
+		String entityName = domainEntity.getName();
+		try {
+			// Get the GenericEntity built previously
+			DslModelEntity genericEntity = (DslModelEntity) dslModel.getEntityByClassName(entityName);
+			// Creates a link for each field referencing an entity
+			linksConverter.convertLinks(domainEntity, genericEntity);
+		}
+		catch(Exception e) {
+			rethrowException(e,"Entity " + entityName + " : ");
 		}
 	}
 	
@@ -163,22 +341,47 @@ public class ModelConverter extends AbstractConverter {
 	 * @param domainModel
 	 * @param dslModel
 	 */
-	protected void step3CreateAllExplicitForeignKeys(DomainModel domainModel, DslModel dslModel) {
-		ForeignKeysBuilderV2 fkBuilder = new ForeignKeysBuilderV2(dslModel);
-		// for each entity in the model
-		for (DomainEntity entity : domainModel.getEntities()) {
-			String entityName = entity.getName();
-			try {
-				fkBuilder.buildForeignKeys(entity);
+	protected void step3CreateAllExplicitForeignKeys(DomainModel domainModel, final DslModel dslModel) {
+		if ( pool == null ) {
+			ForeignKeysBuilderV2 fkBuilder = new ForeignKeysBuilderV2(dslModel);
+			// for each entity in the model
+			for (DomainEntity entity : domainModel.getEntities()) {
+				if ( errors.isLimitReached() ) {
+					break;
+				}
+				buildForeignKeys(entity, fkBuilder);
 			}
-			catch(Exception e) {
-				rethrowException(e,"Entity " + entityName + " : ");
+		}
+		else {
+			// one builder per task (the builder is not thread-safe)
+			List<EntityConversionTask<DslModelEntity>> tasks = new ArrayList<>();
+			for (final DomainEntity entity : domainModel.getEntities()) {
+				tasks.add(new EntityConversionTask<DslModelEntity>() {
+					@Override
+					protected DslModelEntity convert() {
+						buildForeignKeys(entity, new ForeignKeysBuilderV2(dslModel));
+						return null;
+					}
+				});
 			}
+			runInParallel(tasks);
+		}
+	}
+	
+	private void buildForeignKeys(DomainEntity entity, ForeignKeysBuilderV2 fkBuilder) {
+		String entityName = entity.getName();
+		try {
+			fkBuilder.buildForeignKeys(entity);
+		}
+		catch(Exception e) {
+			rethrowException(e,"Entity " + entityName + " : ");
 		}
 	}
 
 	/**
-	 * Creates all implicit Foreign Keys (if any) for the given model 
+	 * Creates all implicit Foreign Keys (if any) for the given model <br>
+	 * Always sequential (even in parallel mode) : the implicit FK names are numbered 
+	 * in creation order and must be the same as with a sequential conversion
 	 * @param dslModel
 	 */
 	protected void step5CreateAllImplicitForeignKeys(DslModel dslModel) {
@@ -190,6 +393,60 @@ public class ModelConverter extends AbstractConverter {
 		}
 	}
 
+	//----------------------------------------------------------------------------------------
+	// Parallel conversion
+	//----------------------------------------------------------------------------------------
+	/**
+	 * Conversion of a single entity for a given step, with its own errors collector
+	 * @param <T>
+	 */
+	private abstract static class EntityConversionTask<T> implements Callable<T> {
+		
+		protected final DslModelErrors entityErrors = new DslModelErrors();
+		
+		protected abstract T convert() ;
+		
+		@Override
+		public T call() {
+			return convert();
+		}
+	}
+	
+	/**
+	 * Runs the given tasks in the pool and waits for all of them (barrier before the next step) <br>
+	 * (the errors limit is checked at the barrier, the errors beyond the limit are ignored) <br>
+	 * The errors are merged and the results returned in the tasks order. If a task has failed, 
+	 * the errors are merged up to this task and its exception is re-thrown (as in a sequential conversion)
+	 * @param tasks
+	 * @return
+	 */
+	private <T> List<T> runInParallel(List<EntityConversionTask<T>> tasks) {
+		List<Future<T>> futures = pool.invokeAll(tasks);
+		List<T> results = new ArrayList<>(futures.size());
+		for ( int i = 0 ; i < futures.size() ; i++ ) {
+			errors.addErrors(tasks.get(i).entityErrors);
+			results.add(waitForResult(futures.get(i)));
+		}
+		return results;
+	}
+	
+	private <T> T waitForResult(Future<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Model conversion interrupted", e);
+		} catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			if ( e.getCause() instanceof Error ) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("Model conversion failure", e.getCause());
+		}
+	}
+
 	/**
 	 * Check model consistency
 	 * @param dslModel
@@ -18,6 +18,7 @@ package org.telosys.tools.dsl.converter;
 import java.util.Map;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
 import org.telosys.tools.dsl.model.DslModelAttribute;
 import org.telosys.tools.dsl.model.DslModelEntity;
@@ -47,7 +48,8 @@ public class TagsConverter {
 				tags.addTag( new Tag(rawTag.getName(), rawTag.getParameter()));
 			} catch (TagError e) {
 				errors.addError(
-					new DslModelError( entityName, fieldName, e.getMessage() ) );
+					new DslModelError( entityName, 0, fieldName, 
+							DslModelErrorCode.TAG_ERROR, rawTag.getName(), e.getMessage() ) );
 			}
 		}
 		return tags;
@@ -17,7 +17,9 @@ package org.telosys.tools.dsl.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.telosys.tools.commons.StrUtil;
 import org.telosys.tools.dsl.commons.ModelInfo;
@@ -39,7 +41,10 @@ public class DslModel implements Model {
 	private String databaseName	;
 	private String databaseType ;
 	
-	private List<Entity> entities = new ArrayList<>();
+	private final List<Entity> entities = new ArrayList<>();
+	
+	// entities indexed by class name and by table name (v 4.1.0)
+	private volatile EntitiesIndexes entitiesIndexes = new EntitiesIndexes(entities);
 
 	/**
 	 * Constructor
@@ -128,6 +133,11 @@ public class DslModel implements Model {
 
 	//----------------------------------------------------------------------------------------
 
+	/**
+	 * Returns the entities of the model <br>
+	 * If the list is modified directly, reindexEntities() must be called to keep the lookups by name up to date
+	 * @return
+	 */
 	@Override
 	public List<Entity> getEntities() {
 		return entities;
@@ -135,6 +145,31 @@ public class DslModel implements Model {
 
 	public void addEntity(Entity entity) { // v 3.4.0
 		entities.add(entity);
+		entitiesIndexes.add(entity);
+	}
+
+	/**
+	 * Removes the given entity from the model 
+	 * @param entity
+	 * @return true if the entity was in the model
+	 * @since 4.1.0
+	 */
+	public boolean removeEntity(Entity entity) {
+		if ( entities.remove(entity) ) {
+			reindexEntities();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Rebuilds the indexes used by getEntityByClassName() and getEntityByTableName() <br>
+	 * To be called after renaming an entity already in the model (eg new table name) 
+	 * or after a direct modification of the entities list
+	 * @since 4.1.0
+	 */
+	public void reindexEntities() {
+		entitiesIndexes = new EntitiesIndexes(entities);
 	}
 
 	@Override
@@ -142,12 +177,7 @@ public class DslModel implements Model {
 		if ( entityClassName == null ) {
 			throw new IllegalArgumentException("getEntityByClassName() : entityClassName is null");
 		}
-		for(Entity entity : getEntities()) {
-			if ( entityClassName.equals(entity.getClassName()) ) {
-				return entity;
-			}
-		}
-		return null;
+		return entitiesIndexes.entitiesByClassName.get(entityClassName);
 	}
 
 	@Override
@@ -155,16 +185,38 @@ public class DslModel implements Model {
 		if ( entityTableName == null ) {
 			throw new IllegalArgumentException("getEntityByTableName() : entityTableName is null");
 		}
-		for(Entity entity : getEntities()) {
-			if ( entityTableName.equals(entity.getDatabaseTable() ) ) {
-				return entity;
-			}
-		}
-		return null;
+		return entitiesIndexes.entitiesByTableName.get(entityTableName);
 	}
-
+	
 	public void sortEntitiesByClassName() {
 		Collections.sort(entities, new EntityClassNameComparator() ) ;
+		// new order => rebuild indexes (keep the first entity if duplicated names)
+		reindexEntities();
 	}
 	
+	//----------------------------------------------------------------------------------------
+	/**
+	 * Entities indexes (first entity found in the list for each class name and table name)
+	 */
+	private static class EntitiesIndexes {
+		private final Map<String, Entity> entitiesByClassName ;
+		private final Map<String, Entity> entitiesByTableName ;
+		
+		public EntitiesIndexes(List<Entity> entities) {
+			entitiesByClassName = new HashMap<>(entities.size() * 2);
+			entitiesByTableName = new HashMap<>(entities.size() * 2);
+			for ( Entity entity : entities ) {
+				add(entity);
+			}
+		}
+		
+		public void add(Entity entity) {
+			if ( entity.getClassName() != null && ! entitiesByClassName.containsKey(entity.getClassName()) ) {
+				entitiesByClassName.put(entity.getClassName(), entity);
+			}
+			if ( entity.getDatabaseTable() != null && ! entitiesByTableName.containsKey(entity.getDatabaseTable()) ) {
+				entitiesByTableName.put(entity.getDatabaseTable(), entity);
+			}
+		}
+	}
 }
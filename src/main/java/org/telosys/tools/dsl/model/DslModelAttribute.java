@@ -16,7 +16,7 @@
 package org.telosys.tools.dsl.model;
 
 import java.math.BigDecimal;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.telosys.tools.commons.plugins.IPluginAnnotationData;
@@ -80,7 +80,7 @@ public class DslModelAttribute implements Attribute {
 	private boolean isForeignKeySimple     = false ; // ( false by default )
 	private boolean isForeignKeyComposite  = false ; // ( false by default )
 	private String  referencedEntityClassName = null ; // no reference by default
-	private List<ForeignKeyPart> fkParts = new LinkedList<>(); // Added in ver 3.3.0
+	private List<ForeignKeyPart> fkParts = new ArrayList<>(); // Added in ver 3.3.0
 	
 	// Annotations added for types
 	private boolean isPrimitiveTypeExpected = false ;
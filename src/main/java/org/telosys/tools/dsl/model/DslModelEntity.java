@@ -16,8 +16,10 @@
 package org.telosys.tools.dsl.model;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.telosys.tools.commons.plugins.IPluginAnnotationData;
 import org.telosys.tools.dsl.tags.Tags;
@@ -38,10 +40,10 @@ public class DslModelEntity implements Entity {
 
 	private String packageName = ""; // @Package annotation
 
-	private List<Attribute> attributes = new ArrayList<>();
-	private List<ForeignKey> foreignKeys = new ArrayList<>(); // v 3.4.0 
+	private final List<Attribute> attributes = new ArrayList<>();
+	private final List<ForeignKey> foreignKeys = new ArrayList<>(); // v 3.4.0 
 
-	private List<Link> links = new ArrayList<>();
+	private final List<Link> links = new ArrayList<>();
 
 	// Database 
 	private String databaseTable   = ""; // set to 'entity name' by Converter 
@@ -67,6 +69,16 @@ public class DslModelEntity implements Entity {
     // Tags added in v 3.4.0 
     private TagContainer tagContainer = new Tags() ;  // Init with void Tags (never null)
     
+    // Read-only views returned by the getters (v 4.1.0)
+    private final List<Attribute>  unmodifiableAttributes  = Collections.unmodifiableList(attributes);
+    private final List<ForeignKey> unmodifiableForeignKeys = Collections.unmodifiableList(foreignKeys);
+    private final List<Link>       unmodifiableLinks       = Collections.unmodifiableList(links);
+    
+    // Indexes added in v 4.1.0 (built on first use, reset when a list is changed)
+    private volatile NamesIndex<Attribute>  attributesIndex  = null ;
+    private volatile NamesIndex<Link>       linksIndex       = null ;
+    private volatile NamesIndex<ForeignKey> foreignKeysIndex = null ;
+    
 
 	/**
 	 * Constructor
@@ -90,31 +102,59 @@ public class DslModelEntity implements Entity {
     }    
 	//SICODE - End
 	
+	/**
+	 * Returns the attributes of the entity <br>
+	 * The list is unmodifiable (since v 4.1.0), use setAttributes(), addAttribute() or replaceAttribute() to change it
+	 * @return
+	 */
 	@Override
 	public List<Attribute> getAttributes() {
-		return attributes;
+		return unmodifiableAttributes;
 	}
+	/**
+	 * Replaces all the attributes of the entity by the given ones (the list is copied)
+	 * @param attributes
+	 */
 	public void setAttributes(List<Attribute> attributes) {
-		this.attributes = attributes;
+		this.attributes.clear();
+		this.attributes.addAll(attributes);
+		this.attributesIndex = null ;
 	}
 	public void addAttribute(Attribute attribute) { // v 3.4.0
 		this.attributes.add(attribute);
+		NamesIndex<Attribute> index = this.attributesIndex ;
+		if ( index != null ) {
+			index.add(attribute.getName(), attribute);
+		}
 	}
 	
 	/**
-	 * Returns all attributes being part of the PK 
+	 * Returns all attributes being part of the PK <br>
+	 * The list is built at each call (the 'key element' flag can be changed after the attribute has been added)
 	 * @return
 	 * @since  3.3.x
 	 */
 	public List<Attribute> getKeyAttributes() {
-		LinkedList<Attribute> attributesList = new LinkedList<>();
+		List<Attribute> attributesList = new ArrayList<>();
 		for ( Attribute a : this.attributes ) {
 			if ( a.isKeyElement() ) {
-            	attributesList.add(a);
+				attributesList.add(a);
 			}
 		}
 		return attributesList ;
 	}
+	
+	private NamesIndex<Attribute> getAttributesIndex() {
+		NamesIndex<Attribute> index = this.attributesIndex ;
+		if ( index == null ) {
+			index = new NamesIndex<>(this.attributes.size());
+			for ( Attribute attribute : this.attributes ) {
+				index.add(attribute.getName(), attribute);
+			}
+			this.attributesIndex = index ;
+		}
+		return index ;
+	}
 
 	//--------------------------------------------------------------------------
 	@Override
@@ -215,18 +255,25 @@ public class DslModelEntity implements Entity {
 	//--------------------------------------------------------------------------
 	@Override
 	public List<ForeignKey> getForeignKeys() {
-		return foreignKeys;
+		return unmodifiableForeignKeys; // unmodifiable since v 4.1.0
 	}
 	public void addForeignKey(ForeignKey fk) { // v 3.4.0
 		this.foreignKeys.add(fk);
+		NamesIndex<ForeignKey> index = this.foreignKeysIndex ;
+		if ( index != null ) {
+			index.add(fk.getName(), fk);
+		}
 	}
 	public ForeignKey getForeignKeyByName(String fkName) {
-		for (ForeignKey fk : this.foreignKeys) {
-			if (fkName.equals(fk.getName())) {
-				return fk;
+		NamesIndex<ForeignKey> index = this.foreignKeysIndex ;
+		if ( index == null ) {
+			index = new NamesIndex<>(this.foreignKeys.size());
+			for ( ForeignKey fk : this.foreignKeys ) {
+				index.add(fk.getName(), fk);
 			}
+			this.foreignKeysIndex = index ;
 		}
-		return null;
+		return index.get(fkName);
 	}
 	
 	//--------------------------------------------------------------------------
@@ -299,24 +346,31 @@ public class DslModelEntity implements Entity {
 	//--------------------------------------------------------------------------
 	@Override
 	public List<Link> getLinks() {
-		return links;
+		return unmodifiableLinks; // unmodifiable since v 4.1.0
 	}
 	public void addLink(Link link) { // v 3.4.0
 		this.links.add(link);
+		NamesIndex<Link> index = this.linksIndex ;
+		if ( index != null ) {
+			index.add(link.getFieldName(), link);
+		}
 	}
 	public Link getLinkByFieldName(String fieldName) {
-		for(Link link : links) {
-			if(fieldName.equals(link.getFieldName())) {
-				return link;
+		NamesIndex<Link> index = this.linksIndex ;
+		if ( index == null ) {
+			index = new NamesIndex<>(this.links.size());
+			for ( Link link : this.links ) {
+				index.add(link.getFieldName(), link);
 			}
+			this.linksIndex = index ;
 		}
-		return null;
+		return index.get(fieldName);
 	}
 	
 	//--------------------------------------------------------------------------
 	@Override
 	public List<String> getWarnings() {
-		List<String> warnings = new LinkedList<>() ;
+		List<String> warnings = new ArrayList<>() ;
 		if ( hasId() == false ) {
 			warnings.add("No ID");
 		}
@@ -328,12 +382,7 @@ public class DslModelEntity implements Entity {
 	 * @return
 	 */
 	public boolean hasId() {
-		for ( Attribute attribute : this.attributes ) {
-			if ( attribute.isKeyElement() ) {
-				return true ;
-			}
-		}
-		return false ; // No attribute with "@Id"
+		return getIdCount() > 0 ;
 	}
 	
 	/**
@@ -342,9 +391,9 @@ public class DslModelEntity implements Entity {
 	 */
 	public int getIdCount() {
 		int count = 0 ;
-		for ( Attribute attribute : this.attributes ) {
-			if ( attribute.isKeyElement() ) {
-				count++ ;
+		for ( Attribute a : this.attributes ) {
+			if ( a.isKeyElement() ) {
+				count++;
 			}
 		}
 		return count ;
@@ -362,12 +411,7 @@ public class DslModelEntity implements Entity {
 	//--------------------------------------------------------------------------
 	@Override
 	public Attribute getAttributeByName(String name) {
-		for(Attribute attribute : getAttributes()) {
-			if(name.equals(attribute.getName())) {
-				return attribute;
-			}
-		}
-		return null;
+		return getAttributesIndex().get(name);
 	}
 
 	/**
@@ -382,6 +426,7 @@ public class DslModelEntity implements Entity {
 			Attribute attribute = list.get(index);
 			if ( name.equals(attribute.getName()) ) { // Found
 				list.set(index, newAttribute); // Replace
+				this.attributesIndex = null ;
 				return attribute ;
 			}
 		}
@@ -400,4 +445,25 @@ public class DslModelEntity implements Entity {
 		return this.tagContainer;
 	}
 
+	//-----------------------------------------------------------------------------------------
+	/**
+	 * Elements indexed by name (first element in the list for each name) 
+	 */
+	private static class NamesIndex<T> {
+		private final Map<String, T> elements ;
+		
+		public NamesIndex(int expectedSize) {
+			elements = new HashMap<>(expectedSize * 2);
+		}
+		
+		public void add(String name, T element) {
+			if ( name != null && ! elements.containsKey(name) ) {
+				elements.put(name, element);
+			}
+		}
+		
+		public T get(String name) {
+			return elements.get(name);
+		}
+	}
 }
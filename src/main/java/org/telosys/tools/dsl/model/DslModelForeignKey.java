@@ -15,7 +15,7 @@
  */
 package org.telosys.tools.dsl.model;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.telosys.tools.commons.StrUtil;
@@ -33,7 +33,7 @@ public class DslModelForeignKey implements ForeignKey {
     private final String referencedEntityName; // entity referenced by this FK
     private final boolean explicitFK; 
     
-    private final List<ForeignKeyAttribute> attributes = new LinkedList<>();
+    private final List<ForeignKeyAttribute> attributes = new ArrayList<>();
     
     private DslModelForeignKey(boolean explicit, String fkName, String originEntityName, String referencedEntityName) {
 		super();
@@ -121,7 +121,7 @@ public class DslModelForeignKey implements ForeignKey {
      * @since  3.4.0
      */
 	public List<LinkAttribute> getLinkAttributes() {
-		List<LinkAttribute> joinAttributes = new LinkedList<>();
+		List<LinkAttribute> joinAttributes = new ArrayList<>(attributes.size());
 		for (ForeignKeyAttribute fka : this.attributes ) {
 	    	// each fk attribute has always valid attributes (not null & not void)
 			DslModelLinkAttribute linkAttribute = new DslModelLinkAttribute(
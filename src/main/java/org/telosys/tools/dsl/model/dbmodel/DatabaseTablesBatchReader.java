@@ -0,0 +1,308 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.dbmodel;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.telosys.tools.commons.StrUtil;
+import org.telosys.tools.commons.TelosysToolsException;
+import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinition;
+import org.telosys.tools.db.model.DatabaseModelManager;
+import org.telosys.tools.db.model.DatabaseTable;
+import org.telosys.tools.db.model.DatabaseTables;
+import org.telosys.tools.dsl.model.DslModelForeignKey;
+import org.telosys.tools.generic.model.ForeignKey;
+
+/**
+ * Reader for the database tables metadata by batches of N tables <br>
+ * The tables names are loaded first (lightweight metadata), 
+ * then the metadata of each batch is loaded only when the batch is read : <br>
+ *  - light metadata (columns names, primary key and imported keys) to summarize the tables <br>
+ *  - full metadata (with a single DB-Model request for the whole batch) to convert the tables <br>
+ * A batch can be read several times (the metadata are not kept in memory)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class DatabaseTablesBatchReader {
+
+	private final Connection         connection ;
+	private final DatabaseDefinition databaseDefinition ;
+	private final String             tableNamePattern ;
+	private final int                batchSize ;
+	
+	private final DatabaseModelManager    manager = new DatabaseModelManager();
+	private final DbToForeignKeyConverter foreignKeyConverter = new DbToForeignKeyConverter();
+	private final JoinEntityDetector      joinEntityDetector = new JoinEntityDetector();
+	
+	private List<String> tablesNames = null ;
+	private String searchStringEscape = null ;
+
+	/**
+	 * Constructor
+	 * @param connection
+	 * @param databaseDefinition
+	 * @param tableNamePattern
+	 * @param batchSize the maximum number of tables in a batch
+	 */
+	public DatabaseTablesBatchReader(Connection connection, DatabaseDefinition databaseDefinition, String tableNamePattern, int batchSize) {
+		super();
+		if ( batchSize < 1 ) {
+			throw new IllegalArgumentException("Invalid batch size " + batchSize);
+		}
+		this.connection = connection;
+		this.databaseDefinition = databaseDefinition;
+		this.tableNamePattern = tableNamePattern;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Returns the names of all the tables matching the table name pattern and the table types 
+	 * and filtered with the 'include' and 'exclude' regular expressions <br>
+	 * (loaded once, in the database metadata order, without duplicated names)
+	 * @return
+	 * @throws TelosysToolsException
+	 */
+	public List<String> getTablesNames() throws TelosysToolsException {
+		if ( tablesNames == null ) {
+			tablesNames = loadTablesNames();
+		}
+		return tablesNames;
+	}
+
+	private List<String> loadTablesNames() throws TelosysToolsException {
+		Pattern include = compile(databaseDefinition.getTableNameInclude());
+		Pattern exclude = compile(databaseDefinition.getTableNameExclude());
+		Set<String> names = new LinkedHashSet<>();
+		try {
+			DatabaseMetaData metaData = connection.getMetaData();
+			searchStringEscape = metaData.getSearchStringEscape();
+			try ( ResultSet rs = metaData.getTables(databaseDefinition.getCatalog(), databaseDefinition.getSchema(), 
+					tableNamePattern, databaseDefinition.getTableTypesArray()) ) {
+				while ( rs.next() ) {
+					String name = rs.getString("TABLE_NAME");
+					if ( ( include == null || include.matcher(name).matches() ) 
+							&& ( exclude == null || ! exclude.matcher(name).matches() ) ) {
+						names.add(name);
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new TelosysToolsException("Cannot get tables names (SQLException)", e);
+		}
+		return new ArrayList<>(names);
+	}
+	
+	private Pattern compile(String regex) {
+		return StrUtil.nullOrVoid(regex) ? null : Pattern.compile(regex);
+	}
+
+	/**
+	 * Returns the number of batches required to read all the tables
+	 * @return
+	 * @throws TelosysToolsException
+	 */
+	public int getNumberOfBatches() throws TelosysToolsException {
+		return ( getTablesNames().size() + batchSize - 1 ) / batchSize ;
+	}
+
+	private List<String> getBatchNames(int batchIndex) throws TelosysToolsException {
+		List<String> names = getTablesNames();
+		int fromIndex = batchIndex * batchSize ;
+		if ( batchIndex < 0 || fromIndex >= names.size() ) {
+			throw new IllegalArgumentException("Invalid batch index " + batchIndex);
+		}
+		return names.subList(fromIndex, Math.min(fromIndex + batchSize, names.size()));
+	}
+
+	/**
+	 * Reads the summaries of all the tables of the given batch using only light metadata : <br>
+	 * columns names, primary key and imported keys (no types, no comments, no indexes, etc) <br>
+	 * The foreign keys are kept in the 'imported keys' order 
+	 * @param batchIndex the batch index (from 0 to 'number of batches' - 1)
+	 * @return
+	 * @throws TelosysToolsException
+	 */
+	public List<DbEntitySummary> readBatchSummaries(int batchIndex) throws TelosysToolsException {
+		List<String> batchNames = getBatchNames(batchIndex);
+		List<DbEntitySummary> summaries = new ArrayList<>(batchNames.size());
+		String tableName = null ;
+		try {
+			DatabaseMetaData metaData = connection.getMetaData();
+			for ( String name : batchNames ) {
+				tableName = name ;
+				summaries.add(readSummary(metaData, name));
+			}
+		} catch (SQLException e) {
+			throw new TelosysToolsException("Cannot get keys for table '" + tableName + "' (SQLException)", e);
+		}
+		return summaries;
+	}
+	
+	private DbEntitySummary readSummary(DatabaseMetaData metaData, String tableName) throws SQLException {
+		String catalog = databaseDefinition.getCatalog();
+		String schema  = databaseDefinition.getSchema();
+		//--- Columns names 
+		List<String> columnsNames = new ArrayList<>();
+		try ( ResultSet rs = metaData.getColumns(catalog, schema, toSearchPattern(tableName), null) ) {
+			while ( rs.next() ) {
+				// the pattern can match other tables (eg case-insensitive databases) 
+				if ( tableName.equals(rs.getString("TABLE_NAME")) ) {
+					columnsNames.add(rs.getString("COLUMN_NAME"));
+				}
+			}
+		}
+		//--- Primary key columns
+		Set<String> primaryKeyColumns = new HashSet<>();
+		try ( ResultSet rs = metaData.getPrimaryKeys(catalog, schema, tableName) ) {
+			while ( rs.next() ) {
+				primaryKeyColumns.add(rs.getString("COLUMN_NAME"));
+			}
+		}
+		//--- Foreign keys (grouped by FK name, in the 'imported keys' order)
+		Map<String, DslModelForeignKey> foreignKeys = new LinkedHashMap<>();
+		Set<String> foreignKeysColumns = new HashSet<>();
+		try ( ResultSet rs = metaData.getImportedKeys(catalog, schema, tableName) ) {
+			while ( rs.next() ) {
+				String fkName = rs.getString("FK_NAME");
+				String referencedTableName = rs.getString("PKTABLE_NAME");
+				String fkKey = fkName != null ? fkName : "(" + referencedTableName + ")" ;
+				DslModelForeignKey foreignKey = foreignKeys.get(fkKey);
+				if ( foreignKey == null ) {
+					foreignKey = foreignKeyConverter.createForeignKey(fkName, rs.getString("FKTABLE_NAME"), referencedTableName);
+					foreignKeys.put(fkKey, foreignKey);
+				}
+				String fkColumnName = rs.getString("FKCOLUMN_NAME");
+				foreignKey.addAttribute(foreignKeyConverter.createForeignKeyAttribute(rs.getInt("KEY_SEQ"), 
+						fkColumnName, rs.getString("PKCOLUMN_NAME")));
+				foreignKeysColumns.add(fkColumnName);
+			}
+		}
+		//--- Summary 
+		boolean joinEntity = joinEntityDetector.isJoinEntity(foreignKeys.size(), columnsNames, primaryKeyColumns, foreignKeysColumns);
+		List<String> attributesNames = new ArrayList<>(columnsNames.size());
+		for ( String columnName : columnsNames ) {
+			attributesNames.add(NameConverter.columnNameToAttributeName(columnName));
+		}
+		return new DbEntitySummary(NameConverter.tableNameToEntityName(tableName), joinEntity, 
+				attributesNames, new ArrayList<ForeignKey>(foreignKeys.values()));
+	}
+
+	/**
+	 * Reads the full metadata of all the tables of the given batch <br>
+	 * The whole batch is requested at once (the batch tables names are given as 'include' regular expression), 
+	 * the tables not returned by this request (if any) are requested one by one as usual
+	 * @param batchIndex the batch index (from 0 to 'number of batches' - 1)
+	 * @return
+	 * @throws TelosysToolsException
+	 */
+	public List<DatabaseTable> readBatch(int batchIndex) throws TelosysToolsException {
+		List<String> batchNames = getBatchNames(batchIndex);
+		//--- Single request for the whole batch 
+		Map<String, List<DatabaseTable>> tablesByName = new HashMap<>();
+		for ( DatabaseTable dbTable : readTables(tableNamePattern, buildIncludeRegex(batchNames), null) ) {
+			List<DatabaseTable> tables = tablesByName.get(dbTable.getTableName());
+			if ( tables == null ) {
+				tables = new ArrayList<>(1);
+				tablesByName.put(dbTable.getTableName(), tables);
+			}
+			tables.add(dbTable);
+		}
+		//--- Keep the batch order 
+		List<DatabaseTable> batch = new ArrayList<>(batchNames.size());
+		for ( String tableName : batchNames ) {
+			List<DatabaseTable> tables = tablesByName.get(tableName);
+			if ( tables != null ) {
+				batch.addAll(tables);
+			}
+			else {
+				// not found with the batch request (eg 'include' not supported as expected) : try alone 
+				addTable(batch, tableName);
+			}
+		}
+		return batch;
+	}
+	
+	private void addTable(List<DatabaseTable> batch, String tableName) throws TelosysToolsException {
+		for ( DatabaseTable dbTable : readTables(toSearchPattern(tableName), 
+				databaseDefinition.getTableNameInclude(), databaseDefinition.getTableNameExclude()) ) {
+			// the pattern can match other tables (eg case-insensitive databases) 
+			if ( tableName.equals(dbTable.getTableName()) ) {
+				batch.add(dbTable);
+			}
+		}
+	}
+
+	/**
+	 * Returns a regular expression matching only the given tables names
+	 * @param names
+	 * @return
+	 */
+	protected String buildIncludeRegex(List<String> names) {
+		StringBuilder sb = new StringBuilder();
+		for ( String name : names ) {
+			sb.append( sb.length() == 0 ? "(?:" : "|" );
+			sb.append(Pattern.quote(name));
+		}
+		return sb.append(")").toString();
+	}
+
+	private DatabaseTables readTables(String pattern, String include, String exclude) throws TelosysToolsException {
+		try {
+			return manager.getDatabaseTables(connection, 
+					databaseDefinition.getCatalog(), 
+					databaseDefinition.getSchema(), 
+					pattern, 
+					databaseDefinition.getTableTypesArray(),
+					include, 
+					exclude);
+		} catch (SQLException e) {
+			throw new TelosysToolsException("Cannot get DB-Model for tables '" + pattern + "' (SQLException)", e);
+		}
+	}
+
+	/**
+	 * Returns a search pattern matching only the given table name ( '_' and '%' escaped )
+	 * @param tableName
+	 * @return
+	 */
+	protected String toSearchPattern(String tableName) {
+		if ( StrUtil.nullOrVoid(searchStringEscape) ) {
+			return tableName ;
+		}
+		StringBuilder sb = new StringBuilder(tableName.length() + 8);
+		for ( int i = 0 ; i < tableName.length() ; i++ ) {
+			char c = tableName.charAt(i);
+			if ( c == '_' || c == '%' || searchStringEscape.indexOf(c) >= 0 ) {
+				sb.append(searchStringEscape);
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.dbmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.generic.model.Attribute;
+import org.telosys.tools.generic.model.ForeignKey;
+
+/**
+ * DB-MODEL to DSL-MODEL : compact summary of an entity <br>
+ * Keeps only what is required to check the foreign keys and to build the links 
+ * when the entities are not kept in memory (streaming mode) 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class DbEntitySummary {
+
+	private final String className ;
+	
+	private final boolean joinEntity ;
+	
+	private final String[] attributesNames ; // sorted for binary search
+	
+	private final List<ForeignKey> foreignKeys ;
+
+	/**
+	 * Constructor
+	 * @param entity the entity to summarize (with its foreign keys and 'join entity' flag)
+	 */
+	public DbEntitySummary(DslModelEntity entity) {
+		super();
+		this.className = entity.getClassName();
+		this.joinEntity = entity.isJoinEntity();
+		List<Attribute> attributes = entity.getAttributes();
+		this.attributesNames = new String[attributes.size()];
+		int i = 0 ;
+		for ( Attribute attribute : attributes ) {
+			this.attributesNames[i++] = attribute.getName();
+		}
+		Arrays.sort(this.attributesNames);
+		if ( entity.getForeignKeys().isEmpty() ) {
+			this.foreignKeys = Collections.emptyList();
+		}
+		else {
+			this.foreignKeys = Collections.unmodifiableList(new ArrayList<>(entity.getForeignKeys()));
+		}
+	}
+
+	/**
+	 * Constructor used when the entity is not built (light metadata)
+	 * @param className
+	 * @param joinEntity
+	 * @param attributesNames
+	 * @param foreignKeys the foreign keys (in the model order)
+	 * @since 4.1.0
+	 */
+	public DbEntitySummary(String className, boolean joinEntity, Collection<String> attributesNames, List<ForeignKey> foreignKeys) {
+		super();
+		this.className = className;
+		this.joinEntity = joinEntity;
+		this.attributesNames = attributesNames.toArray(new String[attributesNames.size()]);
+		Arrays.sort(this.attributesNames);
+		if ( foreignKeys.isEmpty() ) {
+			this.foreignKeys = Collections.emptyList();
+		}
+		else {
+			this.foreignKeys = Collections.unmodifiableList(new ArrayList<>(foreignKeys));
+		}
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public boolean isJoinEntity() {
+		return joinEntity;
+	}
+
+	public List<ForeignKey> getForeignKeys() {
+		return foreignKeys;
+	}
+
+	/**
+	 * Returns true if the entity has an attribute with the given name
+	 * @param attributeName
+	 * @return
+	 */
+	public boolean hasAttribute(String attributeName) {
+		return Arrays.binarySearch(attributesNames, attributeName) >= 0 ;
+	}
+
+	@Override
+	public String toString() {
+		return className + " (" + attributesNames.length + " attributes, " + foreignKeys.size() + " FK)" ;
+	}
+}
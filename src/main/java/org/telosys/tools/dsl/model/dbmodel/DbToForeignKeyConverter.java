@@ -42,19 +42,12 @@ public class DbToForeignKeyConverter
 			originTableName = dbFkCol.getFkTableName();
 			referencedTableName = dbFkCol.getPkTableName();
 			// build FK attribute
-			String originAttributeName     = NameConverter.columnNameToAttributeName(dbFkCol.getFkColumnName());
-			String referencedAttributeName = NameConverter.columnNameToAttributeName(dbFkCol.getPkColumnName());
-			int ordinal = dbFkCol.getFkSequence();
-			DslModelForeignKeyAttribute fkAttribute = new DslModelForeignKeyAttribute(
-					ordinal, originAttributeName, referencedAttributeName);
-			fkAttributes.add(fkAttribute);
+			fkAttributes.add(createForeignKeyAttribute(dbFkCol.getFkSequence(), 
+					dbFkCol.getFkColumnName(), dbFkCol.getPkColumnName()));
 		}
 		
 		//--- Create FK
-		String fkName = dbFK.getForeignKeyName();
-		String originEntityName     = NameConverter.tableNameToEntityName(originTableName);
-		String referencedEntityName = NameConverter.tableNameToEntityName(referencedTableName);
-		DslModelForeignKey foreignKey = new DslModelForeignKey(fkName, originEntityName, referencedEntityName);
+		DslModelForeignKey foreignKey = createForeignKey(dbFK.getForeignKeyName(), originTableName, referencedTableName);
 		
 		//--- Add all FK attributes in FK
 		for ( DslModelForeignKeyAttribute fkAttribute : fkAttributes ) {
@@ -64,4 +57,32 @@ public class DbToForeignKeyConverter
 		return foreignKey ;
 	}
 	
+	/**
+	 * Creates a foreign key without attribute from the given names (as found in the 'imported keys' metadata)
+	 * @param fkName
+	 * @param originTableName
+	 * @param referencedTableName
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DslModelForeignKey createForeignKey(String fkName, String originTableName, String referencedTableName) {
+		String originEntityName     = NameConverter.tableNameToEntityName(originTableName);
+		String referencedEntityName = NameConverter.tableNameToEntityName(referencedTableName);
+		return new DslModelForeignKey(fkName, originEntityName, referencedEntityName);
+	}
+	
+	/**
+	 * Creates a foreign key attribute from the given columns names (as found in the 'imported keys' metadata)
+	 * @param ordinal
+	 * @param originColumnName
+	 * @param referencedColumnName
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DslModelForeignKeyAttribute createForeignKeyAttribute(int ordinal, String originColumnName, String referencedColumnName) {
+		String originAttributeName     = NameConverter.columnNameToAttributeName(originColumnName);
+		String referencedAttributeName = NameConverter.columnNameToAttributeName(referencedColumnName);
+		return new DslModelForeignKeyAttribute(ordinal, originAttributeName, referencedAttributeName);
+	}
+	
 }
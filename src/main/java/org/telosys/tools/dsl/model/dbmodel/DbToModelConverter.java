@@ -15,6 +15,10 @@
  */
 package org.telosys.tools.dsl.model.dbmodel;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.telosys.tools.commons.TelosysToolsLogger;
 import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinition;
 import org.telosys.tools.db.model.DatabaseTable;
@@ -25,6 +29,7 @@ import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
 import org.telosys.tools.generic.model.Entity;
 import org.telosys.tools.generic.model.ForeignKey;
+import org.telosys.tools.generic.model.ForeignKeyAttribute;
 
 /**
  * DB-MODEL to DSL-MODEL : Model converter
@@ -40,6 +45,8 @@ public class DbToModelConverter {
 
 	private final DbToEntityConverter  entityConverter  = new DbToEntityConverter();
 
+	private final JoinEntityDetector   joinEntityDetector = new JoinEntityDetector(); // v 4.1.0
+
 	/**
 	 * Constructor
 	 * @param logger
@@ -64,25 +71,92 @@ public class DbToModelConverter {
 		int tablesCount = 0;
 		for ( DatabaseTable dbTable : dbTables ) {
 			tablesCount++;
-			logger.log(SEPARATOR);
-			logger.log("   Table '" + dbTable.getTableName() 
-					+ "' ( catalog = '" + dbTable.getCatalogName() 
-					+ "', schema = '"+ dbTable.getSchemaName() + "' )");
 			//--- Create a new entity from the database table
-			DslModelEntity entity = entityConverter.createEntity(dbTable, databaseDefinition);
+			DslModelEntity entity = convertTable(dbTable, databaseDefinition);
 			//--- Add the entity in the model
 			model.addEntity(entity);
-			logger.log("   --> Entity '" + entity.getClassName() + "'" );
 		}
-		logger.log(SEPARATOR);
-		logger.log("   " + tablesCount + " table(s) converted.");
-		logger.log(SEPARATOR);
+		logTablesCount(tablesCount);
 
 		applyFkToAttributes(model);
 		
 		return model ;
 	}
 	
+	private DslModelEntity convertTable(DatabaseTable dbTable, DatabaseDefinition databaseDefinition) {
+		logger.log(SEPARATOR);
+		logger.log("   Table '" + dbTable.getTableName() 
+				+ "' ( catalog = '" + dbTable.getCatalogName() 
+				+ "', schema = '"+ dbTable.getSchemaName() + "' )");
+		DslModelEntity entity = entityConverter.createEntity(dbTable, databaseDefinition);
+		logger.log("   --> Entity '" + entity.getClassName() + "'" );
+		return entity;
+	}
+	
+	/**
+	 * Logs the number of tables converted
+	 * @param tablesCount
+	 * @since 4.1.0
+	 */
+	public void logTablesCount(int tablesCount) {
+		logger.log(SEPARATOR);
+		logger.log("   " + tablesCount + " table(s) converted.");
+		logger.log(SEPARATOR);
+	}
+
+	/**
+	 * Create a DSL entity from the given database table without model (streaming mode) <br>
+	 * The entity Foreign Keys are applied to its attributes and the entity is marked if it is a "join entity" <br>
+	 * The referenced entities must be checked before with 'checkForeignKeys'
+	 * @param dbTable
+	 * @param databaseDefinition
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DslModelEntity createEntity(DatabaseTable dbTable, DatabaseDefinition databaseDefinition) {
+		DslModelEntity entity = convertTable(dbTable, databaseDefinition);
+		completeEntity(entity);
+		return entity ;
+	}
+
+	private void completeEntity(DslModelEntity entity) {
+		for ( ForeignKey fk : entity.getForeignKeys() ) {
+			AttributeFKUtil.applyFKToAttributes(fk, entity);
+		}
+		joinEntityDetector.detectJoinEntity(entity);
+	}
+	
+	/**
+	 * Checks that all the entities and attributes referenced by the Foreign Keys exist (streaming mode)
+	 * @param summaries the summaries of all the entities (in the model order)
+	 * @since 4.1.0
+	 */
+	public void checkForeignKeys(List<DbEntitySummary> summaries) {
+		Map<String, DbEntitySummary> summariesByName = new HashMap<>();
+		for ( DbEntitySummary summary : summaries ) {
+			// keep the first one if duplicated name (as in the model)
+			if ( ! summariesByName.containsKey(summary.getClassName()) ) {
+				summariesByName.put(summary.getClassName(), summary);
+			}
+		}
+		for ( DbEntitySummary summary : summaries ) {
+			for ( ForeignKey fk : summary.getForeignKeys() ) {
+				DbEntitySummary referencedEntity = summariesByName.get(fk.getReferencedEntityName());
+				checkNotFound(referencedEntity != null, "referenced entity", fk.getReferencedEntityName());
+				for ( ForeignKeyAttribute fkAttrib : fk.getAttributes() ) {
+					String referencedAttributeName = fkAttrib.getReferencedAttributeName();
+					checkNotFound(referencedEntity.hasAttribute(referencedAttributeName), "referenced attribute", referencedAttributeName);
+				}
+			}
+		}
+	}
+	
+	private void checkNotFound(boolean found, String what, String id) {
+		if ( ! found ) {
+			throw new IllegalStateException("FK error : cannot found " + what + " : '" + id + "'");
+		}
+	}
+	
 	/**
 	 * Apply all model Foreign Keys to attributes involved in it 
 	 * @param model
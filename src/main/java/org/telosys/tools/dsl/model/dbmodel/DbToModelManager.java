@@ -18,6 +18,9 @@ package org.telosys.tools.dsl.model.dbmodel;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.telosys.tools.commons.StrUtil;
 import org.telosys.tools.commons.TelosysToolsException;
@@ -29,10 +32,15 @@ import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinitions;
 import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinitionsLoader;
 import org.telosys.tools.commons.exception.TelosysYamlException;
 import org.telosys.tools.db.model.DatabaseModelManager;
+import org.telosys.tools.db.model.DatabaseTable;
 import org.telosys.tools.db.model.DatabaseTables;
 import org.telosys.tools.dsl.commons.ModelInfo;
 import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.dbmodel.LinksBuilder.PlannedLink;
+import org.telosys.tools.dsl.model.writer.ModelStreamWriter;
 import org.telosys.tools.dsl.model.writer.ModelWriter;
+import org.telosys.tools.dsl.model.writer.ModelWriterResult;
 
 /**
  * DATABASE-SCHEMA to DSL-MODEL manager
@@ -43,6 +51,12 @@ public class DbToModelManager {
 	
 	private final TelosysToolsCfg    telosysToolsCfg ;
 	private final TelosysToolsLogger logger ;
+	
+	private int writerParallelism = 1 ; // v 4.1.0
+	
+	private boolean writeOnlyIfChanged = false ; // v 4.1.0
+	
+	private int streamingBatchSize = 100 ; // v 4.1.0
 
 	/**
 	 * Constructor
@@ -61,6 +75,46 @@ public class DbToModelManager {
 		this.logger = logger;
 	}
 	
+	/**
+	 * Set the number of threads to be used to write the entities files of the new model
+	 * @param writerParallelism the parallelism level (1 for sequential writing)
+	 * @since 4.1.0
+	 */
+	public void setWriterParallelism(int writerParallelism) {
+		if ( writerParallelism < 1 ) {
+			throw new IllegalArgumentException("Invalid parallelism level " + writerParallelism);
+		}
+		this.writerParallelism = writerParallelism;
+	}
+
+	/**
+	 * Set the 'write only if changed' mode for the model files (unchanged files are not written)
+	 * @param writeOnlyIfChanged
+	 * @since 4.1.0
+	 */
+	public void setWriteOnlyIfChanged(boolean writeOnlyIfChanged) {
+		this.writeOnlyIfChanged = writeOnlyIfChanged;
+	}
+
+	/**
+	 * Set the number of tables loaded and converted at the same time in streaming mode (100 by default)
+	 * @param streamingBatchSize
+	 * @since 4.1.0
+	 */
+	public void setStreamingBatchSize(int streamingBatchSize) {
+		if ( streamingBatchSize < 1 ) {
+			throw new IllegalArgumentException("Invalid batch size " + streamingBatchSize);
+		}
+		this.streamingBatchSize = streamingBatchSize;
+	}
+
+	private ModelWriter createModelWriter() {
+		ModelWriter modelWriter = new ModelWriter();
+		modelWriter.setParallelism(writerParallelism);
+		modelWriter.setWriteOnlyIfChanged(writeOnlyIfChanged);
+		return modelWriter;
+	}
+
 	/**
 	 * Creates a new DSL model from the given database
 	 * @param databaseId
@@ -78,13 +132,74 @@ public class DbToModelManager {
 		
 		// STEP 2 : write model in the model folder
 		String modelDirectory = telosysToolsCfg.getModelFolderAbsolutePath(modelName);
-		ModelWriter modelWriter = new ModelWriter();
-		modelWriter.writeModel(model, modelDirectory);
+		createModelWriter().writeModel(model, modelDirectory);
 		
 		// return the model
 		return model ;
 	}
 	
+	/**
+	 * Creates a new DSL model from the given database in streaming mode <br>
+	 * The model is never fully loaded in memory : the tables metadata are loaded by batches 
+	 * and each entity file is written as soon as its batch is converted <br>
+	 * The tables are read twice : the first pass reads only light metadata (columns names, primary and imported keys) 
+	 * to summarize each entity, detect the join entities and plan the links, 
+	 * the second pass reads the full metadata (one request per batch), converts the tables, 
+	 * adds the planned links and writes the entities <br>
+	 * The files written are the same as with 'createModelFromDatabase'
+	 * @param databaseId
+	 * @param modelName
+	 * @return the names of the entities written and skipped
+	 * @throws TelosysToolsException
+	 * @since 4.1.0
+	 */
+	public ModelWriterResult createModelFromDatabaseInStreamingMode(String databaseId, String modelName) throws TelosysToolsException {
+
+		// STEP 0 : get database definition (configuration) from configuration file
+		DatabaseDefinition databaseDefinition = getDatabaseDefinition(databaseId);
+		String modelDirectory = telosysToolsCfg.getModelFolderAbsolutePath(modelName);
+		
+		Connection connection = openConnection(databaseDefinition);
+		try {
+			DatabaseTablesBatchReader reader = new DatabaseTablesBatchReader(connection, databaseDefinition, 
+					getTableNamePattern(databaseDefinition), streamingBatchSize);
+			DbToModelConverter modelConverter = new DbToModelConverter(logger);
+			LinksBuilder linksBuilder = new LinksBuilder(databaseDefinition);
+
+			// STEP 1 : summarize all the entities, check the FK and plan the links 
+			Map<String, List<PlannedLink>> plannedLinks = planLinks(reader, modelConverter, linksBuilder);
+			
+			// STEP 2 : convert and write the entities batch by batch  
+			ModelStreamWriter modelStreamWriter = createModelWriter().openModel(createModelInfo(databaseDefinition), modelDirectory);
+			int tablesCount = 0 ;
+			for ( int batchIndex = 0 ; batchIndex < reader.getNumberOfBatches() ; batchIndex++ ) {
+				List<DslModelEntity> entities = new ArrayList<>();
+				for ( DatabaseTable dbTable : reader.readBatch(batchIndex) ) {
+					DslModelEntity entity = modelConverter.createEntity(dbTable, databaseDefinition);
+					linksBuilder.createPlannedLinks(entity, plannedLinks.get(entity.getClassName()));
+					entities.add(entity);
+				}
+				modelStreamWriter.writeEntities(entities);
+				tablesCount += entities.size();
+			}
+			modelConverter.logTablesCount(tablesCount);
+			return modelStreamWriter.close();
+		} finally {
+			closeConnection(connection); 
+		}
+	}
+	
+	private Map<String, List<PlannedLink>> planLinks(DatabaseTablesBatchReader reader, DbToModelConverter modelConverter, 
+			LinksBuilder linksBuilder) throws TelosysToolsException {
+		List<DbEntitySummary> summaries = new ArrayList<>();
+		for ( int batchIndex = 0 ; batchIndex < reader.getNumberOfBatches() ; batchIndex++ ) {
+			summaries.addAll(reader.readBatchSummaries(batchIndex));
+		}
+		logger.log("   " + summaries.size() + " table(s) summarized.");
+		modelConverter.checkForeignKeys(summaries);
+		return linksBuilder.planLinks(summaries);
+	}
+	
 	/**
 	 * Loads the database definition for the given database id 
 	 * @param databaseId
@@ -163,10 +278,7 @@ public class DbToModelManager {
 		
 		// Convert DB-Model to DSL-Model
 		DbToModelConverter modelConverter = new DbToModelConverter(logger);
-		ModelInfo modelInfo = new ModelInfo();
-		modelInfo.setTitle("Model created from database " + databaseDefinition.getName() );
-
-		DslModel model = modelConverter.createModel(modelName, modelInfo, dbTables, databaseDefinition);
+		DslModel model = modelConverter.createModel(modelName, createModelInfo(databaseDefinition), dbTables, databaseDefinition);
 		
 		// Add additional information in model
 		model.setDatabaseId(databaseDefinition.getId());
@@ -176,8 +288,13 @@ public class DbToModelManager {
 		return model;
 	}
 
-	private DatabaseTables getDatabaseTablesFromDb(Connection con, DatabaseDefinition databaseDefinition) throws TelosysToolsException {
-		
+	private ModelInfo createModelInfo(DatabaseDefinition databaseDefinition) {
+		ModelInfo modelInfo = new ModelInfo();
+		modelInfo.setTitle("Model created from database " + databaseDefinition.getName() );
+		return modelInfo;
+	}
+
+	private String getTableNamePattern(DatabaseDefinition databaseDefinition) {
 		String tableNamePattern = databaseDefinition.getTableNamePattern();
 		if ( StrUtil.nullOrVoid(tableNamePattern) ) {
 			// Not set => use "%" by default
@@ -195,6 +312,12 @@ public class DbToModelManager {
 		logger.log("    . Table Types Array  = " + sb.toString());
 		logger.log("    . Table Name Include = " + databaseDefinition.getTableNameInclude());
 		logger.log("    . Table Name Exclude = " + databaseDefinition.getTableNameExclude());
+		return tableNamePattern;
+	}
+
+	private DatabaseTables getDatabaseTablesFromDb(Connection con, DatabaseDefinition databaseDefinition) throws TelosysToolsException {
+		
+		String tableNamePattern = getTableNamePattern(databaseDefinition);
 
 		//--- Load the Database Model
 		DatabaseModelManager manager = new DatabaseModelManager();
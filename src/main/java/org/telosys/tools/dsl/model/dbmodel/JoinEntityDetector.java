@@ -15,6 +15,9 @@
  */
 package org.telosys.tools.dsl.model.dbmodel;
 
+import java.util.Collection;
+import java.util.Set;
+
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
 import org.telosys.tools.generic.model.Attribute;
@@ -42,10 +45,45 @@ public class JoinEntityDetector {
 	 */
 	public void detectJoinEntities(DslModel model) {
 		for ( Entity entity : model.getEntities() ) {
-			if ( isJoinEntity(entity) ) {
-				((DslModelEntity)entity).setJoinEntity(true);
+			detectJoinEntity((DslModelEntity)entity);
+		}
+	}
+	
+	/**
+	 * Detect if the given entity is a "join entity" and mark it as "JoinEntity" if it is
+	 * @param entity
+	 * @return true if the entity is a "join entity"
+	 * @since 4.1.0
+	 */
+	public boolean detectJoinEntity(DslModelEntity entity) {
+		if ( isJoinEntity(entity) ) {
+			entity.setJoinEntity(true);
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns true if a table is a "join entity" according to its keys (same rules as for an entity) <br>
+	 * Used when the entity is not built (streaming mode)
+	 * @param foreignKeysCount the number of Foreign Keys of the table
+	 * @param columnsNames the names of all the columns of the table
+	 * @param primaryKeyColumns the names of the columns in the Primary Key
+	 * @param foreignKeysColumns the names of the columns in at least one Foreign Key
+	 * @return
+	 * @since 4.1.0
+	 */
+	public boolean isJoinEntity(int foreignKeysCount, Collection<String> columnsNames, 
+			Set<String> primaryKeyColumns, Set<String> foreignKeysColumns) {
+		if ( foreignKeysCount != 2 ) {
+			return false;
+		}
+		for ( String columnName : columnsNames ) {
+			if ( ! primaryKeyColumns.contains(columnName) || ! foreignKeysColumns.contains(columnName) ) {
+				return false ;
 			}
 		}
+		return true ;
 	}
 	
 	private boolean isJoinEntity(Entity entity) {
@@ -15,7 +15,12 @@
  */
 package org.telosys.tools.dsl.model.dbmodel;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.telosys.tools.commons.NamingStyleConverter;
 import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinition;
@@ -96,13 +101,15 @@ public class LinksBuilder {
 	 * @param fk
 	 */
 	private void createLinkManyToOne(DslModelEntity entity, DslModelForeignKey fk) {
-		String referencedEntityName = fk.getReferencedEntityName();
+		createLinkManyToOne(entity, fk.getReferencedEntityName(), fk.getName());
+	}
+	private void createLinkManyToOne(DslModelEntity entity, String referencedEntityName, String foreignKeyName) {
 		String fieldName = buildFieldNameManyToOne(referencedEntityName, entity);
 		// create link
 		DslModelLink link = new DslModelLink(fieldName);
 		link.setReferencedEntityName(referencedEntityName);
 		link.setCardinality(Cardinality.MANY_TO_ONE);
-		link.setForeignKeyName(fk.getName());
+		link.setForeignKeyName(foreignKeyName);
 		link.setBasedOnForeignKey(true);
 		// link.setOwningSide(true); // removed in v 4.1.0
 		// link.setInverseSide(false); // removed in v 4.1.0
@@ -121,8 +128,9 @@ public class LinksBuilder {
 	 * @param fk
 	 */
 	private void createLinkOneToMany(DslModel model, DslModelForeignKey fk) {
-		DslModelEntity referencedEntity = getReferencedEntity(model, fk);
-		String originEntityName = fk.getOriginEntityName();
+		createLinkOneToMany(getReferencedEntity(model, fk), fk.getOriginEntityName());
+	}
+	private void createLinkOneToMany(DslModelEntity referencedEntity, String originEntityName) {
 		String fieldName = buildCollectionFieldName(referencedEntity, originEntityName);		
 		// create link
 		DslModelLink link = new DslModelLink(fieldName);
@@ -208,4 +216,125 @@ public class LinksBuilder {
 		String basicFieldName = nameConverter.toCamelCase(entityInCollection)+"List";
 		return getNonDuplicateFieldName(basicFieldName, entity) ; 
 	}
+
+	//-----------------------------------------------------------------------------------------
+	// Links creation without the full model in memory (v 4.1.0)
+	//-----------------------------------------------------------------------------------------
+	/**
+	 * A link to be created later in an entity 
+	 * @since 4.1.0
+	 */
+	public static final class PlannedLink {
+		private final Cardinality cardinality ;
+		private final String referencedEntityName ;
+		private final String foreignKeyName ;
+		private final String joinEntityName ;
+		private PlannedLink(Cardinality cardinality, String referencedEntityName, String foreignKeyName, String joinEntityName) {
+			super();
+			this.cardinality = cardinality;
+			this.referencedEntityName = referencedEntityName;
+			this.foreignKeyName = foreignKeyName;
+			this.joinEntityName = joinEntityName;
+		}
+		@Override
+		public String toString() {
+			return cardinality + " " + referencedEntityName ;
+		}
+	}
+
+	/**
+	 * Plans the links to be created for all the given entities <br>
+	 * The links are the same (and in the same order) as the links created by 'createLinks(model)' 
+	 * @param summaries the summaries of all the entities (in the model order)
+	 * @return the links to be created in each entity (key : entity class name)
+	 * @since 4.1.0
+	 */
+	public Map<String, List<PlannedLink>> planLinks(List<DbEntitySummary> summaries) {
+		Set<String> entitiesNames = new HashSet<>();
+		for ( DbEntitySummary summary : summaries ) {
+			entitiesNames.add(summary.getClassName());
+		}
+		Map<String, List<PlannedLink>> plannedLinks = new HashMap<>();
+		for ( DbEntitySummary summary : summaries ) {
+			if ( databaseDefinition.isLinksManyToMany() && summary.isJoinEntity() ) {
+				// Special processing for "join entities" 
+				planManyToManyLinks(entitiesNames, summary, plannedLinks);
+			}
+			else {
+				planBasicLinks(entitiesNames, summary, plannedLinks);
+			}
+		}
+		return plannedLinks;
+	}
+
+	private void planBasicLinks(Set<String> entitiesNames, DbEntitySummary summary, Map<String, List<PlannedLink>> plannedLinks) {
+		for ( ForeignKey fk : summary.getForeignKeys() ) {
+			if ( databaseDefinition.isLinksManyToOne() ) {
+				addPlannedLink(plannedLinks, summary.getClassName(), 
+						new PlannedLink(Cardinality.MANY_TO_ONE, fk.getReferencedEntityName(), fk.getName(), null));
+			}
+			if ( databaseDefinition.isLinksOneToMany() ) {
+				checkReferencedEntity(entitiesNames, fk);
+				addPlannedLink(plannedLinks, fk.getReferencedEntityName(), 
+						new PlannedLink(Cardinality.ONE_TO_MANY, fk.getOriginEntityName(), null, null));
+			}
+		}
+	}
+
+	private void planManyToManyLinks(Set<String> entitiesNames, DbEntitySummary joinEntity, Map<String, List<PlannedLink>> plannedLinks) {
+		List<ForeignKey> foreignKeys = joinEntity.getForeignKeys();
+		if ( foreignKeys.size() == 2 ) {
+			ForeignKey fk1 = foreignKeys.get(0);
+			ForeignKey fk2 = foreignKeys.get(1);
+			checkReferencedEntity(entitiesNames, fk1);
+			checkReferencedEntity(entitiesNames, fk2);
+			String joinEntityName = joinEntity.getClassName();
+			addPlannedLink(plannedLinks, fk1.getReferencedEntityName(), 
+					new PlannedLink(Cardinality.MANY_TO_MANY, fk2.getReferencedEntityName(), null, joinEntityName));
+			addPlannedLink(plannedLinks, fk2.getReferencedEntityName(), 
+					new PlannedLink(Cardinality.MANY_TO_MANY, fk1.getReferencedEntityName(), null, joinEntityName));
+		}
+	}
+
+	private void checkReferencedEntity(Set<String> entitiesNames, ForeignKey fk) {
+		if ( ! entitiesNames.contains(fk.getReferencedEntityName()) ) {
+			throw new IllegalStateException("FK "+fk.getName()+ ": invalid referenced entity " + fk.getReferencedEntityName());
+		}
+	}
+
+	private void addPlannedLink(Map<String, List<PlannedLink>> plannedLinks, String entityName, PlannedLink plannedLink) {
+		List<PlannedLink> list = plannedLinks.get(entityName);
+		if ( list == null ) {
+			list = new ArrayList<>(2);
+			plannedLinks.put(entityName, list);
+		}
+		list.add(plannedLink);
+	}
+
+	/**
+	 * Creates the given planned links in the given entity 
+	 * @param entity
+	 * @param plannedLinks the links planned for this entity (can be null)
+	 * @since 4.1.0
+	 */
+	public void createPlannedLinks(DslModelEntity entity, List<PlannedLink> plannedLinks) {
+		if ( plannedLinks == null ) {
+			return;
+		}
+		for ( PlannedLink plannedLink : plannedLinks ) {
+			switch ( plannedLink.cardinality ) {
+			case MANY_TO_ONE :
+				createLinkManyToOne(entity, plannedLink.referencedEntityName, plannedLink.foreignKeyName);
+				break;
+			case ONE_TO_MANY :
+				createLinkOneToMany(entity, plannedLink.referencedEntityName);
+				break;
+			case MANY_TO_MANY :
+				createLinkManyToMany(entity, plannedLink.referencedEntityName, plannedLink.joinEntityName);
+				break;
+			default :
+				throw new IllegalStateException("Unexpected planned link cardinality " + plannedLink.cardinality);
+			}
+		}
+	}
 }
@@ -21,7 +21,18 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 import org.telosys.tools.commons.FileUtil;
@@ -34,12 +45,22 @@ import org.telosys.tools.commons.FileUtil;
  */
 public abstract class AbstractWriter {
 
+	protected static final String LINE_SEPARATOR = System.lineSeparator() ;
+	
 	private final String directory;
 	
 	private OutputStream outputStream;
 	private OutputStreamWriter outputStreamWriter;
 	private PrintWriter  printWriter;
 	
+	//--- buffered mode (v 4.1.0) : the file content is built in memory and written in one go by 'closeFile'
+	private boolean bufferedMode = false ;
+	private boolean writeOnlyIfChanged = false ; // the file is built in memory and written only if changed
+	private String bufferedFileName ;
+	private final StringBuilder buffer = new StringBuilder();
+	private CharsetEncoder encoder ;
+	private ByteBuffer byteBuffer ;
+	
 	/**
 	 * Constructor
 	 * @param directory
@@ -49,6 +70,51 @@ public abstract class AbstractWriter {
 		this.directory = directory ;
 	}
 
+	/**
+	 * Set the buffered mode <br>
+	 * If true, the lines are kept in a reusable buffer and the file is written 
+	 * with a single write when it is closed (no flush for each line)
+	 * @param bufferedMode
+	 * @since 4.1.0
+	 */
+	public void setBufferedMode(boolean bufferedMode) {
+		this.bufferedMode = bufferedMode;
+	}
+
+	/**
+	 * Returns true if the buffered mode is used
+	 * @return
+	 * @since 4.1.0
+	 */
+	public boolean isBufferedMode() {
+		return bufferedMode;
+	}
+
+	/**
+	 * Set the 'write only if changed' mode <br>
+	 * If true, the file content is built in memory and compared with the existing file : 
+	 * an identical file is not written (unchanged last modified date), a changed file is 
+	 * written in a temporary file and then moved to replace the existing file (atomic move if supported)
+	 * @param writeOnlyIfChanged
+	 * @since 4.1.0
+	 */
+	public void setWriteOnlyIfChanged(boolean writeOnlyIfChanged) {
+		this.writeOnlyIfChanged = writeOnlyIfChanged;
+	}
+
+	/**
+	 * Returns true if the 'write only if changed' mode is used
+	 * @return
+	 * @since 4.1.0
+	 */
+	public boolean isWriteOnlyIfChanged() {
+		return writeOnlyIfChanged;
+	}
+
+	private boolean isInMemory() {
+		return bufferedMode || writeOnlyIfChanged ;
+	}
+	
 	/**
 	 * Open the output file in the predefined directory <br>
 	 * The charset for the output file is UTF-8
@@ -57,6 +123,11 @@ public abstract class AbstractWriter {
 	 */
 	protected void openFile(String fileName) {
 		String fullFileName = FileUtil.buildFilePath(directory, fileName); 
+		if ( isInMemory() ) {
+			this.bufferedFileName = fullFileName ;
+			this.buffer.setLength(0);
+			return;
+		}
 		try {
 			this.outputStream = new FileOutputStream(fullFileName);
 		} catch (FileNotFoundException e) {
@@ -72,10 +143,24 @@ public abstract class AbstractWriter {
 	 * @param line
 	 */
 	protected void printLine(String line) {
+		if ( isInMemory() ) {
+			buffer.append(line).append(LINE_SEPARATOR);
+			return;
+		}
 		printWriter.println(line);
 		printWriter.flush();
 	}
 	
+	/**
+	 * Returns the output of the current file : the in-memory buffer 
+	 * or the file writer (not flushed until the file is closed)
+	 * @return
+	 * @since 4.1.0
+	 */
+	protected Appendable getOutput() {
+		return isInMemory() ? buffer : printWriter ;
+	}
+	
 	/**
 	 * Print the given lines in the output file
 	 * @param lines
@@ -90,6 +175,22 @@ public abstract class AbstractWriter {
 	 * Close the output file
 	 */
 	protected void closeFile() {
+		closeFileWithResult();
+	}
+
+	/**
+	 * Close the output file
+	 * @return true if the file has been written (false if unchanged in 'write only if changed' mode)
+	 * @since 4.1.0
+	 */
+	protected boolean closeFileWithResult() {
+		if ( writeOnlyIfChanged ) {
+			return writeBufferIfChanged();
+		}
+		if ( bufferedMode ) {
+			writeBuffer();
+			return true;
+		}
 		printWriter.close();
 		try {
 			this.outputStreamWriter.close();
@@ -97,6 +198,102 @@ public abstract class AbstractWriter {
 		} catch (IOException e) {
 			throw new ModelWriterException("IOException : Cannot close OutputStream", e );
 		}
+		return true;
+	}
+
+	/**
+	 * Writes the buffer content in the current file with a single channel write
+	 */
+	private void writeBuffer() {
+		try {
+			writeBytes(Paths.get(bufferedFileName), encodeBuffer());
+		} catch (IOException e) {
+			throw new ModelWriterException("IOException : Cannot write file " + bufferedFileName, e);
+		}
+	}
+
+	/**
+	 * Writes the buffer content in the current file only if the file content is not the same <br>
+	 * The new content is written in a temporary file (in the same directory) and then moved 
+	 * @return true if the file has been written
+	 */
+	private boolean writeBufferIfChanged() {
+		ByteBuffer bytes = encodeBuffer();
+		Path file = Paths.get(bufferedFileName);
+		if ( hasSameContent(file, bytes) ) {
+			return false;
+		}
+		Path tempFile = file.resolveSibling("." + file.getFileName() + ".tmp");
+		try {
+			writeBytes(tempFile, bytes);
+			try {
+				Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			deleteQuietly(tempFile);
+			throw new ModelWriterException("IOException : Cannot write file " + bufferedFileName, e);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if the given file exists with exactly the given content 
+	 * (the file is read only if it has the same size)
+	 * @param file
+	 * @param bytes
+	 * @return
+	 */
+	private boolean hasSameContent(Path file, ByteBuffer bytes) {
+		try {
+			if ( ! Files.isRegularFile(file) || Files.size(file) != bytes.remaining() ) {
+				return false;
+			}
+			return ByteBuffer.wrap(Files.readAllBytes(file)).equals(bytes);
+		} catch (IOException e) {
+			return false; // cannot read the current file => try to write it
+		}
+	}
+
+	private void writeBytes(Path file, ByteBuffer bytes) throws IOException {
+		try ( FileChannel channel = FileChannel.open(file, 
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE) ) {
+			while ( bytes.hasRemaining() ) {
+				channel.write(bytes);
+			}
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			// nothing to do (the original error is reported)
+		}
+	}
+
+	/**
+	 * Encodes the buffer content in UTF-8 (in a reusable byte buffer)
+	 * @return the byte buffer ready to be read
+	 */
+	private ByteBuffer encodeBuffer() {
+		if ( encoder == null ) {
+			// same behavior as OutputStreamWriter for invalid chars 
+			encoder = StandardCharsets.UTF_8.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+		int maxBytes = (int) Math.ceil(buffer.length() * (double) encoder.maxBytesPerChar()) ;
+		if ( byteBuffer == null || byteBuffer.capacity() < maxBytes ) {
+			byteBuffer = ByteBuffer.allocate(Math.max(maxBytes, 8192));
+		}
+		byteBuffer.clear();
+		encoder.reset();
+		encoder.encode(CharBuffer.wrap(buffer), byteBuffer, true);
+		encoder.flush(byteBuffer);
+		byteBuffer.flip();
+		return byteBuffer;
 	}
 
 }
@@ -15,8 +15,9 @@
  */
 package org.telosys.tools.dsl.model.writer;
 
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.telosys.tools.commons.StrUtil;
@@ -24,59 +25,8 @@ import org.telosys.tools.dsl.model.DslModelAttribute;
 import org.telosys.tools.dsl.model.DslModelEntity;
 import org.telosys.tools.dsl.model.DslModelLink;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinition;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
 import org.telosys.tools.dsl.parser.annotation.AnnotationName;
-import org.telosys.tools.dsl.parser.annotations.AbstractAnnotation;
-import org.telosys.tools.dsl.parser.annotations.AggregateRootAnnotation;
-import org.telosys.tools.dsl.parser.annotations.AutoIncrementedAnnotation;
-import org.telosys.tools.dsl.parser.annotations.ContextAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbCatalogAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbCommentAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbDefaultValueAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbNameAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbSchemaAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbTableAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbTablespaceAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbTypeAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DbViewAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DefaultValueAnnotation;
-import org.telosys.tools.dsl.parser.annotations.DomainAnnotation;
-import org.telosys.tools.dsl.parser.annotations.EmbeddedAnnotation;
-import org.telosys.tools.dsl.parser.annotations.ExtendsAnnotation;
-import org.telosys.tools.dsl.parser.annotations.FetchTypeEagerAnnotation;
-import org.telosys.tools.dsl.parser.annotations.FetchTypeLazyAnnotation;
-import org.telosys.tools.dsl.parser.annotations.FutureAnnotation;
-import org.telosys.tools.dsl.parser.annotations.IdAnnotation;
-import org.telosys.tools.dsl.parser.annotations.InMemoryRepositoryAnnotation;
-import org.telosys.tools.dsl.parser.annotations.InitialValueAnnotation;
-import org.telosys.tools.dsl.parser.annotations.InputTypeAnnotation;
-import org.telosys.tools.dsl.parser.annotations.InsertableAnnotation;
-import org.telosys.tools.dsl.parser.annotations.JoinEntityAnnotation;
-import org.telosys.tools.dsl.parser.annotations.LabelAnnotation;
-import org.telosys.tools.dsl.parser.annotations.LinkByFKAnnotation;
-import org.telosys.tools.dsl.parser.annotations.LinkByJoinEntityAnnotation;
-import org.telosys.tools.dsl.parser.annotations.LongTextAnnotation;
-import org.telosys.tools.dsl.parser.annotations.ManyToManyAnnotation;
-import org.telosys.tools.dsl.parser.annotations.MappedByAnnotation;
-import org.telosys.tools.dsl.parser.annotations.MaxAnnotation;
-import org.telosys.tools.dsl.parser.annotations.MaxLenAnnotation;
-import org.telosys.tools.dsl.parser.annotations.MinAnnotation;
-import org.telosys.tools.dsl.parser.annotations.MinLenAnnotation;
-import org.telosys.tools.dsl.parser.annotations.NotBlankAnnotation;
-import org.telosys.tools.dsl.parser.annotations.NotEmptyAnnotation;
-import org.telosys.tools.dsl.parser.annotations.NotNullAnnotation;
-import org.telosys.tools.dsl.parser.annotations.ObjectTypeAnnotation;
-import org.telosys.tools.dsl.parser.annotations.OneToOneAnnotation;
-import org.telosys.tools.dsl.parser.annotations.OptionalAnnotation;
-import org.telosys.tools.dsl.parser.annotations.PackageAnnotation;
-import org.telosys.tools.dsl.parser.annotations.PastAnnotation;
-import org.telosys.tools.dsl.parser.annotations.PatternAnnotation;
-import org.telosys.tools.dsl.parser.annotations.PrimitiveTypeAnnotation;
-import org.telosys.tools.dsl.parser.annotations.ReadOnlyAnnotation;
-import org.telosys.tools.dsl.parser.annotations.SizeAnnotation;
-import org.telosys.tools.dsl.parser.annotations.TransientAnnotation;
-import org.telosys.tools.dsl.parser.annotations.UniqueAnnotation;
-import org.telosys.tools.dsl.parser.annotations.UnsignedTypeAnnotation;
-import org.telosys.tools.dsl.parser.annotations.UpdatableAnnotation;
 import org.telosys.tools.dsl.tags.Tag;
 import org.telosys.tools.dsl.tags.Tags;
 import org.telosys.tools.generic.model.Attribute;
@@ -89,7 +39,8 @@ import org.telosys.tools.generic.model.enums.FetchType;
 import org.telosys.tools.generic.model.enums.Optional;
 
 /**
- * DSL entity file writer 
+ * DSL entity file writer <br>
+ * ( v 4.1.0 : the entity is rendered directly in the output with the shared annotations definitions )
  * 
  * @author Laurent Guerin
  *
@@ -98,6 +49,73 @@ public class EntityFileWriter extends AbstractWriter {
 
 	private static final String INDENTATION = "  " ;
 	
+	//--- Entity annotations
+	private static final AnnotationDefinition PACKAGE         = definition(AnnotationName.PACKAGE);
+	private static final AnnotationDefinition DB_TABLE        = definition(AnnotationName.DB_TABLE);
+	private static final AnnotationDefinition DB_CATALOG      = definition(AnnotationName.DB_CATALOG);
+	private static final AnnotationDefinition DB_SCHEMA       = definition(AnnotationName.DB_SCHEMA);
+	private static final AnnotationDefinition DB_TABLESPACE   = definition(AnnotationName.DB_TABLESPACE);
+	private static final AnnotationDefinition DB_VIEW         = definition(AnnotationName.DB_VIEW);
+	private static final AnnotationDefinition JOIN_ENTITY     = definition(AnnotationName.JOIN_ENTITY);
+	private static final AnnotationDefinition DOMAIN          = definition(AnnotationName.DOMAIN);
+	private static final AnnotationDefinition CONTEXT         = definition(AnnotationName.CONTEXT);
+	private static final AnnotationDefinition AGGREGATE_ROOT  = definition(AnnotationName.AGGREGATE_ROOT);
+	private static final AnnotationDefinition READ_ONLY       = definition(AnnotationName.READ_ONLY);
+	private static final AnnotationDefinition IN_MEMORY_REPOSITORY = definition(AnnotationName.IN_MEMORY_REPOSITORY);
+	private static final AnnotationDefinition ABSTRACT        = definition(AnnotationName.ABSTRACT);
+	private static final AnnotationDefinition EXTENDS         = definition(AnnotationName.EXTENDS);
+	//--- Attribute annotations
+	private static final AnnotationDefinition ID              = definition(AnnotationName.ID);
+	private static final AnnotationDefinition DB_NAME         = definition(AnnotationName.DB_NAME);
+	private static final AnnotationDefinition DB_TYPE         = definition(AnnotationName.DB_TYPE);
+	private static final AnnotationDefinition DB_DEFAULT_VALUE = definition(AnnotationName.DB_DEFAULT_VALUE);
+	private static final AnnotationDefinition DB_COMMENT      = definition(AnnotationName.DB_COMMENT);
+	private static final AnnotationDefinition NOT_NULL        = definition(AnnotationName.NOT_NULL);
+	private static final AnnotationDefinition NOT_BLANK       = definition(AnnotationName.NOT_BLANK);
+	private static final AnnotationDefinition NOT_EMPTY       = definition(AnnotationName.NOT_EMPTY);
+	private static final AnnotationDefinition UNIQUE          = definition(AnnotationName.UNIQUE);
+	private static final AnnotationDefinition TRANSIENT       = definition(AnnotationName.TRANSIENT);
+	private static final AnnotationDefinition MAX             = definition(AnnotationName.MAX);
+	private static final AnnotationDefinition MIN             = definition(AnnotationName.MIN);
+	private static final AnnotationDefinition SIZE            = definition(AnnotationName.SIZE);
+	private static final AnnotationDefinition MAX_LEN         = definition(AnnotationName.MAX_LEN);
+	private static final AnnotationDefinition MIN_LEN         = definition(AnnotationName.MIN_LEN);
+	private static final AnnotationDefinition LABEL           = definition(AnnotationName.LABEL);
+	private static final AnnotationDefinition INPUT_TYPE      = definition(AnnotationName.INPUT_TYPE);
+	private static final AnnotationDefinition INITIAL_VALUE   = definition(AnnotationName.INITIAL_VALUE);
+	private static final AnnotationDefinition DEFAULT_VALUE   = definition(AnnotationName.DEFAULT_VALUE);
+	private static final AnnotationDefinition PATTERN         = definition(AnnotationName.PATTERN);
+	private static final AnnotationDefinition LONG_TEXT       = definition(AnnotationName.LONG_TEXT);
+	private static final AnnotationDefinition OBJECT_TYPE     = definition(AnnotationName.OBJECT_TYPE);
+	private static final AnnotationDefinition PRIMITIVE_TYPE  = definition(AnnotationName.PRIMITIVE_TYPE);
+	private static final AnnotationDefinition UNSIGNED_TYPE   = definition(AnnotationName.UNSIGNED_TYPE);
+	private static final AnnotationDefinition PAST            = definition(AnnotationName.PAST);
+	private static final AnnotationDefinition FUTURE          = definition(AnnotationName.FUTURE);
+	//--- Link annotations
+	private static final AnnotationDefinition EMBEDDED        = definition(AnnotationName.EMBEDDED);
+	private static final AnnotationDefinition OPTIONAL        = definition(AnnotationName.OPTIONAL);
+	private static final AnnotationDefinition FETCH_TYPE_EAGER = definition(AnnotationName.FETCH_TYPE_EAGER);
+	private static final AnnotationDefinition FETCH_TYPE_LAZY = definition(AnnotationName.FETCH_TYPE_LAZY);
+	private static final AnnotationDefinition MANY_TO_MANY    = definition(AnnotationName.MANY_TO_MANY);
+	private static final AnnotationDefinition ONE_TO_ONE      = definition(AnnotationName.ONE_TO_ONE);
+	private static final AnnotationDefinition MAPPED_BY       = definition(AnnotationName.MAPPED_BY);
+	private static final AnnotationDefinition INSERTABLE      = definition(AnnotationName.INSERTABLE);
+	private static final AnnotationDefinition UPDATABLE       = definition(AnnotationName.UPDATABLE);
+	private static final AnnotationDefinition LINK_BY_FK      = definition(AnnotationName.LINK_BY_FK);
+	private static final AnnotationDefinition LINK_BY_JOIN_ENTITY = definition(AnnotationName.LINK_BY_JOIN_ENTITY);
+
+	private static AnnotationDefinition definition(String annotationName) {
+		AnnotationDefinition ad = AnnotationDefinitions.get(annotationName);
+		if ( ad == null ) {
+			throw new IllegalStateException("No definition for annotation '" + annotationName + "'");
+		}
+		return ad;
+	}
+
+	//--- rendering state for the current element (entity header or field)
+	private boolean oneItemPerLine = false ; // true for entity header, false for field (items in "{ }")
+	private int numberOfItems = 0 ;
+	
 	/**
 	 * Constructor 
 	 * @param directory
@@ -111,360 +129,641 @@ public class EntityFileWriter extends AbstractWriter {
 	 * @param entity
 	 */
 	public void writeEntity(DslModelEntity entity) {
+		writeEntityFile(entity);
+	}
+	
+	/**
+	 * Writes the given entity in a ".entity" file
+	 * @param entity
+	 * @return true if the file has been written (false if unchanged in 'write only if changed' mode)
+	 * @since 4.1.0
+	 */
+	public boolean writeEntityFile(DslModelEntity entity) {
 		String entityFileName = entity.getClassName() + ".entity";
 		openFile(entityFileName);
-		
-		// build and write entity header 
-		printLines(buildEntityHeader(entity));
-		// write entity opening 
-		printLine(entity.getClassName() + " {");
-		// build and write all attributes 
-		printLine(INDENTATION + "// attributes");
+		try {
+			appendEntity(getOutput(), entity);
+		} catch (IOException e) {
+			throw new ModelWriterException("IOException : Cannot write entity " + entity.getClassName(), e);
+		}
+		return closeFileWithResult();
+	}
+	
+	/**
+	 * Appends the full content of the ".entity" file for the given entity 
+	 * @param out
+	 * @param entity
+	 * @throws IOException
+	 * @since 4.1.0
+	 */
+	public void appendEntity(Appendable out, DslModelEntity entity) throws IOException {
+		// entity header 
+		appendEntityHeader(out, entity);
+		// entity opening 
+		out.append(entity.getClassName()).append(" {").append(LINE_SEPARATOR);
+		// all attributes 
+		out.append(INDENTATION).append("// attributes").append(LINE_SEPARATOR);
 		for ( Attribute attribute : entity.getAttributes() ) {
-			printLine(buildAttribute((DslModelAttribute) attribute) ) ;
+			appendAttribute(out, (DslModelAttribute) attribute);
+			out.append(LINE_SEPARATOR);
 		}
-		// build and write all links 
-		printLine(INDENTATION + "// links");
+		// all links 
+		out.append(INDENTATION).append("// links").append(LINE_SEPARATOR);
 		for ( Link link : entity.getLinks() ) {
-			printLine(buildLink((DslModelLink) link) ) ;
+			appendLink(out, (DslModelLink) link);
+			out.append(LINE_SEPARATOR);
 		}
-		// write entity closing 
-		printLine("}");
-		
-		closeFile();
+		// entity closing 
+		out.append("}").append(LINE_SEPARATOR);
 	}
 	
 	/**
-	 * Builds a list of lines for entity header ( annotations and tags )
+	 * Appends the entity header lines ( annotations and tags )
+	 * @param out
 	 * @param entity
-	 * @return
+	 * @throws IOException
 	 */
-	protected List<String> buildEntityHeader(DslModelEntity entity) {
-		List<String> lines = new LinkedList<>();
+	protected void appendEntityHeader(Appendable out, DslModelEntity entity) throws IOException {
+		startItems(true);
 		//--- Entity ANNOTATIONS :
 		// Package
-		buildAnnotation(lines, new PackageAnnotation(), entity.getPackageName());
+		appendAnnotation(out, PACKAGE, entity.getPackageName());
 		// Database annotations
-		buildAnnotation(lines, new DbTableAnnotation(), entity.getDatabaseTable());
-		buildAnnotation(lines, new DbCatalogAnnotation(), entity.getDatabaseCatalog());
-		buildAnnotation(lines, new DbSchemaAnnotation(), entity.getDatabaseSchema());
-		buildAnnotation(lines, new DbCommentAnnotation(), entity.getDatabaseComment());
-		buildAnnotation(lines, new DbTablespaceAnnotation(), entity.getDatabaseTablespace());
-		buildAnnotationWithoutParam(lines, new DbViewAnnotation(), entity.isDatabaseView());
+		appendAnnotation(out, DB_TABLE, entity.getDatabaseTable());
+		appendAnnotation(out, DB_CATALOG, entity.getDatabaseCatalog());
+		appendAnnotation(out, DB_SCHEMA, entity.getDatabaseSchema());
+		appendAnnotation(out, DB_COMMENT, entity.getDatabaseComment());
+		appendAnnotation(out, DB_TABLESPACE, entity.getDatabaseTablespace());
+		appendAnnotationWithoutParam(out, DB_VIEW, entity.isDatabaseView());
 		// Join Entity ( v 4.1.0 )
-		buildAnnotationWithoutParam(lines, new JoinEntityAnnotation(), entity.isJoinEntity());
+		appendAnnotationWithoutParam(out, JOIN_ENTITY, entity.isJoinEntity());
 		// Domain & context annotations
-		buildAnnotation(lines, new DomainAnnotation(), entity.getDomain());
-		buildAnnotation(lines, new ContextAnnotation(), entity.getContext());
+		appendAnnotation(out, DOMAIN, entity.getDomain());
+		appendAnnotation(out, CONTEXT, entity.getContext());
 		// AggregateRoot, ReadOnly, 
-		buildAnnotationWithoutParam(lines, new AggregateRootAnnotation(), entity.isAggregateRoot());
-		buildAnnotationWithoutParam(lines, new ReadOnlyAnnotation(), entity.isReadOnly() );
-		buildAnnotationWithoutParam(lines, new InMemoryRepositoryAnnotation(), entity.isInMemoryRepository());
+		appendAnnotationWithoutParam(out, AGGREGATE_ROOT, entity.isAggregateRoot());
+		appendAnnotationWithoutParam(out, READ_ONLY, entity.isReadOnly() );
+		appendAnnotationWithoutParam(out, IN_MEMORY_REPOSITORY, entity.isInMemoryRepository());
 		// Abstract & extends annotations
-		buildAnnotationWithoutParam(lines, new AbstractAnnotation(), entity.isAbstract());
-		buildAnnotation(lines, new ExtendsAnnotation(), entity.getSuperClass());
+		appendAnnotationWithoutParam(out, ABSTRACT, entity.isAbstract());
+		appendAnnotation(out, EXTENDS, entity.getSuperClass());
 		//--- Entity TAGS :
-		List<String> tags = buildTags((Tags) entity.getTagContainer());
-		for ( String s : tags ) {
-			lines.add(s);
-		}
-		return lines;
+		appendTags(out, (Tags) entity.getTagContainer());
 	}
 
 	/**
-	 * Builds a line for the attribute definition <br>
+	 * Appends the attribute definition (without end of line) <br>
 	 * Example : <br>
 	 *  "  firtName : string { @NotNull  #MyTag };"
+	 * @param out
 	 * @param attribute
-	 * @return
+	 * @throws IOException
 	 */
-	protected String buildAttribute(DslModelAttribute attribute) {
-		List<String> annotations = buildAttributeAnnotations(attribute);
-		List<String> tags = buildTags((Tags)attribute.getTagContainer());
-
-		StringBuilder sb = new StringBuilder();
-		sb.append(INDENTATION);
-		sb.append(attribute.getName());
-		sb.append(" : ");
-		sb.append(attribute.getNeutralType());
-		if ( annotations.size() + tags.size() > 0  ) {
-			sb.append(" {");
-			for ( String s : annotations ) {
-				sb.append(" ").append(s);
-			}
-			for ( String s : tags ) {
-				sb.append(" ").append(s);
-			}
-			sb.append(" }");
-		}
-		sb.append(";");
-		return sb.toString();
+	protected void appendAttribute(Appendable out, DslModelAttribute attribute) throws IOException {
+		out.append(INDENTATION);
+		out.append(attribute.getName());
+		out.append(" : ");
+		out.append(attribute.getNeutralType());
+		startItems(false);
+		appendAttributeAnnotations(out, attribute);
+		appendTags(out, (Tags) attribute.getTagContainer());
+		endItems(out);
+		out.append(";");
 	}
 
-	protected String buildLink(DslModelLink link) {
-		List<String> annotations = buildLinkAnnotations(link);
-		List<String> tags = buildTags((Tags)link.getTagContainer());
-
-		StringBuilder sb = new StringBuilder();
-		sb.append(INDENTATION);
-		sb.append(link.getFieldName());
-		sb.append(" : ");
-		sb.append(link.getReferencedEntityName());
+	/**
+	 * Appends the link definition (without end of line) 
+	 * @param out
+	 * @param link
+	 * @throws IOException
+	 */
+	protected void appendLink(Appendable out, DslModelLink link) throws IOException {
+		out.append(INDENTATION);
+		out.append(link.getFieldName());
+		out.append(" : ");
+		out.append(link.getReferencedEntityName());
 		Cardinality cardinality = link.getCardinality() ;
 		if ( cardinality == Cardinality.ONE_TO_MANY || cardinality == Cardinality.MANY_TO_MANY ) {
-			sb.append("[]");
+			out.append("[]");
 		}
-		if ( annotations.size() + tags.size() > 0  ) {
-			sb.append(" {");
-			for ( String s : annotations ) {
-				sb.append(" ").append(s);
-			}
-			for ( String s : tags ) {
-				sb.append(" ").append(s);
-			}
-			sb.append(" }");
-		}
-		sb.append(";");
-		return sb.toString();
+		startItems(false);
+		appendLinkAnnotations(out, link);
+		appendTags(out, (Tags) link.getTagContainer());
+		endItems(out);
+		out.append(";");
 	}
 
-	protected List<String> buildAttributeAnnotations(DslModelAttribute attribute) {
-		List<String> list = new LinkedList<>();
+	protected void appendAttributeAnnotations(Appendable out, DslModelAttribute attribute) throws IOException {
 		// @Id
-		buildAnnotationWithoutParam(list, new IdAnnotation(), attribute.isKeyElement());
+		appendAnnotationWithoutParam(out, ID, attribute.isKeyElement());
 		// @AutoIncremented, @GeneratedValue
-		// v 4.1.0 :: buildAnnotationWithoutParam(list, new AutoIncrementedAnnotation(), attribute.isAutoIncremented());
-		buildGeneratedValueAnnotationIfAny(list, attribute);
+		// v 4.1.0 :: @AutoIncremented no longer used (replaced by @GeneratedValue)
+		appendGeneratedValueAnnotationIfAny(out, attribute);
 		// @Dbxxxx (database annotations)
-		buildAnnotation(list, new DbNameAnnotation(), attribute.getDatabaseName() );
-		buildAnnotation(list, new DbTypeAnnotation(), attribute.getDatabaseType() );
-		buildAnnotation(list, new DbDefaultValueAnnotation(), attribute.getDatabaseDefaultValue());
-		buildAnnotation(list, new DbCommentAnnotation(), attribute.getDatabaseComment());
+		appendAnnotation(out, DB_NAME, attribute.getDatabaseName() );
+		appendAnnotation(out, DB_TYPE, attribute.getDatabaseType() );
+		appendAnnotation(out, DB_DEFAULT_VALUE, attribute.getDatabaseDefaultValue());
+		appendAnnotation(out, DB_COMMENT, attribute.getDatabaseComment());
 		// @NotNull, @NotBlank, @NotEmpty
-		buildAnnotationWithoutParam(list, new NotNullAnnotation(), attribute.isNotNull());
-		buildAnnotationWithoutParam(list, new NotBlankAnnotation(), attribute.isNotBlank());
-		buildAnnotationWithoutParam(list, new NotEmptyAnnotation(), attribute.isNotEmpty());
+		appendAnnotationWithoutParam(out, NOT_NULL, attribute.isNotNull());
+		appendAnnotationWithoutParam(out, NOT_BLANK, attribute.isNotBlank());
+		appendAnnotationWithoutParam(out, NOT_EMPTY, attribute.isNotEmpty());
 		// @Unique, @Transient
-		buildAnnotationWithoutParam(list, new UniqueAnnotation(), attribute.isUnique());
-		buildAnnotationWithoutParam(list, new TransientAnnotation(), attribute.isTransient());
+		appendAnnotationWithoutParam(out, UNIQUE, attribute.isUnique());
+		appendAnnotationWithoutParam(out, TRANSIENT, attribute.isTransient());
 		// @Max / @Min 
-		buildAnnotation(list, new MaxAnnotation(), attribute.getMaxValue());
-		buildAnnotation(list, new MinAnnotation(), attribute.getMinValue());
+		appendAnnotation(out, MAX, attribute.getMaxValue());
+		appendAnnotation(out, MIN, attribute.getMinValue());
 		// @Size /  @MaxLen / @MinLen 
-		buildAnnotation(list, new SizeAnnotation(), attribute.getSize());
-		buildAnnotation(list, new MaxLenAnnotation(), attribute.getMaxLength());
-		buildAnnotation(list, new MinLenAnnotation(), attribute.getMinLength());
-		// OLD : SizeMaxAnnotation() => attribute.getMaxLength()
-		// OLD : SizeMinAnnotation() => attribute.getMinLength()
+		appendAnnotation(out, SIZE, attribute.getSize());
+		appendAnnotation(out, MAX_LEN, attribute.getMaxLength());
+		appendAnnotation(out, MIN_LEN, attribute.getMinLength());
 		// @Label, @InputType, @InitialValue, @DefaultValue, @Pattern, @LongText
-		buildAnnotation(list, new LabelAnnotation(), attribute.getLabel());
-		buildAnnotation(list, new InputTypeAnnotation(), attribute.getInputType());
-		buildAnnotation(list, new InitialValueAnnotation(), attribute.getInitialValue());
-		buildAnnotation(list, new DefaultValueAnnotation(), attribute.getDefaultValue());
-		buildAnnotation(list, new PatternAnnotation(), attribute.getPattern());
-		buildAnnotationWithoutParam(list, new LongTextAnnotation(), attribute.isLongText());
+		appendAnnotation(out, LABEL, attribute.getLabel());
+		appendAnnotation(out, INPUT_TYPE, attribute.getInputType());
+		appendAnnotation(out, INITIAL_VALUE, attribute.getInitialValue());
+		appendAnnotation(out, DEFAULT_VALUE, attribute.getDefaultValue());
+		appendAnnotation(out, PATTERN, attribute.getPattern());
+		appendAnnotationWithoutParam(out, LONG_TEXT, attribute.isLongText());
 		// Generated type : @ObjectType / @PrimitiveType / @UnsignedType
-		buildAnnotationWithoutParam(list, new ObjectTypeAnnotation(), attribute.isObjectTypeExpected());
-		buildAnnotationWithoutParam(list, new PrimitiveTypeAnnotation(), attribute.isPrimitiveTypeExpected());
-		buildAnnotationWithoutParam(list, new UnsignedTypeAnnotation(), attribute.isUnsignedTypeExpected());
+		appendAnnotationWithoutParam(out, OBJECT_TYPE, attribute.isObjectTypeExpected());
+		appendAnnotationWithoutParam(out, PRIMITIVE_TYPE, attribute.isPrimitiveTypeExpected());
+		appendAnnotationWithoutParam(out, UNSIGNED_TYPE, attribute.isUnsignedTypeExpected());
 		// @Past / @Future
-		buildAnnotationWithoutParam(list, new PastAnnotation(), attribute.isDatePast());
-		buildAnnotationWithoutParam(list, new FutureAnnotation(), attribute.isDateFuture());
+		appendAnnotationWithoutParam(out, PAST, attribute.isDatePast());
+		appendAnnotationWithoutParam(out, FUTURE, attribute.isDateFuture());
 		// @FK : Foreign Key part annotation(s)
-		buildFkAnnotationsIfAny(list, attribute);
-		// 
-		return list;
+		appendFkAnnotationsIfAny(out, attribute);
 	}
-	protected List<String> buildLinkAnnotations(DslModelLink link) {
-		List<String> list = new LinkedList<>();
+	
+	protected void appendLinkAnnotations(Appendable out, DslModelLink link) throws IOException {
 		// @Embedded / @Transient
-		buildAnnotationWithoutParam(list, new EmbeddedAnnotation(), link.isEmbedded());
-		buildAnnotationWithoutParam(list, new TransientAnnotation(), link.isTransient());
+		appendAnnotationWithoutParam(out, EMBEDDED, link.isEmbedded());
+		appendAnnotationWithoutParam(out, TRANSIENT, link.isTransient());
 		// @Optional
-		buildAnnotationWithoutParam(list, new OptionalAnnotation(), link.getOptional() == Optional.TRUE); 
+		appendAnnotationWithoutParam(out, OPTIONAL, link.getOptional() == Optional.TRUE); 
 		// @FetchTypeEager / @FetchTypeLazy
-		buildAnnotationWithoutParam(list, new FetchTypeEagerAnnotation(),  link.getFetchType() == FetchType.EAGER);
-		buildAnnotationWithoutParam(list, new FetchTypeLazyAnnotation(),   link.getFetchType() == FetchType.LAZY );
+		appendAnnotationWithoutParam(out, FETCH_TYPE_EAGER, link.getFetchType() == FetchType.EAGER);
+		appendAnnotationWithoutParam(out, FETCH_TYPE_LAZY,  link.getFetchType() == FetchType.LAZY );
 		// @ManyToMany / @OneToOne
-		buildAnnotationWithoutParam(list, new ManyToManyAnnotation(), link.getCardinality() == Cardinality.MANY_TO_MANY );
-		buildAnnotationWithoutParam(list, new OneToOneAnnotation(), link.getCardinality() == Cardinality.ONE_TO_ONE );
+		appendAnnotationWithoutParam(out, MANY_TO_MANY, link.getCardinality() == Cardinality.MANY_TO_MANY );
+		appendAnnotationWithoutParam(out, ONE_TO_ONE, link.getCardinality() == Cardinality.ONE_TO_ONE );
 		// @MappedBy
-		buildAnnotation(list, new MappedByAnnotation(), link.getMappedBy() ); 
+		appendAnnotation(out, MAPPED_BY, link.getMappedBy() ); 
 		// @Insertable(boolean) / @Updatable(boolean) 
-		buildAnnotation(list, new InsertableAnnotation(), link.getInsertable());
-		buildAnnotation(list, new UpdatableAnnotation(),  link.getUpdatable());
+		appendAnnotation(out, INSERTABLE, link.getInsertable());
+		appendAnnotation(out, UPDATABLE,  link.getUpdatable());
 		//--- @LinkByxxxx
 		if ( link.isBasedOnForeignKey() ) { // @LinkByFK(FOREIGN_KEY_NAME)
-			buildAnnotation(list, new LinkByFKAnnotation(), link.getForeignKeyName());
+			appendAnnotation(out, LINK_BY_FK, link.getForeignKeyName());
 		}
 		else if ( link.isBasedOnJoinEntity() ) { // @LinkByJoinEntity(EntityName)
-			buildAnnotation(list, new LinkByJoinEntityAnnotation(), link.getJoinEntityName());
+			appendAnnotation(out, LINK_BY_JOIN_ENTITY, link.getJoinEntityName());
 		}
 		else if ( link.isBasedOnAttributes() ) { // @LinkByAttr(attr1, attr2, ... )
-			buildLinkByAttrAnnotation(list, link);
+			appendLinkByAttrAnnotation(out, link);
 		}
 		// else : link by Foreign Key inference => no annotation 
-		return list;
 	}	
 
-	protected List<String> buildTags(Tags tags) {
-		List<String> list = new LinkedList<>();
+	protected void appendTags(Appendable out, Tags tags) throws IOException {
 		for ( Tag tag : tags.getAllTags() ) {
-			String tagString = "";
+			startItem(out);
+			out.append('#').append(tag.getName());
 			if ( tag.hasParameter() ) {
-				tagString = "#"+tag.getName()+"("+tag.getParameter()+")";
+				out.append('(').append(tag.getParameter()).append(')');
 			}
-			else {
-				tagString = "#"+tag.getName();
+			endItem(out);
+		}
+	}
+	
+	//-----------------------------------------------------------------------------------------
+	// Items (annotations and tags) : 1 item per line in the entity header, 
+	// all the items in "{ }" for a field (nothing if no item) 
+	//-----------------------------------------------------------------------------------------
+	private void startItems(boolean oneItemPerLine) {
+		this.oneItemPerLine = oneItemPerLine ;
+		this.numberOfItems = 0 ;
+	}
+	private void startItem(Appendable out) throws IOException {
+		if ( ! oneItemPerLine ) {
+			if ( numberOfItems == 0 ) {
+				out.append(" {");
 			}
-			list.add(tagString);
+			out.append(' ');
+		}
+		numberOfItems++;
+	}
+	private void endItem(Appendable out) throws IOException {
+		if ( oneItemPerLine ) {
+			out.append(LINE_SEPARATOR);
+		}
+	}
+	private void endItems(Appendable out) throws IOException {
+		if ( ! oneItemPerLine && numberOfItems > 0 ) {
+			out.append(" }");
 		}
-		return list ;
 	}
 	
 	//-----------------------------------------------------------------------------------------
 	
-	protected void buildAnnotation(List<String> list, AnnotationDefinition ad, String param) {
+	protected void appendAnnotation(Appendable out, AnnotationDefinition ad, String param) throws IOException {
 		if ( ! StrUtil.nullOrVoid(param) ) {
-			list.add( ad.literal(param) );
+			startItem(out);
+			ad.appendLiteral(out, param);
+			endItem(out);
 		}
 	}
-	protected void buildAnnotation(List<String> list, AnnotationDefinition ad, BigDecimal param) {
+	protected void appendAnnotation(Appendable out, AnnotationDefinition ad, BigDecimal param) throws IOException {
 		if ( param != null ) {
-			list.add( ad.literal(param) );
+			startItem(out);
+			ad.appendLiteral(out, param);
+			endItem(out);
 		}
 	}
-	protected void buildAnnotation(List<String> list, AnnotationDefinition ad, Integer param) {
+	protected void appendAnnotation(Appendable out, AnnotationDefinition ad, Integer param) throws IOException {
 		if ( param != null ) {
-			list.add( ad.literal(param) );
+			startItem(out);
+			ad.appendLiteral(out, param);
+			endItem(out);
 		}
 	}
-	protected void buildAnnotation(List<String> list, AnnotationDefinition ad, BooleanValue param) {
-		if ( param != null ) {
-			if ( param == BooleanValue.TRUE ) {
-				list.add( ad.literal("true") );
-			}
-			else if  ( param == BooleanValue.FALSE ) {
-				list.add( ad.literal("false") );
-			}
+	protected void appendAnnotation(Appendable out, AnnotationDefinition ad, BooleanValue param) throws IOException {
+		if ( param == BooleanValue.TRUE ) {
+			appendAnnotation(out, ad, "true");
+		}
+		else if  ( param == BooleanValue.FALSE ) {
+			appendAnnotation(out, ad, "false");
 		}
 	}
-	protected void buildAnnotationWithoutParam(List<String> list, AnnotationDefinition ad, boolean flag ) {
+	protected void appendAnnotationWithoutParam(Appendable out, AnnotationDefinition ad, boolean flag ) throws IOException {
 		if ( flag ) {
-			list.add( ad.literal() );
+			startItem(out);
+			ad.appendLiteral(out);
+			endItem(out);
 		}
 	}
-	protected void buildFkAnnotationsIfAny(List<String> list, DslModelAttribute attribute) {
+	protected void appendFkAnnotationsIfAny(Appendable out, DslModelAttribute attribute) throws IOException {
 		if ( attribute.isFK() ) {
 			for ( ForeignKeyPart fkPart : attribute.getFKParts() ) {
-				list.add(buildFkAnnotation(fkPart));
+				appendFkAnnotation(out, fkPart);
 			}
 		}
 	}
-	protected String buildFkAnnotation(ForeignKeyPart fkPart) {
-		StringBuilder sb = new StringBuilder();
-		sb.append("@FK(") ;
-		// FK name (optional)
-		if ( ! StrUtil.nullOrVoid( fkPart.getFkName() ) ) {
-			sb.append(fkPart.getFkName()) ;
-			sb.append(", ") ;
-		}
+	protected void appendFkAnnotation(Appendable out, ForeignKeyPart fkPart) throws IOException {
 		// Referenced entity (mandatory)
 		if ( StrUtil.nullOrVoid(fkPart.getReferencedEntityName() ) ) {
 			throw new IllegalStateException("ForeignKeyPart has no referenced entity");
 		}
-		sb.append(fkPart.getReferencedEntityName()) ;
+		startItem(out);
+		out.append("@FK(") ;
+		// FK name (optional)
+		if ( ! StrUtil.nullOrVoid( fkPart.getFkName() ) ) {
+			out.append(fkPart.getFkName()) ;
+			out.append(", ") ;
+		}
+		out.append(fkPart.getReferencedEntityName()) ;
 		// Referenced attribute (optional if FK not composite)
 		if ( ! StrUtil.nullOrVoid( fkPart.getReferencedAttributeName() ) ) {
-			sb.append(".") ;
-			sb.append(fkPart.getReferencedAttributeName());
+			out.append(".") ;
+			out.append(fkPart.getReferencedAttributeName());
 		}
-		sb.append(")") ;
-		return sb.toString();
+		out.append(")") ;
+		endItem(out);
 	}
 	
-	protected void buildLinkByAttrAnnotation(List<String> list, DslModelLink link) {
-		StringBuilder sb = new StringBuilder();
-		// @LinkByAttr(attribute1, attribute2, ... )
-		sb.append("@").append(AnnotationName.LINK_BY_ATTR).append("(") ;
+	protected void appendLinkByAttrAnnotation(Appendable out, DslModelLink link) throws IOException {
 		List<LinkAttribute> linkAttributes = link.getAttributes();
 		if ( linkAttributes.isEmpty() ) {
 			throw new IllegalStateException("@LinkByAttr : link has no attribute");
 		}
+		startItem(out);
+		// @LinkByAttr(attribute1, attribute2, ... )
+		out.append("@").append(AnnotationName.LINK_BY_ATTR).append("(") ;
 		int n = 0 ;
 		for ( LinkAttribute linkAttribute : linkAttributes) {
 			n++;
 			if ( n > 1 ) {
-				sb.append(", ") ;
+				out.append(", ") ;
 			}
-			sb.append( linkAttribute.getOriginAttributeName() );
+			out.append( linkAttribute.getOriginAttributeName() );
 		}
-		sb.append(")") ;
-		list.add( sb.toString() );
+		out.append(")") ;
+		endItem(out);
 	}
 	
-	protected void buildGeneratedValueAnnotationIfAny(List<String> list, DslModelAttribute attribute) {
+	protected void appendGeneratedValueAnnotationIfAny(Appendable out, DslModelAttribute attribute) throws IOException {
 		if ( attribute.getGeneratedValueStrategy() == null ) {
 			return;
 		}
-		StringBuilder sb = new StringBuilder();
-		sb.append("@GeneratedValue(");
 		switch ( attribute.getGeneratedValueStrategy() ) {
 		case AUTO :
-			sb.append("AUTO");
+			startGeneratedValue(out);
+			out.append("AUTO");
 			break;
 		case IDENTITY :
-			sb.append("IDENTITY");
+			startGeneratedValue(out);
+			out.append("IDENTITY");
 			break;
 		case SEQUENCE :
-			completeGeneratedValueSequence(sb, attribute);
+			startGeneratedValue(out);
+			completeGeneratedValueSequence(out, attribute);
 			break;
 		case TABLE :
-			completeGeneratedValueTable(sb, attribute); 
+			startGeneratedValue(out);
+			completeGeneratedValueTable(out, attribute); 
 			break;
 		case UNDEFINED :
+		default :
 			return;
 		}
-		sb.append(")") ;
-		list.add(sb.toString());
+		out.append(")") ;
+		endItem(out);
 	}
 
-	private void completeGeneratedValueSequence(StringBuilder sb, DslModelAttribute attribute) { // v 4.1.0
-		sb.append("SEQUENCE");
+	private void startGeneratedValue(Appendable out) throws IOException {
+		startItem(out);
+		out.append("@GeneratedValue(");
+	}
+	
+	private void completeGeneratedValueSequence(Appendable out, DslModelAttribute attribute) throws IOException { // v 4.1.0
+		out.append("SEQUENCE");
 		// add sequence name
 		String sequenceName  = attribute.getGeneratedValueSequenceName();
 		if ( StrUtil.nullOrVoid(sequenceName) ) {
 			sequenceName = "undefinedSequenceName"; 
 		}
-		sb.append(", ");
-		sb.append(sequenceName);
+		out.append(", ");
+		out.append(sequenceName);
 		// add allocation size & initial value if any
-		addGeneratedValueAllocationSizeAndInitialValue(sb, attribute);
+		addGeneratedValueAllocationSizeAndInitialValue(out, attribute);
 	}
 	
-	private void completeGeneratedValueTable(StringBuilder sb, DslModelAttribute attribute) {  // v 4.1.0
-		sb.append("TABLE");
+	private void completeGeneratedValueTable(Appendable out, DslModelAttribute attribute) throws IOException {  // v 4.1.0
+		out.append("TABLE");
 		// add primary key value 
 		String pkValue = attribute.getGeneratedValueTablePkColumnValue();
 		if ( ! StrUtil.nullOrVoid(pkValue) ) {
 			pkValue = "undefinedPkValue"; 
 		}
-		sb.append(", ");
-		sb.append(pkValue);
+		out.append(", ");
+		out.append(pkValue);
 		// add allocation size & initial value if any
-		addGeneratedValueAllocationSizeAndInitialValue(sb, attribute);
+		addGeneratedValueAllocationSizeAndInitialValue(out, attribute);
 	}
 	
-	private void addGeneratedValueAllocationSizeAndInitialValue(StringBuilder sb, DslModelAttribute attribute) { // v 4.1.0
+	private void addGeneratedValueAllocationSizeAndInitialValue(Appendable out, DslModelAttribute attribute) throws IOException { // v 4.1.0
 		// add allocation size if any
 		if ( attribute.getGeneratedValueAllocationSize() != null ) {
-			sb.append(", ");
-			sb.append(attribute.getGeneratedValueAllocationSize());
+			out.append(", ");
+			out.append(attribute.getGeneratedValueAllocationSize().toString());
 			// add initial value if any
 			if ( attribute.getGeneratedValueInitialValue() != null ) {
-				sb.append(", ");
-				sb.append(attribute.getGeneratedValueInitialValue());
+				out.append(", ");
+				out.append(attribute.getGeneratedValueInitialValue().toString());
 			}
 		}
 	}	
+	
+	//-----------------------------------------------------------------------------------------
+	// Deprecated 'build' methods (before v 4.1.0) : no longer used by 'writeEntity', 
+	// kept for the subclasses and rendered with the 'append' methods in a StringBuilder 
+	//-----------------------------------------------------------------------------------------
+	private interface Rendering {
+		void render(StringBuilder sb) throws IOException ;
+	}
+	
+	/**
+	 * Renders in a StringBuilder (the current items state is kept)
+	 * @param oneItemPerLine
+	 * @param rendering
+	 * @return
+	 */
+	private String render(boolean oneItemPerLine, Rendering rendering) {
+		boolean currentOneItemPerLine = this.oneItemPerLine ;
+		int currentNumberOfItems = this.numberOfItems ;
+		StringBuilder sb = new StringBuilder();
+		startItems(oneItemPerLine);
+		try {
+			rendering.render(sb);
+		} catch (IOException e) {
+			throw new IllegalStateException("Unexpected IOException with StringBuilder", e); // cannot happen
+		} finally {
+			this.oneItemPerLine = currentOneItemPerLine ;
+			this.numberOfItems = currentNumberOfItems ;
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Renders the items (annotations and tags) and returns them in a list (1 item per line)
+	 * @param rendering
+	 * @return
+	 */
+	private List<String> renderItems(Rendering rendering) {
+		String text = render(true, rendering);
+		List<String> items = new ArrayList<>();
+		int start = 0 ;
+		int end ;
+		while ( ( end = text.indexOf(LINE_SEPARATOR, start) ) >= 0 ) {
+			items.add(text.substring(start, end));
+			start = end + LINE_SEPARATOR.length() ;
+		}
+		return items ;
+	}
+	
+	/**
+	 * @deprecated use appendEntityHeader(Appendable, DslModelEntity)
+	 */
+	@Deprecated
+	protected List<String> buildEntityHeader(final DslModelEntity entity) {
+		return renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendEntityHeader(sb, entity);
+			}
+		});
+	}
+	
+	/**
+	 * @deprecated use appendAttribute(Appendable, DslModelAttribute)
+	 */
+	@Deprecated
+	protected String buildAttribute(final DslModelAttribute attribute) {
+		return render(false, new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendAttribute(sb, attribute);
+			}
+		});
+	}
+	
+	/**
+	 * @deprecated use appendLink(Appendable, DslModelLink)
+	 */
+	@Deprecated
+	protected String buildLink(final DslModelLink link) {
+		return render(false, new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendLink(sb, link);
+			}
+		});
+	}
+	
+	/**
+	 * @deprecated use appendAttributeAnnotations(Appendable, DslModelAttribute)
+	 */
+	@Deprecated
+	protected List<String> buildAttributeAnnotations(final DslModelAttribute attribute) {
+		return renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendAttributeAnnotations(sb, attribute);
+			}
+		});
+	}
+	
+	/**
+	 * @deprecated use appendLinkAnnotations(Appendable, DslModelLink)
+	 */
+	@Deprecated
+	protected List<String> buildLinkAnnotations(final DslModelLink link) {
+		return renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendLinkAnnotations(sb, link);
+			}
+		});
+	}
+	
+	/**
+	 * @deprecated use appendTags(Appendable, Tags)
+	 */
+	@Deprecated
+	protected List<String> buildTags(final Tags tags) {
+		return renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendTags(sb, tags);
+			}
+		});
+	}
+	
+	/**
+	 * @deprecated use appendAnnotation(Appendable, AnnotationDefinition, String)
+	 */
+	@Deprecated
+	protected void buildAnnotation(List<String> list, final AnnotationDefinition ad, final String param) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendAnnotation(sb, ad, param);
+			}
+		}));
+	}
+	
+	/**
+	 * @deprecated use appendAnnotation(Appendable, AnnotationDefinition, BigDecimal)
+	 */
+	@Deprecated
+	protected void buildAnnotation(List<String> list, final AnnotationDefinition ad, final BigDecimal param) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendAnnotation(sb, ad, param);
+			}
+		}));
+	}
+	
+	/**
+	 * @deprecated use appendAnnotation(Appendable, AnnotationDefinition, Integer)
+	 */
+	@Deprecated
+	protected void buildAnnotation(List<String> list, final AnnotationDefinition ad, final Integer param) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendAnnotation(sb, ad, param);
+			}
+		}));
+	}
+	
+	/**
+	 * @deprecated use appendAnnotation(Appendable, AnnotationDefinition, BooleanValue)
+	 */
+	@Deprecated
+	protected void buildAnnotation(List<String> list, final AnnotationDefinition ad, final BooleanValue param) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendAnnotation(sb, ad, param);
+			}
+		}));
+	}
+	
+	/**
+	 * @deprecated use appendAnnotationWithoutParam(Appendable, AnnotationDefinition, boolean)
+	 */
+	@Deprecated
+	protected void buildAnnotationWithoutParam(List<String> list, final AnnotationDefinition ad, final boolean flag ) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendAnnotationWithoutParam(sb, ad, flag);
+			}
+		}));
+	}
+	
+	/**
+	 * @deprecated use appendFkAnnotationsIfAny(Appendable, DslModelAttribute)
+	 */
+	@Deprecated
+	protected void buildFkAnnotationsIfAny(List<String> list, final DslModelAttribute attribute) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendFkAnnotationsIfAny(sb, attribute);
+			}
+		}));
+	}
+	
+	/**
+	 * @deprecated use appendFkAnnotation(Appendable, ForeignKeyPart)
+	 */
+	@Deprecated
+	protected String buildFkAnnotation(final ForeignKeyPart fkPart) {
+		return renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendFkAnnotation(sb, fkPart);
+			}
+		}).get(0);
+	}
+	
+	/**
+	 * @deprecated use appendLinkByAttrAnnotation(Appendable, DslModelLink)
+	 */
+	@Deprecated
+	protected void buildLinkByAttrAnnotation(List<String> list, final DslModelLink link) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendLinkByAttrAnnotation(sb, link);
+			}
+		}));
+	}
+	
+	/**
+	 * @deprecated use appendGeneratedValueAnnotationIfAny(Appendable, DslModelAttribute)
+	 */
+	@Deprecated
+	protected void buildGeneratedValueAnnotationIfAny(List<String> list, final DslModelAttribute attribute) {
+		list.addAll(renderItems(new Rendering() {
+			@Override
+			public void render(StringBuilder sb) throws IOException {
+				appendGeneratedValueAnnotationIfAny(sb, attribute);
+			}
+		}));
+	}
 }
@@ -0,0 +1,79 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.writer;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.telosys.tools.dsl.model.DslModelEntity;
+
+/**
+ * Progressive writer for the entities of a model (created by 'ModelWriter.openModel') <br>
+ * The entities are written by successive batches, so the full model is never in memory <br>
+ * Only the names of the entities written are kept (to delete the stale files when closed) <br>
+ * In parallel mode each batch is written with the parallelism of the model writer
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class ModelStreamWriter {
+
+	private final ModelWriter modelWriter ;
+	private final String modelDirectory ;
+	private final ModelWriterResult result = new ModelWriterResult();
+	private final Set<String> entitiesNames = new HashSet<>();
+	private boolean closed = false ;
+
+	/**
+	 * Constructor
+	 * @param modelWriter
+	 * @param modelDirectory
+	 */
+	protected ModelStreamWriter(ModelWriter modelWriter, String modelDirectory) {
+		super();
+		this.modelWriter = modelWriter;
+		this.modelDirectory = modelDirectory;
+	}
+
+	/**
+	 * Writes the given entities in the model directory
+	 * @param entities
+	 */
+	public void writeEntities(List<DslModelEntity> entities) {
+		if ( closed ) {
+			throw new IllegalStateException("Model stream writer already closed");
+		}
+		modelWriter.writeEntities(entities, modelDirectory, result);
+		for ( DslModelEntity entity : entities ) {
+			entitiesNames.add(entity.getClassName());
+		}
+	}
+
+	/**
+	 * Ends the model writing (the stale entities files are deleted if the model writer requires it)
+	 * @return the names of the entities written, skipped and deleted 
+	 */
+	public ModelWriterResult close() {
+		if ( ! closed ) {
+			closed = true ;
+			if ( modelWriter.isDeleteStaleFiles() ) {
+				modelWriter.deleteStaleFiles(entitiesNames, modelDirectory, result);
+			}
+		}
+		return result;
+	}
+}
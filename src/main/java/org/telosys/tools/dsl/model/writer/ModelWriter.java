@@ -16,10 +16,27 @@
 package org.telosys.tools.dsl.model.writer;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.telosys.tools.commons.DirUtil;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.commons.ModelInfo;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.parser.EntityFileDescriptor;
+import org.telosys.tools.dsl.parser.EntityFilesScanner;
 import org.telosys.tools.generic.model.Entity;
 
 /**
@@ -30,25 +47,273 @@ import org.telosys.tools.generic.model.Entity;
  */
 public class ModelWriter {
 
+	private boolean bufferedMode = false ; // v 4.1.0 : not buffered by default (as AbstractWriter)
+	
+	private int parallelism = 1 ; // v 4.1.0 : sequential by default
+	
+	private ExecutorService executor = null ; // v 4.1.0 : external executor (not shut down)
+	
+	private boolean writeOnlyIfChanged = false ; // v 4.1.0
+	
+	private boolean deleteStaleFiles = false ; // v 4.1.0
+	
+	/**
+	 * Set the buffered mode used by the files writers (false by default) <br>
+	 * In buffered mode each file is rendered in memory and written with a single write
+	 * @param bufferedMode
+	 * @since 4.1.0
+	 */
+	public void setBufferedMode(boolean bufferedMode) {
+		this.bufferedMode = bufferedMode;
+	}
+
+	/**
+	 * Set the number of threads to be used to write the entities files <br>
+	 * A temporary thread pool is created for each model if the level is greater than 1 <br>
+	 * ( ignored if an executor has been set )
+	 * @param parallelism the parallelism level (1 for sequential writing)
+	 * @since 4.1.0
+	 */
+	public void setParallelism(int parallelism) {
+		if ( parallelism < 1 ) {
+			throw new IllegalArgumentException("Invalid parallelism level " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Set the executor to be used to write the entities files in parallel <br>
+	 * The executor is not shut down by the writer (its lifecycle is managed by the caller)
+	 * @param executor the executor to be used (or null to use the parallelism level)
+	 * @since 4.1.0
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Set the 'write only if changed' mode (false by default) <br>
+	 * If true, the files with the same content are not written (last modified date unchanged) 
+	 * and the changed files are written in a temporary file and then moved to replace the existing file
+	 * @param writeOnlyIfChanged
+	 * @since 4.1.0
+	 */
+	public void setWriteOnlyIfChanged(boolean writeOnlyIfChanged) {
+		this.writeOnlyIfChanged = writeOnlyIfChanged;
+	}
+
+	/**
+	 * Set the stale files deletion (false by default) <br>
+	 * If true, the entity files without entity in the model are deleted 
+	 * @param deleteStaleFiles
+	 * @since 4.1.0
+	 */
+	public void setDeleteStaleFiles(boolean deleteStaleFiles) {
+		this.deleteStaleFiles = deleteStaleFiles;
+	}
+
+	private EntityFileWriter createEntityFileWriter(String modelDirectory) {
+		EntityFileWriter entityWriter = new EntityFileWriter(modelDirectory) ;
+		entityWriter.setBufferedMode(bufferedMode);
+		entityWriter.setWriteOnlyIfChanged(writeOnlyIfChanged);
+		return entityWriter;
+	}
+	
 	/**
 	 * Writes the given model in the given directory
 	 * @param model
 	 * @param modelDirectory
 	 */
 	public void writeModel(DslModel model, String modelDirectory) {
+		writeModelFiles(model, modelDirectory);
+	}
+
+	/**
+	 * Writes the given model in the given directory
+	 * @param model
+	 * @param modelDirectory
+	 * @return the names of the entities written, skipped and deleted 
+	 * @since 4.1.0
+	 */
+	public ModelWriterResult writeModelFiles(DslModel model, String modelDirectory) {
+		ModelWriterResult result = new ModelWriterResult();
 		
-		// 1) check model directory existence (create it if not exist)
-		DirUtil.createDirectory(new File(modelDirectory) );
+		// 1) create model directory if not exist & write model info file (model.yaml)
+		writeModelInfo(model.getModelInfo(), modelDirectory);
 		
-		// 2) write model info file in the model directory (model.yaml)
-		ModelInfoFileWriter modelInfoFilewriter = new ModelInfoFileWriter(modelDirectory);
-		modelInfoFilewriter.writeModelInfoFile(model.getModelInfo());
+		// 2) write all entities in the model directory (N xxx.entity)
+		writeEntities(model.getEntities(), modelDirectory, result);
 		
-		// 3) write all entities in the model directory (N xxx.entity)
-		EntityFileWriter entityWriter = new EntityFileWriter(modelDirectory) ;
-		for ( Entity entity : model.getEntities() ) {
-			entityWriter.writeEntity((DslModelEntity) entity); 
+		// 3) delete the entities files that are no longer in the model (if any)
+		if ( deleteStaleFiles ) {
+			Set<String> entitiesNames = new HashSet<>();
+			for ( Entity entity : model.getEntities() ) {
+				entitiesNames.add(entity.getClassName());
+			}
+			deleteStaleFiles(entitiesNames, modelDirectory, result);
 		}
+		return result;
 	}
 
+	/**
+	 * Starts the progressive writing of a model in the given directory : 
+	 * the model info file is written immediately, then the entities can be written 
+	 * by successive batches with the returned stream writer (without the full model in memory)
+	 * @param modelInfo
+	 * @param modelDirectory
+	 * @return
+	 * @since 4.1.0
+	 */
+	public ModelStreamWriter openModel(ModelInfo modelInfo, String modelDirectory) {
+		writeModelInfo(modelInfo, modelDirectory);
+		return new ModelStreamWriter(this, modelDirectory);
+	}
+	
+	private void writeModelInfo(ModelInfo modelInfo, String modelDirectory) {
+		// check model directory existence (create it if not exist)
+		DirUtil.createDirectory(new File(modelDirectory) );
+		// write model info file in the model directory (model.yaml)
+		ModelInfoFileWriter modelInfoFilewriter = new ModelInfoFileWriter(modelDirectory);
+		modelInfoFilewriter.setBufferedMode(bufferedMode);
+		modelInfoFilewriter.setWriteOnlyIfChanged(writeOnlyIfChanged);
+		modelInfoFilewriter.writeModelInfoFile(modelInfo);
+	}
+	
+	/**
+	 * Writes the given entities in the model directory (sequential or parallel)
+	 * @param entities
+	 * @param modelDirectory
+	 * @param result
+	 */
+	protected void writeEntities(List<? extends Entity> entities, String modelDirectory, ModelWriterResult result) {
+		if ( executor != null || parallelism > 1 ) {
+			writeEntitiesInParallel(entities, modelDirectory, result);
+		}
+		else {
+			EntityFileWriter entityWriter = createEntityFileWriter(modelDirectory);
+			for ( Entity entity : entities ) {
+				boolean written = entityWriter.writeEntityFile((DslModelEntity) entity); 
+				addToResult(result, entity.getClassName(), written);
+			}
+		}
+	}
+	
+	protected boolean isDeleteStaleFiles() {
+		return deleteStaleFiles;
+	}
+
+	private void addToResult(ModelWriterResult result, String entityName, boolean written) {
+		if ( written ) {
+			result.entityWritten(entityName);
+		}
+		else {
+			result.entitySkipped(entityName);
+		}
+	}
+
+	/**
+	 * Deletes all the entity files without entity in the model
+	 * @param entitiesNames the names of all the entities of the model
+	 * @param modelDirectory
+	 * @param result
+	 */
+	protected void deleteStaleFiles(Set<String> entitiesNames, String modelDirectory, ModelWriterResult result) {
+		List<EntityFileDescriptor> entitiesFiles;
+		try {
+			entitiesFiles = EntityFilesScanner.scan(new File(modelDirectory));
+		} catch (DslModelError e) {
+			throw new ModelWriterException("Cannot scan model directory " + modelDirectory, e);
+		}
+		for ( EntityFileDescriptor entityFile : entitiesFiles ) {
+			if ( ! entitiesNames.contains(entityFile.getEntityName()) ) {
+				try {
+					Files.deleteIfExists(entityFile.getPath());
+				} catch (IOException e) {
+					throw new ModelWriterException("IOException : Cannot delete file " + entityFile.getFileName(), e);
+				}
+				result.entityDeleted(entityFile.getEntityName());
+			}
+		}
+	}
+
+	/**
+	 * Writes all the entities files in parallel <br>
+	 * The writers (and their reusable buffers) are kept in a pool created for this call, 
+	 * so there's at most one writer for each concurrent task and no writer is kept by the threads <br>
+	 * All the entities are written even if some of them cannot be written, 
+	 * then a single exception reports all the files in error (in the entities order)
+	 * @param entities
+	 * @param modelDirectory
+	 * @param result
+	 */
+	private void writeEntitiesInParallel(List<? extends Entity> entities, final String modelDirectory, ModelWriterResult result) {
+		ExecutorService executorService = ( executor != null ? executor : Executors.newFixedThreadPool(parallelism) ) ;
+		final Queue<EntityFileWriter> writersPool = new ConcurrentLinkedQueue<>();
+		try {
+			//--- submit a task for each entity
+			List<Future<Boolean>> futures = new ArrayList<>(entities.size());
+			for ( Entity entity : entities ) {
+				final DslModelEntity dslModelEntity = (DslModelEntity) entity ;
+				futures.add(executorService.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						EntityFileWriter entityWriter = writersPool.poll();
+						if ( entityWriter == null ) {
+							entityWriter = createEntityFileWriter(modelDirectory);
+						}
+						try {
+							return entityWriter.writeEntityFile(dslModelEntity); 
+						} finally {
+							writersPool.offer(entityWriter);
+						}
+					}
+				}));
+			}
+			//--- wait for all the tasks and collect the errors in the entities order
+			List<ModelWriterException> fileErrors = new ArrayList<>();
+			int i = 0 ;
+			for ( Entity entity : entities ) {
+				Boolean written = waitForEntity(futures, i++, entity.getClassName(), fileErrors);
+				if ( written != null ) {
+					addToResult(result, entity.getClassName(), written);
+				}
+			}
+			if ( ! fileErrors.isEmpty() ) {
+				throw new ModelWriterException("Cannot write model in '" + modelDirectory + "'", fileErrors);
+			}
+		} finally {
+			if ( executorService != executor ) {
+				executorService.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Waits for the end of the given entity writing task <br>
+	 * If the current thread is interrupted all the remaining tasks are cancelled 
+	 * @param futures
+	 * @param index the index of the task to wait for
+	 * @param entityName
+	 * @param fileErrors the list where to add the error for this entity file if any
+	 * @return true if written, false if skipped, null if error
+	 */
+	private Boolean waitForEntity(List<Future<Boolean>> futures, int index, String entityName, List<ModelWriterException> fileErrors) {
+		try {
+			return futures.get(index).get();
+		} catch (InterruptedException e) {
+			// the tasks may run in an external executor => do not leave them running
+			for ( int i = index ; i < futures.size() ; i++ ) {
+				futures.get(i).cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new ModelWriterException("Model writing interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof Error ) {
+				throw (Error) cause ;
+			}
+			fileErrors.add(new ModelWriterException("Entity '" + entityName + "' : " + cause.getMessage(), (Exception) cause));
+			return null;
+		}
+	}
 }
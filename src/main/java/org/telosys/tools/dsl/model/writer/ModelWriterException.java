@@ -15,6 +15,10 @@
  */
 package org.telosys.tools.dsl.model.writer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Exception thrown when an error occurs while writing a model file
  * 
@@ -25,12 +29,15 @@ public class ModelWriterException extends RuntimeException {
 
 	private static final long serialVersionUID = 1L;
 	
+	private final List<ModelWriterException> fileErrors ; // v 4.1.0
+	
 	/**
 	 * Constructor with message
 	 * @param msg
 	 */
 	public ModelWriterException(String msg) {
 		super(msg);
+		this.fileErrors = Collections.emptyList();
 	}
 
 	/**
@@ -40,6 +47,40 @@ public class ModelWriterException extends RuntimeException {
 	 */
 	public ModelWriterException(String msg, Exception exception) {
 		super(msg, exception);
+		this.fileErrors = Collections.emptyList();
+	}
+
+	/**
+	 * Constructor for a global error reporting all the files that cannot be written <br>
+	 * (the first file error is the cause, the others are suppressed exceptions)
+	 * @param msg
+	 * @param fileErrors the errors for each file (at least 1)
+	 * @since 4.1.0
+	 */
+	public ModelWriterException(String msg, List<ModelWriterException> fileErrors) {
+		super(buildMessage(msg, fileErrors), fileErrors.get(0));
+		this.fileErrors = Collections.unmodifiableList(new ArrayList<>(fileErrors));
+		for ( int i = 1 ; i < fileErrors.size() ; i++ ) {
+			addSuppressed(fileErrors.get(i));
+		}
+	}
+
+	private static String buildMessage(String msg, List<ModelWriterException> fileErrors) {
+		StringBuilder sb = new StringBuilder(msg);
+		sb.append(" (").append(fileErrors.size()).append(" file(s) not written)");
+		for ( ModelWriterException e : fileErrors ) {
+			sb.append("\n - ").append(e.getMessage());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the error for each file that cannot be written (void if not a global error)
+	 * @return
+	 * @since 4.1.0
+	 */
+	public List<ModelWriterException> getFileErrors() {
+		return fileErrors;
 	}
 
 }
@@ -0,0 +1,77 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.model.writer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a model writing : names of the entities written, skipped (unchanged file) 
+ * and deleted (file without entity in the model)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class ModelWriterResult {
+
+	private final List<String> writtenEntities = new ArrayList<>();
+	private final List<String> skippedEntities = new ArrayList<>();
+	private final List<String> deletedEntities = new ArrayList<>();
+	
+	protected void entityWritten(String entityName) {
+		writtenEntities.add(entityName);
+	}
+
+	protected void entitySkipped(String entityName) {
+		skippedEntities.add(entityName);
+	}
+
+	protected void entityDeleted(String entityName) {
+		deletedEntities.add(entityName);
+	}
+
+	/**
+	 * Returns the names of the entities written in their file
+	 * @return
+	 */
+	public List<String> getWrittenEntities() {
+		return Collections.unmodifiableList(writtenEntities);
+	}
+
+	/**
+	 * Returns the names of the entities not written (file already up to date)
+	 * @return
+	 */
+	public List<String> getSkippedEntities() {
+		return Collections.unmodifiableList(skippedEntities);
+	}
+
+	/**
+	 * Returns the names of the entities deleted (file without entity in the model)
+	 * @return
+	 */
+	public List<String> getDeletedEntities() {
+		return Collections.unmodifiableList(deletedEntities);
+	}
+
+	@Override
+	public String toString() {
+		return writtenEntities.size() + " entities written, " 
+				+ skippedEntities.size() + " skipped, " 
+				+ deletedEntities.size() + " deleted" ;
+	}
+}
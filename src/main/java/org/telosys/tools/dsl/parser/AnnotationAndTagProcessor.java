@@ -16,6 +16,8 @@
 package org.telosys.tools.dsl.parser;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
+import org.telosys.tools.dsl.commons.SymbolTable;
 
 /**
  * Annotation and tag parsing (shared methods)
@@ -30,6 +32,8 @@ public abstract class AnnotationAndTagProcessor {
 	private final String entityName;
 	private final String fieldName;
 	
+	private SymbolTable symbolTable = SymbolTable.NONE ; // v 4.1.0
+	
 	/**
 	 * Constructor for parsing at FIELD level
 	 * 
@@ -53,6 +57,15 @@ public abstract class AnnotationAndTagProcessor {
 		this.fieldName = null;
 	}
 
+	/**
+	 * Set the symbol table used to get a canonical instance of the names and parameters 
+	 * @param symbolTable the symbol table (or null for no interning)
+	 * @since 4.1.0
+	 */
+	public void setSymbolTable(SymbolTable symbolTable) {
+		this.symbolTable = ( symbolTable != null ? symbolTable : SymbolTable.NONE ) ;
+	}
+
 	public String getEntityName() {
 		return entityName;
 	}
@@ -76,6 +89,18 @@ public abstract class AnnotationAndTagProcessor {
 		}
 	}
 
+	/**
+	 * Creates a new error with an error code (the message is built only if requested)
+	 * @param lineNumber
+	 * @param errorCode
+	 * @param errorArguments
+	 * @return
+	 * @since 4.1.0
+	 */
+	protected DslModelError newError(int lineNumber, DslModelErrorCode errorCode, Object... errorArguments) {
+		return new DslModelError(entityName, lineNumber, fieldName, errorCode, errorArguments);
+	}
+
 	/**
 	 * Returns the annotation or tag name 
 	 * @param element
@@ -92,7 +117,7 @@ public abstract class AnnotationAndTagProcessor {
 			if (Character.isLetter(c)) {
 				if (blankCharFound) {
 					// Case letter after a blank char : "Id xxx" or "aaa bbb"
-					throw newError(element.getLineNumber(), annotationOrTag + " : invalid name");
+					throw newError(element.getLineNumber(), DslModelErrorCode.INVALID_NAME, annotationOrTag);
 				}
 				sb.append(c);
 			} else if (Character.isWhitespace(c)) {
@@ -101,10 +126,10 @@ public abstract class AnnotationAndTagProcessor {
 				break;
 			} else {
 				// Unexpected ending character
-				throw newError(element.getLineNumber(),  annotationOrTag + " : invalid name");
+				throw newError(element.getLineNumber(), DslModelErrorCode.INVALID_NAME, annotationOrTag);
 			}
 		}
-		return sb.toString();
+		return symbolTable.intern(sb.toString());
 	}
 
 	/**
@@ -132,17 +157,17 @@ public abstract class AnnotationAndTagProcessor {
 					// get string between ( and )
 					String paramValue = annotationOrTag.substring(openIndex + 1, closeIndex);
 					// trim
-					return paramValue.trim();
+					return symbolTable.intern(paramValue.trim());
 				} else {
 					// unbalanced ( and ) eg ")aa("
-					throw newError(element.getLineNumber(), annotationOrTag + " : unbalanced ( and )");
+					throw newError(element.getLineNumber(), DslModelErrorCode.UNBALANCED_PARENTHESES, annotationOrTag);
 				}
 			} else {
 				// unbalanced ( and ) eg "(aa" or "aa)"
 				if (openIndex < 0) {
-					throw newError(element.getLineNumber(), annotationOrTag + " : '(' missing");
+					throw newError(element.getLineNumber(), DslModelErrorCode.OPENING_PARENTHESIS_MISSING, annotationOrTag);
 				} else {
-					throw newError(element.getLineNumber(), annotationOrTag + " : ')' missing");
+					throw newError(element.getLineNumber(), DslModelErrorCode.CLOSING_PARENTHESIS_MISSING, annotationOrTag);
 				}
 			}
 		}
@@ -15,13 +15,17 @@
  */
 package org.telosys.tools.dsl.parser;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import org.telosys.tools.commons.exception.TelosysRuntimeException;
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinition;
 import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
 import org.telosys.tools.dsl.parser.annotation.AnnotationParamType;
 import org.telosys.tools.dsl.parser.commons.ParamError;
-import org.telosys.tools.dsl.parser.commons.ParamValue;
+import org.telosys.tools.dsl.parser.commons.ParamDecoder;
 import org.telosys.tools.dsl.parser.model.DomainAnnotation;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
 import org.telosys.tools.dsl.parser.model.DomainField;
@@ -33,6 +37,18 @@ import org.telosys.tools.dsl.parser.model.DomainField;
  */
 public class AnnotationProcessor extends AnnotationAndTagProcessor {
 
+	// reusable decoder for each type of parameter (v 4.1.0)
+	private static final Map<AnnotationParamType, ParamDecoder> DECODERS = new EnumMap<>(AnnotationParamType.class);
+	static {
+		DECODERS.put(AnnotationParamType.STRING,     ParamDecoder.STRING);
+		DECODERS.put(AnnotationParamType.INTEGER,    ParamDecoder.INTEGER);
+		DECODERS.put(AnnotationParamType.DECIMAL,    ParamDecoder.DECIMAL);
+		DECODERS.put(AnnotationParamType.BOOLEAN,    ParamDecoder.BOOLEAN);
+		DECODERS.put(AnnotationParamType.SIZE,       ParamDecoder.SIZE);
+		DECODERS.put(AnnotationParamType.LIST,       ParamDecoder.LIST);
+		DECODERS.put(AnnotationParamType.FK_ELEMENT, ParamDecoder.FK_ELEMENT);
+	}
+	
 	private final DomainEntity entity; // to work at ENTITY level
 	private final DomainField field; // to work at FIELD level
 	
@@ -83,52 +99,47 @@ public class AnnotationProcessor extends AnnotationAndTagProcessor {
 		AnnotationDefinition ad = AnnotationDefinitions.get(annotationName);
 		if ( ad != null ) {
 			try {
-				DomainAnnotation annotation = buildAnnotation(annotationName, annotationParameter, ad.getParamType());
+				DomainAnnotation annotation = buildAnnotation(ad, annotationParameter);
 				ad.afterCreation(getEntityName(), getFieldName(), annotation);
 				return annotation;
 			} catch (ParamError e) {
-				throw newError(element, e.getMessage());
+				throw newError(element, DslModelErrorCode.INVALID_PARAMETER, e.getMessage());
 			} 
 		}
 		else {
-			throw newError(element, "unknown annotation");
+			throw newError(element, DslModelErrorCode.UNKNOWN_ANNOTATION);
 		}
 	}
 	
-	protected DomainAnnotation buildAnnotation(String annotationName, String annotationParameter, 
-			AnnotationParamType paramType) throws ParamError {
-		
-		// Build param value 
-		ParamValue paramValue = new ParamValue(getEntityName(), annotationParameter);
-
-		// Build annotation with the expected parameter if any 
-		switch(paramType) {
-		case STRING :
-			return new DomainAnnotation(annotationName, paramValue.getAsString() );
-		case INTEGER :
-			return new DomainAnnotation(annotationName, paramValue.getAsInteger() );
-		case DECIMAL :
-			return new DomainAnnotation(annotationName, paramValue.getAsBigDecimal() );
-		case BOOLEAN :
-			return new DomainAnnotation(annotationName, paramValue.getAsBoolean() );
-		case SIZE :
-			return new DomainAnnotation(annotationName, paramValue.getAsSize() );
-		case LIST :
-			return new DomainAnnotation(annotationName, paramValue.getAsList() );
-		case FK_ELEMENT :
-			return new DomainAnnotation(annotationName, paramValue.getAsForeignKeyElement() );
-		case NONE :
+	/**
+	 * Builds a new annotation holding the given definition 
+	 * @param ad annotation definition
+	 * @param annotationParameter raw parameter value (or null if none)
+	 * @return
+	 * @throws ParamError
+	 * @since 4.1.0
+	 */
+	protected DomainAnnotation buildAnnotation(AnnotationDefinition ad, String annotationParameter) throws ParamError {
+		return new DomainAnnotation(ad, buildParameter(annotationParameter, ad.getParamType()));
+	}
+	
+	private Object buildParameter(String annotationParameter, AnnotationParamType paramType) throws ParamError {
+		if ( paramType == AnnotationParamType.NONE ) {
 			// annotation without parameter
 			if (annotationParameter != null) {
 				throw new ParamError("unexpected parameter '" + annotationParameter + "'");
 			} 
 			else {
-				return new DomainAnnotation(annotationName);
+				return null ;
 			}
-		default :
+		}
+		// Build the expected parameter with the decoder for this type
+		ParamDecoder decoder = DECODERS.get(paramType);
+		if ( decoder == null ) {
 			// not supposed to happen
 			throw new TelosysRuntimeException("Unexpected annotation parameter type"); 
 		}
+		return decoder.decode(getEntityName(), annotationParameter);
 	}
 	
 	private void checkAnnotationScope(Element element, DomainAnnotation annotation) throws DslModelError {
@@ -143,19 +154,19 @@ public class AnnotationProcessor extends AnnotationAndTagProcessor {
 		AnnotationDefinition ad = annotation.getAnnotationDefinition();
 		if ( field.isAttribute() ) {
 			if ( ! ad.hasAttributeScope() ) {
-				throw newError(element, "annotation not usable at attribute level (invalid scope)");
+				throw newError(element, DslModelErrorCode.INVALID_SCOPE_ATTRIBUTE);
 			}
 		}
 		else if ( field.isLink() ) {
 			if ( ! ad.hasLinkScope() ) {
-				throw newError(element, "annotation not usable at link level (invalid scope)");
+				throw newError(element, DslModelErrorCode.INVALID_SCOPE_LINK);
 			}
 		}
 	}
 	private void checkAnnotationScopeForEntity(Element element, DomainAnnotation annotation) throws DslModelError {
 		AnnotationDefinition ad = annotation.getAnnotationDefinition();
 		if ( ! ad.hasEntityScope() ) {
-			throw newError(element, "annotation not usable at entity level (invalid scope)");
+			throw newError(element, DslModelErrorCode.INVALID_SCOPE_ENTITY);
 		}
 	}
 
@@ -169,13 +180,16 @@ public class AnnotationProcessor extends AnnotationAndTagProcessor {
 		// Check if already used at FIELD level and ENTITY level
 		if ( ( this.field  != null && field.hasAnnotation(annotation)  ) 
 		  || ( this.entity != null && entity.hasAnnotation(annotation) ) ) {
-			throw newError(element, "annotation used more than once");
+			throw newError(element, DslModelErrorCode.ANNOTATION_USED_MORE_THAN_ONCE);
 		}
 	}
 	
-	private DslModelError newError(Element element, String shortMessage) {
-		String longMessage = "'" + element.getContent() + "' : " + shortMessage ;
-		return newError(element.getLineNumber(), longMessage);
+	private DslModelError newError(Element element, DslModelErrorCode errorCode) {
+		return newError(element.getLineNumber(), errorCode, element.getContent());
+	}
+	
+	private DslModelError newError(Element element, DslModelErrorCode errorCode, String shortMessage) {
+		return newError(element.getLineNumber(), errorCode, element.getContent(), shortMessage);
 	}
 	
 }
\ No newline at end of file
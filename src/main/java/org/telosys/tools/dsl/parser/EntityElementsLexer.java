@@ -0,0 +1,440 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
+import org.telosys.tools.dsl.DslModelUtil;
+
+/**
+ * Telosys DSL : entity file lexer working on a reusable characters buffer <br>
+ * The whole file is loaded in the characters buffer (read in a single pass with a FileChannel, or 
+ * memory-mapped for large files, and decoded directly in the buffer), then each token is stored as  
+ * (offset, length, kind, line number) in a reusable array of integers. <br>
+ * The strings are created only for the names and annotations/tags (separators are shared constants). <br>
+ * Returns exactly the same elements as EntityElementsParser. <br>
+ * In streaming mode the elements are pushed to an EntityElementsProcessor at the end of each line. <br>
+ * 
+ * Not thread-safe : an instance can be reused for many files by a single thread.
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class EntityElementsLexer extends EntityElementsParser {
+
+	//--- separators (shared strings)
+	private static final String OPENING_BRACE = "{" ;
+	private static final String CLOSING_BRACE = "}" ;
+	private static final String SEMICOLON     = ";" ;
+	private static final String COLON         = ":" ;
+	
+	//--- characters processing result
+	private static final int CONTINUE = 0;
+	private static final int END_OF_ELEMENT = 1;
+	private static final int END_OF_ELEMENT_INCLUDED = 2; // end of element including the current char
+	private static final int END_OF_LINE = 3;
+	private static final int COMMENT = 4;
+	private static final int SEPARATOR = 5;
+
+	//--- tokens kinds and structure in the tokens array 
+	private static final int KIND_ELEMENT   = 0 ;
+	private static final int KIND_SEPARATOR = 1 ;
+	private static final int TOKEN_OFFSET = 0 ;
+	private static final int TOKEN_LENGTH = 1 ;
+	private static final int TOKEN_KIND   = 2 ;
+	private static final int TOKEN_LINE   = 3 ;
+	private static final int TOKEN_SIZE   = 4 ;
+
+	private static final int INITIAL_CHARS_CAPACITY  = 8 * 1024 ;
+	private static final int INITIAL_BYTES_CAPACITY  = 8 * 1024 ;
+	
+	// files greater or equal to this size are memory-mapped instead of being read in the bytes buffer
+	private static final long MEMORY_MAPPING_THRESHOLD = 1024L * 1024L ;
+	private static final int INITIAL_TOKENS_CAPACITY = 512 ;
+	
+	private char[] chars  = new char[INITIAL_CHARS_CAPACITY] ;
+	private int    length = 0 ;
+	
+	private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_BYTES_CAPACITY) ;
+	
+	private int[]  tokens = new int[INITIAL_TOKENS_CAPACITY * TOKEN_SIZE] ;
+	private int    tokensCount = 0 ;
+	
+	/**
+	 * Constructor
+	 */
+	public EntityElementsLexer() {
+		super();
+	}
+
+	@Override
+	protected List<Element> parseAllElements(String filePath) throws DslModelError {
+		File file = new File(filePath);
+		String entityName = DslModelUtil.getEntityName(file);
+		try {
+			loadFile(file.toPath());
+		} catch (IOException e) {
+			throw new DslModelError(entityName, 0, DslModelErrorCode.IO_ERROR, e.getMessage() );
+		}
+		return parseCharacters(entityName);
+	}
+
+	@Override
+	public List<Element> parseEntityContent(String entityName, byte[] content) throws DslModelError {
+		try {
+			decodeAll(ByteBuffer.wrap(content));
+		} catch (IOException e) {
+			throw new DslModelError(entityName, 0, DslModelErrorCode.IO_ERROR, e.getMessage() );
+		}
+		return parseCharacters(entityName);
+	}
+
+	/**
+	 * Parse the characters currently stored in the buffer
+	 * @param entityName
+	 * @return
+	 * @throws DslModelError
+	 */
+	protected List<Element> parseCharacters(String entityName) throws DslModelError {
+		tokenize(entityName, null);
+		return buildElements();
+	}
+	
+	/**
+	 * Streaming mode : parse the given entity file and push each element to the given processor 
+	 * as soon as its line has been parsed (no list of elements)<br>
+	 * The processor is supposed to be started ('startEntity') before calling this method 
+	 * @param file
+	 * @param processor
+	 * @throws DslModelError
+	 */
+	public void processEntityFile(File file, EntityElementsProcessor processor) throws DslModelError {
+		String entityName = DslModelUtil.getEntityName(file);
+		try {
+			loadFile(file.toPath());
+		} catch (IOException e) {
+			throw new DslModelError(entityName, 0, DslModelErrorCode.IO_ERROR, e.getMessage() );
+		}
+		tokenize(entityName, processor);
+	}
+
+	/**
+	 * Streaming mode : parse the given entity content and push each element to the given processor 
+	 * @param entityName
+	 * @param content
+	 * @param processor
+	 * @throws DslModelError
+	 */
+	public void processEntityContent(String entityName, byte[] content, EntityElementsProcessor processor) throws DslModelError {
+		try {
+			decodeAll(ByteBuffer.wrap(content));
+		} catch (IOException e) {
+			throw new DslModelError(entityName, 0, DslModelErrorCode.IO_ERROR, e.getMessage() );
+		}
+		tokenize(entityName, processor);
+	}
+	
+	//-----------------------------------------------------------------------------------------
+	// Characters buffer loading 
+	//-----------------------------------------------------------------------------------------
+	private void ensureCharsCapacity(int capacity) {
+		if ( capacity > chars.length ) {
+			char[] newChars = new char[Math.max(capacity, chars.length * 2)];
+			System.arraycopy(chars, 0, newChars, 0, length);
+			chars = newChars;
+		}
+	}
+
+	private CharBuffer growCharBuffer(CharBuffer charBuffer) {
+		int position = charBuffer.position();
+		length = position ;
+		ensureCharsCapacity(chars.length + 1);
+		CharBuffer newCharBuffer = CharBuffer.wrap(chars);
+		newCharBuffer.position(position);
+		return newCharBuffer;
+	}
+
+	/**
+	 * Loads the given file in the characters buffer <br>
+	 * The file is opened once and read in a single pass (or memory-mapped if large), 
+	 * then the UTF-8 bytes are decoded directly in the characters buffer
+	 * @param path
+	 * @throws IOException
+	 */
+	protected void loadFile(Path path) throws IOException {
+		try ( FileChannel channel = FileChannel.open(path, StandardOpenOption.READ) ) {
+			long size = channel.size();
+			if ( size >= MEMORY_MAPPING_THRESHOLD ) {
+				decodeAll(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+			}
+			else {
+				decodeAll(readAll(channel, (int) size));
+			}
+		}
+	}
+	
+	private ByteBuffer readAll(FileChannel channel, int expectedSize) throws IOException {
+		if ( bytes.capacity() <= expectedSize ) {
+			bytes = ByteBuffer.allocate(Math.max(expectedSize + 1, bytes.capacity() * 2));
+		}
+		bytes.clear();
+		// read until end of file (the file size can change during the reading)
+		while ( channel.read(bytes) >= 0 ) {
+			if ( ! bytes.hasRemaining() ) {
+				ByteBuffer newBytes = ByteBuffer.allocate(bytes.capacity() * 2);
+				bytes.flip();
+				newBytes.put(bytes);
+				bytes = newBytes;
+			}
+		}
+		bytes.flip();
+		return bytes;
+	}
+	
+	/**
+	 * Decodes all the given UTF-8 bytes in the characters buffer 
+	 * @param bytes
+	 * @throws IOException if the bytes are not valid UTF-8 
+	 */
+	protected void decodeAll(ByteBuffer bytes) throws IOException {
+		// same decoding as the line by line parser (malformed input reported as an error)
+		CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+		length = 0 ;
+		ensureCharsCapacity((int) (bytes.remaining() * (double) decoder.averageCharsPerByte()) + 1);
+		CharBuffer charBuffer = CharBuffer.wrap(chars);
+		CoderResult result ;
+		while ( ( result = decoder.decode(bytes, charBuffer, true) ).isOverflow() ) {
+			charBuffer = growCharBuffer(charBuffer);
+		}
+		if ( result.isError() ) {
+			result.throwException();
+		}
+		while ( decoder.flush(charBuffer).isOverflow() ) {
+			charBuffer = growCharBuffer(charBuffer);
+		}
+		length = charBuffer.position();
+	}
+
+	//-----------------------------------------------------------------------------------------
+	// Tokens
+	//-----------------------------------------------------------------------------------------
+	private void addToken(int kind, int offset, int tokenLength, int lineNumber) {
+		int i = tokensCount * TOKEN_SIZE ;
+		if ( i + TOKEN_SIZE > tokens.length ) {
+			int[] newTokens = new int[tokens.length * 2];
+			System.arraycopy(tokens, 0, newTokens, 0, tokens.length);
+			tokens = newTokens;
+		}
+		tokens[i + TOKEN_OFFSET] = offset ;
+		tokens[i + TOKEN_LENGTH] = tokenLength ;
+		tokens[i + TOKEN_KIND]   = kind ;
+		tokens[i + TOKEN_LINE]   = lineNumber ;
+		tokensCount++;
+	}
+
+	private String separator(char c) {
+		switch ( c ) {
+		case '{' : return OPENING_BRACE ;
+		case '}' : return CLOSING_BRACE ;
+		case ';' : return SEMICOLON ;
+		case ':' : return COLON ;
+		default  : return String.valueOf(c);
+		}
+	}
+	
+	private Element buildElement(int i) {
+		int offset = tokens[i + TOKEN_OFFSET] ;
+		String content ;
+		if ( tokens[i + TOKEN_KIND] == KIND_SEPARATOR ) {
+			content = separator(chars[offset]);
+		}
+		else {
+			content = getSymbolTable().intern(new String(chars, offset, tokens[i + TOKEN_LENGTH]));
+		}
+		return new Element(tokens[i + TOKEN_LINE], content);
+	}
+	
+	private List<Element> buildElements() {
+		List<Element> elements = new ArrayList<>(tokensCount);
+		for ( int i = 0 ; i < tokensCount * TOKEN_SIZE ; i = i + TOKEN_SIZE ) {
+			elements.add(buildElement(i));
+		}
+		return elements;
+	}
+	
+	private void pushElements(EntityElementsProcessor processor) {
+		for ( int i = 0 ; i < tokensCount * TOKEN_SIZE ; i = i + TOKEN_SIZE ) {
+			processor.processElement(buildElement(i));
+		}
+		tokensCount = 0 ; // tokens kept only for the current line 
+	}
+	
+	//-----------------------------------------------------------------------------------------
+	// Lexer (same rules as EntityElementsParser)
+	//-----------------------------------------------------------------------------------------
+	/**
+	 * Split the characters in tokens <br>
+	 * If a processor is given the elements are pushed to the processor at the end of each line 
+	 * @param entityName
+	 * @param processor the processor (or null to keep all the tokens)
+	 * @throws DslModelError
+	 */
+	private void tokenize(String entityName, EntityElementsProcessor processor) throws DslModelError {
+		tokensCount = 0 ;
+		int lineNumber = 0 ;
+		int i = 0 ;
+		while ( i < length ) {
+			// line terminators : '\n', '\r' or "\r\n" (as BufferedReader.readLine)
+			int lineEnd = i ;
+			while ( lineEnd < length && chars[lineEnd] != '\n' && chars[lineEnd] != '\r' ) {
+				lineEnd++;
+			}
+			lineNumber++;
+			tokenizeLine(entityName, i, lineEnd, lineNumber);
+			if ( processor != null ) {
+				pushElements(processor);
+			}
+			i = lineEnd ;
+			if ( i < length ) {
+				if ( chars[i] == '\r' && i + 1 < length && chars[i + 1] == '\n' ) {
+					i = i + 2 ;
+				}
+				else {
+					i++;
+				}
+			}
+		}
+	}
+	
+	private void tokenizeLine(String entityName, int lineStart, int lineEnd, int lineNumber) throws DslModelError {
+		boolean inAnnotationOrTag = false ;
+		boolean inParam = false ;
+		boolean inQuote = false ;
+		char previousChar = 0 ;
+		int previousElement = -1 ; // previous element token (for errors)
+		int elementStart = -1 ; // no current element
+		for ( int i = lineStart ; i < lineEnd ; i++ ) {
+			char c = chars[i];
+			int r = CONTINUE ;
+			if ( inParam ) {
+				if ( inQuote ) {
+					if ( c == '\"' && previousChar != '\\' ) {
+						inQuote = false ; // closing quote
+					}
+				}
+				else if ( c == '\"' ) {
+					inQuote = true ;
+				}
+				else if ( c == ')' ) { 
+					r = END_OF_ELEMENT_INCLUDED ;
+				}
+				// all characters are kept in param
+				if ( elementStart < 0 ) {
+					elementStart = i ;
+				}
+			}
+			else {
+				switch ( c ) {
+				case '{' : 
+				case '}' : 
+				case ';' : 
+				case ':' : 
+					r = SEPARATOR ;
+					break;
+				case '@' : 
+				case '#' : 
+					inAnnotationOrTag = true ;
+					break;
+				case '(' : 
+					if ( ! inAnnotationOrTag ) {
+						throw newUnexpectedCharacter(c, entityName, lineNumber, previousElement, previousChar);
+					}
+					inParam = true ;
+					break;
+				case '\"' : 
+					throw newUnexpectedCharacter(c, entityName, lineNumber, previousElement, previousChar);
+				case ' ' : 
+				case '\t' : 
+					r = END_OF_ELEMENT ;
+					break;
+				case '\r' : 
+				case '\n' : 
+					r = END_OF_LINE ; // not supposed to happen
+					break;
+				case '/' : 
+					if ( previousChar == '/' ) {
+						r = COMMENT ;
+					}
+					break;
+				default : 
+					break;
+				}
+				if ( r == CONTINUE && elementStart < 0 ) {
+					elementStart = i ;
+				}
+			}
+			previousChar = c ;
+			if ( r == CONTINUE ) {
+				continue;
+			}
+			if ( r == COMMENT ) {
+				return ; // do not keep the beginning of the comment
+			}
+			int elementEnd = ( r == END_OF_ELEMENT_INCLUDED ? i + 1 : i ) ;
+			if ( elementStart >= 0 ) {
+				previousElement = tokensCount ;
+				addToken(KIND_ELEMENT, elementStart, elementEnd - elementStart, lineNumber);
+				elementStart = -1 ;
+			}
+			inAnnotationOrTag = false ;
+			inParam = false ;
+			inQuote = false ;
+			if ( r == SEPARATOR ) {
+				addToken(KIND_SEPARATOR, i, 1, lineNumber);
+			}
+			else if ( r == END_OF_LINE ) {
+				return ;
+			}
+		}
+		// End Of Line => Keep current element if any
+		if ( elementStart >= 0 ) {
+			addToken(KIND_ELEMENT, elementStart, lineEnd - elementStart, lineNumber);
+		}
+	}
+	
+	private DslModelError newUnexpectedCharacter(char invalidChar, String entityName, int lineNumber, 
+			int previousElementToken, char previousChar) {
+		String previousElement = null ;
+		if ( previousElementToken >= 0 ) {
+			int i = previousElementToken * TOKEN_SIZE ;
+			previousElement = new String(chars, tokens[i + TOKEN_OFFSET], tokens[i + TOKEN_LENGTH]);
+		}
+		return newUnexpectedCharacter(invalidChar, entityName, lineNumber, previousElement, previousChar);
+	}
+}
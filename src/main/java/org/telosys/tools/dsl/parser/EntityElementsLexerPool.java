@@ -0,0 +1,53 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.telosys.tools.dsl.commons.SymbolTable;
+
+/**
+ * Pool of reusable lexers for the parsing of a model <br>
+ * A new pool is created for each model parsing and dropped at the end, so the lexers buffers 
+ * are never kept by the threads (the number of lexers is bounded by the number of concurrent tasks)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+class EntityElementsLexerPool {
+
+	private final Queue<EntityElementsLexer> lexers = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Returns a free lexer (a new one if none is available)
+	 * @return
+	 */
+	public EntityElementsLexer acquire() {
+		EntityElementsLexer lexer = lexers.poll();
+		return lexer != null ? lexer : new EntityElementsLexer();
+	}
+
+	/**
+	 * Gives back the given lexer to the pool 
+	 * @param lexer
+	 */
+	public void release(EntityElementsLexer lexer) {
+		// the reusable lexer must not keep a reference on the model symbols
+		lexer.setSymbolTable(SymbolTable.NONE);
+		lexers.offer(lexer);
+	}
+}
@@ -16,18 +16,23 @@
 package org.telosys.tools.dsl.parser;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.telosys.tools.commons.StrUtil;
 import org.telosys.tools.dsl.DslModelUtil;
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
+import org.telosys.tools.dsl.commons.SymbolTable;
 
 /**
  * Telosys DSL : entity file parser returning a list of grammar elements 
@@ -46,6 +51,8 @@ public class EntityElementsParser {
 
 	private static final char SPACE = 32;
 
+	private SymbolTable symbolTable = SymbolTable.NONE ; // v 4.1.0
+
 	private void log(String message) {
 		//ParserLogger.log("LOG:" + message);
 	}
@@ -60,6 +67,24 @@ public class EntityElementsParser {
 		super();
 	}
 	
+	/**
+	 * Set the symbol table used to get a canonical instance of each element content
+	 * @param symbolTable the symbol table (or null for no interning)
+	 * @since 4.1.0
+	 */
+	public void setSymbolTable(SymbolTable symbolTable) {
+		this.symbolTable = ( symbolTable != null ? symbolTable : SymbolTable.NONE ) ;
+	}
+
+	/**
+	 * Returns the symbol table used for the elements content
+	 * @return
+	 * @since 4.1.0
+	 */
+	public SymbolTable getSymbolTable() {
+		return symbolTable;
+	}
+	
 	/**
 	 * Parse entity defined in the current file
 	 * @return
@@ -67,7 +92,7 @@ public class EntityElementsParser {
 	 */
 	public List<Element> parseEntityFile(File entityFile) throws DslModelError  {
 		if ( ! entityFile.exists() ) {
-			throw new DslModelError(entityFile.getName(), "File not found");
+			throw new DslModelError(entityFile.getName(), 0, DslModelErrorCode.FILE_NOT_FOUND);
 		}
 		log("parse() : File : " + entityFile.getAbsolutePath());
 
@@ -84,19 +109,41 @@ public class EntityElementsParser {
 		String entityNameFromFileName = DslModelUtil.getEntityName(new File(filePath));
 		Path path = Paths.get(filePath); 
 		try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) { 
-			List<Element> elements = new LinkedList<>();
-			String line;
-			int lineNumber = 0 ;
-			while ((line = br.readLine()) != null) {
-				lineNumber++;
-				processLine(entityNameFromFileName, line, lineNumber, elements);
-			}
-			return elements;
+			return parseAllElements(entityNameFromFileName, br);
 		} catch (IOException e) {
-			throw new DslModelError(entityNameFromFileName, "IOException : " + e.getMessage() );
+			throw new DslModelError(entityNameFromFileName, 0, DslModelErrorCode.IO_ERROR, e.getMessage() );
 		}
 	}
 
+	/**
+	 * Read all elements contained in the given file content (UTF-8 bytes)
+	 * @param entityName
+	 * @param content
+	 * @return
+	 * @throws DslModelError
+	 * @since 4.1.0
+	 */
+	public List<Element> parseEntityContent(String entityName, byte[] content) throws DslModelError {
+		// same decoding as 'Files.newBufferedReader' (malformed input reported as an error)
+		CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), decoder))) { 
+			return parseAllElements(entityName, br);
+		} catch (IOException e) {
+			throw new DslModelError(entityName, 0, DslModelErrorCode.IO_ERROR, e.getMessage() );
+		}
+	}
+
+	private List<Element> parseAllElements(String entityName, BufferedReader br) throws IOException, DslModelError {
+		List<Element> elements = new ArrayList<>();
+		String line;
+		int lineNumber = 0 ;
+		while ((line = br.readLine()) != null) {
+			lineNumber++;
+			processLine(entityName, line, lineNumber, elements);
+		}
+		return elements;
+	}
+
 	protected void processLine(String entityName, String line, int lineNumber, List<Element> elements ) throws DslModelError {
 		StringBuilder sb = new StringBuilder();
 		char[] lineCharacters = line.toCharArray();
@@ -141,12 +188,12 @@ public class EntityElementsParser {
 	}
 
 	private void keepSeparatorElement(List<Element> elements, char c, State state) {
-		elements.add(new Element(state.getLineNumber(), String.valueOf(c)));
+		elements.add(new Element(state.getLineNumber(), symbolTable.intern(String.valueOf(c))));
 		state.reset();
 	}
 	private void keepElement(List<Element> elements, StringBuilder sb, State state) {
 		if ( sb.length() > 0 ) { 
-			Element element = new Element(state.getLineNumber(), sb.toString());
+			Element element = new Element(state.getLineNumber(), symbolTable.intern(sb.toString()));
 			elements.add(element);
 			state.setPreviousElement(element);
 		}
@@ -203,15 +250,19 @@ public class EntityElementsParser {
 	}
 	
 	private DslModelError newUnexpectedCharacter(char invalidChar, String entityName, State state) {
-		String previousElement = state.previousElement().getContent();
-		String message = "Unexpected character [" + invalidChar + "]";
+		return newUnexpectedCharacter(invalidChar, entityName, state.getLineNumber(), 
+				state.previousElement().getContent(), state.previousChar());
+	}
+	
+	protected DslModelError newUnexpectedCharacter(char invalidChar, String entityName, int lineNumber, 
+			String previousElement, char previousChar) {
 		if ( ! StrUtil.nullOrVoid(previousElement) ) {
-			message = message + " after element [" + previousElement + "]";
+			return new DslModelError(entityName, lineNumber, DslModelErrorCode.UNEXPECTED_CHARACTER_AFTER_ELEMENT, invalidChar, previousElement);
 		}
-		else if ( state.previousChar() != 0 ) {
-			message = message + " after character [" + state.previousChar() + "]";
+		else if ( previousChar != 0 ) {
+			return new DslModelError(entityName, lineNumber, DslModelErrorCode.UNEXPECTED_CHARACTER_AFTER_CHARACTER, invalidChar, previousChar);
 		}
-		return new DslModelError(entityName, state.getLineNumber(), message);
+		return new DslModelError(entityName, lineNumber, DslModelErrorCode.UNEXPECTED_CHARACTER, invalidChar);
 	}
 	
 	private int processCharacterInAnnotationOrTagParam(char c, StringBuilder sb, State state ) {
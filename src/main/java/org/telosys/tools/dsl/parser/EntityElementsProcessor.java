@@ -15,11 +15,13 @@
  */
 package org.telosys.tools.dsl.parser;
 
-import java.util.LinkedList;
+import java.util.Collection;
 import java.util.List;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.commons.SymbolTable;
 import org.telosys.tools.dsl.parser.model.DomainAnnotation;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
 import org.telosys.tools.dsl.parser.model.DomainField;
@@ -37,16 +39,47 @@ public class EntityElementsProcessor {
 	private boolean entityNameChecked = false ;
 
 	private final FieldElementsProcessor fieldElementsProcessor ;
+	private final SymbolTable symbolTable ; // v 4.1.0
+	
+	//--- current state (elements received one by one)
+	private DomainEntity domainEntity ;
+	private DslModelErrors errors ;
+	private boolean inFields = false ;
+	private boolean inField = false ;
+	private int numberOfElements = 0 ;
 	
 	/**
 	 * Constructor
 	 * @param entityName
-	 * @param entitiesNames
+	 * @param entitiesNames all the entities names in the model (copied in a new Set)
 	 */
 	public EntityElementsProcessor(String entityName, List<String> entitiesNames) {
+		this(entityName, entitiesNames, SymbolTable.NONE);
+	}
+
+	/**
+	 * Constructor
+	 * @param entityName
+	 * @param entitiesNames all the entities names in the model 
+	 *  (a Set shared by all the processors is expected, else a new Set is created)
+	 * @since 4.1.0
+	 */
+	public EntityElementsProcessor(String entityName, Collection<String> entitiesNames) {
+		this(entityName, entitiesNames, SymbolTable.NONE);
+	}
+
+	/**
+	 * Constructor with a model symbol table 
+	 * @param entityName
+	 * @param entitiesNames all the entities names in the model 
+	 * @param symbolTable the symbol table used to get canonical names and parameters 
+	 * @since 4.1.0
+	 */
+	public EntityElementsProcessor(String entityName, Collection<String> entitiesNames, SymbolTable symbolTable) {
 		super();
 		this.entityName = entityName;
-		this.fieldElementsProcessor = new FieldElementsProcessor(entityName, entitiesNames);
+		this.symbolTable = ( symbolTable != null ? symbolTable : SymbolTable.NONE ) ;
+		this.fieldElementsProcessor = new FieldElementsProcessor(entityName, entitiesNames, this.symbolTable);
 	}
 
 	/**
@@ -55,47 +88,90 @@ public class EntityElementsProcessor {
 	 * @throws EntityParsingError
 	 */
 	public DomainEntity processEntityElements(List<Element> elements, DslModelErrors errors) {
-		List<Element> fieldElements = null ;
-		boolean inFields = false ;
-		DomainEntity domainEntity = new DomainEntity(entityName);
+		startEntity(errors);
 		for ( Element element : elements ) {
-			if ( ! inFields ) {
-				if ( element.contentEquals("{") ) {
-					// Fields start here
-					inFields = true;
-				}
-				else {
-					// ENTITY LEVEL ( NOT IN FIELDS )
-					processElementAtEntityLevel(domainEntity, element, errors);
-				}
+			processElement(element);
+		}
+		return endEntity();
+	}
+	
+	/**
+	 * Starts a new entity (streaming processing : the elements are received one by one)
+	 * @param errors
+	 * @since 4.1.0
+	 */
+	public void startEntity(DslModelErrors errors) {
+		this.domainEntity = new DomainEntity(entityName);
+		this.errors = errors;
+		this.entityNameChecked = false ;
+		this.inFields = false ;
+		this.inField = false ;
+		this.numberOfElements = 0 ;
+	}
+	
+	/**
+	 * Processes the next element of the current entity
+	 * @param element
+	 * @since 4.1.0
+	 */
+	public void processElement(Element element) {
+		numberOfElements++;
+		if ( ! inFields ) {
+			if ( element.contentEquals("{") ) {
+				// Fields start here
+				inFields = true;
+			}
+			else {
+				// ENTITY LEVEL ( NOT IN FIELDS )
+				processElementAtEntityLevel(domainEntity, element, errors);
+			}
+		}
+		else {
+			if ( element.contentEquals("}") && ! inField ) {
+				// Closing brace and not in a field definition => End of fields
+				inFields = false;
 			}
 			else {
-				if ( element.contentEquals("}") && fieldElements == null ) {
-					// Closing brace and not in a field definition => End of fields
-					inFields = false;
+				// FIELDS LEVEL 
+				if ( ! inField ) {
+					fieldElementsProcessor.startField();
+					inField = true ;
+				}
+				if ( element.contentEquals(";") ) {
+					// End of field definition => process this field
+					declareNewField(domainEntity, errors);
+					inField = false ; // to start a new field
 				}
 				else {
-					// FIELDS LEVEL 
-					if ( fieldElements == null ) {
-						fieldElements = new LinkedList<>();
-					}
-					if ( element.contentEquals(";") ) {
-						// End of field definition => process this field
-						declareNewField(domainEntity, fieldElements, errors);
-						// Reset field elements
-						fieldElements = null ;  // to start a new list of field elements
-					}
-					else {
-						fieldElements.add(element);
-					}
+					fieldElementsProcessor.processFieldElement(element);
 				}
 			}
 		}
-		return domainEntity;
 	}
 	
-	private void declareNewField(DomainEntity domainEntity, List<Element> fieldElements, DslModelErrors errors) {
-		DomainField field = fieldElementsProcessor.processFieldElements(fieldElements, errors);
+	/**
+	 * Ends the current entity and returns it 
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DomainEntity endEntity() {
+		DomainEntity entity = this.domainEntity ;
+		this.domainEntity = null ;
+		this.errors = null ;
+		return entity;
+	}
+	
+	/**
+	 * Returns the number of elements processed for the current (or last) entity
+	 * @return
+	 * @since 4.1.0
+	 */
+	public int getNumberOfElements() {
+		return numberOfElements;
+	}
+	
+	private void declareNewField(DomainEntity domainEntity, DslModelErrors errors) {
+		DomainField field = fieldElementsProcessor.endField(errors);
 		if ( field != null ) {
 			// Add the field in the current entity
 			try {
@@ -110,6 +186,7 @@ public class EntityElementsProcessor {
 	private void processElementAtEntityLevel(DomainEntity domainEntity, Element element, DslModelErrors errors) {
 		if ( element.startsWithAnnotationPrefix() ) {
 			AnnotationProcessor annotationParser = new AnnotationProcessor(domainEntity);
+			annotationParser.setSymbolTable(symbolTable);
 			DomainAnnotation annotation;
 			try {
 				annotation = annotationParser.parseAnnotation(element);
@@ -121,6 +198,7 @@ public class EntityElementsProcessor {
 		}
 		else if ( element.startsWithTagPrefix() ) {
 			TagProcessor tagParser = new TagProcessor(entityName);
+			tagParser.setSymbolTable(symbolTable);
 			DomainTag tag;
 			try {
 				tag = tagParser.parseTag(element);
@@ -138,14 +216,13 @@ public class EntityElementsProcessor {
 				else {
 					// ERROR : invalid entity name
 					errors.addError( new DslModelError(entityName, element.getLineNumber(), 
-							"Entity name '" + element.getContent()
-							+ "' different from file name '" + entityName +"' "));
+							DslModelErrorCode.INVALID_ENTITY_NAME, element.getContent(), entityName));
 				}
 			}
 			else {
 				// ERROR : unexpected element 
 				errors.addError( new DslModelError(entityName, element.getLineNumber(),
-						"unexpected element '" + element.getContent()+"' "));
+						DslModelErrorCode.UNEXPECTED_ELEMENT, element.getContent()));
 			}
 		}
 	}
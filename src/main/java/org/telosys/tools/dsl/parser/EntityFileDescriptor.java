@@ -0,0 +1,88 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Immutable description of an entity file found in a model folder <br>
+ * ( file path, entity name, size and last modification time read once when scanning the folder )
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public final class EntityFileDescriptor {
+
+	private final Path   path ;
+	private final String fileName ; // absolute file name
+	private final String entityName ;
+	private final long   size ;
+	private final long   lastModified ;
+	
+	/**
+	 * Constructor
+	 * @param path the entity file path
+	 * @param entityName the entity name ( e.g. 'Car' for 'Car.entity' )
+	 * @param size the file size 
+	 * @param lastModified the last modification time (in milliseconds)
+	 */
+	public EntityFileDescriptor(Path path, String entityName, long size, long lastModified) {
+		super();
+		this.path = path;
+		this.fileName = path.toAbsolutePath().toString();
+		this.entityName = entityName;
+		this.size = size;
+		this.lastModified = lastModified;
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Returns a new File instance for the entity file 
+	 * @return
+	 */
+	public File getFile() {
+		return new File(fileName);
+	}
+
+	/**
+	 * Returns the entity file absolute name ( e.g. '/aa/bb/model/Car.entity' )
+	 * @return
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	@Override
+	public String toString() {
+		return fileName + " (" + size + " bytes)";
+	}
+}
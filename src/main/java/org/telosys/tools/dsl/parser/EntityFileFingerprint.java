@@ -0,0 +1,130 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fingerprint of an entity file ( last modification time, size and content hash ) <br>
+ * The content hash is optional, it is computed only when the file seems to have changed 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+class EntityFileFingerprint {
+
+	private static final char[] HEXA_CHARS = "0123456789abcdef".toCharArray();
+	
+	private final long   lastModified ;
+	private final long   size ;
+	private final String contentHash ;
+	
+	/**
+	 * Constructor
+	 * @param lastModified
+	 * @param size
+	 * @param contentHash the content hash (or null if unknown)
+	 */
+	public EntityFileFingerprint(long lastModified, long size, String contentHash) {
+		super();
+		this.lastModified = lastModified;
+		this.size = size;
+		this.contentHash = contentHash;
+	}
+
+	/**
+	 * Creates the fingerprint of the given file (without content hash)
+	 * @param file
+	 * @return
+	 */
+	public static EntityFileFingerprint of(File file) {
+		return new EntityFileFingerprint(file.lastModified(), file.length(), null);
+	}
+
+	/**
+	 * Creates the fingerprint of the given file from its descriptor (without content hash)
+	 * @param entityFile
+	 * @return
+	 */
+	public static EntityFileFingerprint of(EntityFileDescriptor entityFile) {
+		return new EntityFileFingerprint(entityFile.getLastModified(), entityFile.getSize(), null);
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public String getContentHash() {
+		return contentHash;
+	}
+
+	/**
+	 * Returns true if the given fingerprint has the same last modification time and size 
+	 * @param other
+	 * @return
+	 */
+	public boolean sameTimeAndSize(EntityFileFingerprint other) {
+		return this.lastModified == other.lastModified && this.size == other.size ;
+	}
+
+	/**
+	 * Returns a copy of this fingerprint with the given content hash
+	 * @param hash
+	 * @return
+	 */
+	public EntityFileFingerprint withContentHash(String hash) {
+		return new EntityFileFingerprint(this.lastModified, this.size, hash);
+	}
+
+	/**
+	 * Computes the hash (SHA-256 in hexadecimal) of the given file content 
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static String computeContentHash(File file) throws IOException {
+		return computeHash(Files.readAllBytes(file.toPath()));
+	}
+
+	/**
+	 * Computes the hash (SHA-256 in hexadecimal) of the given bytes
+	 * @param bytes
+	 * @return
+	 */
+	public static String computeHash(byte[] bytes) {
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Cannot get SHA-256 message digest", e);
+		}
+		byte[] digest = messageDigest.digest(bytes);
+		char[] chars = new char[digest.length * 2];
+		for ( int i = 0 ; i < digest.length ; i++ ) {
+			chars[i * 2]     = HEXA_CHARS[(digest[i] >> 4) & 0x0F];
+			chars[i * 2 + 1] = HEXA_CHARS[digest[i] & 0x0F];
+		}
+		return new String(chars);
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
+
+/**
+ * Entity files scanner : lists all the '.entity' files of a model folder in a single pass <br>
+ * (the name, size and last modification time of each file are read only once)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class EntityFilesScanner {
+
+	private static final String ENTITY_FILES_GLOB = "*.entity" ;
+	
+	private static final int DOT_ENTITY_LENGTH = ".entity".length() ;
+
+	private EntityFilesScanner() {
+	}
+
+	/**
+	 * Returns an immutable list of descriptors for all the entity files located in the given model folder
+	 * (in the directory order, as 'File.list()')
+	 * @param modelFolder
+	 * @return
+	 * @throws DslModelError
+	 */
+	public static List<EntityFileDescriptor> scan(File modelFolder) throws DslModelError {
+		List<EntityFileDescriptor> descriptors = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(modelFolder.toPath(), ENTITY_FILES_GLOB)) {
+			for (Path path : stream) {
+				String fileName = path.getFileName().toString();
+				if ( fileName.length() > DOT_ENTITY_LENGTH ) { // not just ".entity"
+					BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+					if ( ! attributes.isDirectory() ) {
+						String entityName = fileName.substring(0, fileName.length() - DOT_ENTITY_LENGTH);
+						descriptors.add(new EntityFileDescriptor(path, entityName, 
+								attributes.size(), attributes.lastModifiedTime().toMillis()));
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new DslModelError(DslModelErrorCode.IO_ERROR, e.getMessage());
+		}
+		return Collections.unmodifiableList(descriptors);
+	}
+}
@@ -15,11 +15,17 @@
  */
 package org.telosys.tools.dsl.parser;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.commons.SymbolTable;
 import org.telosys.tools.dsl.parser.annotation.AnnotationName;
 import org.telosys.tools.dsl.parser.model.DomainAnnotation;
 import org.telosys.tools.dsl.parser.model.DomainCardinality;
@@ -38,17 +44,67 @@ import org.telosys.tools.dsl.parser.model.DomainType;
 public class FieldElementsProcessor {
 	
 	private final String entityName;
-	private final List<String> entitiesNamesInModel;
+	private final Set<String> entitiesNamesInModel; // v 4.1.0 : Set (hashed names)
+	private final SymbolTable symbolTable; // v 4.1.0
+	
+	//--- current field state for the streaming processing (v 4.1.0)
+	private final Element[] fieldHeader = new Element[3]; // field name, ':' and field type
+	private int numberOfFieldElements = 0 ;
+	private final List<Element> fieldAdditionalElements = new ArrayList<>(); // annotations and tags 
+	private boolean inAnnotationsAndTags = false ;
+	private boolean openingBraceFound = false ;
+	private boolean closingBraceFound = false ;
+	private DslModelError fieldStructureError = null ; // first error in the field structure if any
 
 	/**
 	 * Constructor
 	 * @param entityName
-	 * @param entitiesNames
+	 * @param entitiesNames all the entities names in the model (copied in a new Set)
 	 */
 	public FieldElementsProcessor(String entityName, List<String> entitiesNames) {
+		this(entityName, entitiesNames, SymbolTable.NONE);
+	}
+
+	/**
+	 * Constructor
+	 * @param entityName
+	 * @param entitiesNames all the entities names in the model 
+	 *  (used without copy if it's a Set, else copied in a new Set)
+	 * @since 4.1.0
+	 */
+	public FieldElementsProcessor(String entityName, Collection<String> entitiesNames) {
+		this(entityName, entitiesNames, SymbolTable.NONE);
+	}
+
+	/**
+	 * Constructor with a model symbol table 
+	 * @param entityName
+	 * @param entitiesNames all the entities names in the model 
+	 * @param symbolTable the symbol table used to get canonical names and parameters 
+	 * @since 4.1.0
+	 */
+	public FieldElementsProcessor(String entityName, Collection<String> entitiesNames, SymbolTable symbolTable) {
 		super();
 		this.entityName = entityName;
-		this.entitiesNamesInModel = entitiesNames;		
+		this.entitiesNamesInModel = buildEntitiesNamesSet(entitiesNames);		
+		this.symbolTable = ( symbolTable != null ? symbolTable : SymbolTable.NONE ) ;
+	}
+
+	/**
+	 * Returns an unmodifiable Set containing the given entities names <br>
+	 * (the Set can be shared by all the processors of a model)
+	 * @param entitiesNames
+	 * @return a read-only view of the given Set if it's already a Set (not copied), else a new Set
+	 * @since 4.1.0
+	 */
+	public static Set<String> buildEntitiesNamesSet(Collection<String> entitiesNames) {
+		if ( entitiesNames == null ) {
+			return Collections.emptySet();
+		}
+		if ( entitiesNames instanceof Set ) {
+			return Collections.unmodifiableSet((Set<String>) entitiesNames) ;
+		}
+		return Collections.unmodifiableSet(new HashSet<>(entitiesNames));
 	}
 
 	/**
@@ -90,15 +146,7 @@ public class FieldElementsProcessor {
 	
 	private DomainField buildField(List<Element> elements) throws DslModelError {
 		if ( elements.size() >= 3 ) {
-			Element fieldNameElement = elements.get(0);
-			Element separatorElement = elements.get(1);
-			Element fieldTypeElement = elements.get(2);
-			// Get field name, type and cardinality
-			String fieldName = parseFieldName(fieldNameElement);
-			parseSeparator(fieldName, separatorElement);
-			DomainType fieldType = parseFieldType(fieldName, fieldTypeElement);
-			// Build field
-			return new DomainField(fieldNameElement.getLineNumber(), fieldName, fieldType);
+			return buildField(elements.get(0), elements.get(1), elements.get(2));
 		}
 		else {
 			// ERROR
@@ -106,15 +154,28 @@ public class FieldElementsProcessor {
 			if ( ! elements.isEmpty() ) {
 				fieldName = elements.get(0).getContent();
 			}
-			throw new DslModelError(entityName, 0, fieldName, "invalid field definition");
+			throw newInvalidFieldDefinition(fieldName);
 		}
 	}
 	
+	private DomainField buildField(Element fieldNameElement, Element separatorElement, Element fieldTypeElement) throws DslModelError {
+		// Get field name, type and cardinality
+		String fieldName = parseFieldName(fieldNameElement);
+		parseSeparator(fieldName, separatorElement);
+		DomainType fieldType = parseFieldType(fieldName, fieldTypeElement);
+		// Build field
+		return new DomainField(fieldNameElement.getLineNumber(), fieldName, fieldType);
+	}
+	
+	private DslModelError newInvalidFieldDefinition(String fieldName) {
+		return new DslModelError(entityName, 0, fieldName, DslModelErrorCode.INVALID_FIELD_DEFINITION);
+	}
+	
 	private String parseFieldName(Element element) throws DslModelError {
 		String fieldName = element.getContent();
 		for ( char c : fieldName.toCharArray() ) {
 			if ( ! ( Character.isLetterOrDigit(c) || c == '_') ) {
-				throw new DslModelError(entityName, element.getLineNumber(), fieldName, "invalid field name (char '" + c + "')");
+				throw new DslModelError(entityName, element.getLineNumber(), fieldName, DslModelErrorCode.INVALID_FIELD_NAME, c);
 			}
 		}
 		return fieldName; // Field name is OK 
@@ -123,7 +184,7 @@ public class FieldElementsProcessor {
 	private void parseSeparator(String fieldName, Element element) throws DslModelError {
 		String s = element.getContent();
 		if ( ! ":".equals(s) ) {
-			throw new DslModelError(entityName, element.getLineNumber(), fieldName, "invalid separator '" + s + "' (':' expected)");
+			throw new DslModelError(entityName, element.getLineNumber(), fieldName, DslModelErrorCode.INVALID_SEPARATOR, s);
 		}
 	}
 	
@@ -140,11 +201,11 @@ public class FieldElementsProcessor {
 			if (entitiesNamesInModel.contains(typeWithoutBrackets) ) {
 				// This entity exists => use it 
 				DomainCardinality cardinality = parseFieldCardinality(typeElement);
-				return new DomainEntityType(typeWithoutBrackets, cardinality); 
+				return new DomainEntityType(symbolTable.intern(typeWithoutBrackets), cardinality); 
 			}
 		}
 		// In all other cases : unknown type 
-		throw new DslModelError(entityName, typeElement.getLineNumber(), fieldName, "invalid type '" + type + "'");
+		throw new DslModelError(entityName, typeElement.getLineNumber(), fieldName, DslModelErrorCode.INVALID_TYPE, type);
 	}
 	
 	private DomainCardinality parseFieldCardinality(Element typeElement) {
@@ -177,13 +238,13 @@ public class FieldElementsProcessor {
 		if (       ( count1 != count2 ) 
 				|| ( count1 == 1 && count2 == 1 && ( ! type.endsWith("[]") ) ) ) {
 			// Error
-			throw new DslModelError(entityName, typeElement.getLineNumber(), fieldName, "invalid field type : " + type);
+			throw new DslModelError(entityName, typeElement.getLineNumber(), fieldName, DslModelErrorCode.INVALID_FIELD_TYPE, type);
 		}
 		return sb.toString();
 	}
 	
 	protected List<Element> extractAdditionalElements(String fieldName, List<Element> elements) throws DslModelError {
-		List<Element> selection = new LinkedList<>();
+		List<Element> selection = new ArrayList<>(elements.size());
 		
 		boolean inAnnotationsAndTags = false;
 		int openingBracePosition = 0 ; 
@@ -194,14 +255,14 @@ public class FieldElementsProcessor {
 			if ( position > 3 ) { // Skip "field name", ":" and "field type"
 				if ( element.contentEquals("{") ) {
 					if ( openingBracePosition != 0 ) {
-						throw new DslModelError(entityName, element.getLineNumber(), fieldName, "multiple '{' ");
+						throw new DslModelError(entityName, element.getLineNumber(), fieldName, DslModelErrorCode.MULTIPLE_OPENING_BRACES);
 					}
 					inAnnotationsAndTags = true ;
 					openingBracePosition = position ;
 				}
 				else if ( element.contentEquals("}") ) {
 					if ( closingBracePosition != 0 ) {
-						throw new DslModelError(entityName, element.getLineNumber(), fieldName, "multiple '}' ");
+						throw new DslModelError(entityName, element.getLineNumber(), fieldName, DslModelErrorCode.MULTIPLE_CLOSING_BRACES);
 					}
 					inAnnotationsAndTags = false ;
 					closingBracePosition = position ;
@@ -213,7 +274,7 @@ public class FieldElementsProcessor {
 					else {
 						// ERROR
 						throw new DslModelError(entityName, element.getLineNumber(), fieldName, 
-								"unexpected element '" + element.getContent() + "' out of {...}");
+								DslModelErrorCode.UNEXPECTED_ELEMENT_OUT_OF_BRACES, element.getContent());
 					}
 				}
 			}
@@ -221,10 +282,110 @@ public class FieldElementsProcessor {
 		return selection;
 	}
 	
+	//-------------------------------------------------------------------------------------
+	// Streaming processing : field elements received one by one (v 4.1.0)
+	// Same rules and same errors as 'processFieldElements' 
+	//-------------------------------------------------------------------------------------
+	/**
+	 * Starts a new field (streaming processing)
+	 * @since 4.1.0
+	 */
+	public void startField() {
+		fieldHeader[0] = null ;
+		fieldHeader[1] = null ;
+		fieldHeader[2] = null ;
+		numberOfFieldElements = 0 ;
+		fieldAdditionalElements.clear();
+		inAnnotationsAndTags = false ;
+		openingBraceFound = false ;
+		closingBraceFound = false ;
+		fieldStructureError = null ;
+	}
+	
+	/**
+	 * Processes the next element of the current field (streaming processing) <br>
+	 * The field structure is checked immediately, the annotations and tags are kept until the end of the field 
+	 * @param element
+	 * @since 4.1.0
+	 */
+	public void processFieldElement(Element element) {
+		numberOfFieldElements++;
+		if ( numberOfFieldElements <= 3 ) { 
+			// "field name", ":" and "field type"
+			fieldHeader[numberOfFieldElements - 1] = element ;
+			return ;
+		}
+		if ( fieldStructureError != null ) {
+			return ; // only the first error is reported
+		}
+		String fieldName = fieldHeader[0].getContent();
+		if ( element.contentEquals("{") ) {
+			if ( openingBraceFound ) {
+				fieldStructureError = new DslModelError(entityName, element.getLineNumber(), fieldName, DslModelErrorCode.MULTIPLE_OPENING_BRACES);
+			}
+			inAnnotationsAndTags = true ;
+			openingBraceFound = true ;
+		}
+		else if ( element.contentEquals("}") ) {
+			if ( closingBraceFound ) {
+				fieldStructureError = new DslModelError(entityName, element.getLineNumber(), fieldName, DslModelErrorCode.MULTIPLE_CLOSING_BRACES);
+			}
+			inAnnotationsAndTags = false ;
+			closingBraceFound = true ;
+		}
+		else {
+			if ( inAnnotationsAndTags ) {
+				fieldAdditionalElements.add(element);
+			}
+			else {
+				// ERROR
+				fieldStructureError = new DslModelError(entityName, element.getLineNumber(), fieldName, 
+						DslModelErrorCode.UNEXPECTED_ELEMENT_OUT_OF_BRACES, element.getContent());
+			}
+		}
+	}
+	
+	/**
+	 * Ends the current field and returns it (streaming processing)
+	 * @param errors
+	 * @return the new field (or null if it's impossible to create a new field)
+	 * @since 4.1.0
+	 */
+	public DomainField endField(DslModelErrors errors) {
+		// Build field with NAME and TYPE
+		DomainField field;
+		try {
+			if ( numberOfFieldElements >= 3 ) {
+				field = buildField(fieldHeader[0], fieldHeader[1], fieldHeader[2]);
+			}
+			else {
+				throw newInvalidFieldDefinition(fieldHeader[0] != null ? fieldHeader[0].getContent() : "");
+			}
+		} catch (DslModelError e) {
+			errors.addError(e);
+			return null;
+		}
+		if ( fieldStructureError != null ) {
+			errors.addError(fieldStructureError);
+			return field;
+		}
+		// Add annotations and tags if any
+		for ( Element element : fieldAdditionalElements ) {
+			try {
+				processAnnotationOrTag(field, element) ;
+			} catch (DslModelError e) {
+				errors.addError(e);
+			}
+		}
+		return field;
+	}
+	
+	//-------------------------------------------------------------------------------------
 	private void processAnnotationOrTag(DomainField field, Element element) throws DslModelError {
 		if ( element.startsWithAnnotationPrefix() ) {
 			// @Xxxx : Annotation			
 			AnnotationProcessor annotationProcessor = new AnnotationProcessor(entityName, field);
+			annotationProcessor.setSymbolTable(symbolTable);
 			DomainAnnotation annotation = annotationProcessor.parseAnnotation(element);
 			// no annotation error => continue
 			if ( AnnotationName.FK.equals( annotation.getName() ) ) {
@@ -239,13 +400,14 @@ public class FieldElementsProcessor {
 		else if ( element.startsWithTagPrefix() ) {
 			// #Xxxx : Tag
 			TagProcessor tagProcessor = new TagProcessor(entityName, field.getName());
+			tagProcessor.setSymbolTable(symbolTable);
 			DomainTag tag = tagProcessor.parseTag(element);
 			field.addTag(tag);
 		}
 		else {
 			// ERROR
 			throw new DslModelError(entityName, element.getLineNumber(), field.getName(), 
-					"invalid element '" + element.getContent() + "'" + "(annotation or tag expected)");
+					DslModelErrorCode.INVALID_FIELD_ELEMENT, element.getContent());
 		}
 	}
 	
@@ -0,0 +1,346 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelLoadingStage;
+import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.commons.SymbolTable;
+import org.telosys.tools.dsl.parser.model.DomainAnnotation;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainModel;
+import org.telosys.tools.dsl.parser.model.DomainTag;
+
+/**
+ * Incremental DSL model parser <br>
+ * Keeps the result of the previous parsing for each entity file and re-parses only the files 
+ * that have been added or changed since the previous call (or the files impacted by 
+ * added/deleted entities) <br>
+ * A file is considered as changed if its last modification time or its size has changed 
+ * and if its content hash is not the same as the previous one (if known) <br>
+ * 
+ * Not thread-safe : one instance must be used by a single thread at a time.
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class IncrementalParser {
+
+	private final ParserV2 parser ;
+	
+	private File modelFolder = null ;
+	
+	private Map<String, EntityFileState> filesStates = new HashMap<>(); // key : entity file name
+	
+	private int numberOfParsedFiles = 0 ;
+	
+	/**
+	 * Constructor
+	 */
+	public IncrementalParser() {
+		this(new ParserV2());
+	}
+
+	/**
+	 * Constructor
+	 * @param parser the parser to be used to parse the entity files
+	 */
+	public IncrementalParser(ParserV2 parser) {
+		super();
+		this.parser = parser;
+	}
+
+	/**
+	 * Returns the number of entity files parsed by the last call to 'parseModel'
+	 * @return
+	 */
+	public int getNumberOfParsedFiles() {
+		return numberOfParsedFiles;
+	}
+
+	/**
+	 * Clears the state kept from the previous parsing (the next parsing will be a full parsing)
+	 */
+	public void reset() {
+		modelFolder = null ;
+		filesStates = new HashMap<>();
+	}
+	
+	/**
+	 * Parse the MODEL located in the given folder, re-using the previous parsing result 
+	 * for all the unchanged entity files
+	 * @param modelFolder model folder (e.g. "/aa/bb/cc/modelname" )
+	 * @return
+	 */
+	public ParsingResult parseModel(File modelFolder) {
+		numberOfParsedFiles = 0 ;
+		long parsingStart = System.nanoTime();
+		long stageStart = parsingStart;
+		DslModelErrors errors = new DslModelErrors(parser.getMaxErrors());
+		
+		//--- check model folder validity and load model info file if any
+		ModelInfo modelInfo;
+		try {
+			parser.checkModelFolder(modelFolder);
+			modelInfo = parser.loadModelInfo(modelFolder);
+		} catch (DslModelError e) {
+			reset();
+			errors.addError(e);
+			parser.notifyStageCompleted(DslModelLoadingStage.FILES_DISCOVERY, null, stageStart, errors, 0);
+			return new ParsingResult(null, errors);
+		}
+		if ( ! modelFolder.equals(this.modelFolder) ) {
+			// not the same model => full parsing
+			reset();
+			this.modelFolder = modelFolder;
+		}
+		
+		//--- build list of entities names in the model
+		List<EntityFileDescriptor> entitiesFiles;
+		try {
+			entitiesFiles = EntityFilesScanner.scan(modelFolder);
+		} catch (DslModelError e) {
+			reset();
+			errors.addError(e);
+			parser.notifyStageCompleted(DslModelLoadingStage.FILES_DISCOVERY, null, stageStart, errors, 0);
+			return new ParsingResult(null, errors);
+		}
+		Set<String> entitiesNames = parser.buildEntitiesNames(entitiesFiles, SymbolTable.NONE);
+		parser.notifyStageCompleted(DslModelLoadingStage.FILES_DISCOVERY, null, stageStart, errors, 0);
+		
+		//--- entities added or deleted since the previous parsing 
+		Set<String> previousEntitiesNames = new HashSet<>();
+		for ( EntityFileState state : filesStates.values() ) {
+			previousEntitiesNames.add(state.getEntityName());
+		}
+		boolean entitiesNamesChanged = ! previousEntitiesNames.equals(entitiesNames);
+		Set<String> deletedEntitiesNames = previousEntitiesNames ;
+		deletedEntitiesNames.removeAll(entitiesNames);
+		
+		//--- for each entity file check if the previous state can be re-used 
+		Map<String, EntityFileState> reusedStates = new HashMap<>();
+		for (EntityFileDescriptor entityFile : entitiesFiles) {
+			EntityFileState state = filesStates.get(entityFile.getFileName());
+			if ( state != null && ! state.isImpactedBy(entitiesNamesChanged, deletedEntitiesNames) ) {
+				EntityFileFingerprint fingerprint = checkFingerprint(entityFile, state.getFingerprint());
+				if ( fingerprint != null ) {
+					// file unchanged 
+					reusedStates.put(entityFile.getFileName(), state.withFingerprint(fingerprint));
+				}
+			}
+		}
+		
+		//--- new symbol table for each parsing (keeps only the symbols of the current model)
+		SymbolTable symbolTable = new SymbolTable();
+		for ( EntityFileState state : reusedStates.values() ) {
+			internSymbols(state.getEntity(), symbolTable);
+		}
+		entitiesNames = parser.buildEntitiesNames(entitiesFiles, symbolTable);
+		DomainModel model = new DomainModel(modelFolder.getName(), modelInfo, symbolTable);
+		
+		//--- for each entity file re-use the previous state or parse the file
+		EntityElementsLexerPool lexersPool = new EntityElementsLexerPool(); // lexers for this parsing only
+		Map<String, EntityFileState> newFilesStates = new HashMap<>();
+		for (EntityFileDescriptor entityFile : entitiesFiles) {
+			if ( errors.isLimitReached() ) {
+				break; // too many errors => stop parsing (the remaining files will be parsed next time)
+			}
+			String entityFileName = entityFile.getFileName();
+			EntityFileState state = reusedStates.get(entityFileName);
+			if ( state == null ) {
+				state = parseEntity(entityFile, entitiesNames, filesStates.containsKey(entityFileName), symbolTable, lexersPool);
+			}
+			newFilesStates.put(entityFileName, state);
+			errors.addErrors(state.getErrors());
+			if ( state.getEntity() != null ) {
+				model.setEntity(state.getEntity());
+			}
+		}
+		filesStates = newFilesStates ;
+		
+		//--- search duplicated FK names in the model
+		if ( ! errors.isLimitReached() ) {
+			stageStart = System.nanoTime();
+			int numberOfErrors = errors.getNumberOfErrors();
+			ModelFKChecker modelFKChecker = new ModelFKChecker();
+			modelFKChecker.checkNoDuplicateFK(model, errors);
+			parser.notifyStageCompleted(DslModelLoadingStage.FK_CHECKING, null, stageStart, errors, numberOfErrors);
+		}
+
+		parser.getListener().stageCompleted(DslModelLoadingStage.PARSING, null, System.nanoTime() - parsingStart);
+		return new ParsingResult(model, errors);
+	}
+	
+	/**
+	 * Checks if the given file is unchanged 
+	 * @param entityFile
+	 * @param previousFingerprint
+	 * @return the current fingerprint if the file is unchanged, or null if it has changed
+	 */
+	private EntityFileFingerprint checkFingerprint(EntityFileDescriptor entityFile, EntityFileFingerprint previousFingerprint) {
+		EntityFileFingerprint fingerprint = EntityFileFingerprint.of(entityFile);
+		if ( fingerprint.sameTimeAndSize(previousFingerprint) ) {
+			return previousFingerprint ;
+		}
+		if ( previousFingerprint.getContentHash() != null && fingerprint.getSize() == previousFingerprint.getSize() ) {
+			// same size : the file may have been saved without modification
+			String hash = computeContentHash(entityFile.getFile());
+			if ( previousFingerprint.getContentHash().equals(hash) ) {
+				return fingerprint.withContentHash(hash);
+			}
+		}
+		return null ;
+	}
+	
+	private String computeContentHash(File file) {
+		try {
+			return EntityFileFingerprint.computeContentHash(file);
+		} catch (IOException e) {
+			return null ; // the file will be re-parsed and the error reported by the parser 
+		}
+	}
+	
+	/**
+	 * Puts the names and parameters of the given re-used entity in the given symbol table 
+	 * (the re-parsed entities will share the same instances)
+	 * @param entity the entity (or null)
+	 * @param symbolTable
+	 */
+	private void internSymbols(DomainEntity entity, SymbolTable symbolTable) {
+		if ( entity == null ) {
+			return ;
+		}
+		symbolTable.intern(entity.getName());
+		symbolTable.intern(entity.getDatabaseTable());
+		internSymbols(entity.getAnnotations(), entity.getTags(), symbolTable);
+		for ( DomainField field : entity.getFields() ) {
+			symbolTable.intern(field.getName());
+			symbolTable.intern(field.getTypeName());
+			internSymbols(field.getAnnotations(), field.getTags(), symbolTable);
+		}
+	}
+	
+	private void internSymbols(Map<String, DomainAnnotation> annotations, Map<String, DomainTag> tags, SymbolTable symbolTable) {
+		for ( DomainAnnotation annotation : annotations.values() ) {
+			symbolTable.intern(annotation.getName());
+			Object parameter = annotation.getParameter();
+			if ( parameter instanceof String ) {
+				symbolTable.intern((String) parameter);
+			}
+		}
+		for ( DomainTag tag : tags.values() ) {
+			symbolTable.intern(tag.getName());
+			symbolTable.intern(tag.getParameter());
+		}
+	}
+	
+	/**
+	 * Parse the given entity file and returns its new state
+	 * @param entityFile
+	 * @param entitiesNames
+	 * @param alreadyKnown true if the file has already been parsed before 
+	 * @param symbolTable
+	 * @param lexersPool
+	 * @return
+	 */
+	private EntityFileState parseEntity(EntityFileDescriptor entityFile, Set<String> entitiesNames, boolean alreadyKnown, 
+			SymbolTable symbolTable, EntityElementsLexerPool lexersPool) {
+		// fingerprint taken before parsing (a later change will be detected at the next call)
+		EntityFileFingerprint fingerprint = EntityFileFingerprint.of(entityFile);
+		if ( alreadyKnown ) {
+			// file already known : keep the content hash to detect a future 'save without change'
+			fingerprint = fingerprint.withContentHash(computeContentHash(entityFile.getFile()));
+		}
+		DslModelErrors entityErrors = new DslModelErrors();
+		DomainEntity entity = parser.parseEntity(entityFile, entitiesNames, symbolTable, lexersPool, entityErrors);
+		numberOfParsedFiles++;
+		return new EntityFileState(entityFile.getEntityName(), fingerprint, entity, entityErrors);
+	}
+	
+	//-----------------------------------------------------------------------------------------
+	/**
+	 * Parsing state of an entity file 
+	 */
+	private static class EntityFileState {
+		
+		private final String                entityName ;
+		private final EntityFileFingerprint fingerprint ;
+		private final DomainEntity          entity ; // null if the entity file cannot be parsed
+		private final DslModelErrors        errors ;
+		
+		public EntityFileState(String entityName, EntityFileFingerprint fingerprint, DomainEntity entity, DslModelErrors errors) {
+			super();
+			this.entityName = entityName;
+			this.fingerprint = fingerprint;
+			this.entity = entity;
+			this.errors = errors;
+		}
+		
+		public EntityFileState withFingerprint(EntityFileFingerprint newFingerprint) {
+			if ( newFingerprint == this.fingerprint ) {
+				return this ;
+			}
+			return new EntityFileState(entityName, newFingerprint, entity, errors);
+		}
+
+		public String getEntityName() {
+			return entityName;
+		}
+		public EntityFileFingerprint getFingerprint() {
+			return fingerprint;
+		}
+		public DomainEntity getEntity() {
+			return entity;
+		}
+		public DslModelErrors getErrors() {
+			return errors;
+		}
+
+		/**
+		 * Returns true if the parsing result of the entity may be changed by the entities added or deleted in the model
+		 * (the types of the fields depend on the entities names) 
+		 * @param entitiesNamesChanged
+		 * @param deletedEntitiesNames
+		 * @return
+		 */
+		public boolean isImpactedBy(boolean entitiesNamesChanged, Set<String> deletedEntitiesNames) {
+			if ( ! entitiesNamesChanged ) {
+				return false ;
+			}
+			if ( ! errors.isEmpty() ) {
+				return true ; // an invalid type can be a new entity  
+			}
+			if ( entity != null && ! deletedEntitiesNames.isEmpty() ) {
+				for ( DomainField field : entity.getLinkFields() ) {
+					if ( deletedEntitiesNames.contains(field.getTypeName()) ) {
+						return true ; // reference to a deleted entity
+					}
+				}
+			}
+			return false ;
+		}
+	}
+}
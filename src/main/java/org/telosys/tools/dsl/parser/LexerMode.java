@@ -0,0 +1,41 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+/**
+ * Lexer used to split an entity file in elements
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public enum LexerMode {
+	
+	/**
+	 * Lexer reading the file line by line (see EntityElementsParser)
+	 */
+	LINE_BY_LINE ,
+	
+	/**
+	 * Lexer working on a reusable characters buffer (see EntityElementsLexer)
+	 */
+	CHAR_BUFFER ,
+	
+	/**
+	 * Lexer working on a reusable characters buffer and pushing the elements 
+	 * directly to the elements processor (no list of elements)
+	 */
+	STREAMING 
+}
@@ -15,12 +15,13 @@
  */
 package org.telosys.tools.dsl.parser;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
 import org.telosys.tools.dsl.parser.commons.FkElement;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
@@ -61,9 +62,8 @@ public class ModelFKChecker {
 				for (FullFK fullFK : list) {
 					
 					DslModelError err = new DslModelError(
-							fullFK.getEntityName(), 
-							fullFK.getFieldName() 
-							  + " : Duplicated FK name '" + fkName + "' ");
+							fullFK.getEntityName(), 0, 
+							DslModelErrorCode.DUPLICATED_FK_NAME, fullFK.getFieldName(), fkName);
 					errors.addError(err);
 				}
 			}
@@ -80,7 +80,7 @@ public class ModelFKChecker {
 					List<FullFK> list = map.get(fkName);
 					if ( list == null ) {
 						// First FK with this name => new list
-						list = new LinkedList<>();
+						list = new ArrayList<>();
 						list.add(fullFK);
 						map.put(fkName, list);
 					}
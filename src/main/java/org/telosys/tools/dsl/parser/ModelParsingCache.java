@@ -0,0 +1,479 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinition;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
+import org.telosys.tools.dsl.parser.commons.FkElement;
+import org.telosys.tools.dsl.parser.model.DomainAnnotation;
+import org.telosys.tools.dsl.parser.model.DomainCardinality;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainEntityType;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainNeutralTypes;
+import org.telosys.tools.dsl.parser.model.DomainTag;
+import org.telosys.tools.dsl.parser.model.DomainType;
+
+/**
+ * Parsing cache of a model : entries loaded from the model cache file at the beginning of the model parsing, 
+ * entries re-used or replaced during the parsing and cache file updated at the end of the parsing <br>
+ * Thread-safe : the entities can be parsed in parallel 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+class ModelParsingCache {
+
+	private static final int  CACHE_FORMAT  = 2 ;
+	private static final int  MAGIC_NUMBER  = 0x54444543 ; // "TDEC"
+	
+	// annotation parameter types 
+	private static final byte PARAM_NONE    = 0 ;
+	private static final byte PARAM_STRING  = 1 ;
+	private static final byte PARAM_INTEGER = 2 ;
+	private static final byte PARAM_DECIMAL = 3 ;
+	private static final byte PARAM_BOOLEAN = 4 ;
+	private static final byte PARAM_LIST    = 5 ;
+	private static final byte PARAM_FK      = 6 ;
+	
+	private static final int  MAX_STRINGS   = 0xFFFF ; // strings of an entity (referenced by an unsigned short)
+	
+	private final ParsingCache parsingCache ;
+	
+	private final String modelPath ;
+	
+	private final File cacheFile ;
+	
+	private final Map<String, Entry> previousEntries ; // entries found in the cache file (key : entity file name)
+	
+	private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>(); // entries of the current parsing
+	
+	private volatile boolean modified = false ;
+
+	/**
+	 * Constructor : loads the entries of the given cache file (if any)
+	 * @param parsingCache
+	 * @param modelFolder
+	 * @param cacheFile
+	 */
+	protected ModelParsingCache(ParsingCache parsingCache, File modelFolder, File cacheFile) {
+		super();
+		this.parsingCache = parsingCache;
+		this.modelPath = modelFolder.getAbsolutePath();
+		this.cacheFile = cacheFile;
+		this.previousEntries = readCacheFile();
+	}
+
+	private Map<String, Entry> readCacheFile() {
+		if ( ! cacheFile.isFile() ) {
+			return Collections.emptyMap() ;
+		}
+		try {
+			byte[] content = Files.readAllBytes(cacheFile.toPath());
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+			if ( in.readInt() != MAGIC_NUMBER || in.readInt() != CACHE_FORMAT 
+					|| ! parsingCache.getSignature().equals(in.readUTF()) 
+					|| ! modelPath.equals(in.readUTF()) ) {
+				return Collections.emptyMap() ; // obsolete cache file (will be replaced)
+			}
+			int numberOfEntries = in.readInt();
+			Map<String, Entry> entries = new HashMap<>(numberOfEntries * 2);
+			for ( int i = 0 ; i < numberOfEntries ; i++ ) {
+				String entityFileName = in.readUTF();
+				long size = in.readLong();
+				long lastModified = in.readLong();
+				String[] referencedEntities = new String[in.readInt()];
+				for ( int j = 0 ; j < referencedEntities.length ; j++ ) {
+					referencedEntities[j] = in.readUTF();
+				}
+				int length = in.readInt();
+				int offset = content.length - in.available();
+				if ( in.skipBytes(length) != length ) {
+					throw new IOException("Truncated cache file");
+				}
+				entries.put(entityFileName, new Entry(size, lastModified, referencedEntities, content, offset, length));
+			}
+			return entries ;
+		} catch (IOException | RuntimeException e) {
+			return Collections.emptyMap() ; // invalid or truncated file : ignored (will be replaced)
+		}
+	}
+
+	/**
+	 * Returns the entity stored in the cache for the given entity file if the entry is still valid 
+	 * (the entity file itself is not read)
+	 * @param entityFileName the entity file name in the model folder
+	 * @param size the current size of the entity file
+	 * @param lastModified the current last modification time of the entity file
+	 * @param entitiesNames all the entities names in the model 
+	 * @return the entity or null if not found or not valid
+	 */
+	public DomainEntity load(String entityFileName, long size, long lastModified, Collection<String> entitiesNames) {
+		Entry entry = previousEntries.get(entityFileName);
+		DomainEntity entity = null ;
+		if ( entry != null && entry.isValid(size, lastModified, entitiesNames) ) {
+			entity = readEntity(entry);
+		}
+		if ( entity != null ) {
+			currentEntries.put(entityFileName, entry);
+			parsingCache.countHit();
+		}
+		else {
+			parsingCache.countMiss();
+		}
+		return entity ;
+	}
+
+	/**
+	 * Stores the given entity in the cache (written in the cache file at the end of the parsing)
+	 * @param entityFileName the entity file name in the model folder
+	 * @param size the size of the entity file before parsing
+	 * @param lastModified the last modification time of the entity file before parsing
+	 * @param entity the entity parsed without error
+	 */
+	public void store(String entityFileName, long size, long lastModified, DomainEntity entity) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		try {
+			// entity body with the strings replaced by their index (each string stored only once)
+			ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+			Map<String, Integer> strings = new LinkedHashMap<>();
+			writeEntity(new DataOutputStream(body), entity, strings);
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeShort(strings.size());
+			for ( String s : strings.keySet() ) {
+				out.writeUTF(s);
+			}
+			body.writeTo(out);
+			out.flush();
+		} catch (IOException e) {
+			return ; // entity that cannot be stored (eg unexpected parameter type) : not in cache
+		}
+		List<DomainField> linkFields = entity.getLinkFields();
+		String[] referencedEntities = new String[linkFields.size()];
+		for ( int i = 0 ; i < referencedEntities.length ; i++ ) {
+			referencedEntities[i] = linkFields.get(i).getTypeName();
+		}
+		byte[] data = bytes.toByteArray();
+		currentEntries.put(entityFileName, new Entry(size, lastModified, referencedEntities, data, 0, data.length));
+		modified = true ;
+	}
+
+	/**
+	 * Writes the cache file of the model if at least one entry has been added or removed <br>
+	 * (only the entries of the current parsing are kept)
+	 */
+	public void close() {
+		if ( ! modified && currentEntries.size() == previousEntries.size() ) {
+			return ; // no change 
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeInt(MAGIC_NUMBER);
+			out.writeInt(CACHE_FORMAT);
+			out.writeUTF(parsingCache.getSignature());
+			out.writeUTF(modelPath);
+			Map<String, Entry> sortedEntries = new TreeMap<>(currentEntries);
+			out.writeInt(sortedEntries.size());
+			for ( Map.Entry<String, Entry> e : sortedEntries.entrySet() ) {
+				Entry entry = e.getValue();
+				out.writeUTF(e.getKey());
+				out.writeLong(entry.size);
+				out.writeLong(entry.lastModified);
+				out.writeInt(entry.referencedEntities.length);
+				for ( String referencedEntity : entry.referencedEntities ) {
+					out.writeUTF(referencedEntity);
+				}
+				out.writeInt(entry.length);
+				out.write(entry.data, entry.offset, entry.length);
+			}
+			out.flush();
+		} catch (IOException e) {
+			return ; // not supposed to happen (in memory)
+		}
+		parsingCache.writeCacheFile(cacheFile, bytes.toByteArray());
+	}
+
+	private DomainEntity readEntity(Entry entry) {
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry.data, entry.offset, entry.length));
+			String[] strings = new String[in.readUnsignedShort()];
+			for ( int i = 0 ; i < strings.length ; i++ ) {
+				strings[i] = in.readUTF();
+			}
+			return readEntity(in, strings);
+		} catch (IOException | DslModelError | RuntimeException e) {
+			return null ; // invalid entry : the entity file will be parsed 
+		}
+	}
+
+	//-----------------------------------------------------------------------------------------
+	// Entity binary form : strings of the entity followed by the body (strings referenced by index)
+	//-----------------------------------------------------------------------------------------
+	private void writeEntity(DataOutputStream out, DomainEntity entity, Map<String, Integer> strings) throws IOException {
+		writeString(out, entity.getName(), strings);
+		writeString(out, entity.getDatabaseTable(), strings);
+		writeAnnotations(out, entity.getAnnotations(), strings);
+		writeTags(out, entity.getTags(), strings);
+		out.writeInt(entity.getNumberOfFields());
+		for ( DomainField field : entity.getFields() ) {
+			out.writeInt(field.getLineNumber());
+			writeString(out, field.getName(), strings);
+			DomainType type = field.getType();
+			writeString(out, type.getName(), strings);
+			out.writeBoolean(type.isEntity());
+			out.writeBoolean(type.getCardinality() == DomainCardinality.MANY);
+			writeAnnotations(out, field.getAnnotations(), strings);
+			writeTags(out, field.getTags(), strings);
+			out.writeInt(field.getFkElements().size());
+			for ( FkElement fkElement : field.getFkElements() ) {
+				writeFkElement(out, fkElement, strings);
+			}
+		}
+	}
+
+	private DomainEntity readEntity(DataInputStream in, String[] strings) throws IOException, DslModelError {
+		DomainEntity entity = new DomainEntity(readString(in, strings));
+		entity.setDatabaseTable(readString(in, strings));
+		for ( DomainAnnotation annotation : readAnnotations(in, strings) ) {
+			entity.addAnnotation(annotation);
+		}
+		for ( DomainTag tag : readTags(in, strings) ) {
+			entity.addTag(tag);
+		}
+		int numberOfFields = in.readInt();
+		for ( int i = 0 ; i < numberOfFields ; i++ ) {
+			int lineNumber = in.readInt();
+			String name = readString(in, strings);
+			String typeName = readString(in, strings);
+			boolean entityType = in.readBoolean();
+			DomainCardinality cardinality = in.readBoolean() ? DomainCardinality.MANY : DomainCardinality.ONE ;
+			DomainType type = entityType ? new DomainEntityType(typeName, cardinality) : DomainNeutralTypes.getType(typeName);
+			if ( type == null ) {
+				throw new IOException("Unknown neutral type '" + typeName + "'");
+			}
+			DomainField field = new DomainField(lineNumber, name, type);
+			for ( DomainAnnotation annotation : readAnnotations(in, strings) ) {
+				field.addAnnotation(annotation);
+			}
+			for ( DomainTag tag : readTags(in, strings) ) {
+				field.addTag(tag);
+			}
+			int numberOfFkElements = in.readInt();
+			for ( int j = 0 ; j < numberOfFkElements ; j++ ) {
+				field.addFkElement(readFkElement(in, strings));
+			}
+			entity.addField(field);
+		}
+		return entity;
+	}
+
+	private void writeAnnotations(DataOutputStream out, Map<String, DomainAnnotation> annotations, Map<String, Integer> strings) throws IOException {
+		out.writeInt(annotations.size());
+		for ( DomainAnnotation annotation : annotations.values() ) {
+			writeString(out, annotation.getName(), strings);
+			writeParameter(out, annotation.getParameter(), strings);
+		}
+	}
+
+	private List<DomainAnnotation> readAnnotations(DataInputStream in, String[] strings) throws IOException {
+		int size = in.readInt();
+		List<DomainAnnotation> annotations = new ArrayList<>(size);
+		for ( int i = 0 ; i < size ; i++ ) {
+			String name = readString(in, strings);
+			AnnotationDefinition ad = AnnotationDefinitions.get(name);
+			if ( ad == null ) {
+				throw new IOException("Unknown annotation '" + name + "'");
+			}
+			annotations.add(new DomainAnnotation(ad, readParameter(in, strings)));
+		}
+		return annotations;
+	}
+
+	private void writeParameter(DataOutputStream out, Object parameter, Map<String, Integer> strings) throws IOException {
+		if ( parameter == null ) {
+			out.writeByte(PARAM_NONE);
+		}
+		else if ( parameter instanceof String ) {
+			out.writeByte(PARAM_STRING);
+			writeString(out, (String) parameter, strings);
+		}
+		else if ( parameter instanceof Integer ) {
+			out.writeByte(PARAM_INTEGER);
+			out.writeInt((Integer) parameter);
+		}
+		else if ( parameter instanceof BigDecimal ) {
+			out.writeByte(PARAM_DECIMAL);
+			writeString(out, parameter.toString(), strings);
+		}
+		else if ( parameter instanceof Boolean ) {
+			out.writeByte(PARAM_BOOLEAN);
+			out.writeBoolean((Boolean) parameter);
+		}
+		else if ( parameter instanceof List ) {
+			out.writeByte(PARAM_LIST);
+			List<?> list = (List<?>) parameter ;
+			out.writeInt(list.size());
+			for ( Object item : list ) {
+				writeString(out, String.valueOf(item), strings);
+			}
+		}
+		else if ( parameter instanceof FkElement ) {
+			out.writeByte(PARAM_FK);
+			writeFkElement(out, (FkElement) parameter, strings);
+		}
+		else {
+			throw new IOException("Unexpected annotation parameter type " + parameter.getClass().getName());
+		}
+	}
+
+	private Object readParameter(DataInputStream in, String[] strings) throws IOException {
+		byte paramType = in.readByte();
+		switch ( paramType ) {
+		case PARAM_NONE :
+			return null ;
+		case PARAM_STRING :
+			return readString(in, strings);
+		case PARAM_INTEGER :
+			return Integer.valueOf(in.readInt());
+		case PARAM_DECIMAL :
+			return new BigDecimal(readString(in, strings));
+		case PARAM_BOOLEAN :
+			return Boolean.valueOf(in.readBoolean());
+		case PARAM_LIST :
+			int size = in.readInt();
+			List<String> list = new ArrayList<>(size);
+			for ( int i = 0 ; i < size ; i++ ) {
+				list.add(readString(in, strings));
+			}
+			return list ;
+		case PARAM_FK :
+			return readFkElement(in, strings);
+		default :
+			throw new IOException("Invalid annotation parameter type " + paramType);
+		}
+	}
+
+	private void writeFkElement(DataOutputStream out, FkElement fkElement, Map<String, Integer> strings) throws IOException {
+		writeString(out, fkElement.getFkName(), strings);
+		writeString(out, fkElement.getReferencedEntityName(), strings);
+		writeString(out, fkElement.getReferencedFieldName(), strings);
+	}
+
+	private FkElement readFkElement(DataInputStream in, String[] strings) throws IOException {
+		return new FkElement(readString(in, strings), readString(in, strings), readString(in, strings));
+	}
+
+	private void writeTags(DataOutputStream out, Map<String, DomainTag> tags, Map<String, Integer> strings) throws IOException {
+		out.writeInt(tags.size());
+		for ( DomainTag tag : tags.values() ) {
+			writeString(out, tag.getName(), strings);
+			writeString(out, tag.getParameter(), strings);
+		}
+	}
+
+	private List<DomainTag> readTags(DataInputStream in, String[] strings) throws IOException {
+		int size = in.readInt();
+		List<DomainTag> tags = new ArrayList<>(size);
+		for ( int i = 0 ; i < size ; i++ ) {
+			tags.add(new DomainTag(readString(in, strings), readString(in, strings)));
+		}
+		return tags;
+	}
+
+	private void writeString(DataOutputStream out, String s, Map<String, Integer> strings) throws IOException {
+		if ( s == null ) {
+			out.writeShort(0);
+			return ;
+		}
+		Integer index = strings.get(s);
+		if ( index == null ) {
+			if ( strings.size() >= MAX_STRINGS ) {
+				throw new IOException("Too many strings in entity");
+			}
+			index = strings.size() + 1 ; // 0 for null
+			strings.put(s, index);
+		}
+		out.writeShort(index);
+	}
+
+	private String readString(DataInputStream in, String[] strings) throws IOException {
+		int index = in.readUnsignedShort();
+		return index == 0 ? null : strings[index - 1] ;
+	}
+
+	//-----------------------------------------------------------------------------------------
+	/**
+	 * Cache entry for an entity file 
+	 */
+	private static class Entry {
+		
+		private final long     size ;
+		private final long     lastModified ;
+		private final String[] referencedEntities ; // entities referenced by the links 
+		private final byte[]   data ; // entity binary form (in a larger array if loaded from the cache file)
+		private final int      offset ;
+		private final int      length ;
+		
+		public Entry(long size, long lastModified, String[] referencedEntities, byte[] data, int offset, int length) {
+			super();
+			this.size = size;
+			this.lastModified = lastModified;
+			this.referencedEntities = referencedEntities;
+			this.data = data;
+			this.offset = offset;
+			this.length = length;
+		}
+		
+		/**
+		 * Returns true if the entity file is unchanged and if all the referenced entities still exist 
+		 * @param currentSize
+		 * @param currentLastModified
+		 * @param entitiesNames
+		 * @return
+		 */
+		public boolean isValid(long currentSize, long currentLastModified, Collection<String> entitiesNames) {
+			if ( currentSize != size || currentLastModified != lastModified ) {
+				return false ;
+			}
+			for ( String referencedEntity : referencedEntities ) {
+				if ( ! entitiesNames.contains(referencedEntity) ) {
+					return false ; // reference to a deleted entity : the entity must be parsed again
+				}
+			}
+			return true ;
+		}
+	}
+}
@@ -16,14 +16,27 @@
 package org.telosys.tools.dsl.parser;
 
 import java.io.File;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelLoadingListener;
+import org.telosys.tools.dsl.DslModelLoadingStage;
 import org.telosys.tools.dsl.DslModelUtil;
 import org.telosys.tools.dsl.commons.ModelInfo;
 import org.telosys.tools.dsl.commons.ModelInfoLoader;
+import org.telosys.tools.dsl.commons.SymbolTable;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
 import org.telosys.tools.dsl.parser.model.DomainModel;
 
@@ -35,6 +48,18 @@ import org.telosys.tools.dsl.parser.model.DomainModel;
  */
 public class ParserV2 {
 
+	private int parallelism = 1 ; // sequential parsing by default
+	
+	private ExecutorService executor = null ; // no executor by default
+	
+	private LexerMode lexerMode = LexerMode.LINE_BY_LINE ; 
+	
+	private int maxErrors = 0 ; // no limit by default
+	
+	private DslModelLoadingListener listener = DslModelLoadingListener.NO_OP ;
+	
+	private ParsingCache parsingCache = null ; // no cache by default
+	
 	/**
 	 * Constructor
 	 */
@@ -42,6 +67,128 @@ public class ParserV2 {
 		super();
 	}
 	
+	/**
+	 * Set the number of threads to be used to parse the entities files <br>
+	 * A temporary thread pool is created for each model if the level is greater than 1 <br>
+	 * ( ignored if an executor has been set )
+	 * @param parallelism the parallelism level (1 for sequential parsing)
+	 * @since 4.1.0
+	 */
+	public void setParallelism(int parallelism) {
+		if ( parallelism < 1 ) {
+			throw new IllegalArgumentException("Invalid parallelism level " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Set the executor to be used to parse the entities files in parallel <br>
+	 * The executor is not shut down by the parser (its lifecycle is managed by the caller)
+	 * @param executor the executor to be used (or null to use the parallelism level)
+	 * @since 4.1.0
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+	
+	/**
+	 * Set the maximum number of errors : the parsing stops as soon as this number of errors is reached 
+	 * @param maxErrors the maximum number of errors (0 for no limit, 1 for fail-fast)
+	 * @since 4.1.0
+	 */
+	public void setMaxErrors(int maxErrors) {
+		if ( maxErrors < 0 ) {
+			throw new IllegalArgumentException("Invalid max errors " + maxErrors);
+		}
+		this.maxErrors = maxErrors;
+	}
+
+	/**
+	 * Returns the maximum number of errors (0 if no limit)
+	 * @return
+	 * @since 4.1.0
+	 */
+	public int getMaxErrors() {
+		return maxErrors;
+	}
+	
+	/**
+	 * Set the lexer to be used to split each entity file in elements 
+	 * @param lexerMode
+	 * @since 4.1.0
+	 */
+	public void setLexerMode(LexerMode lexerMode) {
+		if ( lexerMode == null ) {
+			throw new IllegalArgumentException("Lexer mode is null");
+		}
+		this.lexerMode = lexerMode;
+	}
+
+	/**
+	 * Set the folder to be used as a persistent parsing cache when parsing a model <br>
+	 * The result of the parsing of each entity file is stored in this folder and re-used 
+	 * (without reading the entity file) as long as the file size and last modification time, 
+	 * the parser version and the annotations definitions are unchanged
+	 * @param cacheFolder the cache folder (or null for no cache)
+	 * @since 4.1.0
+	 */
+	public void setCacheFolder(File cacheFolder) {
+		this.parsingCache = ( cacheFolder != null ? new ParsingCache(cacheFolder) : null ) ;
+	}
+
+	/**
+	 * Set the persistent parsing cache to be used when parsing a model 
+	 * @param parsingCache the cache (or null for no cache)
+	 * @since 4.1.0
+	 */
+	public void setParsingCache(ParsingCache parsingCache) {
+		this.parsingCache = parsingCache ;
+	}
+
+	/**
+	 * Returns the parsing cache (or null if no cache)
+	 * @return
+	 * @since 4.1.0
+	 */
+	public ParsingCache getParsingCache() {
+		return parsingCache;
+	}
+
+	/**
+	 * Set the listener to be notified during the parsing (timing and counters)
+	 * @param listener the listener (or null for no listener)
+	 * @since 4.1.0
+	 */
+	public void setListener(DslModelLoadingListener listener) {
+		this.listener = ( listener != null ? listener : DslModelLoadingListener.NO_OP ) ;
+	}
+
+	/**
+	 * Returns the listener notified during the parsing 
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DslModelLoadingListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Notifies the end of the given stage to the listener 
+	 * @param stage
+	 * @param entityName entity name (or null for a model level stage)
+	 * @param startTime stage start time (nano time)
+	 * @param errors errors collector 
+	 * @param initialNumberOfErrors number of errors at the beginning of the stage 
+	 */
+	protected void notifyStageCompleted(DslModelLoadingStage stage, String entityName, long startTime, 
+			DslModelErrors errors, int initialNumberOfErrors) {
+		listener.stageCompleted(stage, entityName, System.nanoTime() - startTime);
+		int numberOfErrors = errors.getNumberOfErrors() - initialNumberOfErrors ;
+		if ( numberOfErrors > 0 ) {
+			listener.errorsProduced(stage, entityName, numberOfErrors);
+		}
+	}
+
 	/**
 	 * Parse the MODEL located in the given model folder name
 	 * @param modelFolderName
@@ -57,24 +204,27 @@ public class ParserV2 {
 	 * @return
 	 */
 	public ParsingResult parseModel(File modelFolder) {
+		long parsingStart = System.nanoTime();
+		long stageStart = parsingStart;
 
-		DslModelErrors errors = new DslModelErrors();
+		DslModelErrors errors = new DslModelErrors(maxErrors);
 		
 		//--- check model folder validity
 		try {
 			checkModelFolder(modelFolder);
 		} catch (DslModelError e) {
 			errors.addError(e);
+			notifyStageCompleted(DslModelLoadingStage.FILES_DISCOVERY, null, stageStart, errors, 0);
 			return new ParsingResult(null, errors);
 		}
 
 		//--- load model info file if any
-		File modelInfoFile = DslModelUtil.getModelFileFromModelFolder(modelFolder);
 		ModelInfo modelInfo;
 		try {
-			modelInfo = ModelInfoLoader.loadModelInformation(modelInfoFile);
+			modelInfo = loadModelInfo(modelFolder);
 		} catch (DslModelError e) {
 			errors.addError(e);
+			notifyStageCompleted(DslModelLoadingStage.FILES_DISCOVERY, null, stageStart, errors, 0);
 			return new ParsingResult(null, errors);
 		}
 		
@@ -82,42 +232,163 @@ public class ParserV2 {
 		DomainModel model = new DomainModel(modelFolder.getName(), modelInfo);
 
 		//--- build list of entities names in the model
-		List<String> entitiesFileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
-		List<String> entitiesNames = new LinkedList<>();
-		for (String entityFileName : entitiesFileNames) {
-			entitiesNames.add(DslModelUtil.getEntityName(new File(entityFileName)));
+		List<EntityFileDescriptor> entitiesFiles;
+		try {
+			entitiesFiles = EntityFilesScanner.scan(modelFolder);
+		} catch (DslModelError e) {
+			errors.addError(e);
+			notifyStageCompleted(DslModelLoadingStage.FILES_DISCOVERY, null, stageStart, errors, 0);
+			return new ParsingResult(null, errors);
 		}
+		SymbolTable symbolTable = model.getSymbolTable();
+		Set<String> entitiesNames = buildEntitiesNames(entitiesFiles, symbolTable);
+		notifyStageCompleted(DslModelLoadingStage.FILES_DISCOVERY, null, stageStart, errors, 0);
 
+		//--- reusable lexers for this model only (released at the end of the parsing)
+		EntityElementsLexerPool lexersPool = new EntityElementsLexerPool();
+		
+		//--- entities parsed during the previous runs (if any)
+		ModelParsingCache modelCache = ( parsingCache != null ? parsingCache.openModel(modelFolder) : null ) ;
+		
 		//--- for each entity parse the file and populate it in the model
-		for (String entityFileName : entitiesFileNames) {
-			// --- Parse
-			DomainEntity domainEntity = parseEntity(entityFileName, entitiesNames, errors);
-			if ( domainEntity != null ) {
-				model.setEntity(domainEntity);
+		if ( executor != null || parallelism > 1 ) {
+			parseEntitiesInParallel(model, entitiesFiles, entitiesNames, symbolTable, lexersPool, modelCache, errors);
+		}
+		else {
+			for (EntityFileDescriptor entityFile : entitiesFiles) {
+				if ( errors.isLimitReached() ) {
+					break; // too many errors => stop parsing
+				}
+				// --- Parse
+				DomainEntity domainEntity = parseEntity(entityFile, entitiesNames, symbolTable, lexersPool, modelCache, errors);
+				if ( domainEntity != null ) {
+					model.setEntity(domainEntity);
+				}
 			}
 		}
+		if ( modelCache != null ) {
+			modelCache.close();
+			parsingCache.prune();
+		}
 		
 		//--- search duplicated FK names in the model
-		ModelFKChecker modelFKChecker = new ModelFKChecker();
-		modelFKChecker.checkNoDuplicateFK(model, errors);
+		if ( ! errors.isLimitReached() ) {
+			stageStart = System.nanoTime();
+			int numberOfErrors = errors.getNumberOfErrors();
+			ModelFKChecker modelFKChecker = new ModelFKChecker();
+			modelFKChecker.checkNoDuplicateFK(model, errors);
+			notifyStageCompleted(DslModelLoadingStage.FK_CHECKING, null, stageStart, errors, numberOfErrors);
+		}
 		
+		listener.stageCompleted(DslModelLoadingStage.PARSING, null, System.nanoTime() - parsingStart);
 		return new ParsingResult(model, errors);
 	}
 
+	/**
+	 * Parse all the given entities files in parallel and populate them in the model <br>
+	 * Each file is parsed with its own errors collector, then the results are merged 
+	 * in the files order in order to keep the same result as the sequential parsing <br>
+	 * If the errors limit is reached the remaining tasks are cancelled
+	 * @param model
+	 * @param entitiesFiles
+	 * @param entitiesNames
+	 * @param symbolTable
+	 * @param lexersPool
+	 * @param modelCache
+	 * @param errors
+	 */
+	private void parseEntitiesInParallel(DomainModel model, List<EntityFileDescriptor> entitiesFiles, 
+			final Set<String> entitiesNames, final SymbolTable symbolTable, final EntityElementsLexerPool lexersPool, 
+			final ModelParsingCache modelCache, DslModelErrors errors) {
+		ExecutorService executorService = ( executor != null ? executor : Executors.newFixedThreadPool(parallelism) ) ;
+		try {
+			//--- submit a task for each entity file
+			List<DslModelErrors> entitiesErrors = new ArrayList<>(entitiesFiles.size());
+			List<Future<DomainEntity>> futures = new ArrayList<>(entitiesFiles.size());
+			for (final EntityFileDescriptor entityFile : entitiesFiles) {
+				final DslModelErrors entityErrors = new DslModelErrors();
+				entitiesErrors.add(entityErrors);
+				futures.add(executorService.submit(new Callable<DomainEntity>() {
+					@Override
+					public DomainEntity call() {
+						return parseEntity(entityFile, entitiesNames, symbolTable, lexersPool, modelCache, entityErrors);
+					}
+				}));
+			}
+			//--- collect the results in the original order
+			for (int i = 0 ; i < futures.size() ; i++ ) {
+				if ( errors.isLimitReached() ) {
+					// too many errors => cancel the remaining tasks
+					for (int j = i ; j < futures.size() ; j++ ) {
+						futures.get(j).cancel(true);
+					}
+					break;
+				}
+				DomainEntity domainEntity = waitForEntity(futures.get(i));
+				errors.addErrors(entitiesErrors.get(i));
+				if ( domainEntity != null ) {
+					model.setEntity(domainEntity);
+				}
+			}
+		} finally {
+			if ( executorService != executor ) {
+				executorService.shutdownNow();
+			}
+		}
+	}
+
+	private DomainEntity waitForEntity(Future<DomainEntity> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Entity parsing interrupted", e);
+		} catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Entity parsing failure", e.getCause());
+		}
+	}
+
 	/**
 	 * Check model folder validity
 	 * @param modelFolder
 	 * @throws DslModelError
 	 */
-	private void checkModelFolder(File modelFolder) throws DslModelError {
+	protected void checkModelFolder(File modelFolder) throws DslModelError {
 		if (!modelFolder.exists()) {
-			String error = "Model folder '" + modelFolder.toString() + "' not found";
-			throw new DslModelError(error);
+			throw new DslModelError(DslModelErrorCode.MODEL_FOLDER_NOT_FOUND, modelFolder);
 		}
 		if (!modelFolder.isDirectory()) {
-			String error = "'" + modelFolder.toString() + "' is not a directory";
-			throw new DslModelError(error);
+			throw new DslModelError(DslModelErrorCode.MODEL_FOLDER_NOT_DIRECTORY, modelFolder);
+		}
+	}
+
+	/**
+	 * Loads the model information from the model file located in the given model folder
+	 * @param modelFolder
+	 * @return
+	 * @throws DslModelError
+	 */
+	protected ModelInfo loadModelInfo(File modelFolder) throws DslModelError {
+		File modelInfoFile = DslModelUtil.getModelFileFromModelFolder(modelFolder);
+		return ModelInfoLoader.loadModelInformation(modelInfoFile);
+	}
+
+	/**
+	 * Builds the set of entities names from the given entities files <br>
+	 * (immutable hashed set shared by all the entities processors)
+	 * @param entitiesFiles
+	 * @param symbolTable the model symbol table (canonical entities names)
+	 * @return
+	 */
+	protected Set<String> buildEntitiesNames(List<EntityFileDescriptor> entitiesFiles, SymbolTable symbolTable) {
+		Set<String> entitiesNames = new HashSet<>(entitiesFiles.size() * 2);
+		for (EntityFileDescriptor entityFile : entitiesFiles) {
+			entitiesNames.add(symbolTable.intern(entityFile.getEntityName()));
 		}
+		return Collections.unmodifiableSet(entitiesNames);
 	}
 
 	/**
@@ -128,6 +399,18 @@ public class ParserV2 {
 	 * @return
 	 */
 	public DomainEntity parseEntity(String entityFileName, List<String> entitiesNames, DslModelErrors errors) {
+		return parseEntity(new File(entityFileName), (Collection<String>) entitiesNames, errors);
+	}
+
+	/**
+	 * Parse the given ENTITY file name
+	 * @param entityFileName
+	 * @param entitiesNames
+	 * @param errors
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DomainEntity parseEntity(String entityFileName, Collection<String> entitiesNames, DslModelErrors errors) {
 		return parseEntity(new File(entityFileName), entitiesNames, errors);
 	}
 
@@ -139,22 +422,195 @@ public class ParserV2 {
 	 * @return
 	 */
 	public DomainEntity parseEntity(File entityFile, List<String> entitiesNames, DslModelErrors errors) {
+		return parseEntity(entityFile, (Collection<String>) entitiesNames, errors);
+	}
+
+	/**
+	 * Parse the given ENTITY file
+	 * @param entityFile
+	 * @param entitiesNames
+	 * @param errors
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DomainEntity parseEntity(File entityFile, Collection<String> entitiesNames, DslModelErrors errors) {
+		return parseEntity(entityFile, DslModelUtil.getEntityName(entityFile), -1, entitiesNames, SymbolTable.NONE, 
+				new EntityElementsLexerPool(), errors);
+	}
+
+	/**
+	 * Parse the given ENTITY file (described by the scanner, the entity name and the file size are re-used)
+	 * @param entityFile
+	 * @param entitiesNames
+	 * @param errors
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DomainEntity parseEntity(EntityFileDescriptor entityFile, Collection<String> entitiesNames, DslModelErrors errors) {
+		return parseEntity(entityFile, entitiesNames, SymbolTable.NONE, errors);
+	}
+
+	/**
+	 * Parse the given ENTITY file using the given symbol table to get a canonical instance 
+	 * of the names and identifiers (shared by all the entities of the model)
+	 * @param entityFile
+	 * @param entitiesNames
+	 * @param symbolTable
+	 * @param errors
+	 * @return
+	 * @since 4.1.0
+	 */
+	public DomainEntity parseEntity(EntityFileDescriptor entityFile, Collection<String> entitiesNames, 
+			SymbolTable symbolTable, DslModelErrors errors) {
+		return parseEntity(entityFile, entitiesNames, symbolTable, new EntityElementsLexerPool(), errors);
+	}
 
-		String entityNameFromFileName = DslModelUtil.getEntityName(entityFile);
+	/**
+	 * Parse the given ENTITY file with a lexer taken in the given pool
+	 * @param entityFile
+	 * @param entitiesNames
+	 * @param symbolTable
+	 * @param lexersPool
+	 * @param errors
+	 * @return
+	 */
+	protected DomainEntity parseEntity(EntityFileDescriptor entityFile, Collection<String> entitiesNames, 
+			SymbolTable symbolTable, EntityElementsLexerPool lexersPool, DslModelErrors errors) {
+		return parseEntity(entityFile.getFile(), entityFile.getEntityName(), entityFile.getSize(), entitiesNames, 
+				( symbolTable != null ? symbolTable : SymbolTable.NONE ), lexersPool, errors);
+	}
+
+	/**
+	 * Parse the given ENTITY file or get it from the model parsing cache 
+	 * @param entityFile
+	 * @param entitiesNames
+	 * @param symbolTable
+	 * @param lexersPool
+	 * @param modelCache the model parsing cache (or null if no cache)
+	 * @param errors
+	 * @return
+	 */
+	private DomainEntity parseEntity(EntityFileDescriptor entityFile, Collection<String> entitiesNames, 
+			SymbolTable symbolTable, EntityElementsLexerPool lexersPool, ModelParsingCache modelCache, DslModelErrors errors) {
+		if ( modelCache == null ) {
+			return parseEntity(entityFile, entitiesNames, symbolTable, lexersPool, errors);
+		}
+		// size and time given by the files scanner (taken before parsing)
+		DomainEntity domainEntity = modelCache.load(entityFile.getFileName(), entityFile.getSize(), entityFile.getLastModified(), 
+				entitiesNames);
+		if ( domainEntity != null ) {
+			listener.entityParsed(domainEntity.getName(), 0, domainEntity.getNumberOfFields()); // no element (not read)
+			return domainEntity;
+		}
+		int numberOfErrors = errors.getNumberOfErrors() + errors.getNumberOfIgnoredErrors();
+		domainEntity = parseEntity(entityFile, entitiesNames, symbolTable, lexersPool, errors);
+		if ( domainEntity != null && errors.getNumberOfErrors() + errors.getNumberOfIgnoredErrors() == numberOfErrors ) {
+			// only the entities without error are stored in the cache
+			modelCache.store(entityFile.getFileName(), entityFile.getSize(), entityFile.getLastModified(), domainEntity);
+		}
+		return domainEntity;
+	}
+
+	/**
+	 * Parse the given ENTITY file 
+	 * @param entityFile
+	 * @param entityNameFromFileName
+	 * @param fileSize the file size if known (or -1)
+	 * @param entitiesNames
+	 * @param symbolTable
+	 * @param lexersPool the pool of reusable lexers 
+	 * @param errors
+	 * @return
+	 */
+	private DomainEntity parseEntity(File entityFile, String entityFileName, long fileSize, 
+			Collection<String> entitiesNames, SymbolTable symbolTable, EntityElementsLexerPool lexersPool, DslModelErrors errors) {
+		String entityNameFromFileName = symbolTable.intern(entityFileName);
+		if ( lexerMode == LexerMode.STREAMING ) {
+			return parseEntityInStreamingMode(entityFile, entityNameFromFileName, fileSize, entitiesNames, symbolTable, lexersPool, errors);
+		}
+		long stageStart = System.nanoTime();
+		int numberOfErrors = errors.getNumberOfErrors();
 
 		//--- Parse elements
-		EntityElementsParser elementsParser = new EntityElementsParser();
+		EntityElementsLexer lexer = null ;
+		EntityElementsParser elementsParser ;
+		if ( lexerMode != LexerMode.LINE_BY_LINE ) {
+			lexer = lexersPool.acquire();
+			elementsParser = lexer;
+		}
+		else {
+			elementsParser = new EntityElementsParser();
+		}
+		elementsParser.setSymbolTable(symbolTable);
 		List<Element> elements;
 		try {
 			elements = elementsParser.parseEntityFile(entityFile);
 		} catch (DslModelError e) {
 			errors.addError(e);
+			notifyStageCompleted(DslModelLoadingStage.LEXING, entityNameFromFileName, stageStart, errors, numberOfErrors);
 			return null;
+		} finally {
+			if ( lexer != null ) {
+				lexersPool.release(lexer);
+			}
+		}
+		if ( listener != DslModelLoadingListener.NO_OP ) {
+			listener.entityFileRead(entityNameFromFileName, fileSize >= 0 ? fileSize : entityFile.length());
 		}
+		notifyStageCompleted(DslModelLoadingStage.LEXING, entityNameFromFileName, stageStart, errors, numberOfErrors);
 
 		//--- Process elements
-		EntityElementsProcessor elementsProcessor = new EntityElementsProcessor(entityNameFromFileName, entitiesNames);
-		return elementsProcessor.processEntityElements(elements, errors);
+		stageStart = System.nanoTime();
+		numberOfErrors = errors.getNumberOfErrors();
+		EntityElementsProcessor elementsProcessor = new EntityElementsProcessor(entityNameFromFileName, entitiesNames, symbolTable);
+		DomainEntity domainEntity = elementsProcessor.processEntityElements(elements, errors);
+		notifyStageCompleted(DslModelLoadingStage.ELEMENTS_PROCESSING, entityNameFromFileName, stageStart, errors, numberOfErrors);
+		listener.entityParsed(entityNameFromFileName, elements.size(), 
+				( domainEntity != null ? domainEntity.getNumberOfFields() : 0 ) );
+		return domainEntity;
+	}
+
+	/**
+	 * Parse the given ENTITY file in a single pass : the lexer pushes the elements 
+	 * directly to the elements processor (no list of elements)
+	 * @param entityFile
+	 * @param entityName
+	 * @param fileSize the file size if known (or -1)
+	 * @param entitiesNames
+	 * @param symbolTable
+	 * @param lexersPool
+	 * @param errors
+	 * @return
+	 */
+	private DomainEntity parseEntityInStreamingMode(File entityFile, String entityName, long fileSize, 
+			Collection<String> entitiesNames, SymbolTable symbolTable, EntityElementsLexerPool lexersPool, DslModelErrors errors) {
+		long stageStart = System.nanoTime();
+		int numberOfErrors = errors.getNumberOfErrors();
+		// the processing errors are kept until the end of the file 
+		// (a lexing error stops the parsing and is the only error reported, as in the other modes)
+		DslModelErrors entityErrors = new DslModelErrors();
+		EntityElementsProcessor elementsProcessor = new EntityElementsProcessor(entityName, entitiesNames, symbolTable);
+		elementsProcessor.startEntity(entityErrors);
+		EntityElementsLexer lexer = lexersPool.acquire();
+		lexer.setSymbolTable(symbolTable);
+		DomainEntity domainEntity ;
+		try {
+			lexer.processEntityFile(entityFile, elementsProcessor);
+			domainEntity = elementsProcessor.endEntity();
+		} catch (DslModelError e) {
+			errors.addError(e);
+			notifyStageCompleted(DslModelLoadingStage.ELEMENTS_PROCESSING, entityName, stageStart, errors, numberOfErrors);
+			return null;
+		} finally {
+			lexersPool.release(lexer);
+		}
+		errors.addErrors(entityErrors);
+		if ( listener != DslModelLoadingListener.NO_OP ) {
+			listener.entityFileRead(entityName, fileSize >= 0 ? fileSize : entityFile.length());
+		}
+		notifyStageCompleted(DslModelLoadingStage.ELEMENTS_PROCESSING, entityName, stageStart, errors, numberOfErrors);
+		listener.entityParsed(entityName, elementsProcessor.getNumberOfElements(), domainEntity.getNumberOfFields());
+		return domainEntity;
 	}
 	
 }
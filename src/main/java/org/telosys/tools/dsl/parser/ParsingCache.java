@@ -0,0 +1,251 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.telosys.tools.dsl.model.DslModelVersion;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinition;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
+
+/**
+ * Persistent parsing cache <br>
+ * Keeps the result of the parsing of each entity file (DomainEntity in a compact binary form) 
+ * in a single cache file per model located in the cache folder. <br>
+ * The cache file of a model is read once at the beginning of the model parsing, then an entity is 
+ * taken from the cache (without reading the entity file) if the entity file has the same size and 
+ * the same last modification time, if the parser version and the annotations definitions are the same 
+ * and if all the entities referenced by its links still exist in the model. <br>
+ * Only the entity files parsed without error are stored in the cache. <br>
+ * The size is limited : a cache file contains only the entities of the last parsing of its model 
+ * and the cache files of the oldest models are removed by 'prune()'. <br>
+ * 
+ * Thread-safe : can be used by several threads and several JVM at the same time 
+ * (each cache file is written in a temporary file and then moved)
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public class ParsingCache {
+
+	public static final int DEFAULT_MAX_MODELS = 100 ;
+
+	private static final String CACHE_FILE_SUFFIX = ".model" ;
+	
+	private final File cacheFolder ;
+	
+	private final int maxModels ;
+	
+	private final String signature ; // parser version + annotations definitions
+	
+	private final AtomicInteger hits   = new AtomicInteger(0);
+	private final AtomicInteger misses = new AtomicInteger(0);
+
+	/**
+	 * Constructor (with the default maximum number of models)
+	 * @param cacheFolder the folder where to store the cache files (created if it doesn't exist)
+	 */
+	public ParsingCache(File cacheFolder) {
+		this(cacheFolder, DEFAULT_MAX_MODELS);
+	}
+
+	/**
+	 * Constructor
+	 * @param cacheFolder the folder where to store the cache files (created if it doesn't exist)
+	 * @param maxModels the maximum number of models kept in the cache folder
+	 */
+	public ParsingCache(File cacheFolder, int maxModels) {
+		this(cacheFolder, maxModels, buildAnnotationsSignature(AnnotationDefinitions.getAll()));
+	}
+
+	/**
+	 * Constructor
+	 * @param cacheFolder the folder where to store the cache files (created if it doesn't exist)
+	 * @param maxModels the maximum number of models kept in the cache folder
+	 * @param annotationsSignature the signature of the annotations definitions used by the parser
+	 */
+	protected ParsingCache(File cacheFolder, int maxModels, String annotationsSignature) {
+		super();
+		if ( cacheFolder == null ) {
+			throw new IllegalArgumentException("Cache folder is null");
+		}
+		if ( maxModels < 1 ) {
+			throw new IllegalArgumentException("Invalid max models " + maxModels);
+		}
+		this.cacheFolder = cacheFolder;
+		this.maxModels = maxModels;
+		this.signature = EntityFileFingerprint.computeHash(
+				( "DSL " + DslModelVersion.VERSION + "\n" + annotationsSignature ).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Builds a signature of the given annotations definitions
+	 * @param annotationsDefinitions
+	 * @return
+	 */
+	protected static String buildAnnotationsSignature(List<AnnotationDefinition> annotationsDefinitions) {
+		StringBuilder sb = new StringBuilder();
+		for ( AnnotationDefinition ad : annotationsDefinitions ) {
+			sb.append(ad.getName()).append(':').append(ad.getParamType())
+				.append(':').append(ad.hasEntityScope()).append(ad.hasAttributeScope()).append(ad.hasLinkScope())
+				.append(':').append(ad.getClass().getName()).append(';');
+		}
+		return sb.toString();
+	}
+
+	public File getCacheFolder() {
+		return cacheFolder;
+	}
+
+	public int getMaxModels() {
+		return maxModels;
+	}
+
+	/**
+	 * Returns the signature of the parser version and annotations definitions (stored in each cache file)
+	 * @return
+	 */
+	protected String getSignature() {
+		return signature;
+	}
+
+	/**
+	 * Returns the number of entity files found in the cache
+	 * @return
+	 */
+	public int getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of entity files not found in the cache
+	 * @return
+	 */
+	public int getMisses() {
+		return misses.get();
+	}
+
+	protected void countHit() {
+		hits.incrementAndGet();
+	}
+
+	protected void countMiss() {
+		misses.incrementAndGet();
+	}
+
+	/**
+	 * Returns the cache file for the given model folder (one cache file per model)
+	 * @param modelFolder
+	 * @return
+	 */
+	protected File getCacheFile(File modelFolder) {
+		String path = modelFolder.getAbsolutePath();
+		return new File(cacheFolder, EntityFileFingerprint.computeHash(path.getBytes(StandardCharsets.UTF_8)) + CACHE_FILE_SUFFIX);
+	}
+
+	/**
+	 * Opens the cache of the given model : the cache file of the model (if any) is loaded 
+	 * and kept in memory until the end of the model parsing 
+	 * @param modelFolder
+	 * @return
+	 */
+	protected ModelParsingCache openModel(File modelFolder) {
+		return new ModelParsingCache(this, modelFolder, getCacheFile(modelFolder));
+	}
+
+	/**
+	 * Writes the given content in the given cache file (the cache file is not updated in case of error)
+	 * @param cacheFile
+	 * @param content
+	 */
+	protected void writeCacheFile(File cacheFile, byte[] content) {
+		Path tmpFile = null ;
+		try {
+			Files.createDirectories(cacheFolder.toPath());
+			tmpFile = Files.createTempFile(cacheFolder.toPath(), "tmp-", ".tmp");
+			Files.write(tmpFile, content);
+			moveFile(tmpFile, cacheFile.toPath());
+			tmpFile = null ;
+		} catch (IOException e) {
+			// cannot write in cache : just ignore the cache for this model
+		} finally {
+			deleteIfExists(tmpFile);
+		}
+	}
+
+	/**
+	 * Removes the cache files of the oldest models if the number of models is greater than the maximum
+	 * @return the number of cache files removed
+	 */
+	public int prune() {
+		File[] files = cacheFolder.listFiles();
+		if ( files == null || files.length <= maxModels ) {
+			return 0 ;
+		}
+		List<File> cacheFiles = new ArrayList<>(files.length);
+		for ( File file : files ) {
+			if ( file.getName().endsWith(CACHE_FILE_SUFFIX) ) {
+				cacheFiles.add(file);
+			}
+		}
+		int numberToRemove = cacheFiles.size() - maxModels ;
+		if ( numberToRemove <= 0 ) {
+			return 0 ;
+		}
+		Collections.sort(cacheFiles, new Comparator<File>() {
+			@Override
+			public int compare(File f1, File f2) {
+				return Long.compare(f1.lastModified(), f2.lastModified());
+			}
+		});
+		int removed = 0 ;
+		for ( int i = 0 ; i < numberToRemove ; i++ ) {
+			if ( cacheFiles.get(i).delete() ) {
+				removed++;
+			}
+		}
+		return removed ;
+	}
+
+	private void moveFile(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	private void deleteIfExists(Path file) {
+		if ( file != null ) {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+}
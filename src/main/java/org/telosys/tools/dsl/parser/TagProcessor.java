@@ -16,6 +16,7 @@
 package org.telosys.tools.dsl.parser;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 import org.telosys.tools.dsl.parser.commons.ParamError;
 import org.telosys.tools.dsl.parser.commons.ParamValue;
 import org.telosys.tools.dsl.parser.model.DomainTag;
@@ -65,7 +66,7 @@ public class TagProcessor extends AnnotationAndTagProcessor {
 			try {
 				return new DomainTag(tagName, paramValue.getAsString());
 			} catch (ParamError e) {
-				throw newError(element.getLineNumber(), "'" + element.getContent() + "' : " + e.getMessage() );
+				throw newError(element.getLineNumber(), DslModelErrorCode.INVALID_PARAMETER, element.getContent(), e.getMessage() );
 			}
 		}
 		else {
@@ -15,6 +15,7 @@
  */
 package org.telosys.tools.dsl.parser.annotation;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -278,6 +279,44 @@ public abstract class AnnotationDefinition {
 			throw new IllegalStateException("literal(Integer) no parameter expected");
 		}
 	}
+	/**
+	 * Appends the literal of this annotation without parameter ( e.g. '@Id' )
+	 * @param out
+	 * @throws IOException
+	 * @since 4.1.0
+	 */
+	public void appendLiteral(Appendable out) throws IOException {
+		if ( this.hasParam() ) {
+			throw new IllegalStateException("appendLiteral() parameter expected");
+		}
+		out.append('@').append(name);
+	}
+	/**
+	 * Appends the literal of this annotation with the given parameter ( e.g. '@DbName(FOO)' )
+	 * @param out
+	 * @param param
+	 * @throws IOException
+	 * @since 4.1.0
+	 */
+	public void appendLiteral(Appendable out, String param) throws IOException {
+		if ( ! this.hasParam() ) {
+			throw new IllegalStateException("appendLiteral(String) no parameter expected");
+		}
+		out.append('@').append(name).append('(').append(protectStringIfNecessary(param)).append(')');
+	}
+	/**
+	 * Appends the literal of this annotation with the given number parameter ( e.g. '@Max(12)' )
+	 * @param out
+	 * @param param
+	 * @throws IOException
+	 * @since 4.1.0
+	 */
+	public void appendLiteral(Appendable out, Number param) throws IOException {
+		if ( ! this.hasParam() ) {
+			throw new IllegalStateException("appendLiteral(Number) no parameter expected");
+		}
+		out.append('@').append(name).append('(').append(param.toString()).append(')');
+	}
 	private String protectStringIfNecessary(String s) {
 		if ( s.startsWith(" ") || s.endsWith(" ") 
 				|| s.contains("(") || s.contains(")") 
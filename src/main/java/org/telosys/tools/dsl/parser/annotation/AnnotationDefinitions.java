@@ -15,9 +15,12 @@
  */
 package org.telosys.tools.dsl.parser.annotation;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.telosys.tools.commons.plugins.PluginHandler;
 import org.telosys.tools.dsl.parser.annotations.AbstractAnnotation;
@@ -83,8 +86,11 @@ import org.telosys.tools.dsl.parser.annotations.UpdatableAnnotation;
 
 public class AnnotationDefinitions {
 
-	private static List<AnnotationDefinition> annotations = new LinkedList<>();
+	// immutable list and map built once (after plugins registration)
+	private static final List<AnnotationDefinition> annotationsList ;
+	private static final Map<String, AnnotationDefinition> annotationsByName ;
 	static {
+		List<AnnotationDefinition> annotations = new LinkedList<>();
 		
 		annotations.add(new IdAnnotation());
 		
@@ -166,17 +172,27 @@ public class AnnotationDefinitions {
 		annotations.add(new JoinEntityAnnotation());
 		
 		PluginHandler.addAnnotations(annotations);
+		
+		//--- Registry (the first definition is kept if a name is defined more than once)
+		Map<String, AnnotationDefinition> map = new HashMap<>(annotations.size() * 2);
+		for ( AnnotationDefinition ad : annotations ) {
+			if ( ! map.containsKey(ad.getName()) ) {
+				map.put(ad.getName(), ad);
+			}
+		}
+		annotationsList = Collections.unmodifiableList(new ArrayList<>(annotations));
+		annotationsByName = Collections.unmodifiableMap(map);
 	}
 	
 	private AnnotationDefinitions() {
 	}
 
 	/**
-	 * Returns all annotations definitions
+	 * Returns all annotations definitions (unmodifiable list)
 	 * @return
 	 */
 	public static List<AnnotationDefinition> getAll() {
-		return annotations;
+		return annotationsList;
 	}
 
 	/**
@@ -185,12 +201,7 @@ public class AnnotationDefinitions {
 	 * @return
 	 */
 	public static AnnotationDefinition get(String annotationName) {
-		for ( AnnotationDefinition ad : annotations ) {
-			if ( ad.getName().equals(annotationName) ) {
-				return ad;
-			}
-		}
-		return null ;
+		return annotationsByName.get(annotationName);
 	}
 	
 	// Lists of annotations names for Eclipse  ( cf plugin )
@@ -215,7 +226,7 @@ public class AnnotationDefinitions {
 	 */
 	private static List<String> buildAnnotationsList(boolean withParentheses) {
 		List<String> list = new LinkedList<>();
-		for ( AnnotationDefinition ad : annotations ) {
+		for ( AnnotationDefinition ad : annotationsList ) {
 			String annotation = "@" + ad.getName() ;
 			if( withParentheses && ad.hasParam() ) {
 				annotation = annotation + "()" ;
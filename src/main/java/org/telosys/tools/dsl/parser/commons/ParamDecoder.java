@@ -0,0 +1,316 @@
+/**
+ *  Copyright (C) 2008-2017  Telosys project org. ( http://www.telosys.org/ )
+ *
+ *  Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, Version 3.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.telosys.tools.dsl.parser.commons;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.telosys.tools.dsl.commons.StringUtil;
+
+/**
+ * Reusable decoder for a given type of annotation parameter <br>
+ * Each decoder is stateless except its cache : the decoded INTEGER, DECIMAL, BOOLEAN and SIZE values  
+ * are immutable and shared by all the annotations using the same raw parameter ( e.g. '@SizeMax(20)' ) <br>
+ * STRING and LIST values are not cached (free user literals, not worth keeping for the JVM lifetime) <br>
+ * Thread-safe 
+ * 
+ * @author Laurent GUERIN
+ * @since 4.1.0
+ */
+public abstract class ParamDecoder {
+
+	/**
+	 * Maximum number of values kept in the cache of each decoder
+	 */
+	public static final int MAX_CACHED_VALUES = 2048 ;
+	
+	private static final long INVALID_INTEGER = Long.MIN_VALUE ;
+
+	public static final ParamDecoder STRING     = new StringDecoder();
+	public static final ParamDecoder INTEGER    = new IntegerDecoder();
+	public static final ParamDecoder DECIMAL    = new DecimalDecoder();
+	public static final ParamDecoder BOOLEAN    = new BooleanDecoder();
+	public static final ParamDecoder SIZE       = new SizeDecoder();
+	public static final ParamDecoder LIST       = new ListDecoder();
+	public static final ParamDecoder FK_ELEMENT = new FkElementDecoder();
+
+	private final ConcurrentHashMap<String, Object> cache ; // null if the decoded value cannot be cached
+	
+	/**
+	 * Constructor
+	 * @param cacheable true if the decoded value depends only on the raw parameter value
+	 */
+	protected ParamDecoder(boolean cacheable) {
+		super();
+		this.cache = ( cacheable ? new ConcurrentHashMap<String, Object>() : null ) ;
+	}
+
+	/**
+	 * Decodes the given raw parameter value
+	 * @param entityName the current entity name
+	 * @param rawParameterValue the raw parameter value (trimmed)
+	 * @return the decoded value (never null)
+	 * @throws ParamError if the parameter is missing or invalid
+	 */
+	public final Object decode(String entityName, String rawParameterValue) throws ParamError {
+		if (rawParameterValue == null || rawParameterValue.length() == 0) {
+			throw new ParamError("parameter required");
+		}
+		if ( cache == null ) {
+			return decodeValue(entityName, rawParameterValue);
+		}
+		Object value = cache.get(rawParameterValue);
+		if ( value == null ) {
+			value = decodeValue(entityName, rawParameterValue);
+			if ( cache.size() < MAX_CACHED_VALUES ) {
+				Object previous = cache.putIfAbsent(rawParameterValue, value);
+				if ( previous != null ) {
+					value = previous ;
+				}
+			}
+		}
+		return value ;
+	}
+	
+	/**
+	 * Returns the number of values currently in the cache
+	 * @return
+	 */
+	public int getCacheSize() {
+		return cache != null ? cache.size() : 0 ;
+	}
+
+	/**
+	 * Decodes the given raw parameter value (not null and not void)
+	 * @param entityName
+	 * @param rawParameterValue
+	 * @return
+	 * @throws ParamError
+	 */
+	protected abstract Object decodeValue(String entityName, String rawParameterValue) throws ParamError ;
+
+	//-----------------------------------------------------------------------------------------
+	// Parsing utilities working on a part of the string (no substring)
+	//-----------------------------------------------------------------------------------------
+	private static int trimStart(String s, int start, int end) {
+		int i = start ;
+		while ( i < end && s.charAt(i) <= ' ' ) {
+			i++;
+		}
+		return i ;
+	}
+	
+	private static int trimEnd(String s, int start, int end) {
+		int i = end ;
+		while ( i > start && s.charAt(i - 1) <= ' ' ) {
+			i--;
+		}
+		return i ;
+	}
+	
+	private static String part(String s, int start, int end) {
+		return ( start == 0 && end == s.length() ) ? s : s.substring(start, end) ;
+	}
+
+	/**
+	 * Parses the given part of the string as an integer (same syntax as 'Integer.parseInt')
+	 * @param s
+	 * @param start
+	 * @param end
+	 * @return the integer value or INVALID_INTEGER if not a valid integer
+	 */
+	private static long parseInteger(String s, int start, int end) {
+		int i = start ;
+		boolean negative = false ;
+		if ( i < end && ( s.charAt(i) == '-' || s.charAt(i) == '+' ) ) {
+			negative = s.charAt(i) == '-' ;
+			i++;
+		}
+		if ( i == end ) {
+			return INVALID_INTEGER ;
+		}
+		long value = 0 ;
+		for ( ; i < end ; i++ ) {
+			int digit = Character.digit(s.charAt(i), 10);
+			if ( digit < 0 ) {
+				return INVALID_INTEGER ;
+			}
+			value = value * 10 + digit ;
+			if ( value > (long) Integer.MAX_VALUE + 1 ) {
+				return INVALID_INTEGER ;
+			}
+		}
+		if ( negative ) {
+			return -value ;
+		}
+		return value > Integer.MAX_VALUE ? INVALID_INTEGER : value ;
+	}
+
+	//-----------------------------------------------------------------------------------------
+	// Decoders
+	//-----------------------------------------------------------------------------------------
+	private static class StringDecoder extends ParamDecoder {
+		private StringDecoder() {
+			super(false);
+		}
+		@Override
+		protected Object decodeValue(String entityName, String p) {
+			// remove all void chars ( blank, tab, cr, lf, ...)
+			int start = trimStart(p, 0, p.length());
+			int end = trimEnd(p, start, p.length());
+			String s = part(p, start, end);
+			// remove quotes if any
+			if ( end > start && p.charAt(start) == '"' && p.charAt(end - 1) == '"' ) {
+				return StringUtil.unquote(s);
+			} 
+			return s ;
+		}
+	}
+
+	private static class IntegerDecoder extends ParamDecoder {
+		private IntegerDecoder() {
+			super(true);
+		}
+		@Override
+		protected Object decodeValue(String entityName, String p) throws ParamError {
+			long value = parseInteger(p, 0, p.length());
+			if ( value == INVALID_INTEGER ) {
+				throw new ParamError("invalid integer parameter '" + p + "'");
+			}
+			return Integer.valueOf((int) value);
+		}
+	}
+
+	private static class DecimalDecoder extends ParamDecoder {
+		private DecimalDecoder() {
+			super(true);
+		}
+		@Override
+		protected Object decodeValue(String entityName, String p) throws ParamError {
+			try {
+				return new BigDecimal(p);
+			} catch (NumberFormatException e) {
+				throw new ParamError("invalid decimal parameter '" + p + "'");
+			}
+		}
+	}
+
+	private static class BooleanDecoder extends ParamDecoder {
+		private BooleanDecoder() {
+			super(true);
+		}
+		@Override
+		protected Object decodeValue(String entityName, String p) throws ParamError {
+			int start = trimStart(p, 0, p.length());
+			int length = trimEnd(p, start, p.length()) - start ;
+			if ( length == 4 && p.regionMatches(true, start, "TRUE", 0, 4) ) {
+				return Boolean.TRUE ;
+			}
+			else if ( length == 5 && p.regionMatches(true, start, "FALSE", 0, 5) ) {
+				return Boolean.FALSE ;
+			}
+			throw new ParamError("invalid boolean parameter '" + p + "'");
+		}
+	}
+
+	/**
+	 * Size decoder : 'n' or 'n,n' with n >= 0 (the raw value is kept as is)
+	 */
+	private static class SizeDecoder extends ParamDecoder {
+		private SizeDecoder() {
+			super(true);
+		}
+		@Override
+		protected Object decodeValue(String entityName, String p) throws ParamError {
+			int comma = p.indexOf(',');
+			if ( comma < 0 ) {
+				checkSizeInteger(p, 0, p.length());
+			}
+			else {
+				// trailing commas are ignored (as with 'String.split')
+				int end = p.length();
+				while ( end > 0 && p.charAt(end - 1) == ',' ) {
+					end--;
+				}
+				int secondComma = p.indexOf(',', comma + 1);
+				if ( comma >= end || ( secondComma >= 0 && secondComma < end ) ) {
+					throw newInvalidSizeError(p, "xx,xx expected");
+				}
+				checkSizeInteger(p, 0, comma);
+				checkSizeInteger(p, comma + 1, end);
+			}
+			return p ;
+		}
+		private void checkSizeInteger(String p, int start, int end) throws ParamError {
+			long value = parseInteger(p, start, end);
+			if ( value == INVALID_INTEGER ) {
+				throw newInvalidSizeError(p, "not a number");
+			}
+			if ( value < 0 ) {
+				throw newInvalidSizeError(p, "negative value");
+			}
+		}
+		private ParamError newInvalidSizeError(String p, String cause) {
+			return new ParamError("invalid size parameter '" + p + "' (" + cause +")");
+		}
+	}
+
+	/**
+	 * List decoder : comma separated values (each value is trimmed) <br>
+	 * Returns a new modifiable list at each call (never void : the raw value is not void)
+	 */
+	private static class ListDecoder extends ParamDecoder {
+		private ListDecoder() {
+			super(false);
+		}
+		@Override
+		protected Object decodeValue(String entityName, String p) throws ParamError {
+			List<String> list = new ArrayList<>();
+			int start = 0 ;
+			int comma ;
+			while ( ( comma = p.indexOf(',', start) ) >= 0 ) {
+				list.add(trimmedPart(p, start, comma));
+				start = comma + 1 ;
+			}
+			list.add(trimmedPart(p, start, p.length()));
+			return list;
+		}
+		private String trimmedPart(String p, int start, int end) throws ParamError {
+			int s = trimStart(p, start, end);
+			int e = trimEnd(p, s, end);
+			if ( s == e ) {
+				// blank element (eg "," or "a,,b")
+				throw new ParamError("invalid list parameter (at list 1 element expected)");
+			}
+			return part(p, s, e);
+		}
+	}
+
+	/**
+	 * FK element decoder (not cached : the default FK name depends on the entity name)
+	 */
+	private static class FkElementDecoder extends ParamDecoder {
+		private FkElementDecoder() {
+			super(false);
+		}
+		@Override
+		protected Object decodeValue(String entityName, String p) throws ParamError {
+			return new FkElementBuilder(entityName).build(p);
+		}
+	}
+}
@@ -16,14 +16,11 @@
 package org.telosys.tools.dsl.parser.commons;
 
 import java.math.BigDecimal;
-import java.util.LinkedList;
 import java.util.List;
 
-import org.telosys.tools.commons.StrUtil;
-import org.telosys.tools.dsl.commons.StringUtil;
-
 /**
  * Parameter value for Annotation or Tag with conversion methods
+ * ( v 4.1.0 : conversions delegated to the shared ParamDecoder instances )
  *  
  * @author Laurent Guerin
  *
@@ -44,103 +41,40 @@ public class ParamValue {
 		this.parameterValue = rawParameterValue;
 	}
 
-	/**
-	 * Creates a new ParamError 
-	 * @param message
-	 * @return
-	 */
-	private ParamError newError(String message) {
-		return new ParamError(message);
-	}
-	
-	private ParamError newInvalidParmError(String type) {
-		return new ParamError("invalid " + type + " parameter '" + parameterValue + "'");
-	}
-
-	private ParamError newInvalidSizeParmError(String cause) {
-		return new ParamError("invalid size parameter '" + parameterValue + "' (" + cause +")");
-		
-	}
-	
-	/**
-	 * Check if parameter value exist
-	 * @throws FieldParsingError
-	 */
-	private void checkParameterExistence() throws ParamError { 
-		if (parameterValue == null || parameterValue.length() == 0) {
-			throw newError("parameter required");
-		}
-	}
-	
 	/**
 	 * Try to convert the parameter value to Integer value
 	 * @return
-	 * @throws FieldParsingError
+	 * @throws ParamError
 	 */
 	public Integer getAsInteger() throws ParamError { 
-		checkParameterExistence();
-		
-		try {
-			return new Integer(parameterValue);
-		} catch (NumberFormatException e) {
-//			throw newError("invalid integer parameter '" + parameterValue + "'");
-			throw newInvalidParmError("integer");
-		}
+		return (Integer) ParamDecoder.INTEGER.decode(entityName, parameterValue);
 	}
 	
 	/**
 	 * Try to convert the parameter value to BigDecimal value
 	 * @return
-	 * @throws FieldParsingError
+	 * @throws ParamError
 	 */
 	public BigDecimal getAsBigDecimal() throws ParamError {
-		checkParameterExistence();
-		
-		try {
-			return new BigDecimal(parameterValue);
-		} catch (NumberFormatException e) {
-//			throw newError("invalid decimal parameter '" + parameterValue + "'");
-			throw newInvalidParmError("decimal");
-		}
+		return (BigDecimal) ParamDecoder.DECIMAL.decode(entityName, parameterValue);
 	}
 	
 	/**
 	 * Try to convert the parameter value to Boolean value
 	 * @return
-	 * @throws FieldParsingError
+	 * @throws ParamError
 	 */
 	public Boolean getAsBoolean() throws ParamError {
-		checkParameterExistence();
-		
-		if ( ! StrUtil.nullOrVoid(parameterValue) ) {
-			String v = parameterValue.trim().toUpperCase();
-			if ("TRUE".equals(v)) {
-				return Boolean.TRUE ;
-			}
-			else if ("FALSE".equals(v)) {
-				return Boolean.FALSE ;
-			}
-		}
-//		throw newError("invalid boolean parameter '" + parameterValue + "'");
-		throw newInvalidParmError("boolean");
+		return (Boolean) ParamDecoder.BOOLEAN.decode(entityName, parameterValue);
 	}
 	
 	/**
 	 * Try to convert the parameter value to String value
 	 * @return
-	 * @throws FieldParsingError
+	 * @throws ParamError
 	 */
 	public String getAsString() throws ParamError {
-		checkParameterExistence();
-		
-		// remove all void chars ( blank, tab, cr, lf, ...)
-		String s = parameterValue.trim(); 
-		// remove quotes if any
-		if (s.startsWith("\"") && s.endsWith("\"")) {
-			return StringUtil.unquote(s);
-		} else {
-			return s;
-		}
+		return (String) ParamDecoder.STRING.decode(entityName, parameterValue);
 	}
 	
 	/**
@@ -150,61 +84,21 @@ public class ParamValue {
 	 * @throws ParamError
 	 */
 	public String getAsSize() throws ParamError {
-		checkParameterExistence();
-		checkSizeParameter(parameterValue);
-		return parameterValue;
-	}
-	
-	private void checkSizeParameter(String p) throws ParamError {
-		if ( p.contains(",")) {
-			String[] parts = p.split(",");
-			if (parts.length  != 2) {
-//				throw newError("invalid size parameter '" + p + "' (xx,xx expected)");
-				throw newInvalidSizeParmError("xx,xx expected");
-			}
-			checkSizeInteger(parts[0]);
-			checkSizeInteger(parts[1]);
-		}
-		else {
-			checkSizeInteger(p);
-		}
-	}
-	
-	private void checkSizeInteger(String p) throws ParamError {
-		try {
-			Integer i = new Integer(p);
-			if ( i < 0 ) {
-//				throw newError("invalid size parameter '" + p + "' (negative value)");
-				throw newInvalidSizeParmError("negative value");
-			}
-		} catch (NumberFormatException e) {
-//			throw newError("invalid size parameter '" + p + "' (not a number)");
-			throw newInvalidSizeParmError("not a number");
-		}
+		return (String) ParamDecoder.SIZE.decode(entityName, parameterValue);
 	}
 	
 	public FkElement getAsForeignKeyElement() throws ParamError {
-		checkParameterExistence();
-		FkElementBuilder builder = new FkElementBuilder(entityName);
-		return builder.build(parameterValue);
+		return (FkElement) ParamDecoder.FK_ELEMENT.decode(entityName, parameterValue);
 	}
 	
+	/**
+	 * Returns the parameter as a new list of trimmed values (at least one value, possibly void)
+	 * @return
+	 * @throws ParamError
+	 */
+	@SuppressWarnings("unchecked")
 	public List<String> getAsList() throws ParamError {
-		checkParameterExistence();
-		return buildList(parameterValue);
-	}
-	
-	private List<String> buildList(String paramString) throws ParamError {
-		String[] elements = StrUtil.split(paramString, ',');
-		if (elements.length == 0 ) {
-			throw newError("invalid list parameter (at list 1 element expected)");
-		}
-		
-		List<String> list = new LinkedList<>();
-		for ( String s : elements ) {
-			list.add(s.trim());
-		}
-		return list;
+		return (List<String>) ParamDecoder.LIST.decode(entityName, parameterValue);
 	}
 
 }
@@ -31,6 +31,7 @@ public class DomainAnnotation {
 	
 	private final String name;
 	private final Object parameter;
+	private AnnotationDefinition annotationDefinition ; // resolved definition (v 4.1.0)
 
 	//-------------------------------------------------------------------------
 	// Constructors
@@ -46,6 +47,29 @@ public class DomainAnnotation {
 		this.parameter = null;
     }
 
+    /**
+     * Constructor for annotation without parameter based on its definition
+     * @param annotationDefinition
+     * @since 4.1.0
+     */
+    public DomainAnnotation(AnnotationDefinition annotationDefinition) {
+    	this(annotationDefinition, null);
+    }
+
+    /**
+     * Constructor for annotation based on its definition with the given parameter 
+     * (parameter type is supposed to match the definition)
+     * @param annotationDefinition
+     * @param param the parameter value (String, Integer, BigDecimal, Boolean, List or FkElement) or null if none
+     * @since 4.1.0
+     */
+    public DomainAnnotation(AnnotationDefinition annotationDefinition, Object param) {
+    	super();
+		this.name = annotationDefinition.getName();
+		this.parameter = param;
+		this.annotationDefinition = annotationDefinition;
+    }
+
     /**
      * Constructor for annotation with String parameter
      * @param name
@@ -300,12 +324,16 @@ public class DomainAnnotation {
 	 * @return
 	 */
 	public AnnotationDefinition getAnnotationDefinition() {
-    	AnnotationDefinition annotationDefinition = AnnotationDefinitions.get(this.name);
-    	if ( annotationDefinition != null ) {
-    		return annotationDefinition ;
-    	}
-    	else {
-    		throw new IllegalStateException("Unknown annotation '" + this.name + "'" );
-    	}
+		if ( this.annotationDefinition == null ) {
+			// not resolved at creation => search by name 
+	    	AnnotationDefinition ad = AnnotationDefinitions.get(this.name);
+	    	if ( ad != null ) {
+	    		this.annotationDefinition = ad ;
+	    	}
+	    	else {
+	    		throw new IllegalStateException("Unknown annotation '" + this.name + "'" );
+	    	}
+		}
+		return this.annotationDefinition ;
 	}
 }
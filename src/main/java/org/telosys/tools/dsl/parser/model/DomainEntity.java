@@ -15,14 +15,15 @@
  */
 package org.telosys.tools.dsl.parser.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrorCode;
 
 public class DomainEntity {
 
@@ -41,6 +42,17 @@ public class DomainEntity {
      */
     private final Map<String, DomainField> fieldsMap;
     
+    /**
+     * Lists of fields in the original order (all fields, attributes and links) 
+     * with their unmodifiable views (v 4.1.0)
+     */
+    private final List<DomainField> fieldsList = new ArrayList<>();
+    private final List<DomainField> attributeFieldsList = new ArrayList<>();
+    private final List<DomainField> linkFieldsList = new ArrayList<>();
+    private final List<DomainField> fieldsView = Collections.unmodifiableList(fieldsList);
+    private final List<DomainField> attributeFieldsView = Collections.unmodifiableList(attributeFieldsList);
+    private final List<DomainField> linkFieldsView = Collections.unmodifiableList(linkFieldsList);
+    
     /**
      * Constructor
      * @param name
@@ -110,19 +122,44 @@ public class DomainEntity {
     public void addField(DomainField field) throws DslModelError {
     	if ( this.hasField(field)) {
     		throw new DslModelError(this.name, field.getLineNumber(), field.getName(), 
-    				"Duplicate field '" + field.getName() + "'");
+    				DslModelErrorCode.DUPLICATED_FIELD, field.getName());
     	}
     	else {
             fieldsMap.put(field.getName(), field);
+            fieldsList.add(field);
+            if ( field.isAttribute() ) {
+            	attributeFieldsList.add(field);
+            }
+            else if ( field.isLink() ) {
+            	linkFieldsList.add(field);
+            }
     	}
     }
 
     /**
-     * Returns a list containing all the fields
+     * Returns all the fields in their original order (unmodifiable view, no copy)
      * @return
      */
     public List<DomainField> getFields() {
-        return new LinkedList<>(fieldsMap.values());
+        return fieldsView;
+    }
+
+    /**
+     * Returns the fields with a neutral type (attributes) in their original order (unmodifiable view)
+     * @return
+     * @since 4.1.0
+     */
+    public List<DomainField> getAttributeFields() {
+        return attributeFieldsView;
+    }
+
+    /**
+     * Returns the fields referencing an entity (links) in their original order (unmodifiable view)
+     * @return
+     * @since 4.1.0
+     */
+    public List<DomainField> getLinkFields() {
+        return linkFieldsView;
     }
 
     /**
@@ -151,7 +188,7 @@ public class DomainEntity {
      * @return
      */
     public final List<String> getAnnotationNames() {
-        List<String> names = new LinkedList<>(annotations.keySet());
+        List<String> names = new ArrayList<>(annotations.keySet());
         Collections.sort(names);
         return names;
     }
@@ -168,7 +205,7 @@ public class DomainEntity {
     // TAGS
     //------------------------------------------------------------------------
     public final List<String> getTagNames() {
-        List<String> names = new LinkedList<>(tags.keySet());
+        List<String> names = new ArrayList<>(tags.keySet());
         Collections.sort(names);
         return names;
     }
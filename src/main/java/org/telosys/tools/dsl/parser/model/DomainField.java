@@ -15,6 +15,7 @@
  */
 package org.telosys.tools.dsl.parser.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -32,7 +33,7 @@ public class DomainField {
     private final Map<String, DomainAnnotation> annotations = new HashMap<>();
     private final Map<String, DomainTag> tags = new HashMap<>();
 //    private final List<DomainFK> fkDeclarations = new LinkedList<>() ; // v 3.3.0
-    private final List<FkElement> fkElements = new LinkedList<>() ; // v 3.4.0
+    private final List<FkElement> fkElements = new ArrayList<>() ; // v 3.4.0
 	
     /**
      * Constructor with initial data
@@ -150,7 +151,7 @@ public class DomainField {
      * @return
      */
     public final List<String> getAnnotationNames() {
-        List<String> names = new LinkedList<>(annotations.keySet());
+        List<String> names = new ArrayList<>(annotations.keySet());
         Collections.sort(names);
         return names;
     }
@@ -176,7 +177,7 @@ public class DomainField {
     // TAGS
     //------------------------------------------------------------------------
     public final List<String> getTagNames() {
-        List<String> names = new LinkedList<>(tags.keySet());
+        List<String> names = new ArrayList<>(tags.keySet());
         Collections.sort(names);
         return names;
     }
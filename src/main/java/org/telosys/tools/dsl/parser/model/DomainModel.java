@@ -15,14 +15,15 @@
  */
 package org.telosys.tools.dsl.parser.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.telosys.tools.dsl.commons.ModelInfo;
+import org.telosys.tools.dsl.commons.SymbolTable;
 
 /**
  * Root class for a Domain Model built after DSL files parsing
@@ -53,6 +54,11 @@ public class DomainModel {
      */
     private final Map<String, DomainEntity> entities = new HashMap<>();
 
+    /**
+     * Canonical instances of the identifiers used in the model (v 4.1.0)
+     */
+    private final SymbolTable symbolTable ;
+
 //    /**
 //     * Constructor
 //     */
@@ -84,9 +90,30 @@ public class DomainModel {
 //    }
 
     public DomainModel(String modelName, ModelInfo modelInfo) {
+    	this(modelName, modelInfo, new SymbolTable());
+    }
+
+    /**
+     * Constructor with a given symbol table (e.g. shared with a previous version of the model)
+     * @param modelName
+     * @param modelInfo
+     * @param symbolTable
+     * @since 4.1.0
+     */
+    public DomainModel(String modelName, ModelInfo modelInfo, SymbolTable symbolTable) {
     	super();
     	this.modelName = modelName;
         this.modelInfo = modelInfo;
+        this.symbolTable = symbolTable;
+    }
+
+    /**
+     * Returns the symbol table holding the identifiers used in the model 
+     * @return
+     * @since 4.1.0
+     */
+    public SymbolTable getSymbolTable() {
+    	return this.symbolTable;
     }
 
     public ModelInfo getModelInfo() {
@@ -193,7 +220,7 @@ public class DomainModel {
      * @return
      */
     public final List<String> getEntityNames() {
-        List<String> names = new LinkedList<>(entities.keySet());
+        List<String> names = new ArrayList<>(entities.keySet());
         Collections.sort(names);
         return names;
     }
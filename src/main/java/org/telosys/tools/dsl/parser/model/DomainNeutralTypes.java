@@ -15,9 +15,9 @@
  */
 package org.telosys.tools.dsl.parser.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -78,7 +78,7 @@ public final class DomainNeutralTypes {
     }
 
     public static final List<String> getNames() {
-        return new LinkedList<>(NEUTRAL_TYPES.keySet());
+        return new ArrayList<>(NEUTRAL_TYPES.keySet());
     }
 
     public static final List<String> getSortedNames() {
@@ -0,0 +1,70 @@
+package org.telosys.tools.dsl;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelErrorTest {
+
+	@Test
+	public void testErrorWithMessage() {
+		DslModelError e = new DslModelError("Car", 12, "name", "my message");
+		assertEquals(DslModelErrorCode.OTHER, e.getErrorCode());
+		assertEquals("my message", e.getErrorMessage());
+		assertEquals("my message", e.getErrorArguments()[0]);
+		assertEquals("[Car.name](12) : my message", e.getReportMessage());
+	}
+
+	@Test
+	public void testErrorWithCode() {
+		DslModelError e = new DslModelError("Car", 12, "name", DslModelErrorCode.INVALID_TYPE, "foo");
+		assertEquals(DslModelErrorCode.INVALID_TYPE, e.getErrorCode());
+		assertEquals("foo", e.getErrorArguments()[0]);
+		assertEquals("invalid type 'foo'", e.getErrorMessage());
+		assertEquals("[Car.name](12) : invalid type 'foo'", e.getReportMessage());
+		assertEquals(e.getReportMessage(), e.getMessage());
+	}
+
+	@Test
+	public void testAnnotationError() {
+		DslModelError e = new DslModelError("Car", 0, "name", DslModelErrorCode.ANNOTATION_ERROR, "Size", "invalid value");
+		assertEquals("[Car.name] : @Size : invalid value", e.getReportMessage());
+		// no stack trace for a collected error with a code 
+		assertEquals(0, e.getStackTrace().length);
+		// stack trace kept for a legacy error with a message 
+		assertTrue(new DslModelError("error").getStackTrace().length > 0);
+	}
+
+	@Test
+	public void testErrorWithCodeWithoutArgument() {
+		DslModelError e = new DslModelError("Car", 0, "name", DslModelErrorCode.MULTIPLE_OPENING_BRACES);
+		assertEquals("multiple '{' ", e.getErrorMessage());
+		assertEquals(0, e.getErrorArguments().length);
+		e = new DslModelError("Car", 3, DslModelErrorCode.UNEXPECTED_CHARACTER_AFTER_ELEMENT, '"', "id");
+		assertEquals("[Car](3) : Unexpected character [\"] after element [id]", e.getReportMessage());
+	}
+
+	@Test
+	public void testFormatMessage() {
+		assertEquals("unexpected element 'x' out of {...}", 
+				DslModelErrorCode.UNEXPECTED_ELEMENT_OUT_OF_BRACES.formatMessage(new Object[] {"x"}));
+		assertEquals("'@Id' : ", DslModelErrorCode.INVALID_PARAMETER.formatMessage(new Object[] {"@Id"}));
+	}
+
+	@Test
+	public void testParsingErrorsCodes() {
+		ParsingResult result = new ParserV2().parseModel("src/test/resources/model_test/invalid/FourEntitiesModel");
+		for ( DslModelError e : result.getErrors().getErrors() ) {
+			assertNotEquals(DslModelErrorCode.OTHER, e.getErrorCode());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullCode() {
+		new DslModelError("Car", 0, "name", (DslModelErrorCode) null);
+	}
+}
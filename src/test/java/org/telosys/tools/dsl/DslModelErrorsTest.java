@@ -0,0 +1,139 @@
+package org.telosys.tools.dsl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelErrorsTest {
+
+	private static final String INVALID_MODEL = "src/test/resources/model_test/invalid/FourEntitiesModel" ;
+	
+	@Test
+	public void testNoLimit() {
+		DslModelErrors errors = new DslModelErrors();
+		assertTrue(errors.isEmpty());
+		for ( int i = 1 ; i <= 100 ; i++ ) {
+			errors.addError(new DslModelError("error " + i));
+		}
+		assertEquals(100, errors.getNumberOfErrors());
+		assertFalse(errors.isLimitReached());
+		assertEquals("error 1", errors.getErrors().get(0).getMessage());
+		assertEquals("error 100", errors.getErrors().get(99).getMessage());
+	}
+
+	@Test
+	public void testLimit() {
+		DslModelErrors errors = new DslModelErrors(3);
+		errors.addError(new DslModelError("error 1"));
+		errors.addError(new DslModelError("error 2"));
+		assertFalse(errors.isLimitReached());
+		errors.addError(new DslModelError("error 3"));
+		assertTrue(errors.isLimitReached());
+		errors.addError(new DslModelError("error 4"));
+		assertEquals(3, errors.getNumberOfErrors());
+		assertEquals(1, errors.getNumberOfIgnoredErrors());
+		assertEquals("error 3", errors.getErrors().get(2).getMessage());
+	}
+
+	@Test
+	public void testAddErrorsWithLimit() {
+		DslModelErrors entityErrors = new DslModelErrors();
+		for ( int i = 1 ; i <= 5 ; i++ ) {
+			entityErrors.addError(new DslModelError("error " + i));
+		}
+		DslModelErrors errors = new DslModelErrors(2);
+		errors.addErrors(entityErrors);
+		assertEquals(2, errors.getNumberOfErrors());
+		assertEquals(3, errors.getNumberOfIgnoredErrors());
+		assertEquals("error 1", errors.getErrors().get(0).getMessage());
+		assertEquals("error 2", errors.getErrors().get(1).getMessage());
+	}
+
+	@Test
+	public void testErrorsCopy() {
+		DslModelErrors errors = new DslModelErrors();
+		assertTrue(errors.getErrors().isEmpty());
+		errors.addError(new DslModelError("error 1"));
+		List<DslModelError> list = errors.getErrors();
+		errors.addError(new DslModelError("error 2"));
+		assertEquals(1, list.size());
+		assertEquals(2, errors.getErrors().size());
+		// mutable copy 
+		list.clear();
+		assertEquals(2, errors.getErrors().size());
+		assertEquals(2, errors.getNumberOfErrors());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLimit() {
+		new DslModelErrors(-1);
+	}
+
+	@Test
+	public void testConcurrentProducers() throws Exception {
+		final DslModelErrors errors = new DslModelErrors(5000);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for ( int t = 0 ; t < 8 ; t++ ) {
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() {
+						for ( int i = 0 ; i < 1000 ; i++ ) {
+							errors.addError(new DslModelError("error " + i));
+						}
+						return null;
+					}
+				}));
+			}
+			for ( Future<Void> f : futures ) {
+				f.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(5000, errors.getNumberOfErrors());
+		assertEquals(5000, errors.getErrors().size());
+		assertEquals(3000, errors.getNumberOfIgnoredErrors());
+		assertTrue(errors.isLimitReached());
+	}
+
+	@Test
+	public void testParserFailFast() {
+		ParsingResult all = new ParserV2().parseModel(INVALID_MODEL);
+		assertTrue(all.getErrors().getNumberOfErrors() > 1);
+		
+		ParserV2 parser = new ParserV2();
+		parser.setMaxErrors(1);
+		ParsingResult result = parser.parseModel(INVALID_MODEL);
+		assertEquals(1, result.getErrors().getNumberOfErrors());
+		assertEquals(all.getErrors().getErrors().get(0).getReportMessage(), 
+				result.getErrors().getErrors().get(0).getReportMessage());
+		
+		parser.setParallelism(4);
+		result = parser.parseModel(INVALID_MODEL);
+		assertEquals(1, result.getErrors().getNumberOfErrors());
+		assertEquals(all.getErrors().getErrors().get(0).getReportMessage(), 
+				result.getErrors().getErrors().get(0).getReportMessage());
+	}
+
+	@Test
+	public void testModelManagerFailFast() {
+		DslModelManager dslModelManager = new DslModelManager();
+		dslModelManager.setMaxErrors(1);
+		assertNull(dslModelManager.loadModel(INVALID_MODEL));
+		assertEquals(1, dslModelManager.getErrors().getNumberOfErrors());
+	}
+}
@@ -0,0 +1,102 @@
+package org.telosys.tools.dsl;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.telosys.tools.generic.model.Model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelLoadingListenerTest {
+
+	private static class RecordingListener extends DslModelLoadingAdapter {
+		final Map<DslModelLoadingStage, Integer> stages = new HashMap<>();
+		final Map<DslModelLoadingStage, Integer> errors = new HashMap<>();
+		final Map<String, Integer> annotations = new HashMap<>();
+		int entities = 0 ;
+		int fields = 0 ;
+		long bytes = 0 ;
+		
+		private void increment(Map<String, Integer> map, String key, int n) {
+			Integer count = map.get(key);
+			map.put(key, count != null ? count + n : n);
+		}
+		private void increment(Map<DslModelLoadingStage, Integer> map, DslModelLoadingStage key, int n) {
+			Integer count = map.get(key);
+			map.put(key, count != null ? count + n : n);
+		}
+		private int count(DslModelLoadingStage stage) {
+			return stages.containsKey(stage) ? stages.get(stage) : 0 ;
+		}
+		
+		@Override
+		public synchronized void stageCompleted(DslModelLoadingStage stage, String entityName, long durationNanos) {
+			assertTrue(durationNanos >= 0);
+			increment(stages, stage, 1);
+		}
+		@Override
+		public synchronized void entityFileRead(String entityName, long numberOfBytes) {
+			bytes += numberOfBytes ;
+		}
+		@Override
+		public synchronized void entityParsed(String entityName, int numberOfElements, int numberOfFields) {
+			assertTrue(numberOfElements > 0);
+			entities++;
+			fields += numberOfFields ;
+		}
+		@Override
+		public synchronized void annotationApplied(String annotationName) {
+			increment(annotations, annotationName, 1);
+		}
+		@Override
+		public synchronized void errorsProduced(DslModelLoadingStage stage, String entityName, int numberOfErrors) {
+			increment(errors, stage, numberOfErrors);
+		}
+	}
+	
+	@Test
+	public void testValidModel() {
+		RecordingListener listener = new RecordingListener();
+		DslModelManager dslModelManager = new DslModelManager(listener);
+		Model model = dslModelManager.loadModel(new File("src/test/resources/model_test/valid/FourEntitiesModel"));
+		assertNotNull(model);
+		
+		assertEquals(1, listener.count(DslModelLoadingStage.PARSING));
+		assertEquals(1, listener.count(DslModelLoadingStage.FILES_DISCOVERY));
+		assertEquals(4, listener.count(DslModelLoadingStage.LEXING));
+		assertEquals(4, listener.count(DslModelLoadingStage.ELEMENTS_PROCESSING));
+		assertEquals(1, listener.count(DslModelLoadingStage.FK_CHECKING));
+		assertEquals(1, listener.count(DslModelLoadingStage.CONVERSION));
+		assertEquals(1, listener.count(DslModelLoadingStage.CONVERSION_STEP1_ENTITIES));
+		assertEquals(1, listener.count(DslModelLoadingStage.CONVERSION_STEP5_IMPLICIT_FK));
+		assertEquals(4, listener.entities);
+		assertTrue(listener.fields > 4);
+		assertTrue(listener.bytes > 0);
+		assertTrue(listener.annotations.get("Id") >= 4);
+		assertTrue(listener.errors.isEmpty());
+	}
+
+	@Test
+	public void testInvalidModel() {
+		RecordingListener listener = new RecordingListener();
+		DslModelManager dslModelManager = new DslModelManager(listener);
+		Model model = dslModelManager.loadModel(new File("src/test/resources/model_test/invalid/FourEntitiesModel"));
+		assertNull(model);
+		int numberOfErrors = 0 ;
+		for ( Integer n : listener.errors.values() ) {
+			numberOfErrors += n ;
+		}
+		assertEquals(dslModelManager.getErrors().getNumberOfErrors(), numberOfErrors);
+		assertEquals(0, listener.count(DslModelLoadingStage.CONVERSION));
+	}
+
+	@Test
+	public void testNoListener() {
+		assertNotNull(new DslModelManager(null).loadModel(new File("src/test/resources/model_test/valid/FourEntitiesModel")));
+	}
+}
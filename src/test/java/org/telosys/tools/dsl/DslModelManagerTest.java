@@ -1,5 +1,7 @@
 package org.telosys.tools.dsl;
 
+import java.io.File;
+
 import org.junit.Test;
 import org.telosys.tools.generic.model.Attribute;
 import org.telosys.tools.generic.model.Entity;
@@ -298,4 +300,20 @@ public class DslModelManagerTest {
         // country is a OneToMay links => not in the attributes 
     }    
     
+    @Test
+    public void testLoadModelIncrementally() {
+        File modelFolder = new File("src/test/resources/model_test/valid/FourEntitiesModel");
+        DslModelManager dslModelManager = new DslModelManager();
+        Model model1 = dslModelManager.loadModelIncrementally(modelFolder);
+        assertNotNull(model1);
+        assertTrue(dslModelManager.getErrors().isEmpty());
+        assertEquals(4, model1.getEntities().size() );
+        // second loading without change 
+        Model model2 = dslModelManager.loadModelIncrementally(modelFolder);
+        assertNotNull(model2);
+        assertTrue(dslModelManager.getErrors().isEmpty());
+        assertEquals(4, model2.getEntities().size() );
+        assertNotNull(model2.getEntityByClassName("Person"));
+    }
+    
 }
@@ -0,0 +1,36 @@
+package org.telosys.tools.dsl.commons;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SymbolTableTest {
+
+	@Test
+	public void testIntern() {
+		SymbolTable symbolTable = new SymbolTable();
+		String s1 = new String("firstName");
+		String s2 = new String("firstName");
+		assertNotSame(s1, s2);
+		assertSame(s1, symbolTable.intern(s1));
+		assertSame(s1, symbolTable.intern(s2));
+		assertEquals(1, symbolTable.size());
+		assertSame("lastName", symbolTable.intern("lastName"));
+		assertEquals(2, symbolTable.size());
+		assertNull(symbolTable.intern(null));
+		assertEquals(2, symbolTable.size());
+	}
+
+	@Test
+	public void testNone() {
+		String s1 = new String("firstName");
+		String s2 = new String("firstName");
+		assertSame(s1, SymbolTable.NONE.intern(s1));
+		assertSame(s2, SymbolTable.NONE.intern(s2));
+		assertNull(SymbolTable.NONE.intern(null));
+		assertEquals(0, SymbolTable.NONE.size());
+	}
+}
@@ -0,0 +1,97 @@
+package org.telosys.tools.dsl.converter;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.parser.ParserV2;
+import org.telosys.tools.dsl.parser.ParsingResult;
+import org.telosys.tools.generic.model.Attribute;
+import org.telosys.tools.generic.model.Entity;
+import org.telosys.tools.generic.model.ForeignKey;
+import org.telosys.tools.generic.model.Link;
+import org.telosys.tools.generic.model.Model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ModelConverterParallelTest {
+
+	private static final String[] MODELS = { 
+			"src/test/resources/model_test/valid/PeopleModel", 
+			"src/test/resources/model_test/valid/FourEntitiesModel",
+			"src/test/resources/model_test/valid/SubGroupModel",
+			"src/test/resources/model_test/invalid/FourEntitiesModel" };
+	
+	private String describe(Model model) {
+		StringBuilder sb = new StringBuilder();
+		for ( Entity entity : model.getEntities() ) {
+			DslModelEntity e = (DslModelEntity) entity;
+			sb.append(e.getClassName()).append(" ").append(e.getDatabaseTable()).append("\n");
+			for ( Attribute a : e.getAttributes() ) {
+				sb.append("  attribute ").append(a.getName()).append(" : ").append(a.getNeutralType())
+					.append(" key=").append(a.isKeyElement()).append(" fk=").append(a.isFK())
+					.append(" ref=").append(a.getReferencedEntityClassName()).append("\n");
+			}
+			for ( Link l : e.getLinks() ) {
+				sb.append("  link ").append(l.getFieldName()).append(" : ").append(l.getReferencedEntityName())
+					.append(" ").append(l.getCardinality()).append(" fk=").append(l.getForeignKeyName())
+					.append(" ").append(l.getAttributes() != null ? l.getAttributes().size() : 0).append("\n");
+			}
+			for ( ForeignKey fk : e.getForeignKeys() ) {
+				sb.append("  fk ").append(fk.getName()).append(" -> ").append(fk.getReferencedEntityName())
+					.append(" explicit=").append(fk.isExplicit()).append("\n");
+			}
+		}
+		// implicit FK names are numbered with a global counter 
+		return sb.toString().replaceAll("FK_IMPLICIT[0-9]+_", "FK_IMPLICIT_");
+	}
+	
+	private String convert(ParsingResult parsingResult, ModelConverter converter, DslModelErrors errors) {
+		Model model = converter.convertModel(parsingResult.getModel());
+		return describe(model) + errors.toString();
+	}
+	
+	@Test
+	public void testParallelConversion() {
+		for ( String modelFolder : MODELS ) {
+			ParsingResult parsingResult = new ParserV2().parseModel(modelFolder);
+			
+			DslModelErrors errors1 = new DslModelErrors();
+			String expected = convert(parsingResult, new ModelConverter(errors1), errors1);
+			assertFalse(expected.isEmpty());
+			
+			DslModelErrors errors2 = new DslModelErrors();
+			ModelConverter converter = new ModelConverter(errors2);
+			converter.setParallelism(4);
+			assertEquals(expected, convert(parsingResult, converter, errors2));
+			assertEquals(errors1.getNumberOfErrors(), errors2.getNumberOfErrors());
+		}
+	}
+
+	@Test
+	public void testParallelConversionWithPool() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			for ( String modelFolder : MODELS ) {
+				ParsingResult parsingResult = new ParserV2().parseModel(modelFolder);
+				DslModelErrors errors1 = new DslModelErrors();
+				String expected = convert(parsingResult, new ModelConverter(errors1), errors1);
+				DslModelErrors errors2 = new DslModelErrors();
+				ModelConverter converter = new ModelConverter(errors2);
+				converter.setForkJoinPool(pool);
+				assertEquals(expected, convert(parsingResult, converter, errors2));
+			}
+			// pool still usable after the conversions
+			assertFalse(pool.isShutdown());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidParallelism() {
+		new ModelConverter(new DslModelErrors()).setParallelism(0);
+	}
+}
@@ -0,0 +1,125 @@
+package org.telosys.tools.dsl.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.telosys.tools.generic.model.Attribute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelEntityTest {
+
+	private DslModelAttribute buildAttribute(String name, boolean id) {
+		DslModelAttribute attribute = new DslModelAttribute(name, "string");
+		attribute.setKeyElement(id);
+		return attribute;
+	}
+
+	@Test
+	public void testGetAttributeByName() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelAttribute id = buildAttribute("id", true);
+		DslModelAttribute name = buildAttribute("name", false);
+		entity.addAttribute(id);
+		assertSame(id, entity.getAttributeByName("id"));
+		assertNull(entity.getAttributeByName("name"));
+		entity.addAttribute(name);
+		assertSame(name, entity.getAttributeByName("name"));
+		assertNull(entity.getAttributeByName("foo"));
+	}
+
+	@Test
+	public void testReplaceAttribute() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelAttribute id = buildAttribute("id", true);
+		entity.addAttribute(id);
+		entity.addAttribute(buildAttribute("code", false));
+		assertSame(id, entity.getAttributeByName("id"));
+		assertEquals(1, entity.getIdCount());
+
+		DslModelAttribute newId = buildAttribute("id", false);
+		assertSame(id, entity.replaceAttribute("id", newId));
+		assertSame(newId, entity.getAttributeByName("id"));
+		assertEquals(0, entity.getIdCount());
+		assertFalse(entity.hasId());
+	}
+
+	@Test
+	public void testSetAttributes() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		entity.addAttribute(buildAttribute("id", true));
+		assertTrue(entity.hasId());
+
+		List<Attribute> attributes = new ArrayList<>();
+		DslModelAttribute id1 = buildAttribute("id1", true);
+		DslModelAttribute id2 = buildAttribute("id2", true);
+		attributes.add(id1);
+		attributes.add(id2);
+		attributes.add(buildAttribute("name", false));
+		entity.setAttributes(attributes);
+		assertNull(entity.getAttributeByName("id"));
+		assertSame(id2, entity.getAttributeByName("id2"));
+		assertEquals(2, entity.getIdCount());
+		assertTrue(entity.hasCompositeId());
+		assertSame(id1, entity.getKeyAttributes().get(0));
+		assertSame(id2, entity.getKeyAttributes().get(1));
+		// list copied
+		attributes.clear();
+		assertEquals(3, entity.getAttributes().size());
+	}
+
+	@Test
+	public void testKeyAttributes() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		assertFalse(entity.hasId());
+		assertEquals(0, entity.getKeyAttributes().size());
+		entity.addAttribute(buildAttribute("id1", true));
+		DslModelAttribute name = buildAttribute("name", false);
+		entity.addAttribute(name);
+		assertEquals(1, entity.getKeyAttributes().size());
+		entity.addAttribute(buildAttribute("id2", true));
+		assertEquals(2, entity.getKeyAttributes().size());
+		assertTrue(entity.hasCompositeId());
+		// key element flag changed after the attribute has been added
+		name.setKeyElement(true);
+		assertEquals(3, entity.getIdCount());
+		assertSame(name, entity.getKeyAttributes().get(1));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAttributesUnmodifiable() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		entity.addAttribute(buildAttribute("id", true));
+		entity.getAttributes().set(0, buildAttribute("id2", true));
+	}
+
+	@Test
+	public void testGetLinkByFieldName() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		DslModelLink driver = new DslModelLink("driver");
+		entity.addLink(driver);
+		assertSame(driver, entity.getLinkByFieldName("driver"));
+		assertNull(entity.getLinkByFieldName("owner"));
+		DslModelLink owner = new DslModelLink("owner");
+		entity.addLink(owner);
+		assertSame(owner, entity.getLinkByFieldName("owner"));
+		// first link if duplicated name
+		entity.addLink(new DslModelLink("owner"));
+		assertSame(owner, entity.getLinkByFieldName("owner"));
+	}
+
+	@Test
+	public void testGetForeignKeyByName() {
+		DslModelEntity entity = new DslModelEntity("Car");
+		assertNull(entity.getForeignKeyByName("FK_CAR_DRIVER"));
+		DslModelForeignKey fk = new DslModelForeignKey("FK_CAR_DRIVER", "Car", "Driver");
+		entity.addForeignKey(fk);
+		assertSame(fk, entity.getForeignKeyByName("FK_CAR_DRIVER"));
+		assertNull(entity.getForeignKeyByName("FK_FOO"));
+	}
+}
@@ -0,0 +1,113 @@
+package org.telosys.tools.dsl.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DslModelTest {
+
+	private DslModelEntity buildEntity(String className, String tableName) {
+		DslModelEntity entity = new DslModelEntity(className);
+		entity.setDatabaseTable(tableName);
+		return entity;
+	}
+
+	@Test
+	public void testGetEntityByClassName() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "CAR");
+		DslModelEntity driver = buildEntity("Driver", "DRIVER");
+		model.addEntity(car);
+		model.addEntity(driver);
+		assertEquals(2, model.getEntities().size());
+		assertSame(car, model.getEntityByClassName("Car"));
+		assertSame(driver, model.getEntityByClassName("Driver"));
+		assertNull(model.getEntityByClassName("Foo"));
+	}
+
+	@Test
+	public void testGetEntityByTableName() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "CAR");
+		DslModelEntity driver = buildEntity("Driver", "DRIVER");
+		model.addEntity(car);
+		model.addEntity(driver);
+		assertSame(car, model.getEntityByTableName("CAR"));
+		assertSame(driver, model.getEntityByTableName("DRIVER"));
+		assertNull(model.getEntityByTableName("FOO"));
+	}
+
+	@Test
+	public void testTableNameChangedAfterAdd() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "CAR");
+		model.addEntity(car);
+		assertSame(car, model.getEntityByTableName("CAR"));
+		car.setDatabaseTable("T_CAR");
+		model.reindexEntities();
+		assertNull(model.getEntityByTableName("CAR"));
+		assertSame(car, model.getEntityByTableName("T_CAR"));
+	}
+
+	@Test
+	public void testEntitiesListModified() {
+		DslModel model = new DslModel("mymodel");
+		model.addEntity(buildEntity("Car", "CAR"));
+		DslModelEntity driver = buildEntity("Driver", "DRIVER");
+		model.getEntities().set(0, driver);
+		assertNull(model.getEntityByClassName("Driver")); // not yet indexed
+		model.reindexEntities();
+		assertSame(driver, model.getEntityByClassName("Driver"));
+		assertSame(driver, model.getEntityByTableName("DRIVER"));
+		assertNull(model.getEntityByClassName("Car"));
+	}
+
+	@Test
+	public void testRemoveEntity() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "CAR");
+		model.addEntity(car);
+		DslModelEntity driver = buildEntity("Driver", "DRIVER");
+		model.addEntity(driver);
+		assertSame(driver, model.getEntityByClassName("Driver"));
+		assertTrue(model.removeEntity(car));
+		assertFalse(model.removeEntity(car));
+		assertEquals(1, model.getEntities().size());
+		assertNull(model.getEntityByClassName("Car"));
+		assertNull(model.getEntityByTableName("CAR"));
+		// add after remove
+		DslModelEntity bus = buildEntity("Bus", "BUS");
+		model.addEntity(bus);
+		assertSame(bus, model.getEntityByClassName("Bus"));
+		assertSame(driver, model.getEntityByTableName("DRIVER"));
+	}
+
+	@Test
+	public void testDuplicatedNamesAndSort() {
+		DslModel model = new DslModel("mymodel");
+		DslModelEntity car = buildEntity("Car", "VEHICLE");
+		DslModelEntity bus = buildEntity("Bus", "VEHICLE");
+		model.addEntity(car);
+		model.addEntity(bus);
+		// first entity in the list
+		assertSame(car, model.getEntityByTableName("VEHICLE"));
+		model.sortEntitiesByClassName();
+		assertSame(bus, model.getEntities().get(0));
+		assertSame(bus, model.getEntityByTableName("VEHICLE"));
+		assertSame(car, model.getEntityByClassName("Car"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetEntityByClassNameNull() {
+		new DslModel("mymodel").getEntityByClassName(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetEntityByTableNameNull() {
+		new DslModel("mymodel").getEntityByTableName(null);
+	}
+}
@@ -0,0 +1,156 @@
+package org.telosys.tools.dsl.model.dbmodel;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.telosys.tools.commons.TelosysToolsException;
+import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinition;
+import org.telosys.tools.generic.model.ForeignKey;
+import org.telosys.tools.generic.model.ForeignKeyAttribute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class DatabaseTablesBatchReaderTest {
+
+	private Connection connection ;
+
+	@Before
+	public void openDatabase() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:batchreader");
+		try ( Statement statement = connection.createStatement() ) {
+			statement.execute("CREATE TABLE AUTHOR ( ID INT PRIMARY KEY, NAME VARCHAR(40) )");
+			statement.execute("CREATE TABLE BOOK ( CODE VARCHAR(10), EDITION INT, TITLE VARCHAR(80), AUTHOR_ID INT, "
+					+ "PRIMARY KEY (CODE, EDITION), "
+					+ "CONSTRAINT FK_BOOK_AUTHOR FOREIGN KEY (AUTHOR_ID) REFERENCES AUTHOR(ID) )");
+			statement.execute("CREATE TABLE BOOK_AUTHOR ( BOOK_CODE VARCHAR(10), BOOK_EDITION INT, AUTHOR_ID INT, "
+					+ "PRIMARY KEY (BOOK_CODE, BOOK_EDITION, AUTHOR_ID), "
+					+ "CONSTRAINT FK_BA_BOOK FOREIGN KEY (BOOK_CODE, BOOK_EDITION) REFERENCES BOOK(CODE, EDITION), "
+					+ "CONSTRAINT FK_BA_AUTHOR FOREIGN KEY (AUTHOR_ID) REFERENCES AUTHOR(ID) )");
+		}
+	}
+
+	@After
+	public void closeDatabase() throws SQLException {
+		try ( Statement statement = connection.createStatement() ) {
+			statement.execute("DROP ALL OBJECTS");
+		}
+		connection.close();
+	}
+
+	private String entityName(String tableName) {
+		return NameConverter.tableNameToEntityName(tableName);
+	}
+
+	private String attributeName(String columnName) {
+		return NameConverter.columnNameToAttributeName(columnName);
+	}
+
+	private Map<String, DbEntitySummary> readAllSummaries(DatabaseTablesBatchReader reader) throws TelosysToolsException {
+		Map<String, DbEntitySummary> summaries = new HashMap<>();
+		for ( int batchIndex = 0 ; batchIndex < reader.getNumberOfBatches() ; batchIndex++ ) {
+			for ( DbEntitySummary summary : reader.readBatchSummaries(batchIndex) ) {
+				summaries.put(summary.getClassName(), summary);
+			}
+		}
+		return summaries;
+	}
+
+	@Test
+	public void testBatches() throws TelosysToolsException {
+		DatabaseTablesBatchReader reader = new DatabaseTablesBatchReader(connection, new DatabaseDefinition(), "%", 2);
+		List<String> names = reader.getTablesNames();
+		assertTrue(names.containsAll(Arrays.asList("AUTHOR", "BOOK", "BOOK_AUTHOR")));
+		assertEquals(( names.size() + 1 ) / 2, reader.getNumberOfBatches());
+		List<String> summarized = new ArrayList<>();
+		for ( int batchIndex = 0 ; batchIndex < reader.getNumberOfBatches() ; batchIndex++ ) {
+			List<DbEntitySummary> summaries = reader.readBatchSummaries(batchIndex);
+			assertTrue(summaries.size() <= 2);
+			for ( DbEntitySummary summary : summaries ) {
+				summarized.add(summary.getClassName());
+			}
+		}
+		assertEquals(names.size(), summarized.size());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidBatchIndex() throws TelosysToolsException {
+		DatabaseTablesBatchReader reader = new DatabaseTablesBatchReader(connection, new DatabaseDefinition(), "%", 2);
+		reader.readBatchSummaries(reader.getNumberOfBatches());
+	}
+
+	@Test
+	public void testSummaries() throws TelosysToolsException {
+		DatabaseTablesBatchReader reader = new DatabaseTablesBatchReader(connection, new DatabaseDefinition(), "%", 2);
+		Map<String, DbEntitySummary> summaries = readAllSummaries(reader);
+
+		DbEntitySummary author = summaries.get(entityName("AUTHOR"));
+		assertNotNull(author);
+		assertFalse(author.isJoinEntity());
+		assertTrue(author.hasAttribute(attributeName("ID")));
+		assertTrue(author.hasAttribute(attributeName("NAME")));
+		assertEquals(0, author.getForeignKeys().size());
+
+		DbEntitySummary book = summaries.get(entityName("BOOK"));
+		assertNotNull(book);
+		assertFalse(book.isJoinEntity());
+		assertTrue(book.hasAttribute(attributeName("AUTHOR_ID")));
+		assertEquals(1, book.getForeignKeys().size());
+		ForeignKey fk = book.getForeignKeys().get(0);
+		assertEquals("FK_BOOK_AUTHOR", fk.getName());
+		assertEquals(entityName("BOOK"), fk.getOriginEntityName());
+		assertEquals(entityName("AUTHOR"), fk.getReferencedEntityName());
+		assertEquals(attributeName("AUTHOR_ID"), fk.getAttributes().get(0).getOriginAttributeName());
+		assertEquals(attributeName("ID"), fk.getAttributes().get(0).getReferencedAttributeName());
+
+		DbEntitySummary bookAuthor = summaries.get(entityName("BOOK_AUTHOR"));
+		assertNotNull(bookAuthor);
+		assertTrue(bookAuthor.isJoinEntity());
+		assertEquals(2, bookAuthor.getForeignKeys().size());
+		int checked = 0 ;
+		for ( ForeignKey bookAuthorFk : bookAuthor.getForeignKeys() ) {
+			if ( "FK_BA_BOOK".equals(bookAuthorFk.getName()) ) {
+				List<ForeignKeyAttribute> attributes = bookAuthorFk.getAttributes();
+				assertEquals(2, attributes.size());
+				assertEquals(attributeName("BOOK_CODE"), attributes.get(0).getOriginAttributeName());
+				assertEquals(attributeName("CODE"), attributes.get(0).getReferencedAttributeName());
+				assertEquals(2, attributes.get(1).getOrdinal());
+				assertEquals(attributeName("EDITION"), attributes.get(1).getReferencedAttributeName());
+				checked++;
+			}
+		}
+		assertEquals(1, checked);
+	}
+
+	@Test
+	public void testBuildIncludeRegex() {
+		DatabaseTablesBatchReader reader = new DatabaseTablesBatchReader(connection, new DatabaseDefinition(), "%", 2);
+		Pattern pattern = Pattern.compile(reader.buildIncludeRegex(Arrays.asList("BOOK", "A.B", "X_Y")));
+		assertTrue(pattern.matcher("BOOK").matches());
+		assertTrue(pattern.matcher("A.B").matches());
+		assertTrue(pattern.matcher("X_Y").matches());
+		assertFalse(pattern.matcher("BOOK_AUTHOR").matches());
+		assertFalse(pattern.matcher("AXB").matches());
+		assertFalse(pattern.matcher("X_YZ").matches());
+	}
+
+	@Test
+	public void testToSearchPattern() throws TelosysToolsException {
+		DatabaseTablesBatchReader reader = new DatabaseTablesBatchReader(connection, new DatabaseDefinition(), "%", 2);
+		reader.getTablesNames(); // loads the search string escape
+		assertEquals("BOOK\\_AUTHOR", reader.toSearchPattern("BOOK_AUTHOR"));
+	}
+}
@@ -1,6 +1,11 @@
 package org.telosys.tools.dsl.model.dbmodel;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.junit.Test;
 import org.telosys.tools.commons.TelosysToolsException;
@@ -10,6 +15,7 @@ import org.telosys.tools.commons.logger.ConsoleLogger;
 import org.telosys.tools.commons.logger.GlobalLoggingConfig;
 import org.telosys.tools.dsl.model.DslModel;
 import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.writer.ModelWriterResult;
 import org.telosys.tools.generic.model.Attribute;
 import org.telosys.tools.generic.model.ForeignKey;
 import org.telosys.tools.generic.model.ForeignKeyPart;
@@ -193,4 +199,132 @@ public class DbModelGeneratorTest {
 		assertEquals ( Cardinality.MANY_TO_MANY, link.getCardinality() );
 	}
 
+	@Test
+	public void testStreamingMode() throws TelosysToolsException {
+		printSeparator("testStreamingMode");
+		TelosysToolsCfg telosysToolsCfg = getTelosysToolsCfg(PROJECT_FOLDER);
+		DatabaseInMemory databaseInMemory = new DatabaseInMemory(telosysToolsCfg, "db2");
+		databaseInMemory.executeSqlFile("students.sql");
+		try {
+			DbToModelManager manager = new DbToModelManager(telosysToolsCfg, new ConsoleLogger() );
+			// model created in memory and written 
+			DslModel model = manager.createModelFromDatabase("db2", "students");
+			assertEquals(4, model.getEntities().size());
+			// same model created in streaming mode (1 table per batch) => same files 
+			manager.setWriteOnlyIfChanged(true);
+			manager.setStreamingBatchSize(1);
+			ModelWriterResult result = manager.createModelFromDatabaseInStreamingMode("db2", "students");
+			assertEquals(0, result.getWrittenEntities().size());
+			assertEquals(4, result.getSkippedEntities().size());
+		}
+		finally {
+			databaseInMemory.close();
+		}
+	}
+
+	//----------------------------------------------------------------------------------------
+	// Streaming mode parity : same entity files as with 'createModelFromDatabase'
+	//----------------------------------------------------------------------------------------
+	private Map<String, String> readEntityFiles(File modelFolder) throws IOException {
+		Map<String, String> files = new TreeMap<>();
+		File[] entityFiles = modelFolder.listFiles();
+		if ( entityFiles != null ) {
+			for ( File file : entityFiles ) {
+				if ( file.getName().endsWith(".entity") ) {
+					files.put(file.getName(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+				}
+			}
+		}
+		return files;
+	}
+
+	private void deleteModelFolder(File modelFolder) {
+		File[] files = modelFolder.listFiles();
+		if ( files != null ) {
+			for ( File file : files ) {
+				file.delete();
+			}
+		}
+		modelFolder.delete();
+	}
+
+	/**
+	 * Creates the model in memory, then in streaming mode (1 table per batch) and checks the files are the same 
+	 * @param dbId
+	 * @param sqlFile
+	 * @param modelName
+	 * @return the entity files written (file name and content)
+	 */
+	private Map<String, String> checkStreamingParity(String dbId, String sqlFile, String modelName) throws TelosysToolsException, IOException {
+		TelosysToolsCfg telosysToolsCfg = getTelosysToolsCfg(PROJECT_FOLDER);
+		File modelFolder = new File(telosysToolsCfg.getModelFolderAbsolutePath(modelName));
+		DatabaseInMemory databaseInMemory = new DatabaseInMemory(telosysToolsCfg, dbId);
+		databaseInMemory.executeSqlFile(sqlFile);
+		try {
+			DbToModelManager manager = new DbToModelManager(telosysToolsCfg, new ConsoleLogger() );
+			DslModel model = manager.createModelFromDatabase(dbId, modelName);
+			Map<String, String> expectedFiles = readEntityFiles(modelFolder);
+			assertEquals(model.getEntities().size(), expectedFiles.size());
+
+			deleteModelFolder(modelFolder);
+			manager.setStreamingBatchSize(1);
+			ModelWriterResult result = manager.createModelFromDatabaseInStreamingMode(dbId, modelName);
+			assertEquals(expectedFiles.size(), result.getWrittenEntities().size());
+			assertEquals(expectedFiles, readEntityFiles(modelFolder));
+			return expectedFiles;
+		}
+		finally {
+			databaseInMemory.close();
+			deleteModelFolder(modelFolder);
+		}
+	}
+
+	@Test
+	public void testStreamingParityUnnamedForeignKey() throws TelosysToolsException, IOException {
+		printSeparator("testStreamingParityUnnamedForeignKey");
+		Map<String, String> files = checkStreamingParity("db3", "parity_unnamed_fk.sql", "parity1");
+		assertEquals(2, files.size());
+		// FK name generated by the database 
+		String orders = files.get("Orders.entity");
+		assertNotNull(orders);
+		assertTrue(orders.contains("Customer.id)"));
+		assertTrue(orders.contains("@LinkByFK("));
+	}
+
+	@Test
+	public void testStreamingParityCompositeForeignKey() throws TelosysToolsException, IOException {
+		printSeparator("testStreamingParityCompositeForeignKey");
+		Map<String, String> files = checkStreamingParity("db4", "parity_composite_fk.sql", "parity2");
+		assertEquals(2, files.size());
+		String orderItem = files.get("OrderItem.entity");
+		assertNotNull(orderItem);
+		assertTrue(orderItem.contains("Product.code"));
+		assertTrue(orderItem.contains("Product.version"));
+		assertTrue(orderItem.contains("@LinkByFK(FK_ITEM_PRODUCT)"));
+	}
+
+	@Test
+	public void testStreamingParityForeignKeyToExcludedTable() throws TelosysToolsException, IOException {
+		printSeparator("testStreamingParityForeignKeyToExcludedTable");
+		Map<String, String> files = checkStreamingParity("db5", "parity_excluded_table.sql", "parity3");
+		// table 'ARCHIVE' excluded 
+		assertEquals(2, files.size());
+		assertFalse(files.containsKey("Archive.entity"));
+		String document = files.get("Document.entity");
+		assertNotNull(document);
+		assertTrue(document.contains("@LinkByFK(FK_DOCUMENT_COUNTRY)"));
+		assertFalse(document.contains("@LinkByFK(FK_DOCUMENT_ARCHIVE)"));
+	}
+
+	@Test
+	public void testStreamingParityJoinTable() throws TelosysToolsException, IOException {
+		printSeparator("testStreamingParityJoinTable");
+		Map<String, String> files = checkStreamingParity("db6", "parity_join_table.sql", "parity4");
+		assertEquals(3, files.size());
+		assertTrue(files.get("BookAuthor.entity").contains("@JoinEntity"));
+		// many to many links 
+		assertTrue(files.get("Book.entity").contains(": Author[]"));
+		assertTrue(files.get("Author.entity").contains(": Book[]"));
+	}
+
 }
@@ -0,0 +1,201 @@
+package org.telosys.tools.dsl.model.dbmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.telosys.tools.commons.dbcfg.yaml.DatabaseDefinition;
+import org.telosys.tools.commons.logger.ConsoleLogger;
+import org.telosys.tools.dsl.commons.AttributeFKUtil;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.DslModelForeignKey;
+import org.telosys.tools.dsl.model.DslModelForeignKeyAttribute;
+import org.telosys.tools.dsl.model.dbmodel.LinksBuilder.PlannedLink;
+import org.telosys.tools.generic.model.Entity;
+import org.telosys.tools.generic.model.ForeignKey;
+import org.telosys.tools.generic.model.Link;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LinksBuilderTest {
+
+	private DslModelAttribute buildAttribute(String name, boolean id) {
+		DslModelAttribute attribute = new DslModelAttribute(name, "string");
+		attribute.setKeyElement(id);
+		return attribute;
+	}
+
+	private DslModelForeignKey buildForeignKey(String name, String origin, String originAttribute, String referenced, String referencedAttribute) {
+		DslModelForeignKey fk = new DslModelForeignKey(name, origin, referenced);
+		fk.addAttribute(new DslModelForeignKeyAttribute(1, originAttribute, referencedAttribute));
+		return fk;
+	}
+
+	/**
+	 * Builds new entities : Teacher, Student (2 FK to Teacher), Course, 
+	 * TeacherCourse (join entity) and Person (FK to itself)
+	 * @return
+	 */
+	private List<DslModelEntity> buildEntities() {
+		List<DslModelEntity> entities = new ArrayList<>();
+		DslModelEntity teacher = new DslModelEntity("Teacher");
+		teacher.addAttribute(buildAttribute("code", true));
+		teacher.addAttribute(buildAttribute("studentList", false)); // field name already used
+		entities.add(teacher);
+
+		DslModelEntity student = new DslModelEntity("Student");
+		student.addAttribute(buildAttribute("id", true));
+		student.addAttribute(buildAttribute("teacherCode1", false));
+		student.addAttribute(buildAttribute("teacherCode2", false));
+		student.addForeignKey(buildForeignKey("FK_STUDENT_T1", "Student", "teacherCode1", "Teacher", "code"));
+		student.addForeignKey(buildForeignKey("FK_STUDENT_T2", "Student", "teacherCode2", "Teacher", "code"));
+		entities.add(student);
+
+		DslModelEntity teacherCourse = new DslModelEntity("TeacherCourse");
+		teacherCourse.addAttribute(buildAttribute("teacherCode", true));
+		teacherCourse.addAttribute(buildAttribute("courseId", true));
+		teacherCourse.addForeignKey(buildForeignKey("FK_TC_TEACHER", "TeacherCourse", "teacherCode", "Teacher", "code"));
+		teacherCourse.addForeignKey(buildForeignKey("FK_TC_COURSE", "TeacherCourse", "courseId", "Course", "id"));
+		entities.add(teacherCourse);
+
+		DslModelEntity course = new DslModelEntity("Course");
+		course.addAttribute(buildAttribute("id", true));
+		entities.add(course);
+
+		DslModelEntity person = new DslModelEntity("Person");
+		person.addAttribute(buildAttribute("id", true));
+		person.addAttribute(buildAttribute("parentId", false));
+		person.addForeignKey(buildForeignKey("FK_PERSON_PARENT", "Person", "parentId", "Person", "id"));
+		entities.add(person);
+		return entities;
+	}
+
+	private DatabaseDefinition buildDatabaseDefinition(boolean manyToMany) {
+		DatabaseDefinition databaseDefinition = new DatabaseDefinition();
+		databaseDefinition.setLinksManyToOne(true);
+		databaseDefinition.setLinksOneToMany(true);
+		databaseDefinition.setLinksManyToMany(manyToMany);
+		return databaseDefinition;
+	}
+
+	private DslModel buildModelWithLinks(DatabaseDefinition databaseDefinition) {
+		DslModel model = new DslModel("mymodel");
+		for ( DslModelEntity entity : buildEntities() ) {
+			model.addEntity(entity);
+		}
+		for ( Entity entity : model.getEntities() ) {
+			for ( ForeignKey fk : entity.getForeignKeys() ) {
+				AttributeFKUtil.applyFKToAttributes(fk, model);
+			}
+		}
+		new JoinEntityDetector().detectJoinEntities(model);
+		new LinksBuilder(databaseDefinition).createLinks(model);
+		return model;
+	}
+
+	private List<DslModelEntity> buildEntitiesWithPlannedLinks(DatabaseDefinition databaseDefinition) {
+		JoinEntityDetector joinEntityDetector = new JoinEntityDetector();
+		// 1st pass : summaries only
+		List<DbEntitySummary> summaries = new ArrayList<>();
+		for ( DslModelEntity entity : buildEntities() ) {
+			for ( ForeignKey fk : entity.getForeignKeys() ) {
+				AttributeFKUtil.applyFKToAttributes(fk, entity);
+			}
+			joinEntityDetector.detectJoinEntity(entity);
+			summaries.add(new DbEntitySummary(entity));
+		}
+		LinksBuilder linksBuilder = new LinksBuilder(databaseDefinition);
+		Map<String, List<PlannedLink>> plannedLinks = linksBuilder.planLinks(summaries);
+		// 2nd pass : new entities with their planned links
+		List<DslModelEntity> entities = buildEntities();
+		for ( DslModelEntity entity : entities ) {
+			for ( ForeignKey fk : entity.getForeignKeys() ) {
+				AttributeFKUtil.applyFKToAttributes(fk, entity);
+			}
+			joinEntityDetector.detectJoinEntity(entity);
+			linksBuilder.createPlannedLinks(entity, plannedLinks.get(entity.getClassName()));
+		}
+		return entities;
+	}
+
+	private String linksToString(Entity entity) {
+		StringBuilder sb = new StringBuilder();
+		for ( Link link : entity.getLinks() ) {
+			sb.append(link.getFieldName()).append(":").append(link.getReferencedEntityName())
+				.append(":").append(link.getCardinality())
+				.append(":").append(link.getForeignKeyName())
+				.append(":").append(link.getJoinEntityName()).append(" ");
+		}
+		return sb.toString();
+	}
+
+	private void checkSameLinks(DatabaseDefinition databaseDefinition) {
+		DslModel model = buildModelWithLinks(databaseDefinition);
+		List<DslModelEntity> entities = buildEntitiesWithPlannedLinks(databaseDefinition);
+		assertEquals(model.getEntities().size(), entities.size());
+		int i = 0 ;
+		for ( Entity entity : model.getEntities() ) {
+			DslModelEntity entity2 = entities.get(i++);
+			assertEquals(entity.getClassName(), entity2.getClassName());
+			assertEquals(entity.isJoinEntity(), entity2.isJoinEntity());
+			assertEquals(linksToString(entity), linksToString(entity2));
+		}
+	}
+
+	@Test
+	public void testPlannedLinksWithoutManyToMany() {
+		checkSameLinks(buildDatabaseDefinition(false));
+	}
+
+	@Test
+	public void testPlannedLinksWithManyToMany() {
+		DatabaseDefinition databaseDefinition = buildDatabaseDefinition(true);
+		checkSameLinks(databaseDefinition);
+		List<DslModelEntity> entities = buildEntitiesWithPlannedLinks(databaseDefinition);
+		DslModelEntity teacher = entities.get(0);
+		assertEquals("studentList2:Student:ONE_TO_MANY:null:null studentList3:Student:ONE_TO_MANY:null:null "
+				+ "courseList:Course:MANY_TO_MANY:null:TeacherCourse ", linksToString(teacher));
+		assertTrue(entities.get(2).isJoinEntity());
+		assertEquals(0, entities.get(2).getLinks().size());
+		assertFalse(entities.get(4).isJoinEntity());
+		assertEquals(2, entities.get(4).getLinks().size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testPlanLinksInvalidReferencedEntity() {
+		List<DbEntitySummary> summaries = new ArrayList<>();
+		for ( DslModelEntity entity : buildEntities() ) {
+			if ( ! "Course".equals(entity.getClassName()) ) {
+				summaries.add(new DbEntitySummary(entity));
+			}
+		}
+		new LinksBuilder(buildDatabaseDefinition(false)).planLinks(summaries);
+	}
+
+	@Test
+	public void testCheckForeignKeys() {
+		List<DbEntitySummary> summaries = new ArrayList<>();
+		for ( DslModelEntity entity : buildEntities() ) {
+			summaries.add(new DbEntitySummary(entity));
+		}
+		DbToModelConverter converter = new DbToModelConverter(new ConsoleLogger());
+		converter.checkForeignKeys(summaries);
+		// referenced attribute not found 
+		DslModelEntity entity = new DslModelEntity("Foo");
+		entity.addAttribute(buildAttribute("teacherId", false));
+		entity.addForeignKey(buildForeignKey("FK_FOO", "Foo", "teacherId", "Teacher", "id"));
+		summaries.add(new DbEntitySummary(entity));
+		try {
+			converter.checkForeignKeys(summaries);
+		} catch (IllegalStateException e) {
+			assertEquals("FK error : cannot found referenced attribute : 'id'", e.getMessage());
+			return;
+		}
+		throw new AssertionError("IllegalStateException expected");
+	}
+}
@@ -0,0 +1,74 @@
+package org.telosys.tools.dsl.model.writer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelAttribute;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.dsl.model.DslModelLink;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
+import org.telosys.tools.dsl.parser.annotation.AnnotationName;
+import org.telosys.tools.generic.model.Attribute;
+import org.telosys.tools.generic.model.Entity;
+import org.telosys.tools.generic.model.Link;
+import org.telosys.tools.junit.utils.ModelUtil;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EntityFileWriterTest {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator() ;
+
+	private String header(EntityFileWriter writer, DslModelEntity entity) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		writer.appendEntityHeader(sb, entity);
+		return sb.toString();
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testDeprecatedBuildMethods() throws IOException {
+		DslModel model = (DslModel) ModelUtil.loadValidModel("src/test/resources/model_test/valid/PeopleModel");
+		EntityFileWriter writer = new EntityFileWriter(TestFileProvider.getTargetTmpFile("writer").getAbsolutePath());
+		int checkedLinks = 0 ;
+		for ( Entity e : model.getEntities() ) {
+			DslModelEntity entity = (DslModelEntity) e ;
+			// header : 1 line per item
+			StringBuilder expectedHeader = new StringBuilder();
+			for ( String line : writer.buildEntityHeader(entity) ) {
+				expectedHeader.append(line).append(LINE_SEPARATOR);
+			}
+			assertEquals(header(writer, entity), expectedHeader.toString());
+			// attributes
+			for ( Attribute attribute : entity.getAttributes() ) {
+				StringBuilder sb = new StringBuilder();
+				writer.appendAttribute(sb, (DslModelAttribute) attribute);
+				assertEquals(sb.toString(), writer.buildAttribute((DslModelAttribute) attribute));
+				List<String> annotations = writer.buildAttributeAnnotations((DslModelAttribute) attribute);
+				for ( String annotation : annotations ) {
+					assertTrue(annotation.startsWith("@"));
+					assertTrue(sb.toString().contains(" " + annotation));
+				}
+			}
+			// links
+			for ( Link link : entity.getLinks() ) {
+				StringBuilder sb = new StringBuilder();
+				writer.appendLink(sb, (DslModelLink) link);
+				assertEquals(sb.toString(), writer.buildLink((DslModelLink) link));
+				checkedLinks++;
+			}
+		}
+		assertTrue(checkedLinks > 0);
+		// single annotation 
+		List<String> list = new ArrayList<>();
+		writer.buildAnnotationWithoutParam(list, null, false);
+		writer.buildAnnotation(list, AnnotationDefinitions.get(AnnotationName.MAX_LEN), 20);
+		assertEquals(1, list.size());
+		assertEquals("@MaxLen(20)", list.get(0));
+	}
+}
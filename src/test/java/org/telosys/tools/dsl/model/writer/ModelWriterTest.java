@@ -0,0 +1,207 @@
+package org.telosys.tools.dsl.model.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.model.DslModel;
+import org.telosys.tools.dsl.model.DslModelEntity;
+import org.telosys.tools.junit.utils.ModelUtil;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ModelWriterTest {
+
+	private File writeModel(DslModel model, String folderName, boolean bufferedMode) {
+		return writeModel(model, folderName, bufferedMode, 1);
+	}
+
+	private File writeModel(DslModel model, String folderName, boolean bufferedMode, int parallelism) {
+		File folder = TestFileProvider.getTargetTmpFile("writer/" + folderName);
+		ModelWriter modelWriter = new ModelWriter();
+		modelWriter.setBufferedMode(bufferedMode);
+		modelWriter.setParallelism(parallelism);
+		modelWriter.writeModel(model, folder.getAbsolutePath());
+		return folder;
+	}
+
+	private void checkSameFiles(File expectedFolder, File actualFolder) throws IOException {
+		for ( String fileName : expectedFolder.list() ) {
+			File actualFile = new File(actualFolder, fileName);
+			assertTrue(actualFile.exists());
+			assertArrayEquals(fileName, 
+					Files.readAllBytes(new File(expectedFolder, fileName).toPath()), 
+					Files.readAllBytes(actualFile.toPath()));
+		}
+	}
+
+	@Test
+	public void testBufferedModeSameFiles() throws IOException {
+		DslModel model = (DslModel) ModelUtil.loadValidModel("src/test/resources/model_test/valid/PeopleModel");
+		File unbufferedFolder = writeModel(model, "unbuffered", false);
+		File bufferedFolder = writeModel(model, "buffered", true);
+		// model.yaml + 1 file per entity
+		assertEquals(model.getEntities().size() + 1, unbufferedFolder.list().length);
+		checkSameFiles(unbufferedFolder, bufferedFolder);
+	}
+
+	@Test
+	public void testParallelWriting() throws IOException {
+		DslModel model = (DslModel) ModelUtil.loadValidModel("src/test/resources/model_test/valid/PeopleModel");
+		File sequentialFolder = writeModel(model, "sequential", true);
+		checkSameFiles(sequentialFolder, writeModel(model, "parallel", true, 3));
+		checkSameFiles(sequentialFolder, writeModel(model, "parallel-unbuffered", false, 3));
+	}
+
+	@Test
+	public void testParallelWritingErrors() {
+		DslModel model = (DslModel) ModelUtil.loadValidModel("src/test/resources/model_test/valid/PeopleModel");
+		// entities files in a non existent folder => cannot be written
+		model.addEntity(new DslModelEntity("NoFolder/Bad1"));
+		model.addEntity(new DslModelEntity("NoFolder/Bad2"));
+		try {
+			writeModel(model, "errors", true, 3);
+			fail("ModelWriterException expected");
+		} catch (ModelWriterException e) {
+			assertEquals(2, e.getFileErrors().size());
+			assertTrue(e.getFileErrors().get(0).getMessage().contains("Bad1"));
+			assertTrue(e.getFileErrors().get(1).getMessage().contains("Bad2"));
+			assertEquals(1, e.getSuppressed().length);
+		}
+		// all the valid entities are written
+		assertTrue(new File(TestFileProvider.getTargetTmpFile("writer/errors"), "Person.entity").exists());
+	}
+
+	@Test
+	public void testParallelWritingInterrupted() throws InterruptedException {
+		DslModel model = (DslModel) ModelUtil.loadValidModel("src/test/resources/model_test/valid/PeopleModel");
+		File folder = TestFileProvider.getTargetTmpFile("writer/interrupted");
+		folder.mkdirs();
+		for ( File file : folder.listFiles() ) {
+			file.delete();
+		}
+		// external executor with its single thread blocked => the writing tasks are waiting
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		final CountDownLatch latch = new CountDownLatch(1);
+		executor.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws InterruptedException {
+				latch.await();
+				return null;
+			}
+		});
+		final Thread writerThread = Thread.currentThread();
+		Thread interrupter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(200);
+				} catch (InterruptedException e) {
+					return;
+				}
+				writerThread.interrupt();
+			}
+		};
+		ModelWriter modelWriter = new ModelWriter();
+		modelWriter.setExecutor(executor);
+		interrupter.start();
+		try {
+			modelWriter.writeModel(model, folder.getAbsolutePath());
+			fail("ModelWriterException expected");
+		} catch (ModelWriterException e) {
+			assertTrue(Thread.interrupted());
+		} finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		// the writing tasks have been cancelled => only the model info file
+		assertEquals(1, folder.list().length);
+	}
+
+	private ModelWriterResult writeModelIfChanged(DslModel model, File folder, int parallelism) {
+		ModelWriter modelWriter = new ModelWriter();
+		modelWriter.setWriteOnlyIfChanged(true);
+		modelWriter.setDeleteStaleFiles(true);
+		modelWriter.setParallelism(parallelism);
+		return modelWriter.writeModelFiles(model, folder.getAbsolutePath());
+	}
+
+	private void checkWriteOnlyIfChanged(int parallelism) throws IOException {
+		DslModel model = (DslModel) ModelUtil.loadValidModel("src/test/resources/model_test/valid/PeopleModel");
+		File folder = TestFileProvider.getTargetTmpFile("writer/if-changed-" + parallelism);
+		folder.mkdirs();
+		for ( File file : folder.listFiles() ) {
+			file.delete();
+		}
+		int n = model.getEntities().size();
+		// first time : all the files are written
+		ModelWriterResult result = writeModelIfChanged(model, folder, parallelism);
+		assertEquals(n, result.getWrittenEntities().size());
+		assertEquals(0, result.getSkippedEntities().size());
+		checkSameFiles(writeModel(model, "if-changed-expected", true), folder);
+
+		// no change : no file written (same last modified date)
+		File countryFile = new File(folder, "Country.entity");
+		File personFile = new File(folder, "Person.entity");
+		assertTrue(countryFile.setLastModified(1000000000000L));
+		assertTrue(personFile.setLastModified(1000000000000L));
+		result = writeModelIfChanged(model, folder, parallelism);
+		assertEquals(0, result.getWrittenEntities().size());
+		assertEquals(n, result.getSkippedEntities().size());
+		assertEquals(1000000000000L, countryFile.lastModified());
+
+		// 1 file changed + 1 stale file : the changed file is written and the stale file deleted
+		byte[] expected = Files.readAllBytes(countryFile.toPath());
+		Files.write(countryFile.toPath(), "Country { }".getBytes());
+		Files.write(new File(folder, "OldEntity.entity").toPath(), "OldEntity { }".getBytes());
+		result = writeModelIfChanged(model, folder, parallelism);
+		assertEquals(Arrays.asList("Country"), result.getWrittenEntities());
+		assertEquals(n - 1, result.getSkippedEntities().size());
+		assertEquals(Arrays.asList("OldEntity"), result.getDeletedEntities());
+		assertArrayEquals(expected, Files.readAllBytes(countryFile.toPath()));
+		assertEquals(1000000000000L, personFile.lastModified());
+		assertFalse(new File(folder, "OldEntity.entity").exists());
+		// model.yaml + 1 file per entity (no temporary file)
+		assertEquals(n + 1, folder.list().length);
+	}
+
+	@Test
+	public void testWriteOnlyIfChanged() throws IOException {
+		checkWriteOnlyIfChanged(1);
+	}
+
+	@Test
+	public void testWriteOnlyIfChangedInParallel() throws IOException {
+		checkWriteOnlyIfChanged(3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidParallelism() {
+		new ModelWriter().setParallelism(0);
+	}
+
+	@Test
+	public void testBufferedModeOverwrite() throws IOException {
+		DslModel model = (DslModel) ModelUtil.loadValidModel("src/test/resources/model_test/valid/PeopleModel");
+		File folder = writeModel(model, "model", true);
+		File countryFile = new File(folder, "Country.entity");
+		byte[] expected = Files.readAllBytes(countryFile.toPath());
+		// longer content in the existing file => truncated when written again
+		Files.write(countryFile.toPath(), new byte[expected.length * 3]);
+		writeModel(model, "model", true);
+		assertArrayEquals(expected, Files.readAllBytes(countryFile.toPath()));
+	}
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 
 import org.junit.Test;
 import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.parser.annotation.AnnotationDefinitions;
 import org.telosys.tools.dsl.parser.model.DomainAnnotation;
 import org.telosys.tools.dsl.parser.model.DomainCardinality;
 import org.telosys.tools.dsl.parser.model.DomainEntityType;
@@ -13,6 +14,7 @@ import org.telosys.tools.dsl.parser.model.DomainNeutralType;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class AnnotationParserTest {
@@ -94,6 +96,18 @@ public class AnnotationParserTest {
 		//annotation = parser.parse("@DbSize(aa)"); //ERR
 		
 	}
+	@Test
+	public void testAnnotationDefinitionResolved() throws DslModelError {
+		DomainAnnotation annotation = parseAnnotationInAttribute("@Id");
+		assertSame(AnnotationDefinitions.get("Id"), annotation.getAnnotationDefinition());
+		annotation = parseAnnotationInAttribute("@MaxLen(20)");
+		assertSame(AnnotationDefinitions.get("MaxLen"), annotation.getAnnotationDefinition());
+		assertEquals(Integer.valueOf(20), annotation.getParameterAsInteger());
+		// annotation created by name 
+		annotation = new DomainAnnotation("NotNull");
+		assertSame(AnnotationDefinitions.get("NotNull"), annotation.getAnnotationDefinition());
+	}
+
 	@Test
 	public void testParseLinkAnnotations() throws DslModelError {
 		DomainAnnotation annotation = parseAnnotationInLink("@OneToOne");
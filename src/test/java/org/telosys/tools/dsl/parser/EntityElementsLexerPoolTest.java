@@ -0,0 +1,26 @@
+package org.telosys.tools.dsl.parser;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.commons.SymbolTable;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class EntityElementsLexerPoolTest {
+
+	@Test
+	public void testAcquireRelease() {
+		EntityElementsLexerPool pool = new EntityElementsLexerPool();
+		EntityElementsLexer lexer1 = pool.acquire();
+		EntityElementsLexer lexer2 = pool.acquire();
+		assertNotSame(lexer1, lexer2);
+		lexer1.setSymbolTable(new SymbolTable());
+		pool.release(lexer1);
+		// released lexer re-used without the previous symbol table 
+		EntityElementsLexer lexer3 = pool.acquire();
+		assertSame(lexer1, lexer3);
+		assertSame(SymbolTable.NONE, lexer3.getSymbolTable());
+		// no free lexer => new lexer
+		assertNotSame(lexer2, pool.acquire());
+	}
+}
@@ -0,0 +1,277 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.DslModelUtil;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EntityElementsLexerTest {
+	
+	private String parseWithParser(String entityName, byte[] content) {
+		try {
+			return toString(new EntityElementsParser().parseEntityContent(entityName, content));
+		} catch (DslModelError e) {
+			return "ERROR : " + e.getReportMessage();
+		}
+	}
+
+	private String parseWithLexer(EntityElementsLexer lexer, String entityName, byte[] content) {
+		try {
+			return toString(lexer.parseEntityContent(entityName, content));
+		} catch (DslModelError e) {
+			return "ERROR : " + e.getReportMessage();
+		}
+	}
+
+	private String toString(List<Element> elements) {
+		StringBuilder sb = new StringBuilder();
+		for ( Element e : elements ) {
+			sb.append(e.toString()).append("\n");
+		}
+		return sb.toString();
+	}
+	
+	private void checkSameResult(EntityElementsLexer lexer, String content) {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		assertEquals(parseWithParser("Foo", bytes), parseWithLexer(lexer, "Foo", bytes));
+	}
+	
+	private List<File> getAllEntityFiles(File dir, List<File> files) {
+		for ( File file : dir.listFiles() ) {
+			if ( file.isDirectory() ) {
+				getAllEntityFiles(file, files);
+			}
+			else if ( file.getName().endsWith(".entity") ) {
+				files.add(file);
+			}
+		}
+		return files;
+	}
+
+	@Test
+	public void testAllEntityFiles() throws IOException {
+		EntityElementsLexer lexer = new EntityElementsLexer(); // reused for all files
+		List<File> files = getAllEntityFiles(new File("src/test/resources"), new ArrayList<File>());
+		assertTrue(files.size() > 10);
+		for ( File file : files ) {
+			byte[] content = Files.readAllBytes(file.toPath());
+			String entityName = file.getName();
+			assertEquals(file.toString(), parseWithParser(entityName, content), parseWithLexer(lexer, entityName, content));
+		}
+	}
+
+	@Test
+	public void testEntityFile() throws DslModelError {
+		File file = new File("src/test/resources/entity_test_v_3_4/Employee.entity");
+		List<Element> elements = new EntityElementsLexer().parseEntityFile(file);
+		assertEquals(85, elements.size());
+		assertEquals(toString(new EntityElementsParser().parseEntityFile(file)), toString(elements));
+	}
+	
+	@Test
+	public void testLines() {
+		EntityElementsLexer lexer = new EntityElementsLexer();
+		checkSameResult(lexer, "");
+		checkSameResult(lexer, "\n\n");
+		checkSameResult(lexer, "Foo {\n id : int ;\n}");
+		checkSameResult(lexer, "Foo {\r\n id : int ;\r\n}\r\n");
+		checkSameResult(lexer, "Foo {\r id : int ;\r\r}\r");
+		checkSameResult(lexer, "Foo{id:int;name:string{@Id}}");
+		checkSameResult(lexer, "  @DefaultValue(aa)    #MyTag  #Foo(12) ");
+		checkSameResult(lexer, "  @DefaultValue( \"a \\\"xx\\\"a\" )    #MyTag  #Foo(1\\\"2)  @OneToOne ");
+		checkSameResult(lexer, " @Foo(a;b:c{d}) \t #Bar(\"x)y\")");
+		checkSameResult(lexer, " @Foo(abc \n def) ");
+		checkSameResult(lexer, " @Foo(\"abc \n def\") ");
+		checkSameResult(lexer, "a b // comment { } \n c");
+		checkSameResult(lexer, "abc//x\n/ / ;/");
+		checkSameResult(lexer, "@Id@Foo(1)#Bar");
+	}
+
+	@Test
+	public void testErrors() {
+		EntityElementsLexer lexer = new EntityElementsLexer();
+		checkSameResult(lexer, "Foo { \n  id : int (12) ; }");
+		checkSameResult(lexer, "Foo { \n  id : int { @Id (12) } ; }");
+		checkSameResult(lexer, "(");
+		checkSameResult(lexer, "Foo { \n  id : \"int\" ; }");
+		checkSameResult(lexer, "Foo { \n  ; \"int\" ; }");
+		checkSameResult(lexer, "Foo { id : int ; \n }");
+	}
+
+	@Test
+	public void testInvalidUtf8() throws IOException {
+		byte[] content = new byte[] { 'F', 'o', 'o', ' ', (byte) 0xC3, '{' };
+		assertTrue(parseWithParser("Foo", content).startsWith("ERROR : "));
+		assertEquals(parseWithParser("Foo", content), parseWithLexer(new EntityElementsLexer(), "Foo", content));
+	}
+
+	@Test
+	public void testLargeContent() {
+		StringBuilder sb = new StringBuilder("Big {\n");
+		for ( int i = 0 ; i < 5000 ; i++ ) {
+			sb.append("  field" + i + " : string { @SizeMax(" + i + ") #Tag(\"été " + i + "\") } ; // comment \n");
+		}
+		sb.append("}\n");
+		EntityElementsLexer lexer = new EntityElementsLexer();
+		checkSameResult(lexer, sb.toString());
+		checkSameResult(lexer, "Foo { id : int ; }"); // smaller after bigger
+	}
+
+	private void checkSameResultForFile(String fileName, String content) throws IOException, DslModelError {
+		File file = TestFileProvider.getTargetTmpFile("lexer/" + fileName);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		List<Element> elements = new EntityElementsLexer().parseEntityFile(file);
+		assertEquals(toString(new EntityElementsParser().parseEntityFile(file)), toString(elements));
+	}
+
+	@Test
+	public void testFiles() throws IOException, DslModelError {
+		checkSameResultForFile("Empty.entity", "");
+		checkSameResultForFile("Small.entity", "Small {\r\n id : int { @Id } ; // id \r\n name : string ;\r\n}");
+		StringBuilder sb = new StringBuilder("Big {\n");
+		while ( sb.length() < 3 * 1024 * 1024 ) { // memory-mapped file
+			sb.append("  field" + sb.length() + " : string { @SizeMax(20) #Tag(\"é\") } ; \n");
+		}
+		sb.append("}\n");
+		checkSameResultForFile("Big.entity", sb.toString());
+	}
+
+	@Test
+	public void testErrorLineNumberInFile() throws IOException {
+		File file = TestFileProvider.getTargetTmpFile("lexer/Err.entity");
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), "Err {\n id : int ;\n\n name : \"string\" ;\n}".getBytes(StandardCharsets.UTF_8));
+		try {
+			new EntityElementsLexer().parseEntityFile(file);
+			fail();
+		} catch (DslModelError e) {
+			assertEquals(4, e.getLineNumber());
+			assertEquals("Err", e.getEntityName());
+		}
+	}
+
+	@Test
+	public void testSharedSeparators() throws DslModelError {
+		EntityElementsLexer lexer = new EntityElementsLexer();
+		List<Element> elements1 = lexer.parseEntityContent("Foo", "Foo { id : int ; }".getBytes(StandardCharsets.UTF_8));
+		List<Element> elements2 = lexer.parseEntityContent("Bar", "Bar { id : int ; }".getBytes(StandardCharsets.UTF_8));
+		assertSame(elements1.get(1).getContent(), elements2.get(1).getContent()); // "{"
+		assertSame(elements1.get(3).getContent(), elements2.get(3).getContent()); // ":"
+		assertEquals("int", elements2.get(4).getContent());
+	}
+
+	@Test
+	public void testParserWithLexerMode() {
+		String[] models = { "src/test/resources/model_test/valid/PeopleModel", 
+				"src/test/resources/model_test/valid/FourEntitiesModel",
+				"src/test/resources/model_test/invalid/FourEntitiesModel" };
+		for ( String model : models ) {
+			ParsingResult expected = new ParserV2().parseModel(model);
+			ParserV2 parser = new ParserV2();
+			parser.setLexerMode(LexerMode.CHAR_BUFFER);
+			ParsingResult result = parser.parseModel(model);
+			assertEquals(expected.getErrors().toString(), result.getErrors().toString());
+			assertEquals(expected.getModel().toString(), result.getModel().toString());
+		}
+	}
+
+	private String processWithList(String entityName, byte[] content, List<String> entitiesNames) {
+		DslModelErrors errors = new DslModelErrors();
+		try {
+			List<Element> elements = new EntityElementsParser().parseEntityContent(entityName, content);
+			DomainEntity entity = new EntityElementsProcessor(entityName, entitiesNames).processEntityElements(elements, errors);
+			return entity + "\n" + errors;
+		} catch (DslModelError e) {
+			return "ERROR : " + e.getReportMessage();
+		}
+	}
+
+	private String processInStreamingMode(EntityElementsLexer lexer, String entityName, byte[] content, List<String> entitiesNames) {
+		DslModelErrors errors = new DslModelErrors();
+		try {
+			EntityElementsProcessor processor = new EntityElementsProcessor(entityName, entitiesNames);
+			processor.startEntity(errors);
+			lexer.processEntityContent(entityName, content, processor);
+			DomainEntity entity = processor.endEntity();
+			return entity + "\n" + errors;
+		} catch (DslModelError e) {
+			return "ERROR : " + e.getReportMessage();
+		}
+	}
+
+	@Test
+	public void testStreamingAllEntityFiles() throws IOException {
+		EntityElementsLexer lexer = new EntityElementsLexer(); // reused for all files
+		List<File> files = getAllEntityFiles(new File("src/test/resources"), new ArrayList<File>());
+		List<String> entitiesNames = new ArrayList<>();
+		for ( File file : files ) {
+			entitiesNames.add(DslModelUtil.getEntityName(file));
+		}
+		for ( File file : files ) {
+			byte[] content = Files.readAllBytes(file.toPath());
+			String entityName = DslModelUtil.getEntityName(file);
+			assertEquals(file.toString(), processWithList(entityName, content, entitiesNames), 
+					processInStreamingMode(lexer, entityName, content, entitiesNames));
+		}
+	}
+
+	@Test
+	public void testStreamingFieldErrors() {
+		EntityElementsLexer lexer = new EntityElementsLexer();
+		List<String> entitiesNames = Arrays.asList("Foo", "Bar");
+		String[] contents = {
+				"Foo { id : int { @Id } ; name : string { @NotNull } { @Foo } ; }",
+				"Foo { id : int { @Id } } ; name : string ; }",
+				"Foo { id : int { @Id } @Foo ; code : int { @Bad #Tag } ; }",
+				"Foo { id int { @Id } ; code : ; ; bar : Bar[] ; }",
+				"Foo { id : int { @Id } ; \n name : string { @NotNull } ; // \n x : \"int\" ; }",
+				"Bar @Context(x) { id : int { @Id } ; id : int ; }" };
+		for ( String content : contents ) {
+			byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+			assertEquals(content, processWithList("Foo", bytes, entitiesNames), 
+					processInStreamingMode(lexer, "Foo", bytes, entitiesNames));
+		}
+	}
+
+	@Test
+	public void testParserWithStreamingMode() {
+		String[] models = { "src/test/resources/model_test/valid/PeopleModel", 
+				"src/test/resources/model_test/valid/FourEntitiesModel",
+				"src/test/resources/model_test/invalid/FourEntitiesModel",
+				"src/test/resources/model_test/invalid/TwoEntitiesModel" };
+		for ( String model : models ) {
+			ParsingResult expected = new ParserV2().parseModel(model);
+			ParserV2 parser = new ParserV2();
+			parser.setLexerMode(LexerMode.STREAMING);
+			ParsingResult result = parser.parseModel(model);
+			assertEquals(expected.getErrors().toString(), result.getErrors().toString());
+			assertEquals(expected.getModel().toString(), result.getModel().toString());
+		}
+	}
+
+	@Test
+	public void testFileNotFound() {
+		try {
+			new EntityElementsLexer().parseEntityFile(new File("src/test/resources/nofile.entity"));
+			fail();
+		} catch (DslModelError e) {
+			assertEquals("File not found", e.getErrorMessage());
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelError;
+import org.telosys.tools.dsl.DslModelUtil;
+
+import static org.junit.Assert.assertEquals;
+
+public class EntityFilesScannerTest {
+
+	@Test
+	public void testScan() throws DslModelError {
+		File modelFolder = new File("src/test/resources/model_test/valid/PeopleModel");
+		List<EntityFileDescriptor> descriptors = EntityFilesScanner.scan(modelFolder);
+		List<String> fileNames = DslModelUtil.getEntityFullFileNames(modelFolder);
+		List<String> entityNames = DslModelUtil.getEntityNames(modelFolder);
+		assertEquals(fileNames.size(), descriptors.size());
+		for ( int i = 0 ; i < descriptors.size() ; i++ ) {
+			EntityFileDescriptor descriptor = descriptors.get(i);
+			File file = new File(fileNames.get(i));
+			assertEquals(file.getAbsolutePath(), descriptor.getFileName());
+			assertEquals(entityNames.get(i), descriptor.getEntityName());
+			assertEquals(file.length(), descriptor.getSize());
+			assertEquals(file.lastModified(), descriptor.getLastModified());
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testScanResultUnmodifiable() throws DslModelError {
+		EntityFilesScanner.scan(new File("src/test/resources/model_test/valid/PeopleModel")).clear();
+	}
+
+	@Test(expected = DslModelError.class)
+	public void testScanInvalidFolder() throws DslModelError {
+		EntityFilesScanner.scan(new File("src/test/resources/model_test/valid/NoModel"));
+	}
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class FieldElementsProcessorTest {
@@ -262,4 +264,21 @@ public class FieldElementsProcessorTest {
 				buildElements("foo",":","int",  "{", "aaa",  "}", "}") ); // multiple }
 	}
 	
+	@Test
+	public void testEntitiesNamesSet() {
+		List<String> entitiesNames = Arrays.asList("Country", "Employee");
+		Set<String> set = FieldElementsProcessor.buildEntitiesNamesSet(entitiesNames);
+		assertEquals(2, set.size());
+		assertTrue(set.contains("Employee"));
+		assertSame(set, FieldElementsProcessor.buildEntitiesNamesSet(set));
+		assertTrue(FieldElementsProcessor.buildEntitiesNamesSet(null).isEmpty());
+		
+		// same result with a set
+		FieldElementsProcessor processor = new FieldElementsProcessor("Country", set);
+		DomainField field = processor.processFieldElements( buildElements("emp", ":", "Employee[]"), errors );
+		assertNotNull(field);
+		assertTrue(field.isLink());
+		assertEquals(0, errors.getNumberOfErrors());
+	}
+	
 }
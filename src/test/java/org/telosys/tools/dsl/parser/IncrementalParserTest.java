@@ -0,0 +1,137 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalParserTest {
+
+	private File modelFolder ;
+	
+	private void writeFile(String fileName, String content) throws IOException {
+		Files.write(new File(modelFolder, fileName).toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void deleteFile(String fileName) {
+		new File(modelFolder, fileName).delete();
+	}
+
+	private void checkSameAsFullParsing(ParsingResult result) {
+		ParsingResult fullResult = new ParserV2().parseModel(modelFolder);
+		assertEquals(fullResult.getErrors().toString(), result.getErrors().toString());
+		assertEquals(fullResult.getModel().getNumberOfEntities(), result.getModel().getNumberOfEntities());
+		for ( DomainEntity entity : fullResult.getModel().getEntities() ) {
+			assertEquals(entity.toString(), result.getModel().getEntity(entity.getName()).toString());
+		}
+	}
+	
+	@Before
+	public void before() throws IOException {
+		modelFolder = TestFileProvider.getTargetTmpFile("incremental/model1");
+		modelFolder.mkdirs();
+		for ( File file : modelFolder.listFiles() ) {
+			file.delete();
+		}
+		writeFile("model.yaml", "title : incremental \n");
+		writeFile("Country.entity", "Country { \n code : string {@Id} ; \n name : string ; \n }\n");
+		writeFile("Employee.entity", "Employee { \n id : int {@Id} ; \n country : Country ; \n }\n");
+		writeFile("Person.entity", "Person { \n id : int {@Id} ; \n gender : Gender ; \n }\n");
+	}
+	
+	@Test
+	public void testNoChange() {
+		IncrementalParser parser = new IncrementalParser();
+		ParsingResult result1 = parser.parseModel(modelFolder);
+		assertEquals(3, parser.getNumberOfParsedFiles());
+		assertEquals(1, result1.getErrors().getNumberOfErrors()); // invalid type 'Gender'
+		checkSameAsFullParsing(result1);
+
+		ParsingResult result2 = parser.parseModel(modelFolder);
+		assertEquals(0, parser.getNumberOfParsedFiles());
+		checkSameAsFullParsing(result2);
+		assertSame(result1.getModel().getEntity("Country"), result2.getModel().getEntity("Country"));
+	}
+
+	@Test
+	public void testChangedFile() throws IOException {
+		IncrementalParser parser = new IncrementalParser();
+		ParsingResult result1 = parser.parseModel(modelFolder);
+		writeFile("Country.entity", "Country { \n code : string {@Id} ; \n name : string ; \n population : long ; \n }\n");
+		ParsingResult result2 = parser.parseModel(modelFolder);
+		assertEquals(1, parser.getNumberOfParsedFiles());
+		assertEquals(3, result2.getModel().getEntity("Country").getNumberOfFields());
+		assertSame(result1.getModel().getEntity("Employee"), result2.getModel().getEntity("Employee"));
+		checkSameAsFullParsing(result2);
+	}
+
+	@Test
+	public void testSymbolTableNotGrowing() throws IOException {
+		IncrementalParser parser = new IncrementalParser();
+		int firstNumberOfSymbols = parser.parseModel(modelFolder).getModel().getSymbolTable().size();
+		int numberOfSymbols = -1 ;
+		String fieldName = "field" ;
+		for ( int i = 0 ; i < 5 ; i++ ) {
+			fieldName = fieldName + "x" ; // new name (and new size) at each change
+			writeFile("Country.entity", "Country { \n code : string {@Id} ; \n " + fieldName + " : string ; \n }\n");
+			ParsingResult result = parser.parseModel(modelFolder);
+			assertEquals(1, parser.getNumberOfParsedFiles());
+			int size = result.getModel().getSymbolTable().size();
+			assertTrue(size <= firstNumberOfSymbols);
+			if ( numberOfSymbols >= 0 ) {
+				assertEquals(numberOfSymbols, size); // the previous field names are not kept
+			}
+			numberOfSymbols = size ;
+			// re-used entity and re-parsed entity share the same symbols
+			assertSame(result.getModel().getEntity("Country").getName(), 
+					result.getModel().getEntity("Employee").getField("country").getTypeName());
+			checkSameAsFullParsing(result);
+		}
+	}
+
+	@Test
+	public void testAddedEntity() throws IOException {
+		IncrementalParser parser = new IncrementalParser();
+		assertTrue(parser.parseModel(modelFolder).hasErrors());
+		writeFile("Gender.entity", "Gender { \n code : string {@Id} ; \n }\n");
+		ParsingResult result = parser.parseModel(modelFolder);
+		// new file + file with error (the invalid type is now an entity)
+		assertEquals(2, parser.getNumberOfParsedFiles());
+		assertFalse(result.hasErrors());
+		assertNotNull(result.getModel().getEntity("Gender"));
+		checkSameAsFullParsing(result);
+	}
+
+	@Test
+	public void testDeletedEntity() {
+		IncrementalParser parser = new IncrementalParser();
+		parser.parseModel(modelFolder);
+		deleteFile("Country.entity");
+		ParsingResult result = parser.parseModel(modelFolder);
+		// Employee references the deleted entity and Person has an error
+		assertEquals(2, parser.getNumberOfParsedFiles());
+		assertEquals(2, result.getErrors().getNumberOfErrors());
+		assertEquals(2, result.getModel().getNumberOfEntities());
+		checkSameAsFullParsing(result);
+	}
+
+	@Test
+	public void testReset() {
+		IncrementalParser parser = new IncrementalParser();
+		parser.parseModel(modelFolder);
+		parser.reset();
+		parser.parseModel(modelFolder);
+		assertEquals(3, parser.getNumberOfParsedFiles());
+	}
+}
@@ -2,6 +2,8 @@ package org.telosys.tools.dsl.parser;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -10,9 +12,11 @@ import org.telosys.tools.dsl.parser.ParserV2;
 import org.telosys.tools.dsl.parser.commons.FkElement;
 import org.telosys.tools.dsl.parser.model.DomainEntity;
 import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainModel;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ParserV2Test {
@@ -103,6 +107,79 @@ public class ParserV2Test {
 		assertFalse(entity.getTagNames().isEmpty() );
 	}
 
+	private void checkSameResult(ParsingResult expected, ParsingResult actual) {
+		assertEquals(expected.getErrors().toString(), actual.getErrors().toString());
+		DomainModel expectedModel = expected.getModel();
+		DomainModel actualModel = actual.getModel();
+		assertEquals(expectedModel.getNumberOfEntities(), actualModel.getNumberOfEntities());
+		for ( DomainEntity entity : expectedModel.getEntities() ) {
+			assertEquals(entity.toString(), actualModel.getEntity(entity.getName()).toString());
+		}
+	}
+	
+	@Test
+	public void testParseModelInParallel() { 
+		String[] models = { "src/test/resources/model_test/valid/PeopleModel", 
+				"src/test/resources/model_test/valid/FourEntitiesModel",
+				"src/test/resources/model_test/invalid/FourEntitiesModel" };
+		for ( String model : models ) {
+			ParsingResult sequentialResult = new ParserV2().parseModel(model);
+			ParserV2 parser = new ParserV2();
+			parser.setParallelism(4);
+			ParsingResult parallelResult = parser.parseModel(model);
+			log(parallelResult.getErrors());
+			checkSameResult(sequentialResult, parallelResult);
+		}
+	}
+
+	@Test
+	public void testParseModelWithExecutor() { 
+		String model = "src/test/resources/model_test/invalid/FourEntitiesModel" ;
+		ParsingResult sequentialResult = new ParserV2().parseModel(model);
+		assertTrue(sequentialResult.hasErrors());
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			ParserV2 parser = new ParserV2();
+			parser.setExecutor(executor);
+			checkSameResult(sequentialResult, parser.parseModel(model));
+			// executor not shut down by the parser => reusable
+			checkSameResult(sequentialResult, parser.parseModel(model));
+			assertFalse(executor.isShutdown());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void checkSharedSymbols(DomainModel model) {
+		DomainEntity area = model.getEntity("Area");
+		DomainEntity country = model.getEntity("Country");
+		// same field name in 2 entities => same instance
+		assertSame(area.getField("name").getName(), country.getField("name").getName());
+		// referenced entity name => same instance as the entity name
+		assertSame(country.getName(), area.getField("country").getType().getName());
+		assertSame(country.getName(), model.getEntity(country.getName()).getName());
+		assertTrue(model.getSymbolTable().size() > 0);
+	}
+
+	@Test
+	public void testParseModelSharedSymbols() { 
+		String model = "src/test/resources/model_test/valid/PeopleModel" ;
+		ParsingResult result = new ParserV2().parseModel(model);
+		assertFalse(result.hasErrors());
+		checkSharedSymbols(result.getModel());
+		
+		ParserV2 parser = new ParserV2();
+		parser.setLexerMode(LexerMode.STREAMING);
+		result = parser.parseModel(model);
+		assertFalse(result.hasErrors());
+		checkSharedSymbols(result.getModel());
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testInvalidParallelism() { 
+		new ParserV2().setParallelism(0);
+	}
+
 //	@Test (expected=EntityParsingError.class)
 //	public void testErr3() throws ParsingError  {
 //		process(
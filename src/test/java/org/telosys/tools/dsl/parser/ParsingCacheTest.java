@@ -0,0 +1,197 @@
+package org.telosys.tools.dsl.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.telosys.tools.dsl.DslModelErrors;
+import org.telosys.tools.dsl.parser.model.DomainAnnotation;
+import org.telosys.tools.dsl.parser.model.DomainEntity;
+import org.telosys.tools.dsl.parser.model.DomainField;
+import org.telosys.tools.dsl.parser.model.DomainNeutralTypes;
+import org.telosys.tools.junit.utils.TestFileProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParsingCacheTest {
+
+	private static final String MODEL = "src/test/resources/model_test/valid/FourEntitiesModel" ;
+	
+	private File cacheFolder ;
+	
+	@Before
+	public void before() {
+		cacheFolder = TestFileProvider.getTargetTmpFile("parsing-cache");
+		if ( cacheFolder.exists() ) {
+			for ( File file : cacheFolder.listFiles() ) {
+				file.delete();
+			}
+		}
+	}
+
+	private ParsingResult parseWithCache(String model) {
+		ParserV2 parser = new ParserV2();
+		parser.setCacheFolder(cacheFolder);
+		return parser.parseModel(model);
+	}
+	
+	private void checkSameResult(ParsingResult expected, ParsingResult actual) {
+		assertEquals(expected.getErrors().getErrors().toString(), actual.getErrors().getErrors().toString());
+		assertEquals(expected.getModel().getNumberOfEntities(), actual.getModel().getNumberOfEntities());
+		for ( DomainEntity entity : expected.getModel().getEntities() ) {
+			assertEquals(entity.toString(), actual.getModel().getEntity(entity.getName()).toString());
+		}
+	}
+	
+	private DomainEntity parseEntity(File entityFile) {
+		DslModelErrors errors = new DslModelErrors();
+		DomainEntity entity = new ParserV2().parseEntity(entityFile, Arrays.asList("Foo", "Bar"), errors);
+		assertTrue(errors.isEmpty());
+		return entity ;
+	}
+	
+	private File writeEntityFile(String fileName, String content) throws IOException {
+		File entityFile = TestFileProvider.getTargetTmpFile("parsing-cache-entities/" + fileName);
+		entityFile.getParentFile().mkdirs();
+		Files.write(entityFile.toPath(), content.getBytes("UTF-8"));
+		return entityFile ;
+	}
+	
+	private void storeEntity(ParsingCache cache, File entityFile, DomainEntity entity) {
+		ModelParsingCache modelCache = cache.openModel(entityFile.getParentFile());
+		modelCache.store(entityFile.getName(), 100, 1000, entity);
+		modelCache.close();
+	}
+	
+	@Test
+	public void testCacheHits() {
+		ParsingResult expected = new ParserV2().parseModel(MODEL);
+		
+		ParserV2 parser = new ParserV2();
+		parser.setCacheFolder(cacheFolder);
+		checkSameResult(expected, parser.parseModel(MODEL));
+		assertEquals(0, parser.getParsingCache().getHits());
+		assertEquals(4, parser.getParsingCache().getMisses());
+		assertEquals(1, cacheFolder.listFiles().length); // one cache file per model
+
+		// new parser (as in a new JVM)
+		parser = new ParserV2();
+		parser.setCacheFolder(cacheFolder);
+		checkSameResult(expected, parser.parseModel(MODEL));
+		assertEquals(4, parser.getParsingCache().getHits());
+		assertEquals(0, parser.getParsingCache().getMisses());
+	}
+
+	@Test
+	public void testInvalidModel() {
+		String model = "src/test/resources/model_test/invalid/FourEntitiesModel" ;
+		ParsingResult expected = new ParserV2().parseModel(model);
+		checkSameResult(expected, parseWithCache(model));
+		checkSameResult(expected, parseWithCache(model));
+	}
+
+	@Test
+	public void testEntityFromCache() throws IOException {
+		File entityFile = writeEntityFile("Foo.entity", "Foo { \n id : int {@Id} ; \n name : string {@SizeMax(20)} ; \n bar : Bar ; \n }\n");
+		DomainEntity entity = parseEntity(entityFile);
+		ParsingCache cache = new ParsingCache(cacheFolder);
+		ModelParsingCache modelCache = cache.openModel(entityFile.getParentFile());
+		modelCache.store("Foo.entity", 100, 1000, entity);
+		modelCache.close();
+		assertEquals(1, cacheFolder.listFiles().length);
+		
+		// the entity file is not used to load the entity 
+		assertTrue(entityFile.delete());
+		DomainEntity cachedEntity = cache.openModel(entityFile.getParentFile()).load("Foo.entity", 100, 1000, Arrays.asList("Foo", "Bar"));
+		assertNotNull(cachedEntity);
+		assertEquals(1, cache.getHits());
+		assertEquals(entity.toString(), cachedEntity.toString());
+		// shared neutral types and annotations definitions resolved again
+		DomainField id = cachedEntity.getField("id");
+		assertSame(DomainNeutralTypes.getType(DomainNeutralTypes.INTEGER), id.getType());
+		DomainAnnotation sizeMax = cachedEntity.getField("name").getAnnotations().get("SizeMax");
+		assertEquals(Integer.valueOf(20), sizeMax.getParameter());
+		assertNotNull(sizeMax.getAnnotationDefinition());
+	}
+
+	@Test
+	public void testChangedFile() throws IOException {
+		File entityFile = writeEntityFile("Foo.entity", "Foo { \n id : int {@Id} ; \n }\n");
+		ParsingCache cache = new ParsingCache(cacheFolder);
+		storeEntity(cache, entityFile, parseEntity(entityFile));
+		ModelParsingCache modelCache = cache.openModel(entityFile.getParentFile());
+		assertNull(modelCache.load("Foo.entity", 101, 1000, Arrays.asList("Foo")));
+		assertNull(modelCache.load("Foo.entity", 100, 1001, Arrays.asList("Foo")));
+		assertNull(modelCache.load("Bar.entity", 100, 1000, Arrays.asList("Foo")));
+		assertNotNull(modelCache.load("Foo.entity", 100, 1000, Arrays.asList("Foo")));
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+	}
+
+	@Test
+	public void testReferencedEntityDeleted() throws IOException {
+		File entityFile = writeEntityFile("Foo.entity", "Foo { \n id : int {@Id} ; \n bar : Bar ; \n }\n");
+		ParsingCache cache = new ParsingCache(cacheFolder);
+		storeEntity(cache, entityFile, parseEntity(entityFile));
+		ModelParsingCache modelCache = cache.openModel(entityFile.getParentFile());
+		assertNull(modelCache.load("Foo.entity", 100, 1000, Arrays.asList("Foo")));
+		assertNotNull(modelCache.load("Foo.entity", 100, 1000, Arrays.asList("Foo", "Bar", "Other")));
+	}
+
+	@Test
+	public void testAnnotationsChanged() throws IOException {
+		File entityFile = writeEntityFile("Foo.entity", "Foo { \n id : int {@Id} ; \n }\n");
+		File modelFolder = entityFile.getParentFile();
+		storeEntity(new ParsingCache(cacheFolder, 10, "Id:NONE"), entityFile, parseEntity(entityFile));
+		assertNotNull(new ParsingCache(cacheFolder, 10, "Id:NONE").openModel(modelFolder)
+				.load("Foo.entity", 100, 1000, Collections.<String>emptyList()));
+		assertNull(new ParsingCache(cacheFolder, 10, "Id:NONE;Foo:STRING").openModel(modelFolder)
+				.load("Foo.entity", 100, 1000, Collections.<String>emptyList()));
+	}
+
+	@Test
+	public void testPrune() throws IOException {
+		File entityFile = writeEntityFile("Foo.entity", "Foo { \n id : int {@Id} ; \n }\n");
+		DomainEntity entity = parseEntity(entityFile);
+		ParsingCache cache = new ParsingCache(cacheFolder, 3);
+		for ( int i = 0 ; i < 5 ; i++ ) {
+			File modelFolder = new File(cacheFolder.getParentFile(), "parsing-cache-model" + i);
+			ModelParsingCache modelCache = cache.openModel(modelFolder);
+			modelCache.store("Foo.entity", 100, 1000, entity);
+			modelCache.close();
+			cache.getCacheFile(modelFolder).setLastModified(10000L * ( i + 1 ));
+		}
+		assertEquals(5, cacheFolder.listFiles().length);
+		assertEquals(2, cache.prune());
+		assertEquals(3, cacheFolder.listFiles().length);
+		assertNull(cache.openModel(new File(cacheFolder.getParentFile(), "parsing-cache-model0"))
+				.load("Foo.entity", 100, 1000, Collections.<String>emptyList()));
+		assertNotNull(cache.openModel(new File(cacheFolder.getParentFile(), "parsing-cache-model4"))
+				.load("Foo.entity", 100, 1000, Collections.<String>emptyList()));
+		assertEquals(0, cache.prune());
+	}
+
+	@Test
+	public void testInvalidCacheFile() throws IOException {
+		ParsingResult expected = new ParserV2().parseModel(MODEL);
+		parseWithCache(MODEL);
+		for ( File file : cacheFolder.listFiles() ) {
+			Files.write(file.toPath(), new byte[] { 1, 2, 3 }); // corrupted
+		}
+		ParserV2 parser = new ParserV2();
+		parser.setCacheFolder(cacheFolder);
+		checkSameResult(expected, parser.parseModel(MODEL));
+		assertEquals(0, parser.getParsingCache().getHits());
+		// corrupted files replaced 
+		parser.parseModel(MODEL);
+		assertEquals(4, parser.getParsingCache().getHits());
+	}
+}
@@ -66,6 +66,19 @@ public class AnnotationsTest {
 		assertTrue(list.contains("@Label"));
 	}
 
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetAllUnmodifiable() {
+		AnnotationDefinitions.getAll().clear();
+	}
+
+	@Test
+	public void testGetAll() {
+		for ( AnnotationDefinition ad : AnnotationDefinitions.getAll() ) {
+			assertNotNull(AnnotationDefinitions.get(ad.getName()));
+			assertEquals(ad.getName(), AnnotationDefinitions.get(ad.getName()).getName());
+		}
+	}
+
 	@Test
 	public void testGetAnnotations2() {
 		List<String> list = AnnotationDefinitions.getAllAnnotationsWithPrefixAndParentheses();
@@ -69,14 +69,14 @@ public class CascadeAnnotationTest {
 		getLinkCascadeOptions("   ");
 	}
 
-	@Test (expected=ParamError.class)
+	@Test (expected=DslModelError.class)
 	public void testError04() throws DslModelError, ParamError {
-		getLinkCascadeOptions(" , ,  ");
+		getLinkCascadeOptions(" , ,  "); // ERR : blank list element (parsing error)
 	}
 
-	@Test  (expected=ParamError.class)
+	@Test  (expected=DslModelError.class)
 	public void testError05() throws DslModelError, ParamError {
-		getLinkCascadeOptions("ALL,,");
+		getLinkCascadeOptions("ALL,,"); // ERR : blank list element (parsing error)
 	}
 
 	//-----------------------------------------------------------------------------
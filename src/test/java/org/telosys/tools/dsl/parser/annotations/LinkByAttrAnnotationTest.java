@@ -178,9 +178,9 @@ public class LinkByAttrAnnotationTest {
 		getLinkAttributesForLinkToAuthor("   ") ; // ERR : parameter required
 	}
 
-	@Test (expected=ParamError.class)
+	@Test (expected=DslModelError.class)
 	public void test04Err() throws DslModelError, ParamError {
-		getLinkAttributesForLinkToAuthor(" , ,  ") ; // ERR : invalid attribute (name is void)
+		getLinkAttributesForLinkToAuthor(" , ,  ") ; // ERR : blank list element (parsing error)
 	}
 
 	@Test
@@ -194,18 +194,18 @@ public class LinkByAttrAnnotationTest {
 		assertEquals("id", jc.get(0).getReferencedAttributeName());
 	}
 
-	@Test  (expected=ParamError.class)
+	@Test  (expected=DslModelError.class)
 	public void test06Err() throws DslModelError, ParamError {
 		// @LinkByAttr(...)
 		getLinkAttributesForLinkToAuthor(" authorId, ") ; 
-		// ERR : invalid attribute (name is void)
+		// ERR : blank list element (parsing error)
 	}
 
-	@Test (expected=ParamError.class)
+	@Test (expected=DslModelError.class)
 	public void test07Err() throws DslModelError, ParamError {
 		// @LinkByAttr(...)
 		getLinkAttributesForLinkToAuthor(" ,, authorId ") ;
-		// ERR : invalid attribute (name is void)
+		// ERR : blank list element (parsing error)
 	}
 
 	@Test (expected=ParamError.class)
@@ -0,0 +1,124 @@
+package org.telosys.tools.dsl.parser.commons;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ParamDecoderTest {
+
+	private Object decode(ParamDecoder decoder, String rawValue) throws ParamError {
+		return decoder.decode("MyEntity", rawValue);
+	}
+
+	private void checkError(ParamDecoder decoder, String rawValue, String expectedMessage) {
+		try {
+			decoder.decode("MyEntity", rawValue);
+			fail("ParamError expected for '" + rawValue + "'");
+		} catch (ParamError e) {
+			assertEquals(expectedMessage, e.getMessage());
+		}
+	}
+
+	@Test
+	public void testInteger() throws ParamError {
+		assertEquals(Integer.valueOf(123), decode(ParamDecoder.INTEGER, "123"));
+		assertEquals(Integer.valueOf(-5), decode(ParamDecoder.INTEGER, "-5"));
+		assertEquals(Integer.valueOf(7), decode(ParamDecoder.INTEGER, "+7"));
+		assertEquals(Integer.valueOf(Integer.MAX_VALUE), decode(ParamDecoder.INTEGER, "2147483647"));
+		assertEquals(Integer.valueOf(Integer.MIN_VALUE), decode(ParamDecoder.INTEGER, "-2147483648"));
+		checkError(ParamDecoder.INTEGER, "2147483648", "invalid integer parameter '2147483648'");
+		checkError(ParamDecoder.INTEGER, "12AB34", "invalid integer parameter '12AB34'");
+		checkError(ParamDecoder.INTEGER, "12.34", "invalid integer parameter '12.34'");
+		checkError(ParamDecoder.INTEGER, "-", "invalid integer parameter '-'");
+		checkError(ParamDecoder.INTEGER, "", "parameter required");
+		checkError(ParamDecoder.INTEGER, null, "parameter required");
+	}
+
+	@Test
+	public void testCachedValues() throws ParamError {
+		Object v1 = decode(ParamDecoder.DECIMAL, "1234.5");
+		Object v2 = decode(ParamDecoder.DECIMAL, new String("1234.5"));
+		assertEquals(new BigDecimal("1234.5"), v1);
+		assertSame(v1, v2);
+		assertSame(decode(ParamDecoder.INTEGER, "1000"), decode(ParamDecoder.INTEGER, new String("1000")));
+	}
+
+	@Test
+	public void testNotCachedValues() throws ParamError {
+		decode(ParamDecoder.STRING, "\"my string\"");
+		decode(ParamDecoder.LIST, "a,b");
+		assertEquals(0, ParamDecoder.STRING.getCacheSize());
+		assertEquals(0, ParamDecoder.LIST.getCacheSize());
+		assertNotSame(decode(ParamDecoder.LIST, "a,b"), decode(ParamDecoder.LIST, "a,b"));
+	}
+
+	@Test
+	public void testBoolean() throws ParamError {
+		assertEquals(Boolean.TRUE, decode(ParamDecoder.BOOLEAN, "true"));
+		assertEquals(Boolean.TRUE, decode(ParamDecoder.BOOLEAN, " TRUE "));
+		assertEquals(Boolean.FALSE, decode(ParamDecoder.BOOLEAN, "False"));
+		checkError(ParamDecoder.BOOLEAN, "xyz", "invalid boolean parameter 'xyz'");
+		checkError(ParamDecoder.BOOLEAN, "truex", "invalid boolean parameter 'truex'");
+	}
+
+	@Test
+	public void testString() throws ParamError {
+		assertEquals("abc", decode(ParamDecoder.STRING, "  abc "));
+		assertEquals(" abc ", decode(ParamDecoder.STRING, "\" abc \""));
+		assertEquals("say \"Hello\"", decode(ParamDecoder.STRING, "say \"Hello\""));
+		assertEquals("", decode(ParamDecoder.STRING, "   "));
+	}
+
+	@Test
+	public void testSize() throws ParamError {
+		assertEquals("20", decode(ParamDecoder.SIZE, "20"));
+		assertEquals("10,2", decode(ParamDecoder.SIZE, "10,2"));
+		assertEquals("10,2,", decode(ParamDecoder.SIZE, "10,2,"));
+		checkError(ParamDecoder.SIZE, "-1", "invalid size parameter '-1' (negative value)");
+		checkError(ParamDecoder.SIZE, "10,-2", "invalid size parameter '10,-2' (negative value)");
+		checkError(ParamDecoder.SIZE, "10,x", "invalid size parameter '10,x' (not a number)");
+		checkError(ParamDecoder.SIZE, "10, 2", "invalid size parameter '10, 2' (not a number)");
+		checkError(ParamDecoder.SIZE, ",2", "invalid size parameter ',2' (not a number)");
+		checkError(ParamDecoder.SIZE, "1,2,3", "invalid size parameter '1,2,3' (xx,xx expected)");
+		checkError(ParamDecoder.SIZE, "10,", "invalid size parameter '10,' (xx,xx expected)");
+		checkError(ParamDecoder.SIZE, ",,", "invalid size parameter ',,' (xx,xx expected)");
+	}
+
+	@Test
+	public void testList() throws ParamError {
+		assertEquals(Arrays.asList("a"), decode(ParamDecoder.LIST, "a"));
+		assertEquals(Arrays.asList("a", "b", "c"), decode(ParamDecoder.LIST, " a , b,c "));
+	}
+
+	@Test
+	public void testListBlankElement() {
+		checkError(ParamDecoder.LIST, ",", "invalid list parameter (at list 1 element expected)");
+		checkError(ParamDecoder.LIST, " , ,  ", "invalid list parameter (at list 1 element expected)");
+		checkError(ParamDecoder.LIST, "a,,c", "invalid list parameter (at list 1 element expected)");
+		checkError(ParamDecoder.LIST, "a,b,", "invalid list parameter (at list 1 element expected)");
+	}
+
+	@Test
+	public void testListModifiable() throws ParamError {
+		@SuppressWarnings("unchecked")
+		List<String> list = (List<String>) decode(ParamDecoder.LIST, "x,y");
+		list.add("z");
+		assertEquals(Arrays.asList("x", "y"), decode(ParamDecoder.LIST, "x,y"));
+	}
+
+	@Test
+	public void testFkElement() throws ParamError {
+		FkElement fk1 = (FkElement) ParamDecoder.FK_ELEMENT.decode("Car", "Driver");
+		FkElement fk2 = (FkElement) ParamDecoder.FK_ELEMENT.decode("Bus", "Driver");
+		assertEquals("FK_Car_Driver", fk1.getFkName());
+		assertEquals("FK_Bus_Driver", fk2.getFkName());
+		assertEquals(0, ParamDecoder.FK_ELEMENT.getCacheSize());
+	}
+}
@@ -7,6 +7,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class DomainEntityTest {
@@ -48,6 +49,40 @@ public class DomainEntityTest {
 		assertNotNull(entity.getFields());
 	}
 	
+	@Test
+	public void testFieldsViews() {
+		DomainEntity entity = new DomainEntity("Car") ;
+		declareField(entity, "id", DomainNeutralTypes.INTEGER);
+		declareField(entity, "driver", "Driver");
+		declareField(entity, "name", DomainNeutralTypes.STRING);
+		declareField(entity, "owner", "Person");
+		
+		assertSame(entity.getFields(), entity.getFields()); // no copy
+		assertEquals(4, entity.getFields().size());
+		assertEquals("id", entity.getFields().get(0).getName());
+		assertEquals("driver", entity.getFields().get(1).getName());
+		assertEquals("owner", entity.getFields().get(3).getName());
+
+		assertEquals(2, entity.getAttributeFields().size());
+		assertEquals("id", entity.getAttributeFields().get(0).getName());
+		assertEquals("name", entity.getAttributeFields().get(1).getName());
+
+		assertEquals(2, entity.getLinkFields().size());
+		assertEquals("driver", entity.getLinkFields().get(0).getName());
+		assertEquals("owner", entity.getLinkFields().get(1).getName());
+		
+		// views updated with the entity
+		declareField(entity, "code", DomainNeutralTypes.STRING);
+		assertEquals(5, entity.getFields().size());
+		assertEquals(3, entity.getAttributeFields().size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testFieldsViewUnmodifiable() {
+		DomainEntity entity = new DomainEntity("Car") ;
+		entity.getFields().add(buildField("id", DomainNeutralTypes.INTEGER));
+	}
+	
 	@Test
 	public void testFieldNeutralType() {
 		DomainEntity entity = new DomainEntity("Student") ;
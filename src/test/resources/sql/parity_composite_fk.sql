@@ -0,0 +1,19 @@
+CREATE SCHEMA IF NOT EXISTS parity2;
+
+-- FK WITH 2 COLUMNS
+
+CREATE TABLE parity2.product (
+  code    VARCHAR(10) NOT NULL,
+  version INTEGER NOT NULL,
+  name    VARCHAR(40),
+  PRIMARY KEY(code, version)
+);
+
+CREATE TABLE parity2.order_item (
+  order_id        INTEGER NOT NULL,
+  line            INTEGER NOT NULL,
+  product_code    VARCHAR(10),
+  product_version INTEGER,
+  PRIMARY KEY(order_id, line),
+  CONSTRAINT FK_ITEM_PRODUCT FOREIGN KEY(product_code, product_version) REFERENCES parity2.product(code, version)
+);
@@ -0,0 +1,24 @@
+CREATE SCHEMA IF NOT EXISTS parity3;
+
+-- FK REFERENCING A TABLE EXCLUDED FROM THE MODEL ('tableNameExclude')
+
+CREATE TABLE parity3.archive (
+  id   INTEGER NOT NULL,
+  name VARCHAR(40),
+  PRIMARY KEY(id)
+);
+
+CREATE TABLE parity3.country (
+  code VARCHAR(2) NOT NULL,
+  name VARCHAR(40),
+  PRIMARY KEY(code)
+);
+
+CREATE TABLE parity3.document (
+  id           INTEGER NOT NULL,
+  archive_id   INTEGER,
+  country_code VARCHAR(2),
+  PRIMARY KEY(id),
+  CONSTRAINT FK_DOCUMENT_ARCHIVE FOREIGN KEY(archive_id)   REFERENCES parity3.archive(id),
+  CONSTRAINT FK_DOCUMENT_COUNTRY FOREIGN KEY(country_code) REFERENCES parity3.country(code)
+);
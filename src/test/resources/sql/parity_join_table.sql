@@ -0,0 +1,23 @@
+CREATE SCHEMA IF NOT EXISTS parity4;
+
+-- JOIN TABLE (MANY TO MANY)
+
+CREATE TABLE parity4.author (
+  id   INTEGER NOT NULL,
+  name VARCHAR(40),
+  PRIMARY KEY(id)
+);
+
+CREATE TABLE parity4.book (
+  isbn  VARCHAR(13) NOT NULL,
+  title VARCHAR(80),
+  PRIMARY KEY(isbn)
+);
+
+CREATE TABLE parity4.book_author (
+  isbn      VARCHAR(13) NOT NULL,
+  author_id INTEGER NOT NULL,
+  PRIMARY KEY(isbn, author_id),
+  CONSTRAINT FK_BOOK_AUTHOR_BOOK   FOREIGN KEY(isbn)      REFERENCES parity4.book(isbn),
+  CONSTRAINT FK_BOOK_AUTHOR_AUTHOR FOREIGN KEY(author_id) REFERENCES parity4.author(id)
+);
@@ -0,0 +1,16 @@
+CREATE SCHEMA IF NOT EXISTS parity1;
+
+-- FK WITHOUT CONSTRAINT NAME (NAME GENERATED BY THE DATABASE)
+
+CREATE TABLE parity1.customer (
+  id   INTEGER NOT NULL,
+  name VARCHAR(40),
+  PRIMARY KEY(id)
+);
+
+CREATE TABLE parity1.orders (
+  id          INTEGER NOT NULL,
+  customer_id INTEGER NOT NULL,
+  PRIMARY KEY(id),
+  FOREIGN KEY(customer_id) REFERENCES parity1.customer(id)
+);